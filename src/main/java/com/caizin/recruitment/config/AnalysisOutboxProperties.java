@@ -0,0 +1,97 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "analysis-outbox")
+public class AnalysisOutboxProperties {
+
+    /**
+     * AI analyses in flight per instance.
+     */
+    private int parallelism = 8;
+
+    /**
+     * How often the outbox is polled for due items.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Attempts before an item is marked FAILED.
+     */
+    private int maxAttempts = 6;
+
+    /**
+     * Delay before the first retry; doubled per attempt up to {@link #maxBackoff}.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(10);
+
+    private Duration maxBackoff = Duration.ofMinutes(30);
+
+    /**
+     * An IN_PROGRESS item older than this is assumed orphaned by a crash and retried.
+     */
+    private Duration lease = Duration.ofMinutes(10);
+
+    /**
+     * How often expired leases are looked for; independent of {@link #lease}.
+     */
+    private Duration reclaimInterval = Duration.ofMinutes(1);
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+
+    public Duration getReclaimInterval() {
+        return reclaimInterval;
+    }
+
+    public void setReclaimInterval(Duration reclaimInterval) {
+        this.reclaimInterval = reclaimInterval;
+    }
+}
@@ -0,0 +1,46 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "backfill")
+public class BackfillProperties {
+
+    /**
+     * Worker threads for re-extraction; the CPU budget of a backfill run.
+     */
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+    /**
+     * Candidates fetched per keyset page; also the checkpoint interval.
+     */
+    private int pageSize = 200;
+
+    /**
+     * Upper bound on resumes re-extracted per second across all workers (0 = unlimited).
+     */
+    private double maxPerSecond = 20;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public double getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    public void setMaxPerSecond(double maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+}
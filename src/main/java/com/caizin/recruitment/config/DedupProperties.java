@@ -0,0 +1,72 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "dedup")
+public class DedupProperties {
+
+    /**
+     * Look for near-duplicate resumes on ingestion.
+     */
+    private boolean enabled = true;
+
+    /**
+     * MinHash signature length; must be a multiple of {@link #bands}.
+     */
+    private int numHashes = 128;
+
+    /**
+     * LSH bands. More bands catch lower similarities at the cost of more candidates to verify.
+     */
+    private int bands = 16;
+
+    /**
+     * Words per shingle.
+     */
+    private int shingleSize = 5;
+
+    /**
+     * Estimated Jaccard similarity from which two resumes count as the same document.
+     */
+    private double threshold = 0.85;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public void setNumHashes(int numHashes) {
+        this.numHashes = numHashes;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public void setBands(int bands) {
+        this.bands = bands;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    public void setShingleSize(int shingleSize) {
+        this.shingleSize = shingleSize;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+}
@@ -1,5 +1,6 @@
 package com.caizin.recruitment.config;
 
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,7 +12,14 @@ public class HttpClientConfig {
 
     @Bean
     public OkHttpClient okHttpClient() {
+        // OpenAI calls are enqueued and paced by OpenAiRateLimiter; OkHttp's default of
+        // 5 concurrent calls per host would otherwise become the real limit
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(128);
+        dispatcher.setMaxRequestsPerHost(64);
+
         return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .connectTimeout(Duration.ofSeconds(10))
                 .readTimeout(Duration.ofSeconds(60))
                 .writeTimeout(Duration.ofSeconds(60))
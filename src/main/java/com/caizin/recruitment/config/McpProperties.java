@@ -0,0 +1,311 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "mcp")
+public class McpProperties {
+
+    /**
+     * Base URL of the MCP server; used when no endpoints are listed.
+     */
+    private String baseUrl = "http://localhost:3001";
+
+    /**
+     * MCP server replicas, used round-robin.
+     */
+    private List<String> endpoints = new ArrayList<>();
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Upper bound on one analyze_resume round trip.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(90);
+
+    private Pool pool = new Pool();
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Cache cache = new Cache();
+    private Batch batch = new Batch();
+
+    public List<String> resolvedEndpoints() {
+        return endpoints == null || endpoints.isEmpty() ? List.of(baseUrl) : endpoints;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<String> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public static class Pool {
+        /**
+         * Open connections per endpoint.
+         */
+        private int maxConnections = 32;
+
+        /**
+         * How long a request may wait for a free connection.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+    }
+
+    public static class Bulkhead {
+        /**
+         * Analyses in flight at once; further calls are rejected rather than queued.
+         */
+        private int maxConcurrent = 16;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    public static class CircuitBreaker {
+        /**
+         * Failure ratio over the window that opens the circuit.
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * Most recent calls considered.
+         */
+        private int windowSize = 20;
+
+        /**
+         * Calls needed in the window before the circuit can open.
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * How long the circuit stays open before letting trial calls through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Successful trial calls needed to close the circuit again.
+         */
+        private int halfOpenCalls = 3;
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    public static class Cache {
+        private boolean enabled = true;
+
+        /**
+         * Analyses kept in memory in front of the database table.
+         */
+        private int maxEntries = 2000;
+
+        /**
+         * Part of the cache key; bump when the MCP prompt or model changes so old
+         * analyses are no longer served.
+         */
+        private String analyzerVersion = "1";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public String getAnalyzerVersion() {
+            return analyzerVersion;
+        }
+
+        public void setAnalyzerVersion(String analyzerVersion) {
+            this.analyzerVersion = analyzerVersion;
+        }
+    }
+
+    public static class Batch {
+        /**
+         * Group analyses for the same job into analyze_resume_batch calls; the MCP
+         * server must support that tool.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Resumes per batch request.
+         */
+        private int maxSize = 8;
+
+        /**
+         * Longest a resume waits for its batch to fill before it is sent anyway.
+         */
+        private Duration maxWait = Duration.ofMillis(200);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
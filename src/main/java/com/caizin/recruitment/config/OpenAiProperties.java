@@ -2,12 +2,23 @@ package com.caizin.recruitment.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "openai")
 public class OpenAiProperties {
     private String baseUrl;
     private String apiKey;
     private String model;
     private Double temperature = 0.2;
+    private Cache cache = new Cache();
+    private Batch batch = new Batch();
+    private RateLimit rateLimit = new RateLimit();
+    private Routing routing = new Routing();
+    private Usage usage = new Usage();
 
     public String getBaseUrl() {
         return baseUrl;
@@ -40,5 +51,406 @@ public class OpenAiProperties {
     public void setTemperature(Double temperature) {
         this.temperature = temperature;
     }
-}
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public Routing getRouting() {
+        return routing;
+    }
+
+    public void setRouting(Routing routing) {
+        this.routing = routing;
+    }
+
+    public Usage getUsage() {
+        return usage;
+    }
+
+    public void setUsage(Usage usage) {
+        this.usage = usage;
+    }
+
+    public static class Cache {
+        private boolean enabled = true;
+
+        /**
+         * Responses kept in memory in front of the database table.
+         */
+        private int maxEntries = 1000;
+
+        /**
+         * How long a stored response may be served.
+         */
+        private Duration ttl = Duration.ofDays(7);
+
+        /**
+         * Part of the cache key; bump when the prompt changes or the model alias
+         * moves to a new snapshot so old responses are no longer served.
+         */
+        private String version = "1";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(String version) {
+            this.version = version;
+        }
+    }
+
+    public static class Batch {
+        /**
+         * Poll submitted batches and apply their results.
+         */
+        private boolean enabled = false;
+
+        private Duration pollInterval = Duration.ofMinutes(5);
+
+        /**
+         * Requests per uploaded JSONL file; larger runs are split into several batches.
+         */
+        private int maxRequests = 2000;
+
+        private String completionWindow = "24h";
+
+        /**
+         * A batch still uploading after this long was interrupted; the poller
+         * recovers it from OpenAI or fails its requests.
+         */
+        private Duration uploadTimeout = Duration.ofMinutes(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getMaxRequests() {
+            return maxRequests;
+        }
+
+        public void setMaxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+        }
+
+        public String getCompletionWindow() {
+            return completionWindow;
+        }
+
+        public void setCompletionWindow(String completionWindow) {
+            this.completionWindow = completionWindow;
+        }
+
+        public Duration getUploadTimeout() {
+            return uploadTimeout;
+        }
+
+        public void setUploadTimeout(Duration uploadTimeout) {
+            this.uploadTimeout = uploadTimeout;
+        }
+    }
+
+    /**
+     * Client-side limits; replaced by the x-ratelimit-* headers once OpenAI has answered.
+     */
+    public static class RateLimit {
+        private int requestsPerMinute = 500;
+        private int tokensPerMinute = 200_000;
+
+        /**
+         * Completion tokens reserved per request before the real usage is known.
+         */
+        private int expectedCompletionTokens = 800;
+
+        /**
+         * Retries after 429, 5xx or an IO error.
+         */
+        private int maxRetries = 4;
+
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofSeconds(30);
+
+        public int getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(int requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public int getTokensPerMinute() {
+            return tokensPerMinute;
+        }
+
+        public void setTokensPerMinute(int tokensPerMinute) {
+            this.tokensPerMinute = tokensPerMinute;
+        }
+
+        public int getExpectedCompletionTokens() {
+            return expectedCompletionTokens;
+        }
+
+        public void setExpectedCompletionTokens(int expectedCompletionTokens) {
+            this.expectedCompletionTokens = expectedCompletionTokens;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    /**
+     * Model choice per request. With no models listed, {@code openai.model} is the only route.
+     */
+    public static class Routing {
+        private boolean enabled = false;
+
+        /**
+         * Candidates in order of preference, usually cheapest first.
+         */
+        private List<Model> models = new ArrayList<>();
+
+        /**
+         * A model whose observed p95 exceeds this is skipped while a faster one fits the input.
+         */
+        private Duration latencyBudget = Duration.ofSeconds(20);
+
+        /**
+         * Send a second request when the first is still running after the model's p95.
+         */
+        private boolean hedge = true;
+
+        private Duration minHedgeDelay = Duration.ofSeconds(2);
+
+        /**
+         * Samples a model needs before its percentiles are trusted.
+         */
+        private int minSamples = 20;
+
+        /**
+         * Histogram window; percentiles cover the last one to two windows.
+         */
+        private Duration window = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Model> getModels() {
+            return models;
+        }
+
+        public void setModels(List<Model> models) {
+            this.models = models;
+        }
+
+        public Duration getLatencyBudget() {
+            return latencyBudget;
+        }
+
+        public void setLatencyBudget(Duration latencyBudget) {
+            this.latencyBudget = latencyBudget;
+        }
+
+        public boolean isHedge() {
+            return hedge;
+        }
+
+        public void setHedge(boolean hedge) {
+            this.hedge = hedge;
+        }
+
+        public Duration getMinHedgeDelay() {
+            return minHedgeDelay;
+        }
+
+        public void setMinHedgeDelay(Duration minHedgeDelay) {
+            this.minHedgeDelay = minHedgeDelay;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+    }
+
+    public static class Model {
+        private String name;
+
+        /**
+         * Largest estimated prompt this model is routed for.
+         */
+        private int maxInputTokens = Integer.MAX_VALUE;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getMaxInputTokens() {
+            return maxInputTokens;
+        }
+
+        public void setMaxInputTokens(int maxInputTokens) {
+            this.maxInputTokens = maxInputTokens;
+        }
+    }
+
+    /**
+     * Token accounting. Prices are USD per million tokens, keyed by model name;
+     * a dated model such as gpt-4o-mini-2024-07-18 uses the longest matching key.
+     */
+    public static class Usage {
+        private Map<String, Price> pricing = new LinkedHashMap<>();
+
+        /**
+         * Multiplier applied to Batch API usage.
+         */
+        private double batchDiscount = 0.5;
+
+        public Map<String, Price> getPricing() {
+            return pricing;
+        }
+
+        public void setPricing(Map<String, Price> pricing) {
+            this.pricing = pricing;
+        }
+
+        public double getBatchDiscount() {
+            return batchDiscount;
+        }
+
+        public void setBatchDiscount(double batchDiscount) {
+            this.batchDiscount = batchDiscount;
+        }
+    }
+
+    public static class Price {
+        private double inputPerMillion;
+
+        /**
+         * Price of prompt tokens served from the prompt cache; defaults to inputPerMillion.
+         */
+        private Double cachedInputPerMillion;
+
+        private double outputPerMillion;
+
+        public double getInputPerMillion() {
+            return inputPerMillion;
+        }
+
+        public void setInputPerMillion(double inputPerMillion) {
+            this.inputPerMillion = inputPerMillion;
+        }
+
+        public Double getCachedInputPerMillion() {
+            return cachedInputPerMillion;
+        }
+
+        public void setCachedInputPerMillion(Double cachedInputPerMillion) {
+            this.cachedInputPerMillion = cachedInputPerMillion;
+        }
+
+        public double getOutputPerMillion() {
+            return outputPerMillion;
+        }
+
+        public void setOutputPerMillion(double outputPerMillion) {
+            this.outputPerMillion = outputPerMillion;
+        }
+    }
+}
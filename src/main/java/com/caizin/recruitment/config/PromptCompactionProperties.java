@@ -0,0 +1,43 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "prompt-compaction")
+public class PromptCompactionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Estimated-token budget for resume text sent to MCP or the LLM.
+     */
+    private int resumeMaxTokens = 2500;
+
+    /**
+     * Estimated-token budget for a job description.
+     */
+    private int jdMaxTokens = 1200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getResumeMaxTokens() {
+        return resumeMaxTokens;
+    }
+
+    public void setResumeMaxTokens(int resumeMaxTokens) {
+        this.resumeMaxTokens = resumeMaxTokens;
+    }
+
+    public int getJdMaxTokens() {
+        return jdMaxTokens;
+    }
+
+    public void setJdMaxTokens(int jdMaxTokens) {
+        this.jdMaxTokens = jdMaxTokens;
+    }
+}
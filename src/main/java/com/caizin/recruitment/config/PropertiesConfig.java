@@ -5,8 +5,17 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableConfigurationProperties({
+        AnalysisOutboxProperties.class,
         AtsProperties.class,
+        BackfillProperties.class,
+        DedupProperties.class,
+        McpProperties.class,
         OpenAiProperties.class,
+        PromptCompactionProperties.class,
+        QuestionGenerationProperties.class,
+        ReverseMatchProperties.class,
+        ScoringProperties.class,
+        SearchProperties.class,
         ZohoProperties.class
 })
 public class PropertiesConfig {
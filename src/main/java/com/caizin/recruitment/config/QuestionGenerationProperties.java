@@ -0,0 +1,97 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "questions")
+public class QuestionGenerationProperties {
+
+    /**
+     * Concurrent OpenAI calls during a bulk run; keep under the account's rate limit.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Candidates fetched per keyset page.
+     */
+    private int pageSize = 100;
+
+    /**
+     * Default ATS score a candidate needs to get questions in a bulk run (null = all).
+     */
+    private Double minAtsScore;
+
+    /**
+     * Periodically generate questions for candidates that have none yet.
+     */
+    private boolean autoGenerate = false;
+
+    private Duration interval = Duration.ofMinutes(15);
+
+    /**
+     * Question sets kept in memory in front of the screening_question_sets table.
+     */
+    private int cacheMaxEntries = 5000;
+
+    /**
+     * How long an SSE question stream may stay open.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(2);
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Double getMinAtsScore() {
+        return minAtsScore;
+    }
+
+    public void setMinAtsScore(Double minAtsScore) {
+        this.minAtsScore = minAtsScore;
+    }
+
+    public boolean isAutoGenerate() {
+        return autoGenerate;
+    }
+
+    public void setAutoGenerate(boolean autoGenerate) {
+        this.autoGenerate = autoGenerate;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+}
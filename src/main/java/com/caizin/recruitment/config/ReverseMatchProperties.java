@@ -0,0 +1,48 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reverse-match")
+public class ReverseMatchProperties {
+
+    /**
+     * Score every new resume against all open jobs, not just the one it was filed under.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Alternate jobs stored per candidate.
+     */
+    private int topN = 5;
+
+    /**
+     * How long the open-job index is reused before it is rebuilt from the ATS.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(15);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getTopN() {
+        return topN;
+    }
+
+    public void setTopN(int topN) {
+        this.topN = topN;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
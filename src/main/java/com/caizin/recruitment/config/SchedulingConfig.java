@@ -0,0 +1,15 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs. They run on Spring Boot's task scheduler,
+ * sized by {@code spring.task.scheduling.pool.size}; long-running work such as
+ * batch submission hands off to its own executor instead of holding a
+ * scheduler thread.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,104 @@
+package com.caizin.recruitment.config;
+
+import com.caizin.recruitment.util.ats.AtsScoringWeights;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "scoring")
+public class ScoringProperties {
+
+    private Weights weights = new Weights();
+    private Rescoring rescoring = new Rescoring();
+
+    public Weights getWeights() {
+        return weights;
+    }
+
+    public void setWeights(Weights weights) {
+        this.weights = weights;
+    }
+
+    public Rescoring getRescoring() {
+        return rescoring;
+    }
+
+    public void setRescoring(Rescoring rescoring) {
+        this.rescoring = rescoring;
+    }
+
+    public AtsScoringWeights toWeights() {
+        return new AtsScoringWeights(
+                weights.getSkill(),
+                weights.getExperience(),
+                weights.getProject(),
+                weights.getQuality()
+        );
+    }
+
+    public static class Weights {
+        private double skill = AtsScoringWeights.DEFAULT.skill();
+        private double experience = AtsScoringWeights.DEFAULT.experience();
+        private double project = AtsScoringWeights.DEFAULT.project();
+        private double quality = AtsScoringWeights.DEFAULT.quality();
+
+        public double getSkill() {
+            return skill;
+        }
+
+        public void setSkill(double skill) {
+            this.skill = skill;
+        }
+
+        public double getExperience() {
+            return experience;
+        }
+
+        public void setExperience(double experience) {
+            this.experience = experience;
+        }
+
+        public double getProject() {
+            return project;
+        }
+
+        public void setProject(double project) {
+            this.project = project;
+        }
+
+        public double getQuality() {
+            return quality;
+        }
+
+        public void setQuality(double quality) {
+            this.quality = quality;
+        }
+    }
+
+    public static class Rescoring {
+        /**
+         * Fork-join parallelism used for bulk re-scoring. Defaults to half the cores
+         * so ingestion keeps running alongside.
+         */
+        private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Rows read, scored and written per batch.
+         */
+        private int batchSize = 500;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+}
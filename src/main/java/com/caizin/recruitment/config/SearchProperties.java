@@ -0,0 +1,48 @@
+package com.caizin.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+
+    /**
+     * Local directory holding the Lucene index.
+     */
+    private String indexDir = "data/search-index";
+
+    /**
+     * Rebuild the index from resume_features at startup even if it is not empty.
+     */
+    private boolean rebuildOnStartup = false;
+
+    /**
+     * How often pending index changes are committed to disk.
+     */
+    private Duration commitInterval = Duration.ofSeconds(30);
+
+    public String getIndexDir() {
+        return indexDir;
+    }
+
+    public void setIndexDir(String indexDir) {
+        this.indexDir = indexDir;
+    }
+
+    public boolean isRebuildOnStartup() {
+        return rebuildOnStartup;
+    }
+
+    public void setRebuildOnStartup(boolean rebuildOnStartup) {
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public Duration getCommitInterval() {
+        return commitInterval;
+    }
+
+    public void setCommitInterval(Duration commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+}
@@ -0,0 +1,57 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.service.rescoring.AtsRescoringService;
+import com.caizin.recruitment.service.rescoring.RescoringRun;
+import com.caizin.recruitment.util.ats.AtsScoringWeights;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collection;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ats/rescoring")
+public class AtsRescoringController {
+
+    private final AtsRescoringService rescoringService;
+
+    public AtsRescoringController(AtsRescoringService rescoringService) {
+        this.rescoringService = rescoringService;
+    }
+
+    /**
+     * Start a bulk re-score for one job, or all jobs when jobOpeningId is omitted.
+     * An optional body ({@code skill}, {@code experience}, {@code project},
+     * {@code quality}) re-ranks with those weights instead of the configured ones.
+     */
+    @PostMapping
+    public ResponseEntity<?> start(
+            @RequestParam(required = false) String jobOpeningId,
+            @RequestParam(defaultValue = "false") boolean refreshJd,
+            @RequestBody(required = false) AtsScoringWeights weights
+    ) {
+        try {
+            RescoringRun run = rescoringService.start(jobOpeningId, refreshJd, weights);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("status", "invalid", "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("status", "busy", "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<RescoringRun> status(@PathVariable String runId) {
+        return rescoringService.find(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public Collection<RescoringRun> runs() {
+        return rescoringService.runs();
+    }
+}
@@ -0,0 +1,66 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.entity.BackfillCheckpoint;
+import com.caizin.recruitment.parser.ResumeParser;
+import com.caizin.recruitment.service.backfill.ResumeBackfillService;
+import com.caizin.recruitment.util.ResumeTextExtractor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/backfill/resume-features")
+public class BackfillController {
+
+    private final ResumeBackfillService backfillService;
+
+    public BackfillController(ResumeBackfillService backfillService) {
+        this.backfillService = backfillService;
+    }
+
+    /**
+     * Start or resume re-extraction of candidates with outdated features.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> start(
+            @RequestParam(defaultValue = "false") boolean restart
+    ) {
+        boolean started = backfillService.start(restart);
+
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(status(started ? "started" : "already running"));
+    }
+
+    @PostMapping("/stop")
+    public Map<String, Object> stop() {
+        backfillService.stop();
+        return status("stopping");
+    }
+
+    @GetMapping
+    public Map<String, Object> status() {
+        return status(backfillService.isRunning() ? "running" : "idle");
+    }
+
+    private Map<String, Object> status(String message) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", message);
+        body.put("running", backfillService.isRunning());
+        body.put("parserVersion", ResumeParser.VERSION);
+        body.put("extractorVersion", ResumeTextExtractor.VERSION);
+
+        BackfillCheckpoint cp = backfillService.checkpoint();
+        if (cp != null) {
+            body.put("lastCandidateId", cp.getLastCandidateId());
+            body.put("processed", cp.getProcessed());
+            body.put("failed", cp.getFailed());
+            body.put("completed", cp.isCompleted());
+            body.put("updatedAt", cp.getUpdatedAt());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,26 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.entity.CandidateApplication;
+import com.caizin.recruitment.service.CandidateIdentityService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/candidates")
+public class CandidateApplicationController {
+
+    private final CandidateIdentityService identityService;
+
+    public CandidateApplicationController(CandidateIdentityService identityService) {
+        this.identityService = identityService;
+    }
+
+    /**
+     * Every resume received from this person, across jobs and sources, oldest first.
+     */
+    @GetMapping("/{candidateId}/applications")
+    public List<CandidateApplication> applications(@PathVariable String candidateId) {
+        return identityService.applications(candidateId);
+    }
+}
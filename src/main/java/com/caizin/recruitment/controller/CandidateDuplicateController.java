@@ -0,0 +1,38 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.config.DedupProperties;
+import com.caizin.recruitment.service.index.NearDuplicateIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/candidates")
+public class CandidateDuplicateController {
+
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final DedupProperties properties;
+
+    public CandidateDuplicateController(NearDuplicateIndex nearDuplicateIndex, DedupProperties properties) {
+        this.nearDuplicateIndex = nearDuplicateIndex;
+        this.properties = properties;
+    }
+
+    /**
+     * Other candidates whose resume text is a near-duplicate of this one, most similar first.
+     */
+    @GetMapping("/{candidateId}/duplicates")
+    public ResponseEntity<List<NearDuplicateIndex.Match>> duplicates(
+            @PathVariable String candidateId,
+            @RequestParam(required = false) Double minSimilarity
+    ) {
+        int[] signature = nearDuplicateIndex.signatureOf(candidateId);
+        if (signature == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        double threshold = minSimilarity != null ? minSimilarity : properties.getThreshold();
+        return ResponseEntity.ok(nearDuplicateIndex.findSimilar(candidateId, signature, threshold));
+    }
+}
@@ -0,0 +1,26 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.entity.CandidateJobMatch;
+import com.caizin.recruitment.service.ReverseMatchService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/candidates")
+public class CandidateJobMatchController {
+
+    private final ReverseMatchService reverseMatchService;
+
+    public CandidateJobMatchController(ReverseMatchService reverseMatchService) {
+        this.reverseMatchService = reverseMatchService;
+    }
+
+    /**
+     * Other open jobs this candidate scores well on, best first.
+     */
+    @GetMapping("/{candidateId}/job-matches")
+    public List<CandidateJobMatch> jobMatches(@PathVariable String candidateId) {
+        return reverseMatchService.findMatches(candidateId);
+    }
+}
@@ -4,10 +4,19 @@ import com.caizin.recruitment.dto.JobQuestionResponseDto;
 import com.caizin.recruitment.dto.ScreeningQuestionDto;
 import com.caizin.recruitment.service.CandidateQuestionGenerationService;
 import com.caizin.recruitment.service.SharePointService;
+import com.caizin.recruitment.service.questions.BulkQuestionGenerationService;
+import com.caizin.recruitment.service.questions.QuestionGenerationRun;
+import com.caizin.recruitment.service.questions.QuestionStreamService;
+import com.caizin.recruitment.service.questions.ScreeningQuestionStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.File;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/questions")
@@ -15,12 +24,20 @@ public class CandidateQuestionController {
 
     private final CandidateQuestionGenerationService questionService;
     private final SharePointService sharePointService;
+    private final BulkQuestionGenerationService bulkService;
+    private final ScreeningQuestionStore questionStore;
+    private final QuestionStreamService streamService;
 
     public CandidateQuestionController(
-            CandidateQuestionGenerationService questionService, SharePointService sharePointService
+            CandidateQuestionGenerationService questionService, SharePointService sharePointService,
+            BulkQuestionGenerationService bulkService, ScreeningQuestionStore questionStore,
+            QuestionStreamService streamService
     ) {
         this.questionService = questionService;
         this.sharePointService = sharePointService;
+        this.bulkService = bulkService;
+        this.questionStore = questionStore;
+        this.streamService = streamService;
     }
 
     @PostMapping("/generate")
@@ -39,4 +56,61 @@ public class CandidateQuestionController {
         );
     }
 
+    /**
+     * Generate questions for every processed candidate in the background,
+     * optionally only those at or above minAtsScore.
+     */
+    @PostMapping("/generate/bulk")
+    public ResponseEntity<?> generateBulk(
+            @RequestParam(required = false) Double minAtsScore,
+            @RequestParam(defaultValue = "false") boolean regenerate
+    ) {
+        try {
+            QuestionGenerationRun run = bulkService.start(minAtsScore, regenerate);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("status", "busy", "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<QuestionGenerationRun> run(@PathVariable String runId) {
+        return bulkService.find(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/runs")
+    public Collection<QuestionGenerationRun> runs() {
+        return bulkService.runs();
+    }
+
+    /**
+     * Stored questions for a candidate and job.
+     */
+    @GetMapping("/candidates/{candidateId}")
+    public ResponseEntity<JobQuestionResponseDto> stored(
+            @PathVariable String candidateId,
+            @RequestParam String jobOpeningId
+    ) {
+        return questionStore.find(candidateId, jobOpeningId)
+                .map(questions -> ResponseEntity.ok(new JobQuestionResponseDto(jobOpeningId, questions)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Server-sent events: one {@code question} event per question as soon as it
+     * is generated (or replayed from the store), then {@code done}.
+     */
+    @GetMapping(value = "/candidates/{candidateId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @PathVariable String candidateId,
+            @RequestParam(defaultValue = "false") boolean regenerate
+    ) {
+        return streamService.open(candidateId, regenerate)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.service.index.CandidateSearchIndex;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/search")
+public class CandidateSearchController {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final CandidateSearchIndex searchIndex;
+
+    public CandidateSearchController(CandidateSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Full-text candidate search over resume text, skills and name, ranked by BM25.
+     * Supports "quoted phrases", +required, -excluded and prefix* terms.
+     */
+    @GetMapping("/candidates")
+    public ResponseEntity<CandidateSearchIndex.SearchResult> search(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(required = false) String jobOpeningId,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(searchIndex.search(new CandidateSearchIndex.SearchRequest(
+                query, jobOpeningId, minScore, maxScore, from, to,
+                offset, Math.max(1, Math.min(limit, MAX_LIMIT))
+        )));
+    }
+}
@@ -0,0 +1,38 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.service.index.JobLeaderboardIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final JobLeaderboardIndex leaderboardIndex;
+
+    public LeaderboardController(JobLeaderboardIndex leaderboardIndex) {
+        this.leaderboardIndex = leaderboardIndex;
+    }
+
+    /**
+     * Best candidates for a job by ATS score. Pass the returned nextCursor to get the next page.
+     */
+    @GetMapping("/{jobOpeningId}")
+    public ResponseEntity<?> top(
+            @PathVariable String jobOpeningId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+            return ResponseEntity.ok(leaderboardIndex.top(jobOpeningId, k, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("status", "error", "message", e.getMessage()));
+        }
+    }
+}
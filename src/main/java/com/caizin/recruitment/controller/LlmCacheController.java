@@ -0,0 +1,38 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.integration.openai.OpenAiResponseCache;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/llm/cache")
+public class LlmCacheController {
+
+    private final OpenAiResponseCache responseCache;
+
+    public LlmCacheController(OpenAiResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", responseCache.isEnabled(),
+                "stats", responseCache.stats()
+        );
+    }
+
+    /**
+     * Drop cached responses for one job opening, or all of them when jobOpeningId is omitted.
+     */
+    @DeleteMapping
+    public Map<String, Object> invalidate(@RequestParam(required = false) String jobOpeningId) {
+
+        int removed = jobOpeningId != null
+                ? responseCache.invalidateTag(jobOpeningId)
+                : responseCache.invalidateAll();
+
+        return Map.of("removed", removed);
+    }
+}
@@ -0,0 +1,33 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.integration.openai.OpenAiModelRouter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/llm/routing")
+public class LlmRoutingController {
+
+    private final OpenAiModelRouter modelRouter;
+    private final OpenAiProperties properties;
+
+    public LlmRoutingController(OpenAiModelRouter modelRouter, OpenAiProperties properties) {
+        this.modelRouter = modelRouter;
+        this.properties = properties;
+    }
+
+    /**
+     * Per-model latency percentiles and hedge counts over the current window.
+     */
+    @GetMapping
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", properties.getRouting().isEnabled(),
+                "models", modelRouter.stats()
+        );
+    }
+}
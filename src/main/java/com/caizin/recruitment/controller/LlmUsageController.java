@@ -0,0 +1,50 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.service.usage.LlmUsageTracker;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/llm/usage")
+public class LlmUsageController {
+
+    private final LlmUsageTracker usageTracker;
+
+    public LlmUsageController(LlmUsageTracker usageTracker) {
+        this.usageTracker = usageTracker;
+    }
+
+    /**
+     * Token and cost totals, by default for the last 30 days grouped by day.
+     *
+     * @param groupBy job, day, model or operation
+     */
+    @GetMapping
+    public ResponseEntity<?> totals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy,
+            @RequestParam(required = false) String jobOpeningId
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+
+        try {
+            return ResponseEntity.ok(Map.of(
+                    "from", start,
+                    "to", end,
+                    "groupBy", groupBy,
+                    "totals", usageTracker.totals(start, end, groupBy, jobOpeningId)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.integration.MCPClient.MCPClient;
+import com.caizin.recruitment.service.outbox.AnalysisOutboxService;
+import com.caizin.recruitment.service.outbox.AnalysisOutboxWorker;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/mcp")
+public class McpStatusController {
+
+    private final MCPClient mcpClient;
+    private final AnalysisOutboxService outbox;
+    private final AnalysisOutboxWorker outboxWorker;
+
+    public McpStatusController(
+            MCPClient mcpClient,
+            AnalysisOutboxService outbox,
+            AnalysisOutboxWorker outboxWorker
+    ) {
+        this.mcpClient = mcpClient;
+        this.outbox = outbox;
+        this.outboxWorker = outboxWorker;
+    }
+
+    @GetMapping("/status")
+    public Map<String, Object> status() {
+        return Map.of(
+                "circuit", mcpClient.circuitState(),
+                "inFlight", mcpClient.inFlight(),
+                "cache", mcpClient.cacheStats(),
+                "outbox", outbox.counts(),
+                "outboxInFlight", outboxWorker.inFlight()
+        );
+    }
+}
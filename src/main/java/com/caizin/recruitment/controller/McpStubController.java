@@ -0,0 +1,84 @@
+package com.caizin.recruitment.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for the MCP server, for running the pipeline without it.
+ * Enable with the {@code mcp-stub} profile and point {@code mcp.base-url} at
+ * this application. Analyses are deterministic keyword overlaps, not AI output.
+ */
+@Profile("mcp-stub")
+@RestController
+@RequestMapping("/tools")
+public class McpStubController {
+
+    private static final Set<String> SKILLS = Set.of(
+            "java", "spring", "aws", "docker", "kubernetes",
+            "mysql", "postgresql", "redis", "react",
+            "node", "python", "microservices"
+    );
+
+    @PostMapping("/analyze_resume")
+    public Map<String, Object> analyzeResume(@RequestBody Map<String, Object> request) {
+        return analyze(
+                String.valueOf(request.get("resumeText")),
+                String.valueOf(request.get("jobDescription")));
+    }
+
+    @PostMapping("/analyze_resume_batch")
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> analyzeResumeBatch(@RequestBody Map<String, Object> request) {
+
+        String jd = String.valueOf(request.get("jobDescription"));
+        List<Map<String, Object>> items = (List<Map<String, Object>>) request.getOrDefault("items", List.of());
+
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            results.add(Map.of(
+                    "id", String.valueOf(item.get("id")),
+                    "analysis", analyze(String.valueOf(item.get("resumeText")), jd)
+            ));
+        }
+        return Map.of("results", results);
+    }
+
+    private Map<String, Object> analyze(String resumeText, String jdText) {
+
+        Set<String> resume = skills(resumeText);
+        Set<String> wanted = skills(jdText);
+
+        Set<String> matched = new LinkedHashSet<>(wanted);
+        matched.retainAll(resume);
+        Set<String> missing = new LinkedHashSet<>(wanted);
+        missing.removeAll(resume);
+
+        int technical = wanted.isEmpty() ? 50 : 100 * matched.size() / wanted.size();
+
+        Map<String, Object> analysis = new HashMap<>();
+        analysis.put("technical_score", technical);
+        analysis.put("experience_score", Math.min(100, resumeText.length() / 100));
+        analysis.put("communication_score", 60);
+        analysis.put("leadership_score", resumeText.toLowerCase(Locale.ROOT).contains("lead") ? 70 : 40);
+        analysis.put("skills", String.join(", ", resume));
+        analysis.put("missing_skills", String.join(", ", missing));
+        analysis.put("risk_flags", "");
+        return analysis;
+    }
+
+    private static Set<String> skills(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+"))
+                .filter(SKILLS::contains)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
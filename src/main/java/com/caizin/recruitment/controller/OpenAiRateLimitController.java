@@ -0,0 +1,27 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.integration.openai.OpenAiClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/llm/rate-limit")
+public class OpenAiRateLimitController {
+
+    private final OpenAiClient openAiClient;
+
+    public OpenAiRateLimitController(OpenAiClient openAiClient) {
+        this.openAiClient = openAiClient;
+    }
+
+    /**
+     * Current client-side view of the OpenAI request and token budgets.
+     */
+    @GetMapping
+    public Map<String, Object> snapshot() {
+        return openAiClient.rateLimitSnapshot();
+    }
+}
@@ -0,0 +1,227 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.util.prompt.TokenEstimator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Local stand-in for the OpenAI endpoints this application uses: chat
+ * completions (plain and streamed), file upload/download and batches. Enable
+ * with the {@code openai-stub} profile and point {@code openai.base-url} at
+ * {@code http://localhost:8080/openai-stub/v1}. Completions are templated
+ * screening questions, not model output; a batch completes on its first poll.
+ */
+@Profile("openai-stub")
+@RestController
+@RequestMapping("/openai-stub/v1")
+public class OpenAiStubController {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> batches = new ConcurrentHashMap<>();
+    private final Deque<String> newestBatchFirst = new ConcurrentLinkedDeque<>();
+
+    public OpenAiStubController(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/chat/completions", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> chatCompletion(@RequestBody JsonNode request) throws IOException {
+
+        String content = questionsJson(request);
+
+        if (!request.path("stream").asBoolean(false)) {
+            return ResponseEntity.ok(completion(request, content));
+        }
+
+        StringBuilder events = new StringBuilder();
+        for (int i = 0; i < content.length(); i += 24) {
+            Map<String, Object> chunk = Map.of("choices", List.of(Map.of(
+                    "index", 0,
+                    "delta", Map.of("content", content.substring(i, Math.min(content.length(), i + 24))))));
+            events.append("data: ").append(objectMapper.writeValueAsString(chunk)).append("\n\n");
+        }
+        if (request.path("stream_options").path("include_usage").asBoolean(false)) {
+            Map<String, Object> usageChunk = Map.of("model", "stub", "choices", List.of(), "usage", usage(request, content));
+            events.append("data: ").append(objectMapper.writeValueAsString(usageChunk)).append("\n\n");
+        }
+        events.append("data: [DONE]\n\n");
+
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events.toString());
+    }
+
+    @PostMapping(value = "/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Map<String, Object> uploadFile(
+            @RequestParam("purpose") String purpose,
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+
+        String id = "file-" + UUID.randomUUID();
+        files.put(id, new String(file.getBytes(), StandardCharsets.UTF_8));
+
+        return Map.of("id", id, "object", "file", "purpose", purpose,
+                "filename", String.valueOf(file.getOriginalFilename()), "bytes", file.getSize());
+    }
+
+    @GetMapping(value = "/files/{fileId}/content", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> fileContent(@PathVariable String fileId) {
+        String content = files.get(fileId);
+        return content == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(content);
+    }
+
+    @PostMapping("/batches")
+    public ResponseEntity<Map<String, Object>> createBatch(@RequestBody Map<String, Object> request) {
+
+        String inputFileId = String.valueOf(request.get("input_file_id"));
+        if (!files.containsKey(inputFileId)) {
+            return ResponseEntity.badRequest().body(Map.of("error", Map.of("message", "unknown input_file_id")));
+        }
+
+        String id = "batch_" + UUID.randomUUID();
+        Map<String, Object> batch = new LinkedHashMap<>();
+        batch.put("id", id);
+        batch.put("object", "batch");
+        batch.put("endpoint", request.get("endpoint"));
+        batch.put("input_file_id", inputFileId);
+        batch.put("status", "in_progress");
+        batch.put("created_at", Instant.now().getEpochSecond());
+        batch.put("metadata", request.get("metadata"));
+        batches.put(id, batch);
+        newestBatchFirst.addFirst(id);
+
+        return ResponseEntity.ok(batch);
+    }
+
+    @GetMapping("/batches")
+    public Map<String, Object> listBatches(@RequestParam(defaultValue = "20") int limit) {
+
+        int max = Math.max(1, Math.min(limit, 100));
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (String id : newestBatchFirst) {
+            if (data.size() == max) break;
+            data.add(batches.get(id));
+        }
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("object", "list");
+        page.put("data", data);
+        page.put("has_more", newestBatchFirst.size() > data.size());
+        return page;
+    }
+
+    @GetMapping("/batches/{batchId}")
+    public ResponseEntity<Map<String, Object>> getBatch(@PathVariable String batchId) throws IOException {
+
+        Map<String, Object> batch = batches.get(batchId);
+        if (batch == null) return ResponseEntity.notFound().build();
+
+        synchronized (batch) {
+            if ("in_progress".equals(batch.get("status"))) {
+                run(batch);
+            }
+        }
+        return ResponseEntity.ok(batch);
+    }
+
+    private void run(Map<String, Object> batch) throws IOException {
+
+        String input = files.get(String.valueOf(batch.get("input_file_id")));
+        List<String> output = new ArrayList<>();
+        int total = 0;
+
+        for (String line : input.split("\n")) {
+            if (line.isBlank()) continue;
+            total++;
+
+            JsonNode request = objectMapper.readTree(line);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", "batch_req_" + UUID.randomUUID());
+            result.put("custom_id", request.path("custom_id").asText());
+            result.put("response", Map.of(
+                    "status_code", 200,
+                    "request_id", UUID.randomUUID().toString(),
+                    "body", completion(request.path("body"), questionsJson(request.path("body")))));
+            result.put("error", null);
+            output.add(objectMapper.writeValueAsString(result));
+        }
+
+        String outputFileId = "file-" + UUID.randomUUID();
+        files.put(outputFileId, String.join("\n", output) + "\n");
+
+        batch.put("status", "completed");
+        batch.put("output_file_id", outputFileId);
+        batch.put("error_file_id", null);
+        batch.put("completed_at", Instant.now().getEpochSecond());
+        batch.put("request_counts", Map.of("total", total, "completed", total, "failed", 0));
+    }
+
+    private Map<String, Object> completion(JsonNode request, String content) {
+        return Map.of(
+                "id", "chatcmpl-" + UUID.randomUUID(),
+                "object", "chat.completion",
+                "created", Instant.now().getEpochSecond(),
+                "model", "stub",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", content),
+                        "finish_reason", "stop")),
+                "usage", usage(request, content));
+    }
+
+    private static Map<String, Object> usage(JsonNode request, String content) {
+        int prompt = 0;
+        for (JsonNode message : request.path("messages")) {
+            prompt += TokenEstimator.estimate(message.path("content").asText(""));
+        }
+        int completion = TokenEstimator.estimate(content);
+        return Map.of("prompt_tokens", prompt, "completion_tokens", completion, "total_tokens", prompt + completion);
+    }
+
+    /**
+     * Ten templated questions around the skills listed in the prompt.
+     */
+    private String questionsJson(JsonNode request) throws IOException {
+
+        StringBuilder prompt = new StringBuilder();
+        for (JsonNode message : request.path("messages")) {
+            prompt.append(message.path("content").asText("")).append('\n');
+        }
+        List<String> skills = new ArrayList<>();
+
+        for (String line : prompt.toString().split("\n")) {
+            String t = line.trim();
+            if (t.startsWith("Skills:")) {
+                for (String skill : t.substring(7).replaceAll("[\\[\\]]", "").split(",")) {
+                    if (!skill.isBlank()) skills.add(skill.trim());
+                }
+            }
+        }
+        if (skills.isEmpty()) skills.add("your main technology");
+
+        List<Map<String, String>> questions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String skill = skills.get(i % skills.size());
+            questions.add(i % 2 == 0
+                    ? Map.of("type", "experience", "question", "Describe a production problem you solved with " + skill + ".")
+                    : Map.of("type", "design", "question", "How would you design a service that relies on " + skill + " to scale 10x?"));
+        }
+        return objectMapper.writeValueAsString(Map.of("questions", questions));
+    }
+}
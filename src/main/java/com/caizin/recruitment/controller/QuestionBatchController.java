@@ -0,0 +1,53 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.entity.QuestionBatch;
+import com.caizin.recruitment.service.questions.QuestionBatchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/questions/batches")
+public class QuestionBatchController {
+
+    private final QuestionBatchService batchService;
+
+    public QuestionBatchController(QuestionBatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    /**
+     * Submit OpenAI Batch API jobs for every eligible candidate, optionally only
+     * those at or above minAtsScore.
+     */
+    @PostMapping
+    public ResponseEntity<?> submit(
+            @RequestParam(required = false) Double minAtsScore,
+            @RequestParam(defaultValue = "false") boolean regenerate
+    ) {
+        try {
+            List<QuestionBatch> batches = batchService.submit(minAtsScore, regenerate);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(batches);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("status", "disabled", "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public List<QuestionBatch> recent() {
+        return batchService.recent();
+    }
+
+    /**
+     * Poll open batches now instead of waiting for the next scheduled poll.
+     */
+    @PostMapping("/poll")
+    public List<QuestionBatch> poll() {
+        batchService.poll();
+        return batchService.recent();
+    }
+}
@@ -0,0 +1,44 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.service.index.SkillBitmapIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/skills")
+public class SkillFilterController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final SkillBitmapIndex skillIndex;
+
+    public SkillFilterController(SkillBitmapIndex skillIndex) {
+        this.skillIndex = skillIndex;
+    }
+
+    /**
+     * e.g. /api/skills/candidates?all=java,kubernetes&none=php&minYears=5
+     */
+    @GetMapping("/candidates")
+    public ResponseEntity<SkillBitmapIndex.Result> candidates(
+            @RequestParam(required = false) List<String> all,
+            @RequestParam(required = false) List<String> any,
+            @RequestParam(required = false) List<String> none,
+            @RequestParam(required = false) Double minYears,
+            @RequestParam(required = false) String jobOpeningId,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(skillIndex.query(new SkillBitmapIndex.Query(
+                all, any, none, minYears, jobOpeningId,
+                Math.max(0, Math.min(limit, MAX_LIMIT))
+        )));
+    }
+
+    @GetMapping("/counts")
+    public ResponseEntity<Map<String, Integer>> counts() {
+        return ResponseEntity.ok(skillIndex.skillCounts());
+    }
+}
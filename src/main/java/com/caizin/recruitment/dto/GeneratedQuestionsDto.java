@@ -0,0 +1,10 @@
+package com.caizin.recruitment.dto;
+
+import java.util.List;
+
+/**
+ * Validated screening questions and the model that wrote them, e.g.
+ * {@code gpt-4o-mini-2024-07-18} rather than the configured alias.
+ */
+public record GeneratedQuestionsDto(List<ScreeningQuestionDto> questions, String model) {
+}
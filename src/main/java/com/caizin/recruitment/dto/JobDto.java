@@ -8,6 +8,7 @@ public class JobDto {
     private String description;
     private String experience;
     private String department;
+    private String status;
 
     public JobDto() {}
 
@@ -77,4 +78,12 @@ public class JobDto {
     public void setDepartment(String department) {
         this.department = department;
     }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
 }
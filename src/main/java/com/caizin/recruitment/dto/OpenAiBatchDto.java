@@ -0,0 +1,143 @@
+package com.caizin.recruitment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch object returned by {@code /v1/batches}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OpenAiBatchDto {
+    private String id;
+    private String status;
+
+    @JsonProperty("input_file_id")
+    private String inputFileId;
+
+    @JsonProperty("output_file_id")
+    private String outputFileId;
+
+    @JsonProperty("error_file_id")
+    private String errorFileId;
+
+    @JsonProperty("request_counts")
+    private RequestCounts requestCounts;
+
+    private Map<String, String> metadata;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getInputFileId() {
+        return inputFileId;
+    }
+
+    public void setInputFileId(String inputFileId) {
+        this.inputFileId = inputFileId;
+    }
+
+    public String getOutputFileId() {
+        return outputFileId;
+    }
+
+    public void setOutputFileId(String outputFileId) {
+        this.outputFileId = outputFileId;
+    }
+
+    public String getErrorFileId() {
+        return errorFileId;
+    }
+
+    public void setErrorFileId(String errorFileId) {
+        this.errorFileId = errorFileId;
+    }
+
+    public RequestCounts getRequestCounts() {
+        return requestCounts;
+    }
+
+    public void setRequestCounts(RequestCounts requestCounts) {
+        this.requestCounts = requestCounts;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(Map<String, String> metadata) {
+        this.metadata = metadata;
+    }
+
+    /**
+     * True once OpenAI will not change the batch any more.
+     */
+    public boolean isTerminal() {
+        return "completed".equals(status)
+                || "failed".equals(status)
+                || "expired".equals(status)
+                || "cancelled".equals(status);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class RequestCounts {
+        private int total;
+        private int completed;
+        private int failed;
+
+        public int getTotal() {
+            return total;
+        }
+
+        public void setTotal(int total) {
+            this.total = total;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(int completed) {
+            this.completed = completed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public void setFailed(int failed) {
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * One page of {@code GET /v1/batches}, newest first.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Page {
+        private List<OpenAiBatchDto> data;
+
+        public List<OpenAiBatchDto> getData() {
+            return data;
+        }
+
+        public void setData(List<OpenAiBatchDto> data) {
+            this.data = data;
+        }
+    }
+}
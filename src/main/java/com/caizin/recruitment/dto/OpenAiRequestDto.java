@@ -14,6 +14,20 @@ public class OpenAiRequestDto {
     @JsonProperty("response_format")
     private ResponseFormat responseFormat;
 
+    /**
+     * Ask for server-sent delta events instead of one response; omitted when null.
+     */
+    private Boolean stream;
+
+    @JsonProperty("stream_options")
+    private StreamOptions streamOptions;
+
+    /**
+     * Groups requests that share a long prefix onto the same prompt-cache shard.
+     */
+    @JsonProperty("prompt_cache_key")
+    private String promptCacheKey;
+
     public OpenAiRequestDto() {
     }
 
@@ -24,6 +38,20 @@ public class OpenAiRequestDto {
         this.responseFormat = responseFormat;
     }
 
+    /**
+     * Shallow copy, so a request can be adjusted for one call without changing
+     * the caller's instance; messages and nested options are shared.
+     */
+    public OpenAiRequestDto(OpenAiRequestDto other) {
+        this.model = other.model;
+        this.messages = other.messages;
+        this.temperature = other.temperature;
+        this.responseFormat = other.responseFormat;
+        this.stream = other.stream;
+        this.streamOptions = other.streamOptions;
+        this.promptCacheKey = other.promptCacheKey;
+    }
+
     public String getModel() {
         return model;
     }
@@ -56,6 +84,30 @@ public class OpenAiRequestDto {
         this.responseFormat = responseFormat;
     }
 
+    public Boolean getStream() {
+        return stream;
+    }
+
+    public void setStream(Boolean stream) {
+        this.stream = stream;
+    }
+
+    public StreamOptions getStreamOptions() {
+        return streamOptions;
+    }
+
+    public void setStreamOptions(StreamOptions streamOptions) {
+        this.streamOptions = streamOptions;
+    }
+
+    public String getPromptCacheKey() {
+        return promptCacheKey;
+    }
+
+    public void setPromptCacheKey(String promptCacheKey) {
+        this.promptCacheKey = promptCacheKey;
+    }
+
     @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Message {
         private String role;
@@ -105,5 +157,27 @@ public class OpenAiRequestDto {
             this.type = type;
         }
     }
-}
 
+    /**
+     * {@code include_usage} adds a final chunk carrying the completion's usage.
+     */
+    public static class StreamOptions {
+        @JsonProperty("include_usage")
+        private boolean includeUsage;
+
+        public StreamOptions() {
+        }
+
+        public StreamOptions(boolean includeUsage) {
+            this.includeUsage = includeUsage;
+        }
+
+        public boolean isIncludeUsage() {
+            return includeUsage;
+        }
+
+        public void setIncludeUsage(boolean includeUsage) {
+            this.includeUsage = includeUsage;
+        }
+    }
+}
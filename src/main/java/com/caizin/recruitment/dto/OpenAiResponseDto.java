@@ -7,7 +7,17 @@ import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class OpenAiResponseDto {
+    private String model;
     private List<Choice> choices;
+    private Usage usage;
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
 
     public List<Choice> getChoices() {
         return choices;
@@ -17,6 +27,14 @@ public class OpenAiResponseDto {
         this.choices = choices;
     }
 
+    public Usage getUsage() {
+        return usage;
+    }
+
+    public void setUsage(Usage usage) {
+        this.usage = usage;
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Choice {
         private Message message;
@@ -51,5 +69,72 @@ public class OpenAiResponseDto {
             this.content = content;
         }
     }
-}
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Usage {
+        @JsonProperty("prompt_tokens")
+        private int promptTokens;
+
+        @JsonProperty("completion_tokens")
+        private int completionTokens;
+
+        @JsonProperty("total_tokens")
+        private int totalTokens;
+
+        @JsonProperty("prompt_tokens_details")
+        private PromptTokensDetails promptTokensDetails;
+
+        public int getPromptTokens() {
+            return promptTokens;
+        }
+
+        public void setPromptTokens(int promptTokens) {
+            this.promptTokens = promptTokens;
+        }
+
+        public int getCompletionTokens() {
+            return completionTokens;
+        }
+
+        public void setCompletionTokens(int completionTokens) {
+            this.completionTokens = completionTokens;
+        }
+
+        public int getTotalTokens() {
+            return totalTokens;
+        }
+
+        public void setTotalTokens(int totalTokens) {
+            this.totalTokens = totalTokens;
+        }
+
+        public PromptTokensDetails getPromptTokensDetails() {
+            return promptTokensDetails;
+        }
+
+        public void setPromptTokensDetails(PromptTokensDetails promptTokensDetails) {
+            this.promptTokensDetails = promptTokensDetails;
+        }
+
+        /**
+         * Prompt tokens served from OpenAI's prompt cache; zero when absent.
+         */
+        public int cachedPromptTokens() {
+            return promptTokensDetails == null ? 0 : promptTokensDetails.getCachedTokens();
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PromptTokensDetails {
+        @JsonProperty("cached_tokens")
+        private int cachedTokens;
+
+        public int getCachedTokens() {
+            return cachedTokens;
+        }
+
+        public void setCachedTokens(int cachedTokens) {
+            this.cachedTokens = cachedTokens;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Queued AI analysis for one ATS-only resume_analysis row.
+ */
+@Entity
+@Table(
+        name = "analysis_outbox",
+        indexes = @Index(name = "idx_analysis_outbox_due", columnList = "status, next_attempt_at")
+)
+@Data
+public class AnalysisOutboxItem {
+
+    public static final String PENDING = "PENDING";
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "analysis_id", nullable = false)
+    private UUID analysisId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private String candidateId;
+
+    @Column(name = "job_id", nullable = false)
+    private String jobId;
+
+    /**
+     * Text to analyse; cleared once done.
+     */
+    @Column(name = "resume_text", columnDefinition = "TEXT")
+    private String resumeText;
+
+    @Column(nullable = false)
+    private String status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public AnalysisOutboxItem() {
+        this.id = UUID.randomUUID();
+        this.status = PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.caizin.recruitment.entity;
+
+/**
+ * Per-candidate inputs of the ATS formula, captured once so the final score
+ * can be recomputed without re-reading the resume.
+ */
+public record AtsFeatures(
+
+        double skillScore,
+        double candidateYears,
+        double requiredYears,
+        int projectCount,
+        double qualityLength,
+        double qualitySkills,
+        double qualityExperience,
+        double qualityProject,
+        double qualityKeyword
+
+) {}
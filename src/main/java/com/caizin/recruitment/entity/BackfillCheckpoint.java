@@ -0,0 +1,37 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last keyset position reached by a backfill, so a restarted run continues
+ * where the previous one stopped.
+ */
+@Entity
+@Table(name = "backfill_checkpoint")
+@Data
+public class BackfillCheckpoint {
+
+    @Id
+    private String name;
+
+    @Column(name = "last_candidate_id")
+    private String lastCandidateId;
+
+    @Column(name = "parser_version")
+    private int parserVersion;
+
+    @Column(name = "extractor_version")
+    private int extractorVersion;
+
+    private long processed;
+
+    private long failed;
+
+    private boolean completed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,70 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One resume file received for one job. A candidate (person) can have many.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "candidate_applications",
+        indexes = @Index(name = "idx_candidate_applications_candidate", columnList = "candidate_id, job_opening_id")
+)
+public class CandidateApplication {
+
+    @Id
+    private String applicationId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private String candidateId;
+
+    @Column(name = "job_opening_id")
+    private String jobOpeningId;
+
+    @Column(name = "sharepoint_item_id", unique = true)
+    private String sharepointItemId;
+
+    private String fileName;
+
+    private String source;
+
+    /**
+     * PROCESSED, LINKED (known candidate, scored for a new job) or REPEAT (same job again).
+     */
+    private String status;
+
+    private Double atsScore;
+
+    private String createdAt;
+
+    public static CandidateApplication create(
+            String candidateId,
+            String jobOpeningId,
+            String itemId,
+            String fileName,
+            String source,
+            String status,
+            Double atsScore
+    ) {
+        CandidateApplication a = new CandidateApplication();
+
+        a.applicationId = UUID.randomUUID().toString();
+        a.candidateId = candidateId;
+        a.jobOpeningId = jobOpeningId;
+        a.sharepointItemId = itemId;
+        a.fileName = fileName;
+        a.source = source;
+        a.status = status;
+        a.atsScore = atsScore;
+        a.createdAt = Instant.now().toString();
+
+        return a;
+    }
+}
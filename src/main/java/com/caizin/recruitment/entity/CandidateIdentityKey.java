@@ -0,0 +1,60 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One normalised identifier (email, phone or name) pointing at the candidate
+ * it belongs to. Email and phone keys are unique; name keys are not, since
+ * different people share names.
+ */
+@Entity
+@Table(
+        name = "candidate_identity_keys",
+        indexes = {
+                @Index(name = "idx_identity_keys_lookup", columnList = "key_type, key_value"),
+                @Index(name = "idx_identity_keys_candidate", columnList = "candidate_id")
+        }
+)
+@Data
+public class CandidateIdentityKey {
+
+    public enum Type { EMAIL, PHONE, NAME }
+
+    /**
+     * {@code type:value} for unique keys, {@code type:value:candidateId} for names.
+     */
+    @Id
+    @Column(nullable = false, updatable = false)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "key_type", nullable = false)
+    private Type keyType;
+
+    @Column(name = "key_value", nullable = false)
+    private String keyValue;
+
+    @Column(name = "candidate_id", nullable = false)
+    private String candidateId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public static CandidateIdentityKey of(Type type, String value, String candidateId) {
+
+        CandidateIdentityKey key = new CandidateIdentityKey();
+
+        key.id = type == Type.NAME
+                ? type + ":" + value + ":" + candidateId
+                : type + ":" + value;
+        key.keyType = type;
+        key.keyValue = value;
+        key.candidateId = candidateId;
+        key.createdAt = LocalDateTime.now();
+
+        return key;
+    }
+}
@@ -0,0 +1,52 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An open job, other than the one applied for, that a candidate also scores well on.
+ */
+@Entity
+@Table(
+        name = "candidate_job_matches",
+        indexes = @Index(name = "idx_candidate_job_matches_candidate", columnList = "candidate_id")
+)
+@Data
+public class CandidateJobMatch {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "candidate_id", nullable = false)
+    private String candidateId;
+
+    @Column(name = "job_opening_id", nullable = false)
+    private String jobOpeningId;
+
+    @Column(name = "zoho_job_id")
+    private String zohoJobId;
+
+    @Column(name = "job_title")
+    private String jobTitle;
+
+    @Column(name = "match_rank")
+    private int rank;
+
+    @Column(name = "skill_score")
+    private double skillScore;
+
+    @Column(name = "ats_score")
+    private double atsScore;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public CandidateJobMatch() {
+        this.id = UUID.randomUUID();
+        this.createdAt = LocalDateTime.now();
+    }
+}
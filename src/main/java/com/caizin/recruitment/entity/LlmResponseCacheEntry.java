@@ -0,0 +1,44 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored OpenAI chat completion for one canonical request hash.
+ */
+@Entity
+@Table(
+        name = "llm_response_cache",
+        indexes = {
+                @Index(name = "idx_llm_response_cache_tag", columnList = "tag"),
+                @Index(name = "idx_llm_response_cache_expires", columnList = "expires_at")
+        }
+)
+@Data
+public class LlmResponseCacheEntry {
+
+    /**
+     * Hex SHA-256 of cache version and the canonical request JSON.
+     */
+    @Id
+    @Column(name = "cache_key", length = 64, nullable = false, updatable = false)
+    private String cacheKey;
+
+    private String model;
+
+    /**
+     * Caller-chosen group for invalidation, e.g. the job opening the prompt was built from.
+     */
+    private String tag;
+
+    @Column(name = "response_json", columnDefinition = "TEXT", nullable = false)
+    private String responseJson;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
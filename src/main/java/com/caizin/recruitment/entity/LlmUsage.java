@@ -0,0 +1,73 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * OpenAI token usage summed per day, model, job opening and operation.
+ * Rows are only ever incremented, by {@code LlmUsageTracker}'s upsert.
+ */
+@Entity
+@Table(
+        name = "llm_usage",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_llm_usage_day_model_job_operation",
+                columnNames = {"usage_day", "model", "job_opening_id", "operation"}
+        ),
+        indexes = @Index(name = "idx_llm_usage_job", columnList = "job_opening_id")
+)
+@Data
+public class LlmUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usage_day", nullable = false)
+    private LocalDate usageDay;
+
+    @Column(nullable = false)
+    private String model;
+
+    /**
+     * Empty, not null, when the call was not for a job, so the unique key still applies.
+     */
+    @Column(name = "job_opening_id", nullable = false)
+    private String jobOpeningId;
+
+    /**
+     * questions, questions-stream or batch.
+     */
+    @Column(nullable = false, length = 32)
+    private String operation;
+
+    private long calls;
+
+    /**
+     * Completions answered from the response cache, which cost nothing.
+     */
+    @Column(name = "cache_hits")
+    private long cacheHits;
+
+    @Column(name = "prompt_tokens")
+    private long promptTokens;
+
+    /**
+     * Part of promptTokens served from OpenAI's prompt cache. Nullable so the
+     * column can be added to an existing table.
+     */
+    @Column(name = "cached_prompt_tokens")
+    private Long cachedPromptTokens;
+
+    @Column(name = "completion_tokens")
+    private long completionTokens;
+
+    @Column(name = "cost_usd")
+    private double costUsd;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored MCP analysis for one (resume text, JD text, analyzer version) hash.
+ */
+@Entity
+@Table(name = "mcp_analysis_cache")
+@Data
+public class McpAnalysisCacheEntry {
+
+    /**
+     * Hex SHA-256 of analyzer version, resume text and JD text.
+     */
+    @Id
+    @Column(name = "cache_key", length = 64, nullable = false, updatable = false)
+    private String cacheKey;
+
+    @Column(name = "analyzer_version")
+    private String analyzerVersion;
+
+    @Column(name = "result_json", columnDefinition = "TEXT", nullable = false)
+    private String resultJson;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
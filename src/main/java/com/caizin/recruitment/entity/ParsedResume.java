@@ -6,6 +6,7 @@ public record ParsedResume(
 
         String fullName,
         String email,
+        String phone,
         List<String> skills,
         double yearsOfExperience,
         List<String> projects,
@@ -0,0 +1,66 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One OpenAI Batch API submission of screening-question requests.
+ */
+@Entity
+@Table(
+        name = "question_batches",
+        indexes = @Index(name = "idx_question_batches_applied", columnList = "results_applied")
+)
+@Data
+public class QuestionBatch {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "openai_batch_id", unique = true)
+    private String openaiBatchId;
+
+    @Column(name = "input_file_id")
+    private String inputFileId;
+
+    @Column(name = "output_file_id")
+    private String outputFileId;
+
+    @Column(name = "error_file_id")
+    private String errorFileId;
+
+    /**
+     * OpenAI batch status: validating, in_progress, finalizing, completed, failed, expired, cancelled.
+     */
+    private String status;
+
+    @Column(name = "request_count")
+    private int requestCount;
+
+    @Column(name = "succeeded_count")
+    private int succeededCount;
+
+    @Column(name = "failed_count")
+    private int failedCount;
+
+    /**
+     * Set once output and error files have been applied; until then the poller keeps retrying.
+     */
+    @Column(name = "results_applied")
+    private boolean resultsApplied;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public QuestionBatch() {
+        this.id = UUID.randomUUID();
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,57 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One line of a {@link QuestionBatch}: the request for a candidate and job,
+ * matched back to its result through {@code customId}.
+ */
+@Entity
+@Table(
+        name = "question_batch_requests",
+        indexes = {
+                @Index(name = "idx_question_batch_requests_batch", columnList = "batch_id"),
+                @Index(name = "idx_question_batch_requests_pair", columnList = "candidate_id, job_opening_id")
+        }
+)
+@Data
+public class QuestionBatchRequest {
+
+    public static final String SUBMITTED = "SUBMITTED";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    /**
+     * custom_id sent to OpenAI; unique across batches.
+     */
+    @Id
+    @Column(name = "custom_id", nullable = false, updatable = false)
+    private String customId;
+
+    @Column(name = "batch_id", nullable = false)
+    private UUID batchId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private String candidateId;
+
+    @Column(name = "job_opening_id", nullable = false)
+    private String jobOpeningId;
+
+    /**
+     * Response-cache key of the request, so results also warm the LLM cache.
+     */
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    private String status;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -51,6 +51,12 @@ public class ResumeAnalysis {
     @Column(name = "risk_flags", columnDefinition = "TEXT")
     private String riskFlags;
 
+    /**
+     * COMPLETE, or PENDING while the AI analysis is queued in the analysis outbox.
+     */
+    @Column(name = "ai_status")
+    private String aiStatus;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
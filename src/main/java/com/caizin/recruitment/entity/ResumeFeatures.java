@@ -0,0 +1,121 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cached extraction output and ATS inputs for one candidate, so scores can be
+ * recomputed without Tika, SharePoint or MCP.
+ */
+@Entity
+@Table(
+        name = "resume_features",
+        indexes = @Index(name = "idx_resume_features_job", columnList = "job_opening_id, candidate_id")
+)
+@Data
+public class ResumeFeatures {
+
+    @Id
+    @Column(name = "candidate_id", nullable = false, updatable = false)
+    private String candidateId;
+
+    @Column(name = "job_opening_id")
+    private String jobOpeningId;
+
+    @Column(name = "resume_text", columnDefinition = "TEXT")
+    private String resumeText;
+
+    @Column(columnDefinition = "TEXT")
+    private String skills;
+
+    @Column(name = "skill_score")
+    private double skillScore;
+
+    @Column(name = "candidate_years")
+    private double candidateYears;
+
+    @Column(name = "required_years")
+    private double requiredYears;
+
+    @Column(name = "project_count")
+    private int projectCount;
+
+    @Column(name = "quality_length")
+    private double qualityLength;
+
+    @Column(name = "quality_skills")
+    private double qualitySkills;
+
+    @Column(name = "quality_experience")
+    private double qualityExperience;
+
+    @Column(name = "quality_project")
+    private double qualityProject;
+
+    @Column(name = "quality_keyword")
+    private double qualityKeyword;
+
+    @Column(name = "ats_score")
+    private Double atsScore;
+
+    /**
+     * Null on rows cached before versions were tracked; read as 0, i.e. stale.
+     */
+    @Column(name = "parser_version")
+    private Integer parserVersion;
+
+    @Column(name = "extractor_version")
+    private Integer extractorVersion;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * MinHash signature of the resume text (big-endian ints), for near-duplicate lookup.
+     */
+    @Column(name = "minhash_signature")
+    private byte[] minhashSignature;
+
+    /**
+     * Earlier candidate whose resume is a near-duplicate of this one, if any.
+     */
+    @Column(name = "duplicate_of")
+    private String duplicateOf;
+
+    @Column(name = "duplicate_similarity")
+    private Double duplicateSimilarity;
+
+    /**
+     * Bumped on every write; bulk re-scoring only overwrites rows it read.
+     */
+    @Version
+    private Long version;
+
+    public AtsFeatures toAtsFeatures() {
+        return new AtsFeatures(
+                skillScore,
+                candidateYears,
+                requiredYears,
+                projectCount,
+                qualityLength,
+                qualitySkills,
+                qualityExperience,
+                qualityProject,
+                qualityKeyword
+        );
+    }
+
+    public void applyAtsFeatures(AtsFeatures f) {
+        this.skillScore = f.skillScore();
+        this.candidateYears = f.candidateYears();
+        this.requiredYears = f.requiredYears();
+        this.projectCount = f.projectCount();
+        this.qualityLength = f.qualityLength();
+        this.qualitySkills = f.qualitySkills();
+        this.qualityExperience = f.qualityExperience();
+        this.qualityProject = f.qualityProject();
+        this.qualityKeyword = f.qualityKeyword();
+    }
+}
@@ -0,0 +1,49 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Generated screening questions for one candidate and job.
+ */
+@Entity
+@Table(
+        name = "screening_question_sets",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_screening_question_sets_candidate_job",
+                columnNames = {"candidate_id", "job_opening_id"})
+)
+@Data
+public class ScreeningQuestionSet {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "candidate_id", nullable = false)
+    private String candidateId;
+
+    @Column(name = "job_opening_id", nullable = false)
+    private String jobOpeningId;
+
+    /**
+     * JSON array of {type, question}.
+     */
+    @Column(name = "questions_json", columnDefinition = "TEXT", nullable = false)
+    private String questionsJson;
+
+    private String model;
+
+    @Column(name = "ats_score")
+    private Double atsScore;
+
+    @Column(name = "generated_at")
+    private LocalDateTime generatedAt;
+
+    public ScreeningQuestionSet() {
+        this.id = UUID.randomUUID();
+    }
+}
@@ -0,0 +1,48 @@
+package com.caizin.recruitment.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+/**
+ * Local copy of one Zoho Recruit application's identity: which candidate
+ * applied to which job opening, so the application id can be looked up
+ * without listing Zoho's Applications module.
+ */
+@Entity
+@Table(
+        name = "zoho_application_index",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_zoho_application_candidate_job",
+                columnNames = {"zoho_candidate_id", "zoho_job_id"}
+        ),
+        indexes = @Index(name = "idx_zoho_application_modified", columnList = "modified_time")
+)
+@Data
+public class ZohoApplicationIndexEntry {
+
+    /**
+     * Zoho application record id.
+     */
+    @Id
+    @Column(name = "application_id")
+    private String applicationId;
+
+    @Column(name = "zoho_candidate_id", nullable = false)
+    private String zohoCandidateId;
+
+    @Column(name = "zoho_job_id", nullable = false)
+    private String zohoJobId;
+
+    /**
+     * Zoho's Modified_Time; the newest one is the watermark for incremental syncs.
+     * Null for entries learned from an association response.
+     */
+    @Column(name = "modified_time")
+    private OffsetDateTime modifiedTime;
+
+    @Column(name = "indexed_at")
+    private LocalDateTime indexedAt;
+}
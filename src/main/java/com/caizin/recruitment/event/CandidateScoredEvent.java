@@ -0,0 +1,13 @@
+package com.caizin.recruitment.event;
+
+/**
+ * Published whenever an ATS score for a (candidate, job) pair is written.
+ *
+ * @param candidateName may be null when the writer does not know it
+ */
+public record CandidateScoredEvent(
+        String jobOpeningId,
+        String candidateId,
+        String candidateName,
+        double atsScore
+) { }
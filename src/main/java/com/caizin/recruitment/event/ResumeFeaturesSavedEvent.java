@@ -0,0 +1,9 @@
+package com.caizin.recruitment.event;
+
+import com.caizin.recruitment.entity.ResumeFeatures;
+
+/**
+ * Published after a candidate's extracted text and features are (re)written,
+ * by ingestion or backfill.
+ */
+public record ResumeFeaturesSavedEvent(ResumeFeatures features) { }
@@ -0,0 +1,15 @@
+package com.caizin.recruitment.event;
+
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+
+import java.util.List;
+
+/**
+ * Published after screening questions for a (candidate, job) pair are stored,
+ * by on-demand, bulk or batch generation.
+ */
+public record ScreeningQuestionsSavedEvent(
+        String candidateId,
+        String jobOpeningId,
+        List<ScreeningQuestionDto> questions
+) { }
@@ -0,0 +1,10 @@
+package com.caizin.recruitment.exception;
+
+/**
+ * MCP was not called because its circuit is open or too many analyses are in flight.
+ */
+public class McpUnavailableException extends IntegrationException {
+    public McpUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,22 +1,84 @@
 package com.caizin.recruitment.integration.MCPClient;
 
+import com.caizin.recruitment.config.McpProperties;
+import com.caizin.recruitment.exception.McpUnavailableException;
+import com.caizin.recruitment.util.prompt.PromptCompactor;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Client for the MCP analysis server.
+ *
+ * <p>Calls are spread round-robin over {@code mcp.endpoints} and retried once
+ * on the next endpoint when a connection cannot be made. A semaphore caps
+ * analyses in flight and a circuit breaker stops calling a failing server;
+ * both reject immediately with {@link McpUnavailableException} so callers can
+ * carry on without the analysis instead of queueing behind it.</p>
+ *
+ * <p>With {@code mcp.batch.enabled}, single analyses are micro-batched per job
+ * into analyze_resume_batch requests.</p>
+ */
 @Component
 public class MCPClient {
 
-    private final WebClient webClient;
+    private final List<WebClient> webClients;
+    private final McpProperties properties;
+    private final ConnectionProvider connectionProvider;
+    private final Semaphore bulkhead;
+    private final McpCircuitBreaker circuitBreaker;
+    private final McpAnalysisCache cache;
+    private final McpAnalysisBatcher batcher;
+    private final PromptCompactor compactor;
+    private final AtomicInteger next = new AtomicInteger();
 
-    public MCPClient() {
+    public MCPClient(McpProperties properties, McpAnalysisCache cache, PromptCompactor compactor) {
 
-        this.webClient = WebClient.builder()
-                .baseUrl("http://localhost:3001")
+        this.properties = properties;
+        this.cache = cache;
+        this.compactor = compactor;
+
+        this.connectionProvider = ConnectionProvider.builder("mcp")
+                .maxConnections(properties.getPool().getMaxConnections())
+                .pendingAcquireTimeout(properties.getPool().getPendingAcquireTimeout())
+                .maxIdleTime(properties.getPool().getMaxIdleTime())
                 .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+
+        this.webClients = properties.resolvedEndpoints().stream()
+                .map(url -> WebClient.builder()
+                        .baseUrl(url)
+                        .clientConnector(new ReactorClientHttpConnector(httpClient))
+                        .build())
+                .toList();
+
+        this.bulkhead = new Semaphore(Math.max(1, properties.getBulkhead().getMaxConcurrent()));
+        this.circuitBreaker = new McpCircuitBreaker(properties.getCircuitBreaker());
+
+        McpProperties.Batch batch = properties.getBatch();
+        this.batcher = batch.isEnabled()
+                ? new McpAnalysisBatcher(batch.getMaxSize(), batch.getMaxWait(),
+                        body -> guarded("/tools/analyze_resume_batch", body))
+                : null;
     }
 
     public Map<String, Object> analyzeResume(
@@ -26,6 +88,41 @@ public class MCPClient {
             String candidateId
     ) {
 
+        return analyzeResumeAsync(resumeText, jobDescription, jobId, candidateId)
+                .block();
+    }
+
+    /**
+     * Non-blocking variant; errors with a TimeoutException after {@code mcp.response-timeout}
+     * and with {@link McpUnavailableException} when the call is shed. A resume and JD
+     * pair analysed before is answered from {@link McpAnalysisCache} without calling MCP.
+     * Both texts are compacted first, so the cache is keyed on what MCP actually sees.
+     */
+    public Mono<Map<String, Object>> analyzeResumeAsync(
+            String resumeText,
+            String jobDescription,
+            String jobId,
+            String candidateId
+    ) {
+
+        String resume = compactor.compactResume(resumeText);
+        String jd = compactor.compactJobDescription(jobDescription);
+
+        return cache.get(resume, jd,
+                () -> callAnalyze(resume, jd, jobId, candidateId));
+    }
+
+    private Mono<Map<String, Object>> callAnalyze(
+            String resumeText,
+            String jobDescription,
+            String jobId,
+            String candidateId
+    ) {
+
+        if (batcher != null) {
+            return batcher.submit(resumeText, jobDescription, jobId, candidateId);
+        }
+
         Map<String, Object> requestBody = new HashMap<>();
 
         requestBody.put("resumeText", resumeText);
@@ -33,11 +130,85 @@ public class MCPClient {
         requestBody.put("jobId", jobId);
         requestBody.put("candidateId", candidateId);
 
-        return webClient.post()
-                .uri("/tools/analyze_resume")
+        return guarded("/tools/analyze_resume", requestBody);
+    }
+
+    /**
+     * One POST through the bulkhead and circuit breaker, failing over to the next
+     * endpoint if the connection cannot be made.
+     */
+    private Mono<Map<String, Object>> guarded(String uri, Map<String, Object> requestBody) {
+
+        return Mono.defer(() -> {
+
+            if (!bulkhead.tryAcquire()) {
+                return Mono.error(new McpUnavailableException(
+                        "Too many MCP analyses in flight (" + properties.getBulkhead().getMaxConcurrent() + ")"));
+            }
+            if (!circuitBreaker.tryAcquire()) {
+                bulkhead.release();
+                return Mono.error(new McpUnavailableException("MCP circuit is open"));
+            }
+
+            AtomicBoolean released = new AtomicBoolean();
+            int first = Math.floorMod(next.getAndIncrement(), webClients.size());
+
+            return post(first, uri, requestBody)
+                    .onErrorResume(WebClientRequestException.class,
+                            e -> webClients.size() > 1
+                                    ? post((first + 1) % webClients.size(), uri, requestBody)
+                                    : Mono.error(e))
+                    .timeout(properties.getResponseTimeout())
+                    .doOnSuccess(r -> {
+                        if (released.compareAndSet(false, true)) circuitBreaker.onSuccess();
+                    })
+                    .doOnError(e -> {
+                        if (!released.compareAndSet(false, true)) return;
+                        // a 4xx is our request's fault, not a sign MCP is unhealthy
+                        if (e instanceof WebClientResponseException w && w.getStatusCode().is4xxClientError()) {
+                            circuitBreaker.onSuccess();
+                        } else {
+                            circuitBreaker.onFailure();
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (released.compareAndSet(false, true)) circuitBreaker.onFailure();
+                    })
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        if (batcher != null) batcher.shutdown();
+        connectionProvider.dispose();
+    }
+
+    /**
+     * False while the circuit is open; callers can skip MCP work entirely.
+     */
+    public boolean isAvailable() {
+        return !circuitBreaker.isOpen();
+    }
+
+    public McpCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    public Map<String, Long> cacheStats() {
+        return cache.stats();
+    }
+
+    public int inFlight() {
+        return properties.getBulkhead().getMaxConcurrent() - bulkhead.availablePermits();
+    }
+
+    private Mono<Map<String, Object>> post(int endpoint, String uri, Map<String, Object> requestBody) {
+
+        return webClients.get(endpoint).post()
+                .uri(uri)
                 .bodyValue(requestBody)
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                .block();
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {});
     }
-}
\ No newline at end of file
+}
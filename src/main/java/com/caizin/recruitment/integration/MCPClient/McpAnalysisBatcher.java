@@ -0,0 +1,183 @@
+package com.caizin.recruitment.integration.MCPClient;
+
+import com.caizin.recruitment.exception.IntegrationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Micro-batches analyze_resume calls for the same job into one
+ * analyze_resume_batch request, so the JD is sent once per batch.
+ *
+ * <p>A batch is sent when it reaches {@code maxSize} resumes or when its
+ * oldest resume has waited {@code maxWait}, whichever comes first. Each
+ * resume gets its own future, completed from its entry in the response.</p>
+ *
+ * <p>Batch contract:</p>
+ * <pre>
+ * POST /tools/analyze_resume_batch
+ * { "jobId", "jobDescription", "items": [ { "id", "candidateId", "resumeText" } ] }
+ * -> { "results": [ { "id", "analysis": {...} } | { "id", "error": "..." } ] }
+ * </pre>
+ */
+class McpAnalysisBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(McpAnalysisBatcher.class);
+
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final Function<Map<String, Object>, Mono<Map<String, Object>>> sender;
+
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "mcp-batcher");
+                t.setDaemon(true);
+                return t;
+            });
+
+    // guarded by this
+    private final Map<String, Batch> open = new HashMap<>();
+
+    McpAnalysisBatcher(
+            int maxSize,
+            Duration maxWait,
+            Function<Map<String, Object>, Mono<Map<String, Object>>> sender
+    ) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.sender = sender;
+    }
+
+    Mono<Map<String, Object>> submit(
+            String resumeText,
+            String jobDescription,
+            String jobId,
+            String candidateId
+    ) {
+
+        return Mono.defer(() -> {
+
+            CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+            Batch full = null;
+
+            // the JD is part of the key so a reloaded JD never shares a batch with the old one
+            String key = jobId + "\u0000" + jobDescription.hashCode() + ":" + jobDescription.length();
+
+            synchronized (this) {
+                Batch batch = open.get(key);
+                if (batch == null) {
+                    batch = new Batch(key, jobId, jobDescription);
+                    open.put(key, batch);
+                    Batch b = batch;
+                    batch.timeout = timer.schedule(() -> flush(b), maxWaitNanos, TimeUnit.NANOSECONDS);
+                }
+
+                batch.items.add(new Item(candidateId, resumeText, result));
+
+                if (batch.items.size() >= maxSize) {
+                    open.remove(key);
+                    batch.timeout.cancel(false);
+                    full = batch;
+                }
+            }
+
+            if (full != null) send(full);
+
+            return Mono.fromFuture(result);
+        });
+    }
+
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void flush(Batch batch) {
+
+        synchronized (this) {
+            // already sent because it filled up
+            if (open.get(batch.key) != batch) return;
+            open.remove(batch.key);
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+
+        List<Map<String, Object>> items = new ArrayList<>(batch.items.size());
+        for (int i = 0; i < batch.items.size(); i++) {
+            Item item = batch.items.get(i);
+            items.add(Map.of(
+                    "id", String.valueOf(i),
+                    "candidateId", item.candidateId() == null ? "" : item.candidateId(),
+                    "resumeText", item.resumeText() == null ? "" : item.resumeText()
+            ));
+        }
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("jobId", batch.jobId);
+        body.put("jobDescription", batch.jobDescription);
+        body.put("items", items);
+
+        log.debug("Sending MCP batch of {} resumes for job {}", items.size(), batch.jobId);
+
+        sender.apply(body).subscribe(
+                response -> fanOut(batch, response),
+                error -> batch.items.forEach(item -> item.result().completeExceptionally(error)),
+                () -> batch.items.forEach(item -> item.result().completeExceptionally(
+                        new IntegrationException("Empty MCP batch response"))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fanOut(Batch batch, Map<String, Object> response) {
+
+        Map<String, Map<String, Object>> byId = new HashMap<>();
+        Object results = response.get("results");
+        if (results instanceof List<?> list) {
+            for (Object o : list) {
+                if (o instanceof Map<?, ?> m && m.get("id") != null) {
+                    byId.put(m.get("id").toString(), (Map<String, Object>) m);
+                }
+            }
+        }
+
+        for (int i = 0; i < batch.items.size(); i++) {
+            CompletableFuture<Map<String, Object>> result = batch.items.get(i).result();
+            Map<String, Object> entry = byId.get(String.valueOf(i));
+
+            if (entry != null && entry.get("analysis") instanceof Map<?, ?> analysis) {
+                result.complete((Map<String, Object>) analysis);
+            } else {
+                Object error = entry == null ? "missing from batch response" : entry.get("error");
+                result.completeExceptionally(new IntegrationException("MCP batch item failed: " + error));
+            }
+        }
+    }
+
+    private record Item(String candidateId, String resumeText, CompletableFuture<Map<String, Object>> result) { }
+
+    private static final class Batch {
+        final String key;
+        final String jobId;
+        final String jobDescription;
+        final List<Item> items = new ArrayList<>();
+        ScheduledFuture<?> timeout;
+
+        Batch(String key, String jobId, String jobDescription) {
+            this.key = key;
+            this.jobId = jobId;
+            this.jobDescription = jobDescription;
+        }
+    }
+}
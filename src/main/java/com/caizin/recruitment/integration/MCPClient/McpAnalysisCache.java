@@ -0,0 +1,176 @@
+package com.caizin.recruitment.integration.MCPClient;
+
+import com.caizin.recruitment.config.McpProperties;
+import com.caizin.recruitment.entity.McpAnalysisCacheEntry;
+import com.caizin.recruitment.repository.McpAnalysisCacheRepository;
+import com.caizin.recruitment.util.cache.LruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier memo of MCP analyses keyed by a hash of (analyzer version, resume
+ * text, JD text): a bounded in-process LRU in front of the mcp_analysis_cache
+ * table. Concurrent requests for the same key share one load.
+ */
+@Component
+public class McpAnalysisCache {
+
+    private static final Logger log = LoggerFactory.getLogger(McpAnalysisCache.class);
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final McpAnalysisCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final McpProperties.Cache config;
+    private final LruCache<String, Map<String, Object>> memory;
+    private final Map<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public McpAnalysisCache(
+            McpAnalysisCacheRepository repository,
+            ObjectMapper objectMapper,
+            McpProperties properties
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.config = properties.getCache();
+        this.memory = new LruCache<>(config.getMaxEntries());
+    }
+
+    /**
+     * Cached analysis for this pair, otherwise the result of {@code loader}, which
+     * is stored on success. Failures are not cached.
+     */
+    public Mono<Map<String, Object>> get(
+            String resumeText,
+            String jdText,
+            Supplier<Mono<Map<String, Object>>> loader
+    ) {
+
+        if (!config.isEnabled()) return loader.get();
+
+        return Mono.defer(() -> {
+
+            String key = key(resumeText, jdText);
+
+            Map<String, Object> hit = memory.get(key);
+            if (hit != null) {
+                memoryHits.increment();
+                return Mono.just(hit);
+            }
+
+            CompletableFuture<Map<String, Object>> promise = new CompletableFuture<>();
+            CompletableFuture<Map<String, Object>> existing = inFlight.putIfAbsent(key, promise);
+            if (existing != null) {
+                coalesced.increment();
+                return Mono.fromFuture(existing, true);
+            }
+
+            Mono.fromCallable(() -> load(key))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .switchIfEmpty(Mono.defer(() -> {
+                        misses.increment();
+                        return loader.get().flatMap(result ->
+                                Mono.fromRunnable(() -> store(key, result))
+                                        .subscribeOn(Schedulers.boundedElastic())
+                                        .thenReturn(result));
+                    }))
+                    .subscribe(
+                            result -> {
+                                memory.put(key, result);
+                                inFlight.remove(key, promise);
+                                promise.complete(result);
+                            },
+                            error -> {
+                                inFlight.remove(key, promise);
+                                promise.completeExceptionally(error);
+                            });
+
+            return Mono.fromFuture(promise, true);
+        });
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of(
+                "memoryHits", memoryHits.sum(),
+                "storeHits", storeHits.sum(),
+                "misses", misses.sum(),
+                "coalesced", coalesced.sum(),
+                "memoryEntries", (long) memory.size()
+        );
+    }
+
+    String key(String resumeText, String jdText) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(config.getAnalyzerVersion().getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(String.valueOf(resumeText).getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(String.valueOf(jdText).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stored analysis for the key, or null on a miss. A failing store is treated
+     * as a miss so the analysis still goes to MCP.
+     */
+    private Map<String, Object> load(String key) {
+
+        McpAnalysisCacheEntry entry;
+        try {
+            entry = repository.findById(key).orElse(null);
+        } catch (Exception e) {
+            log.warn("Failed to read cached MCP analysis {}: {}", key, e.getMessage());
+            return null;
+        }
+        if (entry == null) return null;
+
+        try {
+            Map<String, Object> result = objectMapper.readValue(entry.getResultJson(), MAP_TYPE);
+            storeHits.increment();
+            return result;
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable cached MCP analysis {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String key, Map<String, Object> result) {
+        try {
+            McpAnalysisCacheEntry entry = new McpAnalysisCacheEntry();
+            entry.setCacheKey(key);
+            entry.setAnalyzerVersion(config.getAnalyzerVersion());
+            entry.setResultJson(objectMapper.writeValueAsString(result));
+            entry.setCreatedAt(LocalDateTime.now());
+            repository.save(entry);
+        } catch (Exception e) {
+            // the in-memory tier still has it; a lost write only costs a future MCP call
+            log.warn("Failed to store MCP analysis {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.caizin.recruitment.integration.MCPClient;
+
+import com.caizin.recruitment.config.McpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker for MCP calls.
+ *
+ * <p>CLOSED keeps the outcome of the last {@code windowSize} calls and opens
+ * once the failure ratio reaches the threshold. OPEN rejects every call for
+ * {@code openDuration}, then HALF_OPEN lets up to {@code halfOpenCalls}
+ * trial calls through: all succeeding closes the circuit, any failure opens
+ * it again.</p>
+ */
+public class McpCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(McpCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // guarded by this
+    private final boolean[] window;
+    private int windowPos;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public McpCircuitBreaker(McpProperties.CircuitBreaker config) {
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.minimumCalls = Math.max(1, config.getMinimumCalls());
+        this.openNanos = config.getOpenDuration().toNanos();
+        this.halfOpenCalls = Math.max(1, config.getHalfOpenCalls());
+        this.window = new boolean[Math.max(minimumCalls, config.getWindowSize())];
+    }
+
+    /**
+     * Whether a call may go ahead now. Every permitted call must report back
+     * through {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) return false;
+                transition(State.HALF_OPEN);
+                // fall through
+            default:
+                if (trialsStarted >= halfOpenCalls) return false;
+                trialsStarted++;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= halfOpenCalls) transition(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+        record(true);
+
+        if (state == State.CLOSED
+                && windowCount >= minimumCalls
+                && (double) windowFailures / windowCount >= failureRateThreshold) {
+            transition(State.OPEN);
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * True when a call would currently be rejected.
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() - openedAt < openNanos;
+    }
+
+    private void record(boolean failure) {
+
+        if (windowCount == window.length) {
+            if (window[windowPos]) windowFailures--;
+        } else {
+            windowCount++;
+        }
+
+        window[windowPos] = failure;
+        if (failure) windowFailures++;
+        windowPos = (windowPos + 1) % window.length;
+    }
+
+    private void transition(State next) {
+
+        log.info("MCP circuit {} -> {}", state, next);
+
+        state = next;
+        trialsStarted = 0;
+        trialsSucceeded = 0;
+
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next == State.CLOSED) {
+            windowPos = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.caizin.recruitment.integration.openai;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-bucketed latency histogram over a sliding window.
+ *
+ * <p>Buckets grow by 20% from 10 ms to about 5 minutes, so a percentile is
+ * accurate to within one bucket. Recording is a single atomic increment.
+ * Counts live in two windows, current and previous; when the current window
+ * is older than {@code window} it becomes the previous one, so percentiles
+ * always cover between one and two windows of recent traffic and follow a
+ * model that gets slower or faster.</p>
+ */
+public class LatencyHistogram {
+
+    private static final double FIRST_BOUND_MS = 10;
+    private static final double GROWTH = 1.2;
+    private static final int BUCKETS = 58;
+
+    private final long windowNanos;
+
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private volatile long rotatedAt = System.nanoTime();
+
+    public LatencyHistogram(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void record(Duration latency) {
+        rotateIfDue();
+        current.incrementAndGet(bucket(latency.toMillis()));
+    }
+
+    public long count() {
+        rotateIfDue();
+        AtomicLongArray cur = current, prev = previous;
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += cur.get(i) + prev.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Upper bound of the bucket holding the {@code quantile}, or null with no samples.
+     */
+    public Duration percentile(double quantile) {
+        rotateIfDue();
+        AtomicLongArray cur = current, prev = previous;
+
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = cur.get(i) + prev.get(i);
+            total += counts[i];
+        }
+        if (total == 0) return null;
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Duration.ofMillis((long) Math.ceil(upperBoundMs(i)));
+            }
+        }
+        return Duration.ofMillis((long) Math.ceil(upperBoundMs(BUCKETS - 1)));
+    }
+
+    private void rotateIfDue() {
+        if (System.nanoTime() - rotatedAt < windowNanos) return;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - rotatedAt < windowNanos) return;
+
+            // two idle windows mean the previous counts are stale too
+            previous = now - rotatedAt < 2 * windowNanos ? current : new AtomicLongArray(BUCKETS);
+            current = new AtomicLongArray(BUCKETS);
+            rotatedAt = now;
+        }
+    }
+
+    private static int bucket(long millis) {
+        if (millis <= FIRST_BOUND_MS) return 0;
+        int i = (int) Math.ceil(Math.log(millis / FIRST_BOUND_MS) / Math.log(GROWTH));
+        return Math.min(i, BUCKETS - 1);
+    }
+
+    private static double upperBoundMs(int bucket) {
+        return FIRST_BOUND_MS * Math.pow(GROWTH, bucket);
+    }
+}
@@ -0,0 +1,149 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiBatchDto;
+import com.caizin.recruitment.exception.OpenAiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * OpenAI Batch API: upload a JSONL file, create a batch over it, poll it and
+ * download its output. REST calls only.
+ */
+@Component
+public class OpenAiBatchClient {
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final MediaType JSONL = MediaType.get("application/jsonl");
+
+    private final OkHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final OpenAiProperties properties;
+
+    public OpenAiBatchClient(OkHttpClient httpClient, ObjectMapper objectMapper, OpenAiProperties properties) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        this.properties = Objects.requireNonNull(properties, "properties");
+    }
+
+    /**
+     * @return the uploaded file's ID
+     */
+    public String uploadBatchFile(String fileName, byte[] jsonl) {
+
+        RequestBody body = new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("purpose", "batch")
+                .addFormDataPart("file", fileName, RequestBody.create(jsonl, JSONL))
+                .build();
+
+        JsonNode file = readTree(call(request("files").post(body).build()));
+        String id = file.path("id").asText(null);
+        if (id == null) {
+            throw new OpenAiException("OpenAI file upload returned no id");
+        }
+        return id;
+    }
+
+    public OpenAiBatchDto createBatch(String inputFileId, String completionWindow, Map<String, String> metadata) {
+
+        Map<String, Object> payload = Map.of(
+                "input_file_id", inputFileId,
+                "endpoint", "/v1/chat/completions",
+                "completion_window", completionWindow,
+                "metadata", metadata
+        );
+
+        try {
+            RequestBody body = RequestBody.create(objectMapper.writeValueAsString(payload), JSON);
+            return objectMapper.readValue(call(request("batches").post(body).build()), OpenAiBatchDto.class);
+        } catch (IOException e) {
+            throw new OpenAiException("Failed to create OpenAI batch", e);
+        }
+    }
+
+    public OpenAiBatchDto getBatch(String batchId) {
+        try {
+            return objectMapper.readValue(call(request("batches/" + batchId).get().build()), OpenAiBatchDto.class);
+        } catch (IOException e) {
+            throw new OpenAiException("Failed to read OpenAI batch " + batchId, e);
+        }
+    }
+
+    /**
+     * The most recently created batches, newest first.
+     */
+    public OpenAiBatchDto.Page listBatches(int limit) {
+        try {
+            return objectMapper.readValue(call(request("batches?limit=" + limit).get().build()), OpenAiBatchDto.Page.class);
+        } catch (IOException e) {
+            throw new OpenAiException("Failed to list OpenAI batches", e);
+        }
+    }
+
+    public String fileContent(String fileId) {
+        return call(request("files/" + fileId + "/content").get().build());
+    }
+
+    private Request.Builder request(String path) {
+        String baseUrl = trimToNull(properties.getBaseUrl());
+        if (baseUrl == null) {
+            throw new OpenAiException("OpenAI base URL is not configured (openai.base-url)");
+        }
+        String apiKey = trimToNull(properties.getApiKey());
+        if (apiKey == null) {
+            throw new OpenAiException("OpenAI api key is not configured (openai.api-key / OPENAI_API_KEY)");
+        }
+
+        String url = baseUrl.endsWith("/") ? (baseUrl + path) : (baseUrl + "/" + path);
+        return new Request.Builder()
+                .url(url)
+                .addHeader("Authorization", "Bearer " + apiKey);
+    }
+
+    private String call(Request request) {
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody responseBody = response.body();
+            String raw = responseBody == null ? "" : responseBody.string();
+
+            if (!response.isSuccessful()) {
+                throw new OpenAiException("OpenAI " + request.method() + " " + request.url().encodedPath()
+                        + " failed. HTTP " + response.code() + ". Body: " + abbreviate(raw, 2000));
+            }
+            return raw;
+        } catch (IOException e) {
+            throw new OpenAiException("IO error while calling OpenAI " + request.url().encodedPath(), e);
+        }
+    }
+
+    private JsonNode readTree(String raw) {
+        try {
+            return objectMapper.readTree(raw);
+        } catch (IOException e) {
+            throw new OpenAiException("OpenAI returned invalid JSON", e);
+        }
+    }
+
+    private static String trimToNull(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private static String abbreviate(String s, int max) {
+        if (s == null) return "";
+        if (s.length() <= max) return s;
+        return s.substring(0, max) + "...(truncated)";
+    }
+}
@@ -4,22 +4,42 @@ import com.caizin.recruitment.config.OpenAiProperties;
 import com.caizin.recruitment.dto.OpenAiRequestDto;
 import com.caizin.recruitment.dto.OpenAiResponseDto;
 import com.caizin.recruitment.exception.OpenAiException;
+import com.caizin.recruitment.util.prompt.TokenEstimator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.BufferedSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * OpenAI client: REST call only (no prompt/business logic).
+ *
+ * <p>Every chat call passes through an {@link OpenAiRateLimiter} kept in step
+ * with the {@code x-ratelimit-*} response headers, so parallel callers queue
+ * on the client instead of collecting 429s.</p>
  */
 @Component
 public class OpenAiClient {
@@ -29,14 +49,316 @@ public class OpenAiClient {
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final OpenAiProperties properties;
+    private final OpenAiRateLimiter rateLimiter;
+    private final ScheduledExecutorService scheduler;
 
     public OpenAiClient(OkHttpClient httpClient, ObjectMapper objectMapper, OpenAiProperties properties) {
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
         this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
         this.properties = Objects.requireNonNull(properties, "properties");
+        this.rateLimiter = new OpenAiRateLimiter(properties.getRateLimit());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "openai-limiter");
+            t.setDaemon(true);
+            return t;
+        });
     }
 
+    /**
+     * Blocking form of {@link #createChatCompletionAsync}.
+     */
     public OpenAiResponseDto createChatCompletion(OpenAiRequestDto requestDto) {
+        try {
+            return createChatCompletionAsync(requestDto).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OpenAiException openAiException) throw openAiException;
+            throw new OpenAiException("OpenAI call failed", e.getCause());
+        }
+    }
+
+    /**
+     * Sends the request once the rate limiter has room for it and completes
+     * on OkHttp's dispatcher thread. 429, 5xx and IO errors are retried with
+     * jittered exponential backoff, honouring {@code retry-after}. Cancelling
+     * the returned future cancels the in-flight HTTP call.
+     */
+    public CompletableFuture<OpenAiResponseDto> createChatCompletionAsync(OpenAiRequestDto requestDto) {
+
+        CompletableFuture<OpenAiResponseDto> result = new CompletableFuture<>();
+        try {
+            Request request = chatRequest(requestDto);
+            attempt(request, estimateTokens(requestDto), 0, result);
+        } catch (IOException e) {
+            result.completeExceptionally(new OpenAiException("Could not serialize OpenAI request", e));
+        } catch (OpenAiException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    public Map<String, Object> rateLimitSnapshot() {
+        return rateLimiter.snapshot();
+    }
+
+    private void attempt(Request request, int tokens, int attempt, CompletableFuture<OpenAiResponseDto> result) {
+
+        if (result.isDone()) return;   // cancelled, e.g. the losing side of a hedge
+
+        long wait = rateLimiter.reserve(tokens);
+
+        scheduler.schedule(() -> {
+            if (result.isDone()) return;
+
+            Call pending = httpClient.newCall(request);
+            result.whenComplete((r, e) -> {
+                if (result.isCancelled()) pending.cancel();
+            });
+            pending.enqueue(new Callback() {
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    retryOrFail(request, tokens, attempt, result,
+                            new OpenAiException("IO error while calling OpenAI", e), null);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (response) {
+                        rateLimiter.onHeaders(response.headers());
+
+                        ResponseBody responseBody = response.body();
+                        String raw = responseBody == null ? "" : responseBody.string();
+
+                        if (!response.isSuccessful()) {
+                            OpenAiException failure = new OpenAiException(
+                                    "OpenAI request failed. HTTP " + response.code() + ". Body: " + abbreviate(raw, 2000));
+                            if (isRetryable(response.code())) {
+                                retryOrFail(request, tokens, attempt, result, failure, retryAfter(response));
+                            } else {
+                                result.completeExceptionally(failure);
+                            }
+                            return;
+                        }
+                        if (raw.isBlank()) {
+                            result.completeExceptionally(new OpenAiException("OpenAI returned an empty response body"));
+                            return;
+                        }
+
+                        OpenAiResponseDto dto = objectMapper.readValue(raw, OpenAiResponseDto.class);
+                        if (dto.getUsage() != null) {
+                            rateLimiter.adjustTokens(dto.getUsage().getTotalTokens() - tokens);
+                        }
+                        result.complete(dto);
+
+                    } catch (IOException e) {
+                        retryOrFail(request, tokens, attempt, result,
+                                new OpenAiException("IO error while reading OpenAI response", e), null);
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
+        }, wait, TimeUnit.NANOSECONDS);
+    }
+
+    private void retryOrFail(
+            Request request,
+            int tokens,
+            int attempt,
+            CompletableFuture<OpenAiResponseDto> result,
+            OpenAiException failure,
+            Duration retryAfter
+    ) {
+        if (result.isDone()) return;
+
+        if (attempt >= properties.getRateLimit().getMaxRetries()) {
+            log.error("OpenAI call failed after {} attempts: {}", attempt + 1, failure.getMessage());
+            result.completeExceptionally(failure);
+            return;
+        }
+
+        Duration delay = backoff(attempt);
+        if (retryAfter != null) {
+            // the server knows better; pause everyone, not just this call
+            rateLimiter.pause(retryAfter);
+            delay = retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
+        }
+
+        log.warn("OpenAI call failed (attempt {}), retrying in {} ms: {}",
+                attempt + 1, delay.toMillis(), abbreviate(failure.getMessage(), 200));
+
+        scheduler.schedule(() -> attempt(request, tokens, attempt + 1, result), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half the step is fixed, half random,
+     * so concurrent retries spread out but never fire immediately.
+     */
+    private Duration backoff(int attempt) {
+        OpenAiProperties.RateLimit config = properties.getRateLimit();
+        long cap = config.getMaxBackoff().toMillis();
+        long step = Math.min(cap, config.getInitialBackoff().toMillis() << Math.min(attempt, 20));
+        long half = Math.max(1, step / 2);
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 429 || code >= 500;
+    }
+
+    private static Duration retryAfter(Response response) {
+
+        String ms = response.header("retry-after-ms");
+        if (ms != null) {
+            try {
+                return Duration.ofMillis((long) Double.parseDouble(ms.trim()));
+            } catch (NumberFormatException ignored) {
+                // fall through to retry-after
+            }
+        }
+        String seconds = response.header("retry-after");
+        if (seconds != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(seconds.trim()));
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form is not used by OpenAI
+            }
+        }
+        if (response.code() == 429) {
+            Duration requests = OpenAiRateLimiter.parseDuration(response.header("x-ratelimit-reset-requests"));
+            Duration tokens = OpenAiRateLimiter.parseDuration(response.header("x-ratelimit-reset-tokens"));
+            if (requests == null) return tokens;
+            if (tokens == null) return requests;
+            return requests.compareTo(tokens) > 0 ? requests : tokens;
+        }
+        return null;
+    }
+
+    private int estimateTokens(OpenAiRequestDto requestDto) {
+        int tokens = properties.getRateLimit().getExpectedCompletionTokens();
+        if (requestDto.getMessages() != null) {
+            for (OpenAiRequestDto.Message message : requestDto.getMessages()) {
+                // role and framing overhead per message
+                tokens += 4 + TokenEstimator.estimate(message.getContent() == null ? "" : message.getContent());
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Streamed chat completion: sends the request with {@code stream: true} and
+     * passes each content delta to {@code onDelta} as it arrives. Goes through
+     * the same rate limiter; a 429 or 5xx is retried only before any content
+     * has been delivered.
+     *
+     * @return the assembled completion, with the usage from the final chunk
+     */
+    public OpenAiResponseDto streamChatCompletion(OpenAiRequestDto requestDto, Consumer<String> onDelta) {
+        try {
+            // the caller's request may be reused for a blocking call or as a cache key
+            OpenAiRequestDto streamed = new OpenAiRequestDto(requestDto);
+            streamed.setStream(true);
+            streamed.setStreamOptions(new OpenAiRequestDto.StreamOptions(true));
+            Request request = chatRequest(streamed);
+            int tokens = estimateTokens(streamed);
+
+            for (int attempt = 0; ; attempt++) {
+                sleep(Duration.ofNanos(rateLimiter.reserve(tokens)));
+
+                try (Response response = httpClient.newCall(request).execute()) {
+                    rateLimiter.onHeaders(response.headers());
+                    ResponseBody responseBody = response.body();
+
+                    if (!response.isSuccessful()) {
+                        String raw = responseBody == null ? "" : responseBody.string();
+                        if (isRetryable(response.code()) && attempt < properties.getRateLimit().getMaxRetries()) {
+                            Duration retryAfter = retryAfter(response);
+                            Duration delay = backoff(attempt);
+                            if (retryAfter != null) {
+                                rateLimiter.pause(retryAfter);
+                                delay = retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
+                            }
+                            log.warn("OpenAI stream got HTTP {} (attempt {}), retrying in {} ms",
+                                    response.code(), attempt + 1, delay.toMillis());
+                            sleep(delay);
+                            continue;
+                        }
+                        throw new OpenAiException("OpenAI request failed. HTTP " + response.code() + ". Body: " + abbreviate(raw, 2000));
+                    }
+                    if (responseBody == null) {
+                        throw new OpenAiException("OpenAI returned an empty response body");
+                    }
+
+                    StringBuilder content = new StringBuilder();
+                    String model = null;
+                    OpenAiResponseDto.Usage usage = null;
+                    BufferedSource source = responseBody.source();
+                    String line;
+
+                    while ((line = source.readUtf8Line()) != null) {
+                        if (!line.startsWith("data:")) continue;
+
+                        String data = line.substring(5).trim();
+                        if ("[DONE]".equals(data)) break;
+
+                        JsonNode chunk = objectMapper.readTree(data);
+                        if (model == null && chunk.hasNonNull("model")) {
+                            model = chunk.get("model").asText();
+                        }
+                        if (chunk.hasNonNull("usage")) {
+                            usage = objectMapper.treeToValue(chunk.get("usage"), OpenAiResponseDto.Usage.class);
+                        }
+
+                        JsonNode delta = chunk.path("choices").path(0).path("delta").path("content");
+                        if (delta.isTextual() && !delta.asText().isEmpty()) {
+                            content.append(delta.asText());
+                            onDelta.accept(delta.asText());
+                        }
+                    }
+
+                    if (usage != null) {
+                        rateLimiter.adjustTokens(usage.getTotalTokens() - tokens);
+                    }
+                    return completion(model, content.toString(), usage);
+                }
+            }
+        } catch (IOException e) {
+            log.error("OpenAI streaming call failed", e);
+            throw new OpenAiException("IO error while streaming from OpenAI", e);
+        }
+    }
+
+    private static OpenAiResponseDto completion(String model, String content, OpenAiResponseDto.Usage usage) {
+        OpenAiResponseDto.Message message = new OpenAiResponseDto.Message();
+        message.setRole("assistant");
+        message.setContent(content);
+
+        OpenAiResponseDto.Choice choice = new OpenAiResponseDto.Choice();
+        choice.setMessage(message);
+
+        OpenAiResponseDto response = new OpenAiResponseDto();
+        response.setModel(model);
+        response.setChoices(List.of(choice));
+        response.setUsage(usage);
+        return response;
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) return;
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenAiException("Interrupted while waiting for the OpenAI rate limit", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private Request chatRequest(OpenAiRequestDto requestDto) throws IOException {
         String baseUrl = trimToNull(properties.getBaseUrl());
         if (baseUrl == null) {
             throw new OpenAiException("OpenAI base URL is not configured (openai.base-url)");
@@ -48,33 +370,15 @@ public class OpenAiClient {
 
         String url = baseUrl.endsWith("/") ? (baseUrl + "chat/completions") : (baseUrl + "/chat/completions");
 
-        try {
-            String json = objectMapper.writeValueAsString(requestDto);
-            RequestBody body = RequestBody.create(json, JSON);
-
-            Request request = new Request.Builder()
-                    .url(url)
-                    .post(body)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                ResponseBody responseBody = response.body();
-                String raw = responseBody == null ? "" : responseBody.string();
-
-                if (!response.isSuccessful()) {
-                    throw new OpenAiException("OpenAI request failed. HTTP " + response.code() + ". Body: " + abbreviate(raw, 2000));
-                }
-                if (raw.isBlank()) {
-                    throw new OpenAiException("OpenAI returned an empty response body");
-                }
-                return objectMapper.readValue(raw, OpenAiResponseDto.class);
-            }
-        } catch (IOException e) {
-            log.error("OpenAI call failed", e);
-            throw new OpenAiException("IO error while calling OpenAI", e);
-        }
+        String json = objectMapper.writeValueAsString(requestDto);
+        RequestBody body = RequestBody.create(json, JSON);
+
+        return new Request.Builder()
+                .url(url)
+                .post(body)
+                .addHeader("Authorization", "Bearer " + apiKey)
+                .addHeader("Content-Type", "application/json")
+                .build();
     }
 
     private static String trimToNull(String s) {
@@ -0,0 +1,336 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.exception.OpenAiException;
+import com.caizin.recruitment.util.prompt.TokenEstimator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Picks the model for a chat completion and hedges slow calls.
+ *
+ * <p>Routable models are those whose {@code max-input-tokens} fits the
+ * estimated prompt, in configured order. The first one whose observed p95 is
+ * within the latency budget wins; if none is, the fastest one does. A model
+ * without enough samples counts as within budget, so new models get traffic.</p>
+ *
+ * <p>If the call is still running after the model's p95, a second request is
+ * sent, to a faster routable model when there is one, otherwise to the same
+ * model. The first success is used and the other call is cancelled. Latency
+ * of every successful call feeds the per-model {@link LatencyHistogram}s. A
+ * cancelled call is recorded at the time it had run so far: it would have
+ * taken at least that long, and leaving it out would hide exactly the slow
+ * calls that p95 is meant to catch.</p>
+ */
+@Component
+public class OpenAiModelRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenAiModelRouter.class);
+
+    private final OpenAiClient openAiClient;
+    private final OpenAiProperties properties;
+    private final Map<String, ModelStats> stats = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public OpenAiModelRouter(OpenAiClient openAiClient, OpenAiProperties properties) {
+        this.openAiClient = openAiClient;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "openai-hedge");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public OpenAiResponseDto createChatCompletion(OpenAiRequestDto request) {
+        try {
+            return createChatCompletionAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OpenAiException openAiException) throw openAiException;
+            throw new OpenAiException("OpenAI call failed", e.getCause());
+        }
+    }
+
+    public CompletableFuture<OpenAiResponseDto> createChatCompletionAsync(OpenAiRequestDto request) {
+
+        OpenAiProperties.Routing routing = properties.getRouting();
+        if (!routing.isEnabled()) {
+            return timed(request.getModel(), openAiClient.createChatCompletionAsync(request));
+        }
+
+        List<String> routable = routable(request);
+        String primary = choose(routable);
+
+        Race race = new Race(primary);
+        race.launch(send(request, primary));
+
+        Duration delay = hedgeDelay(primary);
+        if (routing.isHedge() && delay != null) {
+            ScheduledFuture<?> timer = scheduler.schedule(() -> {
+                String hedgeModel = hedgeModel(routable, primary);
+                if (race.hedge(() -> send(request, hedgeModel))) {
+                    log.debug("Hedging {} after {} ms with {}", primary, delay.toMillis(), hedgeModel);
+                }
+            }, delay.toMillis(), TimeUnit.MILLISECONDS);
+            race.result.whenComplete((r, e) -> timer.cancel(false));
+        }
+        return race.result;
+    }
+
+    /**
+     * Model for a call that cannot be hedged, such as a stream; the caller
+     * reports the latency with {@link #record}.
+     */
+    public String route(OpenAiRequestDto request) {
+        return properties.getRouting().isEnabled()
+                ? choose(routable(request))
+                : request.getModel();
+    }
+
+    public void record(String model, Duration latency) {
+        ModelStats s = stats(model);
+        s.completed.increment();
+        s.latency.record(latency);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        stats.forEach((model, s) -> {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("completed", s.completed.sum());
+            m.put("failures", s.failures.sum());
+            m.put("hedged", s.hedged.sum());
+            m.put("hedgeWins", s.hedgeWins.sum());
+            m.put("censored", s.censored.sum());
+            m.put("windowSamples", s.latency.count());
+            m.put("p50Ms", millis(s.latency.percentile(0.50)));
+            m.put("p95Ms", millis(s.latency.percentile(0.95)));
+            m.put("p99Ms", millis(s.latency.percentile(0.99)));
+            out.put(model, m);
+        });
+        return out;
+    }
+
+    private List<String> routable(OpenAiRequestDto request) {
+
+        List<OpenAiProperties.Model> models = properties.getRouting().getModels();
+        if (models == null || models.isEmpty()) {
+            return List.of(request.getModel());
+        }
+
+        int inputTokens = inputTokens(request);
+        List<String> fits = new ArrayList<>();
+        for (OpenAiProperties.Model model : models) {
+            if (model.getName() != null && model.getMaxInputTokens() >= inputTokens) {
+                fits.add(model.getName().trim());
+            }
+        }
+        if (!fits.isEmpty()) return fits;
+
+        // nothing claims to fit; the model with the largest window is the best bet
+        return List.of(models.stream()
+                .filter(m -> m.getName() != null)
+                .max(Comparator.comparingInt(OpenAiProperties.Model::getMaxInputTokens))
+                .map(m -> m.getName().trim())
+                .orElse(request.getModel()));
+    }
+
+    private String choose(List<String> routable) {
+
+        Duration budget = properties.getRouting().getLatencyBudget();
+        for (String model : routable) {
+            Duration p95 = trustedP95(model);
+            if (p95 == null || p95.compareTo(budget) <= 0) return model;
+        }
+        return fastest(routable, null);
+    }
+
+    private String hedgeModel(List<String> routable, String primary) {
+        String fastest = fastest(routable, primary);
+        if (fastest == null) return primary;
+
+        Duration primaryP95 = trustedP95(primary);
+        Duration otherP95 = trustedP95(fastest);
+        boolean faster = otherP95 != null && (primaryP95 == null || otherP95.compareTo(primaryP95) < 0);
+        return faster ? fastest : primary;
+    }
+
+    /**
+     * Fastest model with a trusted p95, or the first one if none has samples yet.
+     */
+    private String fastest(List<String> models, String excluding) {
+        String best = null;
+        Duration bestP95 = null;
+        for (String model : models) {
+            if (model.equals(excluding)) continue;
+            Duration p95 = trustedP95(model);
+            if (best == null || (p95 != null && (bestP95 == null || p95.compareTo(bestP95) < 0))) {
+                best = model;
+                bestP95 = p95;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return null until the model has enough samples to hedge on
+     */
+    private Duration hedgeDelay(String model) {
+        Duration p95 = trustedP95(model);
+        if (p95 == null) return null;
+
+        Duration min = properties.getRouting().getMinHedgeDelay();
+        return p95.compareTo(min) < 0 ? min : p95;
+    }
+
+    private Duration trustedP95(String model) {
+        ModelStats s = stats(model);
+        return s.latency.count() >= properties.getRouting().getMinSamples()
+                ? s.latency.percentile(0.95)
+                : null;
+    }
+
+    private CompletableFuture<OpenAiResponseDto> send(OpenAiRequestDto request, String model) {
+        return timed(model, openAiClient.createChatCompletionAsync(withModel(request, model)));
+    }
+
+    private CompletableFuture<OpenAiResponseDto> timed(String model, CompletableFuture<OpenAiResponseDto> call) {
+        long start = System.nanoTime();
+        call.whenComplete((r, e) -> {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (e == null) {
+                record(model, elapsed);
+            } else if (call.isCancelled()) {
+                // a lower bound, but still a sample; the loser was no faster than the winner
+                ModelStats s = stats(model);
+                s.censored.increment();
+                s.latency.record(elapsed);
+            } else {
+                stats(model).failures.increment();
+            }
+        });
+        return call;
+    }
+
+    private ModelStats stats(String model) {
+        return stats.computeIfAbsent(model, m -> new ModelStats(properties.getRouting().getWindow()));
+    }
+
+    private static OpenAiRequestDto withModel(OpenAiRequestDto request, String model) {
+        OpenAiRequestDto copy = new OpenAiRequestDto(request);
+        copy.setModel(model);
+        return copy;
+    }
+
+    private static int inputTokens(OpenAiRequestDto request) {
+        int tokens = 0;
+        if (request.getMessages() != null) {
+            for (OpenAiRequestDto.Message message : request.getMessages()) {
+                tokens += TokenEstimator.estimate(message.getContent() == null ? "" : message.getContent());
+            }
+        }
+        return tokens;
+    }
+
+    private static Long millis(Duration d) {
+        return d == null ? null : d.toMillis();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Up to two calls racing for one result. The first success wins and the
+     * rest are cancelled; the result fails only when every launched call has.
+     */
+    private final class Race {
+
+        final CompletableFuture<OpenAiResponseDto> result = new CompletableFuture<>();
+        private final String primary;
+
+        // guarded by this
+        private final List<CompletableFuture<OpenAiResponseDto>> calls = new ArrayList<>();
+        private int failed;
+
+        Race(String primary) {
+            this.primary = primary;
+        }
+
+        void launch(CompletableFuture<OpenAiResponseDto> call) {
+            synchronized (this) {
+                calls.add(call);
+            }
+            watch(call, false);
+        }
+
+        /**
+         * @return false if the race was already decided
+         */
+        boolean hedge(Supplier<CompletableFuture<OpenAiResponseDto>> call) {
+            CompletableFuture<OpenAiResponseDto> started;
+            synchronized (this) {
+                if (result.isDone()) return false;
+                started = call.get();
+                calls.add(started);
+            }
+            stats(primary).hedged.increment();
+            watch(started, true);
+            return true;
+        }
+
+        private void watch(CompletableFuture<OpenAiResponseDto> call, boolean hedge) {
+            call.whenComplete((response, error) -> {
+                List<CompletableFuture<OpenAiResponseDto>> losers;
+                synchronized (this) {
+                    if (error == null) {
+                        if (!result.complete(response)) return;
+                        if (hedge) stats(primary).hedgeWins.increment();
+                    } else {
+                        failed++;
+                        if (failed < calls.size()) return;
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error);
+                    }
+                    losers = List.copyOf(calls);
+                }
+                losers.forEach(c -> c.cancel(true));
+            });
+        }
+    }
+
+    private static final class ModelStats {
+        final LatencyHistogram latency;
+        final LongAdder completed = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder hedged = new LongAdder();
+        final LongAdder hedgeWins = new LongAdder();
+        final LongAdder censored = new LongAdder();
+
+        ModelStats(Duration window) {
+            this.latency = new LatencyHistogram(window);
+        }
+    }
+}
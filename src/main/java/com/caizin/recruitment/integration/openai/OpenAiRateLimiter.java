@@ -0,0 +1,194 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import okhttp3.Headers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Client-side token buckets for OpenAI's two limits, requests per minute and
+ * tokens per minute.
+ *
+ * <p>Each call reserves one request and its estimated tokens and is told how
+ * long to wait before sending. Buckets start from the configured limits and
+ * are corrected from the {@code x-ratelimit-limit-*}, {@code -remaining-*}
+ * and {@code -reset-*} headers of every response, so the client follows the
+ * account's real limits and never believes it has more headroom than the
+ * server reported. A 429 pauses all callers until the server's reset.</p>
+ */
+public class OpenAiRateLimiter {
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    // guarded by this
+    private final Bucket requests;
+    private final Bucket tokens;
+    private long blockedUntil;
+
+    public OpenAiRateLimiter(OpenAiProperties.RateLimit config) {
+        long now = System.nanoTime();
+        this.requests = new Bucket(Math.max(1, config.getRequestsPerMinute()), now);
+        this.tokens = new Bucket(Math.max(1, config.getTokensPerMinute()), now);
+        this.blockedUntil = now;
+    }
+
+    /**
+     * Reserve one request and {@code tokenCost} tokens.
+     *
+     * @return nanoseconds the caller must wait before sending
+     */
+    public synchronized long reserve(int tokenCost) {
+
+        long now = System.nanoTime();
+        requests.refill(now);
+        tokens.refill(now);
+
+        // a single call larger than the whole bucket would otherwise never be allowed
+        double cost = Math.min(tokenCost, tokens.capacity);
+
+        long start = Math.max(now, blockedUntil);
+        start = Math.max(start, requests.readyAt(1, now));
+        start = Math.max(start, tokens.readyAt(cost, now));
+
+        requests.take(1);
+        tokens.take(cost);
+
+        return start - now;
+    }
+
+    /**
+     * Correct the token reservation once the real usage is known.
+     */
+    public synchronized void adjustTokens(int actualMinusReserved) {
+        tokens.refill(System.nanoTime());
+        tokens.take(actualMinusReserved);
+    }
+
+    /**
+     * Stop every caller for at least {@code pause}, e.g. after a 429.
+     */
+    public synchronized void pause(Duration pause) {
+        blockedUntil = Math.max(blockedUntil, System.nanoTime() + pause.toNanos());
+    }
+
+    public synchronized void onHeaders(Headers headers) {
+
+        long now = System.nanoTime();
+        requests.refill(now);
+        tokens.refill(now);
+
+        update(requests, headers, "requests", now);
+        update(tokens, headers, "tokens", now);
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+
+        long now = System.nanoTime();
+        requests.refill(now);
+        tokens.refill(now);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("requestLimit", (long) requests.capacity);
+        snapshot.put("requestsAvailable", (long) Math.floor(requests.level));
+        snapshot.put("tokenLimit", (long) tokens.capacity);
+        snapshot.put("tokensAvailable", (long) Math.floor(tokens.level));
+        snapshot.put("pausedForMs", TimeUnit.NANOSECONDS.toMillis(Math.max(0, blockedUntil - now)));
+        return snapshot;
+    }
+
+    private void update(Bucket bucket, Headers headers, String kind, long now) {
+
+        Long limit = parseLong(headers.get("x-ratelimit-limit-" + kind));
+        Long remaining = parseLong(headers.get("x-ratelimit-remaining-" + kind));
+        Duration reset = parseDuration(headers.get("x-ratelimit-reset-" + kind));
+
+        if (limit != null && limit > 0) {
+            bucket.setCapacity(limit);
+        }
+        if (remaining != null) {
+            // other reservations may still be in flight, so only ever lower the level
+            bucket.level = Math.min(bucket.level, remaining);
+
+            if (remaining <= 0 && reset != null) {
+                blockedUntil = Math.max(blockedUntil, now + reset.toNanos());
+            }
+        }
+    }
+
+    /**
+     * OpenAI reset values look like {@code 20ms}, {@code 1s}, {@code 6m0s} or {@code 1h2m3.5s}.
+     */
+    static Duration parseDuration(String value) {
+
+        if (value == null || value.isBlank()) return null;
+
+        Matcher m = DURATION_PART.matcher(value.trim());
+        double millis = 0;
+        boolean found = false;
+
+        while (m.find()) {
+            found = true;
+            double n = Double.parseDouble(m.group(1));
+            millis += switch (m.group(2)) {
+                case "h" -> n * 3_600_000;
+                case "m" -> n * 60_000;
+                case "s" -> n * 1_000;
+                default -> n;
+            };
+        }
+        return found ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) return null;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Refills continuously at capacity per minute; the level may go negative
+     * while reservations are ahead of the refill.
+     */
+    private static final class Bucket {
+
+        private static final double NANOS_PER_MINUTE = 60_000_000_000d;
+
+        double capacity;
+        double ratePerNano;
+        double level;
+        long last;
+
+        Bucket(double capacity, long now) {
+            setCapacity(capacity);
+            this.level = capacity;
+            this.last = now;
+        }
+
+        void setCapacity(double capacity) {
+            this.capacity = capacity;
+            this.ratePerNano = capacity / NANOS_PER_MINUTE;
+        }
+
+        void refill(long now) {
+            level = Math.min(capacity, level + (now - last) * ratePerNano);
+            last = now;
+        }
+
+        long readyAt(double cost, long now) {
+            if (level >= cost) return now;
+            return now + (long) Math.ceil((cost - level) / ratePerNano);
+        }
+
+        void take(double cost) {
+            level -= cost;
+        }
+    }
+}
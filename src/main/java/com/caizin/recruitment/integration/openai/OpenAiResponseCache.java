@@ -0,0 +1,185 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.entity.LlmResponseCacheEntry;
+import com.caizin.recruitment.repository.LlmResponseCacheRepository;
+import com.caizin.recruitment.util.cache.LruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-tier cache of OpenAI chat completions keyed by a hash of the canonical
+ * request JSON (model, messages, temperature, response format) and
+ * {@code openai.cache.version}: a bounded in-process LRU in front of the
+ * llm_response_cache table. Entries expire after {@code openai.cache.ttl}.
+ *
+ * <p>Callers store a response only once they have validated it, so a
+ * malformed completion is never replayed.</p>
+ */
+@Component
+public class OpenAiResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenAiResponseCache.class);
+
+    private final LlmResponseCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+    private final OpenAiProperties.Cache config;
+    private final LruCache<String, Cached> memory;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public OpenAiResponseCache(
+            LlmResponseCacheRepository repository,
+            ObjectMapper objectMapper,
+            OpenAiProperties properties
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.config = properties.getCache();
+        this.memory = new LruCache<>(config.getMaxEntries());
+        this.canonicalMapper = JsonMapper.builder()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public String key(OpenAiRequestDto request) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(config.getVersion().getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(canonicalMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash OpenAI request", e);
+        }
+    }
+
+    public Optional<OpenAiResponseDto> get(String key) {
+
+        if (!config.isEnabled()) return Optional.empty();
+
+        LocalDateTime now = LocalDateTime.now();
+
+        Cached hit = memory.get(key);
+        if (hit != null) {
+            if (hit.expiresAt().isAfter(now)) {
+                memoryHits.increment();
+                return Optional.of(hit.response());
+            }
+            memory.remove(key);
+            expired.increment();
+        }
+
+        LlmResponseCacheEntry entry = repository.findById(key).orElse(null);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.getExpiresAt() != null && !entry.getExpiresAt().isAfter(now)) {
+            expired.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+
+        try {
+            OpenAiResponseDto response = objectMapper.readValue(entry.getResponseJson(), OpenAiResponseDto.class);
+            LocalDateTime until = entry.getExpiresAt() != null ? entry.getExpiresAt() : now.plus(config.getTtl());
+            memory.put(key, new Cached(response, until));
+            storeHits.increment();
+            return Optional.of(response);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable cached OpenAI response {}: {}", key, e.getMessage());
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store a validated response.
+     *
+     * @param tag group used by {@link #invalidateTag(String)}, may be null
+     */
+    public void put(String key, String tag, String model, OpenAiResponseDto response) {
+
+        if (!config.isEnabled()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(config.getTtl());
+        memory.put(key, new Cached(response, expiresAt));
+
+        try {
+            LlmResponseCacheEntry entry = new LlmResponseCacheEntry();
+            entry.setCacheKey(key);
+            entry.setModel(model);
+            entry.setTag(tag);
+            entry.setResponseJson(objectMapper.writeValueAsString(response));
+            entry.setCreatedAt(now);
+            entry.setExpiresAt(expiresAt);
+            repository.save(entry);
+        } catch (Exception e) {
+            // the in-memory tier still has it; a lost write only costs a future OpenAI call
+            log.warn("Failed to store OpenAI response {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop every cached response with this tag. The in-memory tier is not
+     * indexed by tag, so it is cleared as a whole.
+     */
+    public int invalidateTag(String tag) {
+        memory.clear();
+        return repository.deleteByTag(tag);
+    }
+
+    public int invalidateAll() {
+        memory.clear();
+        return repository.deleteAllEntries();
+    }
+
+    @Scheduled(fixedDelayString = "${openai.cache.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int removed = repository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("Purged {} expired OpenAI responses", removed);
+        }
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of(
+                "memoryHits", memoryHits.sum(),
+                "storeHits", storeHits.sum(),
+                "misses", misses.sum(),
+                "expired", expired.sum(),
+                "memoryEntries", (long) memory.size()
+        );
+    }
+
+    private record Cached(OpenAiResponseDto response, LocalDateTime expiresAt) {}
+}
@@ -0,0 +1,291 @@
+package com.caizin.recruitment.integration.zoho;
+
+import com.caizin.recruitment.config.ZohoProperties;
+import com.caizin.recruitment.entity.ZohoApplicationIndexEntry;
+import com.caizin.recruitment.exception.IntegrationException;
+import com.caizin.recruitment.repository.ZohoApplicationIndexRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local index of Zoho Recruit applications keyed by (candidate id, job id).
+ *
+ * <p>Zoho has no lookup of an application by candidate and job, so this
+ * table stands in for one. It is filled from three sources: application ids
+ * returned by the associate call, a scheduled incremental sync of the
+ * Applications module using {@code If-Modified-Since} with the newest
+ * Modified_Time already indexed, and on a miss a search limited to the
+ * candidate's applications. Only the very first sync pages through the
+ * whole module, and it never runs on a caller's thread. Scheduled syncs run
+ * on a thread of their own, so that first unbounded pass cannot hold up the
+ * other scheduled jobs.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "ats", name = "provider", havingValue = "zoho")
+public class ZohoApplicationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ZohoApplicationIndex.class);
+
+    private static final int PAGE_SIZE = 200;
+    private static final DateTimeFormatter IF_MODIFIED_SINCE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+    private final OkHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ZohoProperties properties;
+    private final ZohoAccessTokenProvider tokenProvider;
+    private final ZohoApplicationIndexRepository repository;
+
+    private final ExecutorService syncer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "zoho-application-sync");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+
+    public ZohoApplicationIndex(
+            OkHttpClient httpClient,
+            ObjectMapper objectMapper,
+            ZohoProperties properties,
+            ZohoAccessTokenProvider tokenProvider,
+            ZohoApplicationIndexRepository repository
+    ) {
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.properties = Objects.requireNonNull(properties);
+        this.tokenProvider = Objects.requireNonNull(tokenProvider);
+        this.repository = Objects.requireNonNull(repository);
+    }
+
+    /**
+     * Application id for the pair: the index first, then a search of the
+     * candidate's applications. A sync is left to the schedule, since it may
+     * page through the whole module while holding the sync lock.
+     *
+     * @throws IntegrationException if the search does not find the application
+     */
+    public String applicationId(String zohoCandidateId, String zohoJobId) {
+
+        Optional<String> indexed = find(zohoCandidateId, zohoJobId);
+        if (indexed.isPresent()) return indexed.get();
+
+        log.info("Application for candidate {} and job {} not indexed; searching Zoho", zohoCandidateId, zohoJobId);
+        try {
+            searchCandidate(zohoCandidateId);
+        } catch (IOException | IntegrationException e) {
+            log.warn("Zoho application search for candidate {} failed: {}", zohoCandidateId, e.getMessage());
+        }
+
+        return find(zohoCandidateId, zohoJobId).orElseThrow(() -> new IntegrationException(
+                "No application found for candidate " + zohoCandidateId + " and job " + zohoJobId));
+    }
+
+    public Optional<String> find(String zohoCandidateId, String zohoJobId) {
+        return repository.findByZohoCandidateIdAndZohoJobId(zohoCandidateId, zohoJobId)
+                .map(ZohoApplicationIndexEntry::getApplicationId);
+    }
+
+    /**
+     * Record an application id learned outside a sync, e.g. from the associate response.
+     */
+    public void record(String applicationId, String zohoCandidateId, String zohoJobId) {
+        upsert(applicationId, zohoCandidateId, zohoJobId, null);
+    }
+
+    @Scheduled(fixedDelayString = "${zoho.applications.sync-interval:PT15M}")
+    public void syncScheduled() {
+        if (!syncQueued.compareAndSet(false, true)) return;
+
+        syncer.execute(() -> {
+            try {
+                sync();
+            } finally {
+                syncQueued.set(false);
+            }
+        });
+    }
+
+    /**
+     * Index every application modified since the newest one already indexed.
+     *
+     * @return applications indexed
+     */
+    public synchronized int sync() {
+
+        // Zoho compares at second precision; re-reading the boundary second is harmless
+        OffsetDateTime since = repository.findLatestModifiedTime()
+                .map(t -> t.truncatedTo(ChronoUnit.SECONDS))
+                .orElse(null);
+
+        int indexed = 0;
+        try {
+            for (int page = 1; ; page++) {
+
+                HttpUrl url = applicationsUrl()
+                        .addQueryParameter("page", String.valueOf(page))
+                        .addQueryParameter("per_page", String.valueOf(PAGE_SIZE))
+                        .addQueryParameter("sort_by", "Modified_Time")
+                        .addQueryParameter("sort_order", "asc")
+                        .build();
+
+                Request.Builder request = authorized(url);
+                if (since != null) {
+                    request.addHeader("If-Modified-Since", IF_MODIFIED_SINCE.format(since));
+                }
+
+                JsonNode root = execute(request.build(), "sync applications");
+                if (root == null) break;
+
+                indexed += index(root.path("data"));
+                if (!root.path("info").path("more_records").asBoolean(false)) break;
+            }
+        } catch (IOException | IntegrationException e) {
+            log.warn("Zoho application sync stopped after {} applications: {}", indexed, e.getMessage());
+            return indexed;
+        }
+
+        if (indexed > 0) {
+            log.info("Indexed {} Zoho applications modified since {}", indexed, since == null ? "the beginning" : since);
+        }
+        return indexed;
+    }
+
+    private void searchCandidate(String zohoCandidateId) throws IOException {
+
+        for (int page = 1; ; page++) {
+            HttpUrl url = applicationsUrl()
+                    .addPathSegment("search")
+                    .addQueryParameter("criteria", "($Candidate_Id:equals:" + zohoCandidateId + ")")
+                    .addQueryParameter("page", String.valueOf(page))
+                    .addQueryParameter("per_page", String.valueOf(PAGE_SIZE))
+                    .build();
+
+            JsonNode root = execute(authorized(url).build(), "search applications");
+            if (root == null) return;
+
+            index(root.path("data"));
+            if (!root.path("info").path("more_records").asBoolean(false)) return;
+        }
+    }
+
+    private int index(JsonNode data) {
+        int n = 0;
+        if (!data.isArray()) return n;
+
+        for (JsonNode app : data) {
+            String applicationId = app.path("id").asText(null);
+            String candidateId = idOf(app.path("$Candidate_Id"));
+            String jobId = idOf(app.path("$Job_Opening_Id"));
+
+            if (applicationId == null || candidateId == null || jobId == null) continue;
+
+            upsert(applicationId, candidateId, jobId, modifiedTime(app.path("Modified_Time").asText(null)));
+            n++;
+        }
+        return n;
+    }
+
+    void upsert(String applicationId, String zohoCandidateId, String zohoJobId, OffsetDateTime modifiedTime) {
+
+        ZohoApplicationIndexEntry entry = repository.findById(applicationId)
+                .or(() -> repository.findByZohoCandidateIdAndZohoJobId(zohoCandidateId, zohoJobId))
+                .orElseGet(ZohoApplicationIndexEntry::new);
+
+        if (entry.getApplicationId() != null && !entry.getApplicationId().equals(applicationId)) {
+            // the pair was re-created in Zoho under a new application id
+            repository.delete(entry);
+            repository.flush();
+            entry = new ZohoApplicationIndexEntry();
+        }
+
+        entry.setApplicationId(applicationId);
+        entry.setZohoCandidateId(zohoCandidateId);
+        entry.setZohoJobId(zohoJobId);
+        if (modifiedTime != null) entry.setModifiedTime(modifiedTime);
+        entry.setIndexedAt(LocalDateTime.now());
+
+        try {
+            repository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            // indexed concurrently by a push and the scheduled sync; either row is correct
+            log.debug("Application {} indexed concurrently", applicationId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        syncer.shutdownNow();
+    }
+
+    /**
+     * @return the parsed body, or null when Zoho reports nothing (204/304)
+     */
+    private JsonNode execute(Request request, String action) throws IOException {
+
+        try (Response response = httpClient.newCall(request).execute()) {
+
+            if (response.code() == 204 || response.code() == 304) return null;
+
+            String raw = response.body() != null ? response.body().string() : "";
+            if (!response.isSuccessful()) {
+                throw new IntegrationException("Failed to " + action + ". HTTP "
+                        + response.code() + " Body: " + raw);
+            }
+            return raw.isBlank() ? null : objectMapper.readTree(raw);
+        }
+    }
+
+    private HttpUrl.Builder applicationsUrl() {
+        return HttpUrl.parse(properties.getBaseUrl())
+                .newBuilder()
+                .addPathSegments("recruit/v2/Applications");
+    }
+
+    private Request.Builder authorized(HttpUrl url) {
+        return new Request.Builder()
+                .url(url)
+                .get()
+                .addHeader("Authorization", "Zoho-oauthtoken " + tokenProvider.getAccessToken())
+                .addHeader("Content-Type", "application/json");
+    }
+
+    /**
+     * Lookup fields come back either as a plain id or as {@code {"id": ..., "name": ...}}.
+     */
+    static String idOf(JsonNode node) {
+        if (node.isObject()) node = node.path("id");
+        String id = node.isValueNode() ? node.asText() : null;
+        return id == null || id.isBlank() || "null".equals(id) ? null : id;
+    }
+
+    private static OffsetDateTime modifiedTime(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -27,17 +27,20 @@ public class ZohoCandidateAtsAdapter {
     private final ObjectMapper objectMapper;
     private final ZohoProperties properties;
     private final ZohoAccessTokenProvider tokenProvider;
+    private final ZohoApplicationIndex applicationIndex;
 
     public ZohoCandidateAtsAdapter(
             OkHttpClient httpClient,
             ObjectMapper objectMapper,
             ZohoProperties properties,
-            ZohoAccessTokenProvider tokenProvider
+            ZohoAccessTokenProvider tokenProvider,
+            ZohoApplicationIndex applicationIndex
     ) {
         this.httpClient = Objects.requireNonNull(httpClient);
         this.objectMapper = Objects.requireNonNull(objectMapper);
         this.properties = Objects.requireNonNull(properties);
         this.tokenProvider = Objects.requireNonNull(tokenProvider);
+        this.applicationIndex = Objects.requireNonNull(applicationIndex);
     }
 
     public String createCandidate(Candidate candidate) {
@@ -217,6 +220,7 @@ public class ZohoCandidateAtsAdapter {
                 }
 
                 log.info("Candidate {} successfully associated with job {}", zohoCandidateId, zohoJobId);
+                indexAssociation(raw, zohoCandidateId, zohoJobId);
             }
 
         } catch (IOException e) {
@@ -230,8 +234,8 @@ public class ZohoCandidateAtsAdapter {
         try {
             String accessToken = tokenProvider.getAccessToken();
 
-            // Step 1: Get Application ID
-            String applicationId = getApplicationId(zohoCandidateId, zohoJobId, accessToken);
+            // Step 1: Get Application ID from the local index
+            String applicationId = applicationIndex.applicationId(zohoCandidateId, zohoJobId);
             log.info("Found application ID {} for candidate {}", applicationId, zohoCandidateId);
 
             // Step 2: Format questions as readable text
@@ -286,52 +290,22 @@ public class ZohoCandidateAtsAdapter {
         }
     }
 
-    private String getApplicationId(String zohoCandidateId,
-                                    String zohoJobId,
-                                    String accessToken) throws IOException {
-
-        HttpUrl url = HttpUrl.parse(properties.getBaseUrl())
-                .newBuilder()
-                .addPathSegments("recruit/v2/Applications")
-                .build();
-
-        Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .addHeader("Authorization", "Zoho-oauthtoken " + accessToken)
-                .addHeader("Content-Type", "application/json")
-                .build();
-
-        try (Response response = httpClient.newCall(request).execute()) {
-            String raw = response.body() != null ? response.body().string() : "";
-            log.info("Get application response: {}", raw);
-
-            if (!response.isSuccessful()) {
-                throw new IntegrationException(
-                        "Failed to get application ID. HTTP "
-                                + response.code() + " Body: " + raw);
-            }
-
-            JsonNode root = objectMapper.readTree(raw);
-            JsonNode dataNode = root.get("data");
-
-            if (dataNode == null || !dataNode.isArray() || dataNode.size() == 0) {
-                throw new IntegrationException(
-                        "No application found for candidate " + zohoCandidateId);
-            }
-
-            // Find application matching both candidate and job
-            for (JsonNode app : dataNode) {
-                String candidateId = app.get("$Candidate_Id").asText();
-                String jobId = app.get("$Job_Opening_Id").asText();
-
-                if (zohoCandidateId.equals(candidateId) && zohoJobId.equals(jobId)) {
-                    return app.get("id").asText();
+    /**
+     * Index the application id if the associate response carries one; the
+     * response shape varies across Zoho data centres, so absence is normal.
+     * Only {@code details.application_id} is trusted: {@code details.id} may
+     * be the candidate or job id and would poison the index.
+     */
+    private void indexAssociation(String raw, String zohoCandidateId, String zohoJobId) {
+        try {
+            for (JsonNode item : objectMapper.readTree(raw).path("data")) {
+                String applicationId = item.path("details").path("application_id").asText(null);
+                if (applicationId != null && !applicationId.isBlank()) {
+                    applicationIndex.record(applicationId, zohoCandidateId, zohoJobId);
                 }
             }
-
-            throw new IntegrationException("No application found for candidate " + zohoCandidateId);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read application id from associate response: {}", e.getMessage());
         }
     }
-
 }
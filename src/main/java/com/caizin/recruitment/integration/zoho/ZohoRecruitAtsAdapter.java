@@ -111,7 +111,9 @@ public class ZohoRecruitAtsAdapter implements AtsPlatform {
         log.debug("Mapped Zoho job id={}, title={}", zohoJobid, title);
         log.debug("Mapped Zoho job internalId={}, jobOpeningId={}", zohoJobid, jobOpeningId);
 
-        return new JobDto(zohoJobid,jobOpeningId, title, description, experience, department);
+        JobDto job = new JobDto(zohoJobid,jobOpeningId, title, description, experience, department);
+        job.setStatus(text(node, "Job_Opening_Status"));
+        return job;
     }
 
     private static String text(JsonNode node, String field) {
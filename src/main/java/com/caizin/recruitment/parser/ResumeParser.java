@@ -10,9 +10,17 @@ import java.util.regex.Pattern;
 @Component
 public class ResumeParser {
 
+    /**
+     * Bump whenever parsing output changes so stored features get backfilled.
+     */
+    public static final int VERSION = 2;
+
     private static final Pattern EMAIL_PATTERN =
             Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
 
+    private static final Pattern PHONE_PATTERN =
+            Pattern.compile("(?<![\\w+(])\\+?\\(?\\d[\\d\\s().-]{8,18}\\d(?!\\w)");
+
     private static final Pattern EXPERIENCE_PATTERN =
             Pattern.compile("(\\d+(\\.\\d+)?)\\s*(years|yrs)");
 
@@ -34,6 +42,8 @@ public class ResumeParser {
 
         String name = extractName(text, email);
 
+        String phone = extractPhone(text);
+
         List<String> skills = extractSkills(text);
 
         double experience = extractExperience(text);
@@ -45,6 +55,7 @@ public class ResumeParser {
         return new ParsedResume(
                 name,
                 email,
+                phone,
                 skills,
                 experience,
                 projects,
@@ -61,6 +72,22 @@ public class ResumeParser {
                 : "unknown@email.com";
     }
 
+    private String extractPhone(String text){
+
+        Matcher matcher = PHONE_PATTERN.matcher(text);
+
+        while(matcher.find()){
+
+            String digits = matcher.group().replaceAll("[^0-9]", "");
+
+            // 10-15 digits: national or international number, not a year range or ID
+            if(digits.length() >= 10 && digits.length() <= 15)
+                return matcher.group().trim();
+        }
+
+        return null;
+    }
+
     private String extractName(String text, String email){
 
         String emailName = extractNameFromEmail(email);
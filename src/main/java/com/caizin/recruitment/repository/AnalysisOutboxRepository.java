@@ -0,0 +1,21 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.AnalysisOutboxItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AnalysisOutboxRepository
+        extends JpaRepository<AnalysisOutboxItem, UUID> {
+
+    @Query("select o.status as status, count(o) as count from AnalysisOutboxItem o group by o.status")
+    List<StatusCount> countByStatus();
+
+    interface StatusCount {
+        String getStatus();
+
+        long getCount();
+    }
+}
@@ -0,0 +1,8 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.BackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BackfillCheckpointRepository
+        extends JpaRepository<BackfillCheckpoint, String> {
+}
@@ -0,0 +1,16 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.CandidateApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CandidateApplicationRepository
+        extends JpaRepository<CandidateApplication, String> {
+
+    boolean existsBySharepointItemId(String sharepointItemId);
+
+    boolean existsByCandidateIdAndJobOpeningId(String candidateId, String jobOpeningId);
+
+    List<CandidateApplication> findByCandidateIdOrderByCreatedAtAsc(String candidateId);
+}
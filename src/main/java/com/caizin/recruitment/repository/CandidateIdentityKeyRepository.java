@@ -0,0 +1,14 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.CandidateIdentityKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CandidateIdentityKeyRepository
+        extends JpaRepository<CandidateIdentityKey, String> {
+
+    List<CandidateIdentityKey> findByKeyTypeAndKeyValue(CandidateIdentityKey.Type keyType, String keyValue);
+
+    List<CandidateIdentityKey> findByCandidateId(String candidateId);
+}
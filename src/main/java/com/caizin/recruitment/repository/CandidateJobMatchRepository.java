@@ -0,0 +1,20 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.CandidateJobMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CandidateJobMatchRepository
+        extends JpaRepository<CandidateJobMatch, UUID> {
+
+    List<CandidateJobMatch> findByCandidateIdOrderByRankAsc(String candidateId);
+
+    @Modifying
+    @Query("delete from CandidateJobMatch m where m.candidateId = :candidateId")
+    void deleteByCandidateId(@Param("candidateId") String candidateId);
+}
@@ -1,7 +1,10 @@
 package com.caizin.recruitment.repository;
 
 import com.caizin.recruitment.entity.Candidate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -30,6 +33,51 @@ public interface CandidateRepository extends JpaRepository<Candidate, String> {
 
     List<Candidate> findByZohoJobIdIsNull();
 
+    /**
+     * Keyset page of processed candidates whose cached features are missing or
+     * were produced by an older parser/extractor.
+     */
+    @Query("""
+            select c from Candidate c
+            where c.candidateId > :after
+              and c.status <> 'DOWNLOADED'
+              and c.jobOpeningId is not null
+              and not exists (
+                  select f.candidateId from ResumeFeatures f
+                  where f.candidateId = c.candidateId
+                    and coalesce(f.parserVersion, 0) >= :parserVersion
+                    and coalesce(f.extractorVersion, 0) >= :extractorVersion)
+            order by c.candidateId
+            """)
+    List<Candidate> findWithOutdatedFeatures(
+            @Param("after") String afterCandidateId,
+            @Param("parserVersion") int parserVersion,
+            @Param("extractorVersion") int extractorVersion,
+            Pageable page
+    );
 
+    /**
+     * Keyset page of scored candidates eligible for screening questions: at or
+     * above {@code minAtsScore} when given, and without a stored question set
+     * for their job unless {@code regenerate} is set.
+     */
+    @Query("""
+            select c from Candidate c
+            where c.candidateId > :after
+              and c.status in ('PROCESSED', 'PUSHED_TO_ZOHO')
+              and c.jobOpeningId is not null
+              and (:minAtsScore is null or c.atsScore >= :minAtsScore)
+              and (:regenerate = true or not exists (
+                  select q.id from ScreeningQuestionSet q
+                  where q.candidateId = c.candidateId
+                    and q.jobOpeningId = c.jobOpeningId))
+            order by c.candidateId
+            """)
+    List<Candidate> findEligibleForQuestions(
+            @Param("after") String afterCandidateId,
+            @Param("minAtsScore") Double minAtsScore,
+            @Param("regenerate") boolean regenerate,
+            Pageable page
+    );
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.LlmResponseCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface LlmResponseCacheRepository
+        extends JpaRepository<LlmResponseCacheEntry, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from LlmResponseCacheEntry e where e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from LlmResponseCacheEntry e where e.tag = :tag")
+    int deleteByTag(@Param("tag") String tag);
+
+    @Transactional
+    @Modifying
+    @Query("delete from LlmResponseCacheEntry e")
+    int deleteAllEntries();
+}
@@ -0,0 +1,14 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.LlmUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LlmUsageRepository extends JpaRepository<LlmUsage, Long> {
+
+    List<LlmUsage> findByUsageDayBetween(LocalDate from, LocalDate to);
+
+    List<LlmUsage> findByUsageDayBetweenAndJobOpeningId(LocalDate from, LocalDate to, String jobOpeningId);
+}
@@ -0,0 +1,8 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.McpAnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface McpAnalysisCacheRepository
+        extends JpaRepository<McpAnalysisCacheEntry, String> {
+}
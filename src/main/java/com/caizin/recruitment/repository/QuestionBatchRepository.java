@@ -0,0 +1,14 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.QuestionBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface QuestionBatchRepository extends JpaRepository<QuestionBatch, UUID> {
+
+    List<QuestionBatch> findByResultsAppliedFalse();
+
+    List<QuestionBatch> findTop50ByOrderByCreatedAtDesc();
+}
@@ -0,0 +1,16 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.QuestionBatchRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface QuestionBatchRequestRepository extends JpaRepository<QuestionBatchRequest, String> {
+
+    boolean existsByCandidateIdAndJobOpeningIdAndStatus(String candidateId, String jobOpeningId, String status);
+
+    List<QuestionBatchRequest> findByBatchIdAndStatus(UUID batchId, String status);
+
+    long countByBatchIdAndStatus(UUID batchId, String status);
+}
@@ -3,8 +3,27 @@ package com.caizin.recruitment.repository;
 import com.caizin.recruitment.entity.ResumeAnalysis;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ResumeAnalysisRepository
         extends JpaRepository<ResumeAnalysis, UUID> {
-}
\ No newline at end of file
+
+    /**
+     * Score-only view, oldest first so later analyses of the same pair win.
+     */
+    List<AtsScoreView> findByAtsScoreIsNotNullOrderByCreatedAtAsc();
+
+    Optional<ResumeAnalysis> findFirstByCandidateIdAndJobIdOrderByCreatedAtDesc(String candidateId, String jobId);
+
+    interface AtsScoreView {
+        String getCandidateId();
+
+        String getJobId();
+
+        String getCandidateName();
+
+        Double getAtsScore();
+    }
+}
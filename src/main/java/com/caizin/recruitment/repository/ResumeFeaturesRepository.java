@@ -0,0 +1,87 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.ResumeFeatures;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ResumeFeaturesRepository
+        extends JpaRepository<ResumeFeatures, String> {
+
+    /**
+     * Keyset page of one job's features, ordered by candidate ID.
+     */
+    List<ResumeFeatures> findByJobOpeningIdAndCandidateIdGreaterThanOrderByCandidateIdAsc(
+            String jobOpeningId,
+            String afterCandidateId,
+            Pageable page
+    );
+
+    /**
+     * Keyset page over all features, ordered by candidate ID.
+     */
+    List<ResumeFeatures> findByCandidateIdGreaterThanOrderByCandidateIdAsc(
+            String afterCandidateId,
+            Pageable page
+    );
+
+    /**
+     * Keyset page of the columns the skill index needs, without loading resume text.
+     */
+    List<SkillView> findSkillsByCandidateIdGreaterThanOrderByCandidateIdAsc(
+            String afterCandidateId,
+            Pageable page
+    );
+
+    long countByJobOpeningId(String jobOpeningId);
+
+    @Query("select distinct f.jobOpeningId from ResumeFeatures f where f.jobOpeningId is not null")
+    List<String> findDistinctJobOpeningIds();
+
+    /**
+     * Keyset page of stored MinHash signatures, without loading resume text.
+     */
+    List<SignatureView> findByMinhashSignatureIsNotNullAndCandidateIdGreaterThanOrderByCandidateIdAsc(
+            String afterCandidateId,
+            Pageable page
+    );
+
+    /**
+     * Rows saved before signatures existed.
+     */
+    List<ResumeFeatures> findByMinhashSignatureIsNullAndResumeTextIsNotNullAndCandidateIdGreaterThanOrderByCandidateIdAsc(
+            String afterCandidateId,
+            Pageable page
+    );
+
+    @Transactional
+    @Modifying
+    @Query("update ResumeFeatures f set f.minhashSignature = :signature where f.candidateId = :candidateId")
+    int updateMinhashSignature(
+            @Param("candidateId") String candidateId,
+            @Param("signature") byte[] signature
+    );
+
+    List<ResumeFeatures> findByDuplicateOf(String candidateId);
+
+    interface SignatureView {
+        String getCandidateId();
+
+        byte[] getMinhashSignature();
+    }
+
+    interface SkillView {
+        String getCandidateId();
+
+        String getJobOpeningId();
+
+        String getSkills();
+
+        double getCandidateYears();
+    }
+}
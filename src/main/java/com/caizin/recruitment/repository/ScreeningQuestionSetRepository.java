@@ -0,0 +1,13 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.ScreeningQuestionSet;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ScreeningQuestionSetRepository
+        extends JpaRepository<ScreeningQuestionSet, UUID> {
+
+    Optional<ScreeningQuestionSet> findByCandidateIdAndJobOpeningId(String candidateId, String jobOpeningId);
+}
@@ -0,0 +1,17 @@
+package com.caizin.recruitment.repository;
+
+import com.caizin.recruitment.entity.ZohoApplicationIndexEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+public interface ZohoApplicationIndexRepository
+        extends JpaRepository<ZohoApplicationIndexEntry, String> {
+
+    Optional<ZohoApplicationIndexEntry> findByZohoCandidateIdAndZohoJobId(String zohoCandidateId, String zohoJobId);
+
+    @Query("select max(e.modifiedTime) from ZohoApplicationIndexEntry e")
+    Optional<OffsetDateTime> findLatestModifiedTime();
+}
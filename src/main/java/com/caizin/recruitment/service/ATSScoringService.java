@@ -1,5 +1,7 @@
 package com.caizin.recruitment.service;
 
+import com.caizin.recruitment.config.ScoringProperties;
+import com.caizin.recruitment.entity.AtsFeatures;
 import com.caizin.recruitment.entity.JDRequirements;
 import com.caizin.recruitment.entity.ParsedResume;
 import com.caizin.recruitment.util.ats.*;
@@ -12,17 +14,32 @@ public class ATSScoringService {
     private final ExperienceScorer experience;
     private final ProjectScorer project;
     private final ResumeQualityScorer quality;
+    private final BatchAtsScorer batchScorer;
+    private final ScoringProperties properties;
 
     public ATSScoringService(
             SkillSimilarityScorer skill,
             ExperienceScorer experience,
             ProjectScorer project,
-            ResumeQualityScorer quality){
+            ResumeQualityScorer quality,
+            BatchAtsScorer batchScorer,
+            ScoringProperties properties){
 
         this.skill=skill;
         this.experience=experience;
         this.project=project;
         this.quality=quality;
+        this.batchScorer=batchScorer;
+        this.properties=properties;
+    }
+
+    /**
+     * Current weights from {@code scoring.weights}, read on every call so a
+     * rebound property takes effect without a restart.
+     */
+    public AtsScoringWeights weights(){
+
+        return properties.toWeights();
     }
 
     public double calculate(
@@ -31,31 +48,87 @@ public class ATSScoringService {
             ParsedResume parsed,
             JDRequirements jdReq){
 
+        return score(
+                extractFeatures(resumeText, jdText, parsed, jdReq));
+    }
+
+    /**
+     * Everything the final formula needs, so the score can be recomputed later
+     * without the resume text.
+     */
+    public AtsFeatures extractFeatures(
+            String resumeText,
+            String jdText,
+            ParsedResume parsed,
+            JDRequirements jdReq){
+
+        return new AtsFeatures(
+                skill.score(resumeText, jdText),
+                parsed.yearsOfExperience(),
+                jdReq.requiredExperienceYears(),
+                parsed.projects().size(),
+                quality.lengthScore(resumeText),
+                quality.skillsScore(parsed.skills()),
+                quality.experienceScore(parsed.yearsOfExperience()),
+                quality.projectScore(parsed.projects()),
+                quality.keywordScore(resumeText)
+        );
+    }
+
+    /**
+     * Skill component only; used when the JD changes but the resume did not.
+     */
+    public double skillScore(String resumeText, String jdText){
+
+        return skill.score(resumeText, jdText);
+    }
+
+    public double score(AtsFeatures f){
+
+        return score(f, weights());
+    }
+
+    public double score(AtsFeatures f, AtsScoringWeights w){
+
         double skillScore =
-                skill.score(resumeText, jdText);
+                f.skillScore();
 
         double experienceScore =
                 experience.score(
-                        parsed.yearsOfExperience(),
-                        jdReq.requiredExperienceYears());
+                        f.candidateYears(),
+                        f.requiredYears());
 
         double projectScore =
-                project.score(parsed.projects());
+                project.score(f.projectCount());
 
         double qualityScore =
-                quality.score(
-                        resumeText,
-                        parsed.skills(),
-                        parsed.yearsOfExperience(),
-                        parsed.projects()
+                quality.combine(
+                        f.qualityLength(),
+                        f.qualitySkills(),
+                        f.qualityExperience(),
+                        f.qualityProject(),
+                        f.qualityKeyword()
                 );
 
         double finalScore =
-                0.45*skillScore +
-                        0.25*experienceScore +
-                        0.20*projectScore +
-                        0.10*qualityScore;
+                w.skill()*skillScore +
+                        w.experience()*experienceScore +
+                        w.project()*projectScore +
+                        w.quality()*qualityScore;
 
         return Math.round(finalScore*100.0)/100.0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Score a whole block of candidates in one pass; same results as {@link #score(AtsFeatures)}.
+     */
+    public double[] scoreBatch(AtsFeatureBlock block){
+
+        return scoreBatch(block, weights());
+    }
+
+    public double[] scoreBatch(AtsFeatureBlock block, AtsScoringWeights w){
+
+        return batchScorer.score(block, w);
+    }
+}
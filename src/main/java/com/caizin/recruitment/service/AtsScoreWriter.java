@@ -0,0 +1,120 @@
+package com.caizin.recruitment.service;
+
+import com.caizin.recruitment.event.CandidateScoredEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes re-computed ATS scores back with JDBC batch updates.
+ *
+ * <p>Only the score columns are touched, so concurrent ingestion updates to
+ * other columns are never overwritten. A feature row is only updated when its
+ * version still matches what was read; rows re-written by ingestion in the
+ * meantime keep the fresher ingestion score.</p>
+ */
+@Service
+public class AtsScoreWriter {
+
+    private static final String UPDATE_FEATURES =
+            "update resume_features set skill_score = ?, required_years = ?, ats_score = ?, "
+                    + "updated_at = ?, version = version + 1 "
+                    + "where candidate_id = ? and version = ?";
+
+    private static final String UPDATE_CANDIDATE =
+            "update candidates set ats_score = ? where candidate_id = ?";
+
+    private static final String UPDATE_ANALYSIS =
+            "update resume_analysis set ats_score = ? where candidate_id = ? and job_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AtsScoreWriter(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return the updates that were applied (stale rows are dropped)
+     */
+    @Transactional
+    public List<ScoreUpdate> write(List<ScoreUpdate> updates) {
+
+        if (updates.isEmpty()) return updates;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[] counts = jdbcTemplate.batchUpdate(
+                UPDATE_FEATURES,
+                updates,
+                updates.size(),
+                (ps, u) -> {
+                    ps.setDouble(1, u.skillScore());
+                    ps.setDouble(2, u.requiredYears());
+                    ps.setDouble(3, u.atsScore());
+                    ps.setTimestamp(4, now);
+                    ps.setString(5, u.candidateId());
+                    ps.setLong(6, u.version());
+                })[0];
+
+        List<ScoreUpdate> applied = new ArrayList<>(updates.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                applied.add(updates.get(i));
+            }
+        }
+
+        writeCandidateScores(applied);
+
+        return applied;
+    }
+
+    /**
+     * Propagate already-stored feature scores to candidates and resume_analysis.
+     */
+    @Transactional
+    public void writeCandidateScores(List<ScoreUpdate> updates) {
+
+        if (updates.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(
+                UPDATE_CANDIDATE,
+                updates,
+                updates.size(),
+                (ps, u) -> {
+                    ps.setDouble(1, u.atsScore());
+                    ps.setString(2, u.candidateId());
+                });
+
+        jdbcTemplate.batchUpdate(
+                UPDATE_ANALYSIS,
+                updates,
+                updates.size(),
+                (ps, u) -> {
+                    ps.setDouble(1, u.atsScore());
+                    ps.setString(2, u.candidateId());
+                    ps.setString(3, u.jobOpeningId());
+                });
+
+        for (ScoreUpdate u : updates) {
+            eventPublisher.publishEvent(new CandidateScoredEvent(
+                    u.jobOpeningId(), u.candidateId(), null, u.atsScore()));
+        }
+    }
+
+    public record ScoreUpdate(
+            String candidateId,
+            String jobOpeningId,
+            long version,
+            double skillScore,
+            double requiredYears,
+            double atsScore
+    ) { }
+}
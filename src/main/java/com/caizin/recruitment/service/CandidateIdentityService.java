@@ -0,0 +1,269 @@
+package com.caizin.recruitment.service;
+
+import com.caizin.recruitment.config.DedupProperties;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.entity.CandidateApplication;
+import com.caizin.recruitment.entity.CandidateIdentityKey;
+import com.caizin.recruitment.entity.CandidateIdentityKey.Type;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.parser.ResumeParser;
+import com.caizin.recruitment.repository.CandidateApplicationRepository;
+import com.caizin.recruitment.repository.CandidateIdentityKeyRepository;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.service.index.NearDuplicateIndex;
+import com.caizin.recruitment.util.dedup.MinHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recognises a person across resume files, jobs and sources.
+ *
+ * <p>Every candidate is registered under normalised email, phone and name
+ * keys. A new resume resolves to an existing candidate on an exact email or
+ * phone key, or on a name key whose resume text is also a near-duplicate.
+ * Synthetic fallback emails are never used as keys.</p>
+ */
+@Service
+public class CandidateIdentityService {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateIdentityService.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private final CandidateIdentityKeyRepository keyRepository;
+    private final CandidateApplicationRepository applicationRepository;
+    private final CandidateRepository candidateRepository;
+    private final ResumeFeaturesRepository featuresRepository;
+    private final ResumeParser resumeParser;
+    private final MinHasher minHasher;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final DedupProperties dedupProperties;
+
+    public CandidateIdentityService(
+            CandidateIdentityKeyRepository keyRepository,
+            CandidateApplicationRepository applicationRepository,
+            CandidateRepository candidateRepository,
+            ResumeFeaturesRepository featuresRepository,
+            ResumeParser resumeParser,
+            MinHasher minHasher,
+            NearDuplicateIndex nearDuplicateIndex,
+            DedupProperties dedupProperties
+    ) {
+        this.keyRepository = keyRepository;
+        this.applicationRepository = applicationRepository;
+        this.candidateRepository = candidateRepository;
+        this.featuresRepository = featuresRepository;
+        this.resumeParser = resumeParser;
+        this.minHasher = minHasher;
+        this.nearDuplicateIndex = nearDuplicateIndex;
+        this.dedupProperties = dedupProperties;
+    }
+
+    /**
+     * Register candidates created before the key index existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+
+        if (keyRepository.count() > 0) return;
+
+        int count = 0;
+        int pageNo = 0;
+        Page<Candidate> page;
+
+        do {
+            page = candidateRepository.findAll(
+                    PageRequest.of(pageNo++, PAGE_SIZE, Sort.by("candidateId")));
+
+            Map<String, ResumeFeatures> features = featuresRepository
+                    .findAllById(page.map(Candidate::getCandidateId).getContent())
+                    .stream()
+                    .collect(Collectors.toMap(ResumeFeatures::getCandidateId, Function.identity()));
+
+            for (Candidate c : page) {
+                ResumeFeatures f = features.get(c.getCandidateId());
+                String phone = f == null || f.getResumeText() == null
+                        ? null
+                        : resumeParser.parse(f.getResumeText()).phone();
+
+                register(c, phone);
+
+                if (c.getSharepointItemId() == null
+                        || !applicationRepository.existsBySharepointItemId(c.getSharepointItemId())) {
+                    applicationRepository.save(CandidateApplication.create(
+                            c.getCandidateId(), c.getJobOpeningId(), c.getSharepointItemId(),
+                            c.getFileName(), c.getSource(), "PROCESSED", c.getAtsScore()));
+                }
+                count++;
+            }
+        } while (page.hasNext());
+
+        log.info("Identity index seeded with {} existing candidates", count);
+    }
+
+    /**
+     * Existing candidate this resume belongs to, if any.
+     */
+    public Optional<Candidate> resolve(String email, String phone, String fullName, String resumeText) {
+
+        String emailKey = normalizeEmail(email);
+        if (emailKey != null) {
+            Optional<Candidate> match = lookup(Type.EMAIL, emailKey);
+            if (match.isPresent()) return match;
+        }
+
+        String phoneKey = normalizePhone(phone);
+        if (phoneKey != null) {
+            Optional<Candidate> match = lookup(Type.PHONE, phoneKey);
+            if (match.isPresent()) return match;
+        }
+
+        // names collide between people, so also require near-identical resume text
+        String nameKey = normalizeName(fullName);
+        if (nameKey != null && dedupProperties.isEnabled()) {
+            List<CandidateIdentityKey> sameName = keyRepository.findByKeyTypeAndKeyValue(Type.NAME, nameKey);
+            if (!sameName.isEmpty()) {
+                int[] signature = minHasher.signature(resumeText);
+                for (CandidateIdentityKey key : sameName) {
+                    double similarity = MinHasher.similarity(
+                            signature, nearDuplicateIndex.signatureOf(key.getCandidateId()));
+                    if (similarity >= dedupProperties.getThreshold()) {
+                        return candidateRepository.findById(key.getCandidateId());
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Add the candidate's keys to the index; keys already owned by someone are left alone.
+     */
+    public void register(Candidate candidate, String phone) {
+
+        String id = candidate.getCandidateId();
+
+        String emailKey = normalizeEmail(candidate.getEmail());
+        if (emailKey != null) saveIfAbsent(CandidateIdentityKey.of(Type.EMAIL, emailKey, id));
+
+        String phoneKey = normalizePhone(phone);
+        if (phoneKey != null) saveIfAbsent(CandidateIdentityKey.of(Type.PHONE, phoneKey, id));
+
+        String nameKey = normalizeName(candidate.getFullName());
+        if (nameKey != null) saveIfAbsent(CandidateIdentityKey.of(Type.NAME, nameKey, id));
+    }
+
+    public boolean isKnownFile(String sharepointItemId) {
+        return candidateRepository.existsBySharepointItemId(sharepointItemId)
+                || applicationRepository.existsBySharepointItemId(sharepointItemId);
+    }
+
+    public boolean hasApplied(Candidate candidate, String jobOpeningId) {
+        return jobOpeningId != null
+                && (jobOpeningId.equals(candidate.getJobOpeningId())
+                || applicationRepository.existsByCandidateIdAndJobOpeningId(candidate.getCandidateId(), jobOpeningId));
+    }
+
+    public CandidateApplication recordApplication(
+            String candidateId,
+            String jobOpeningId,
+            String itemId,
+            String fileName,
+            String source,
+            String status,
+            Double atsScore
+    ) {
+        return applicationRepository.save(CandidateApplication.create(
+                candidateId, jobOpeningId, itemId, fileName, source, status, atsScore));
+    }
+
+    public List<CandidateApplication> applications(String candidateId) {
+        return applicationRepository.findByCandidateIdOrderByCreatedAtAsc(candidateId);
+    }
+
+    /**
+     * The email itself if free, otherwise a plus-addressed variant so a second
+     * person with the same fallback email does not hit the unique constraint.
+     */
+    public String uniqueEmail(String email) {
+
+        if (email == null || candidateRepository.findByEmail(email).isEmpty()) return email;
+
+        int at = email.indexOf('@');
+        String tag = "+" + UUID.randomUUID().toString().substring(0, 8);
+        return at < 0 ? email + tag : email.substring(0, at) + tag + email.substring(at);
+    }
+
+    private Optional<Candidate> lookup(Type type, String value) {
+        return keyRepository.findByKeyTypeAndKeyValue(type, value).stream()
+                .findFirst()
+                .flatMap(key -> candidateRepository.findById(key.getCandidateId()));
+    }
+
+    private void saveIfAbsent(CandidateIdentityKey key) {
+        if (!keyRepository.existsById(key.getId())) {
+            keyRepository.save(key);
+        }
+    }
+
+    static String normalizeEmail(String email) {
+
+        if (email == null) return null;
+
+        String e = email.trim().toLowerCase(Locale.ROOT);
+        if (e.isEmpty() || !e.contains("@")
+                || e.equals("unknown@email.com") || e.endsWith("@unknown.com")) {
+            return null;
+        }
+
+        // user+tag@domain and user@domain are the same mailbox
+        int at = e.indexOf('@');
+        int plus = e.indexOf('+');
+        if (plus > 0 && plus < at) {
+            e = e.substring(0, plus) + e.substring(at);
+        }
+        return e;
+    }
+
+    static String normalizePhone(String phone) {
+
+        if (phone == null) return null;
+
+        String digits = phone.replaceAll("[^0-9]", "");
+        if (digits.length() < 10) return null;
+
+        // compare on the last ten digits so +91 98765 43210 and 098765 43210 agree
+        return digits.substring(digits.length() - 10);
+    }
+
+    static String normalizeName(String name) {
+
+        if (name == null || name.isBlank() || name.equals("UNKNOWN")) return null;
+
+        String n = Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z ]", " ")
+                .trim()
+                .replaceAll("\\s+", " ");
+
+        return n.contains(" ") ? n : null;
+    }
+}
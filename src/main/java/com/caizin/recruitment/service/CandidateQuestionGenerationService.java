@@ -1,18 +1,26 @@
 package com.caizin.recruitment.service;
 
+import com.caizin.recruitment.dto.GeneratedQuestionsDto;
 import com.caizin.recruitment.dto.JobDto;
 import com.caizin.recruitment.dto.ScreeningQuestionDto;
 import com.caizin.recruitment.entity.Candidate;
 import com.caizin.recruitment.entity.ParsedResume;
+import com.caizin.recruitment.entity.ResumeFeatures;
 import com.caizin.recruitment.integration.ats.AtsPlatform;
 import com.caizin.recruitment.parser.ResumeParser;
 import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.service.questions.ScreeningQuestionStore;
 import com.caizin.recruitment.util.ResumeTextExtractor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CandidateQuestionGenerationService {
@@ -22,6 +30,8 @@ public class CandidateQuestionGenerationService {
     private final ResumeParser resumeParser;
     private final LlmService llmService;
     private final CandidateRepository candidateRepository;
+    private final ResumeFeaturesRepository featuresRepository;
+    private final ScreeningQuestionStore questionStore;
 
     @Value("${sharepoint.download-dir}")
     private String downloadDir;
@@ -30,13 +40,17 @@ public class CandidateQuestionGenerationService {
             AtsPlatform atsPlatform,
             ResumeTextExtractor resumeTextExtractor,
             ResumeParser resumeParser,
-            LlmService llmService, CandidateRepository candidateRepository
+            LlmService llmService, CandidateRepository candidateRepository,
+            ResumeFeaturesRepository featuresRepository,
+            ScreeningQuestionStore questionStore
     ) {
         this.atsPlatform = atsPlatform;
         this.resumeTextExtractor = resumeTextExtractor;
         this.resumeParser = resumeParser;
         this.llmService = llmService;
         this.candidateRepository = candidateRepository;
+        this.featuresRepository = featuresRepository;
+        this.questionStore = questionStore;
     }
 
     public List<ScreeningQuestionDto> generateForFirstCandidate() {
@@ -46,24 +60,90 @@ public class CandidateQuestionGenerationService {
                 .orElseThrow(() -> new RuntimeException("No processed candidates found"));
 
         // 2️⃣ Fetch matching job from ATS
-        List<JobDto> jobs = atsPlatform.fetchJobs();
+        JobDto job = jobsById().get(candidate.getJobOpeningId());
+        if (job == null) {
+            throw new RuntimeException("Matching job not found in ATS");
+        }
 
-        JobDto job = jobs.stream()
-                .filter(j -> j.getJobOpeningId().equals(candidate.getJobOpeningId()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Matching job not found in ATS"));
+        return generate(candidate, job);
+    }
 
-        // 3️⃣ Load resume file from disk
-        File resumeFile = new File(downloadDir, candidate.getFileName());
+    /**
+     * Open ATS jobs keyed by job opening ID; fetch once and reuse for a whole batch.
+     */
+    public Map<String, JobDto> jobsById() {
+
+        return atsPlatform.fetchJobs().stream()
+                .filter(j -> j.getJobOpeningId() != null)
+                .collect(Collectors.toMap(JobDto::getJobOpeningId, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Generate and store personalized questions for one candidate.
+     */
+    public List<ScreeningQuestionDto> generate(Candidate candidate, JobDto job) {
 
-        // 4️⃣ Extract text
-        String resumeText = resumeTextExtractor.extractText(resumeFile);
+        // 3️⃣ Resume text, from the feature cache when available
+        String resumeText = resumeText(candidate);
 
-        // 5️⃣ Parse resume
+        // 4️⃣ Parse resume
         ParsedResume parsedResume = resumeParser.parse(resumeText);
 
-        // 6️⃣ Generate personalized questions
-        return llmService.generatePersonalizedQuestions(job, parsedResume);
+        // 5️⃣ Generate personalized questions
+        GeneratedQuestionsDto generated =
+                llmService.generatePersonalizedQuestions(job, parsedResume);
+
+        store(candidate, job, generated);
+        return generated.questions();
+    }
+
+    /**
+     * Like {@link #generate}, handing each question to {@code onQuestion} as soon
+     * as the model has finished writing it.
+     */
+    public List<ScreeningQuestionDto> stream(
+            Candidate candidate,
+            JobDto job,
+            Consumer<ScreeningQuestionDto> onQuestion
+    ) {
+
+        ParsedResume parsedResume = parsedResume(candidate);
+
+        GeneratedQuestionsDto generated =
+                llmService.streamPersonalizedQuestions(job, parsedResume, onQuestion);
+
+        store(candidate, job, generated);
+        return generated.questions();
+    }
+
+    /**
+     * Parsed resume of a candidate, from the cached text when available.
+     */
+    public ParsedResume parsedResume(Candidate candidate) {
+        return resumeParser.parse(resumeText(candidate));
+    }
+
+    private void store(Candidate candidate, JobDto job, GeneratedQuestionsDto generated) {
+
+        questionStore.save(
+                candidate.getCandidateId(),
+                job.getJobOpeningId(),
+                generated.questions(),
+                generated.model(),
+                candidate.getAtsScore());
+    }
+
+    private String resumeText(Candidate candidate) {
+
+        String cached = featuresRepository.findById(candidate.getCandidateId())
+                .map(ResumeFeatures::getResumeText)
+                .orElse(null);
+        if (cached != null && !cached.isBlank()) {
+            return cached;
+        }
+
+        File resumeFile = new File(downloadDir, candidate.getFileName());
+        return resumeTextExtractor.extractText(resumeFile);
     }
 
 }
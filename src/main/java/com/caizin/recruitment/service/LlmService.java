@@ -1,10 +1,11 @@
 package com.caizin.recruitment.service;
 
+import com.caizin.recruitment.dto.GeneratedQuestionsDto;
 import com.caizin.recruitment.dto.JobDto;
 import com.caizin.recruitment.dto.ScreeningQuestionDto;
 import com.caizin.recruitment.entity.ParsedResume;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Abstraction for LLM-based question generation.
@@ -15,7 +16,19 @@ public interface LlmService {
      * Generate descriptive screening questions for the given job.
      *
      * @param job the job (title, description, experience, department)
-     * @return list of screening questions (type + question text)
+     * @return screening questions (type + question text) and the model that answered
      */
-    List<ScreeningQuestionDto> generatePersonalizedQuestions(JobDto job, ParsedResume resume);
+    GeneratedQuestionsDto generatePersonalizedQuestions(JobDto job, ParsedResume resume);
+
+    /**
+     * Same as {@link #generatePersonalizedQuestions}, but hands each question to
+     * {@code onQuestion} as soon as it is complete.
+     *
+     * @return the full validated list and the model that answered, once generation has finished
+     */
+    GeneratedQuestionsDto streamPersonalizedQuestions(
+            JobDto job,
+            ParsedResume resume,
+            Consumer<ScreeningQuestionDto> onQuestion
+    );
 }
@@ -1,20 +1,30 @@
 package com.caizin.recruitment.service;
 
 import com.caizin.recruitment.entity.ResumeAnalysis;
+import com.caizin.recruitment.event.CandidateScoredEvent;
 import com.caizin.recruitment.repository.ResumeAnalysisRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class ResumeAnalysisService {
 
+    public static final String AI_COMPLETE = "COMPLETE";
+    public static final String AI_PENDING = "PENDING";
+
     private final ResumeAnalysisRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ResumeAnalysisService(
-            ResumeAnalysisRepository repository
+            ResumeAnalysisRepository repository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     public ResumeAnalysis saveAnalysis(
@@ -36,6 +46,114 @@ public class ResumeAnalysisService {
 
         analysis.setAtsScore(atsScore);
 
+        applyAi(analysis, aiAnalysis);
+
+        ResumeAnalysis saved = repository.save(analysis);
+
+        if (atsScore != null) {
+            eventPublisher.publishEvent(new CandidateScoredEvent(
+                    jobId, candidateId, candidateName, atsScore));
+        }
+
+        return saved;
+    }
+
+    /**
+     * ATS-only row; the AI fields are filled in later by
+     * {@link #completeAnalysis(ResumeAnalysis, Map)}.
+     */
+    public ResumeAnalysis savePending(
+            String candidateId,
+            String jobId,
+            String candidateName,
+            String candidateEmail,
+            Double atsScore
+    ) {
+
+        ResumeAnalysis analysis = new ResumeAnalysis();
+
+        analysis.setCandidateId(candidateId);
+        analysis.setJobId(jobId);
+
+        analysis.setCandidateName(candidateName);
+        analysis.setCandidateEmail(candidateEmail);
+
+        analysis.setAtsScore(atsScore);
+        analysis.setAiStatus(AI_PENDING);
+
+        ResumeAnalysis saved = repository.save(analysis);
+
+        if (atsScore != null) {
+            eventPublisher.publishEvent(new CandidateScoredEvent(
+                    jobId, candidateId, candidateName, atsScore));
+        }
+
+        return saved;
+    }
+
+    public ResumeAnalysis completeAnalysis(ResumeAnalysis pending, Map<String, Object> aiAnalysis) {
+
+        applyAi(pending, aiAnalysis);
+
+        return repository.save(pending);
+    }
+
+    public Optional<ResumeAnalysis> findById(UUID id) {
+        return repository.findById(id);
+    }
+
+    /**
+     * Latest AI analysis of a candidate for a job, if any.
+     */
+    public Optional<ResumeAnalysis> findLatest(String candidateId, String jobId) {
+        return repository.findFirstByCandidateIdAndJobIdOrderByCreatedAtDesc(candidateId, jobId)
+                .filter(a -> !AI_PENDING.equals(a.getAiStatus()));
+    }
+
+    /**
+     * Record an existing AI analysis for another candidate without calling MCP again.
+     */
+    public ResumeAnalysis copyAnalysis(
+            ResumeAnalysis source,
+            String candidateId,
+            String jobId,
+            String candidateName,
+            String candidateEmail,
+            Double atsScore
+    ) {
+
+        ResumeAnalysis analysis = new ResumeAnalysis();
+
+        analysis.setCandidateId(candidateId);
+        analysis.setJobId(jobId);
+
+        analysis.setCandidateName(candidateName);
+        analysis.setCandidateEmail(candidateEmail);
+
+        analysis.setAtsScore(atsScore);
+
+        analysis.setTechnicalScore(source.getTechnicalScore());
+        analysis.setExperienceScore(source.getExperienceScore());
+        analysis.setCommunicationScore(source.getCommunicationScore());
+        analysis.setLeadershipScore(source.getLeadershipScore());
+
+        analysis.setSkills(source.getSkills());
+        analysis.setMissingSkills(source.getMissingSkills());
+        analysis.setRiskFlags(source.getRiskFlags());
+        analysis.setAiStatus(AI_COMPLETE);
+
+        ResumeAnalysis saved = repository.save(analysis);
+
+        if (atsScore != null) {
+            eventPublisher.publishEvent(new CandidateScoredEvent(
+                    jobId, candidateId, candidateName, atsScore));
+        }
+
+        return saved;
+    }
+
+    private void applyAi(ResumeAnalysis analysis, Map<String, Object> aiAnalysis) {
+
         analysis.setTechnicalScore(getInt(aiAnalysis, "technical_score"));
         analysis.setExperienceScore(getInt(aiAnalysis, "experience_score"));
         analysis.setCommunicationScore(getInt(aiAnalysis, "communication_score"));
@@ -45,7 +163,7 @@ public class ResumeAnalysisService {
         analysis.setMissingSkills(aiAnalysis.getOrDefault("missing_skills", "").toString());
         analysis.setRiskFlags(aiAnalysis.getOrDefault("risk_flags", "").toString());
 
-        return repository.save(analysis);
+        analysis.setAiStatus(AI_COMPLETE);
     }
 
     private Integer getInt(Map<String, Object> map, String key) {
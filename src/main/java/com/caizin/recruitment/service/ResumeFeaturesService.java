@@ -0,0 +1,132 @@
+package com.caizin.recruitment.service;
+
+import com.caizin.recruitment.config.DedupProperties;
+import com.caizin.recruitment.entity.AtsFeatures;
+import com.caizin.recruitment.entity.ParsedResume;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.event.ResumeFeaturesSavedEvent;
+import com.caizin.recruitment.parser.ResumeParser;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.service.index.NearDuplicateIndex;
+import com.caizin.recruitment.util.ResumeTextExtractor;
+import com.caizin.recruitment.util.dedup.MinHasher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class ResumeFeaturesService {
+
+    private final ResumeFeaturesRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MinHasher minHasher;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final DedupProperties dedupProperties;
+
+    public ResumeFeaturesService(
+            ResumeFeaturesRepository repository,
+            ApplicationEventPublisher eventPublisher,
+            MinHasher minHasher,
+            NearDuplicateIndex nearDuplicateIndex,
+            DedupProperties dedupProperties
+    ) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.minHasher = minHasher;
+        this.nearDuplicateIndex = nearDuplicateIndex;
+        this.dedupProperties = dedupProperties;
+    }
+
+    /**
+     * Insert or refresh the cached features of a candidate.
+     */
+    @Transactional
+    public ResumeFeatures save(
+            String candidateId,
+            String jobOpeningId,
+            String resumeText,
+            ParsedResume parsed,
+            AtsFeatures features,
+            double atsScore
+    ) {
+
+        ResumeFeatures row = repository.findById(candidateId)
+                .orElseGet(() -> {
+                    ResumeFeatures f = new ResumeFeatures();
+                    f.setCandidateId(candidateId);
+                    return f;
+                });
+
+        row.setJobOpeningId(jobOpeningId);
+        row.setResumeText(resumeText);
+        row.setSkills(String.join(",", parsed.skills()));
+        row.applyAtsFeatures(features);
+        row.setAtsScore(atsScore);
+        row.setParserVersion(ResumeParser.VERSION);
+        row.setExtractorVersion(ResumeTextExtractor.VERSION);
+        row.setUpdatedAt(LocalDateTime.now());
+
+        if (dedupProperties.isEnabled()) {
+            markDuplicate(row, minHasher.signature(resumeText));
+        }
+
+        ResumeFeatures saved = repository.save(row);
+
+        eventPublisher.publishEvent(new ResumeFeaturesSavedEvent(saved));
+
+        return saved;
+    }
+
+    /**
+     * Near-duplicate this resume would be linked to on save, without writing anything.
+     */
+    public Optional<String> findDuplicateOf(String candidateId, String resumeText) {
+
+        if (!dedupProperties.isEnabled()) return Optional.empty();
+
+        Optional<ResumeFeatures> existing = repository.findById(candidateId);
+        if (existing.isPresent() && existing.get().getMinhashSignature() != null) {
+            return Optional.ofNullable(existing.get().getDuplicateOf());
+        }
+
+        return resolveDuplicate(candidateId, minHasher.signature(resumeText))
+                .map(NearDuplicateIndex.Match::candidateId);
+    }
+
+    /**
+     * Store the signature and, on first sight of this resume, link it to the
+     * earliest near-duplicate already indexed.
+     */
+    private void markDuplicate(ResumeFeatures row, int[] signature) {
+
+        boolean firstSignature = row.getMinhashSignature() == null;
+        row.setMinhashSignature(MinHasher.toBytes(signature));
+
+        // keep an existing link so two copies never end up pointing at each other
+        if (!firstSignature) return;
+
+        resolveDuplicate(row.getCandidateId(), signature)
+                .ifPresent(match -> {
+                    row.setDuplicateOf(match.candidateId());
+                    row.setDuplicateSimilarity(match.similarity());
+                });
+    }
+
+    private Optional<NearDuplicateIndex.Match> resolveDuplicate(String candidateId, int[] signature) {
+
+        if (signature == null) return Optional.empty();
+
+        return nearDuplicateIndex.findDuplicate(candidateId, signature)
+                .map(match -> {
+                    // point at the original, not at another copy of it
+                    String original = repository.findById(match.candidateId())
+                            .map(ResumeFeatures::getDuplicateOf)
+                            .filter(root -> !root.equals(candidateId))
+                            .orElse(match.candidateId());
+                    return new NearDuplicateIndex.Match(original, match.similarity());
+                });
+    }
+}
@@ -1,10 +1,12 @@
 package com.caizin.recruitment.service;
 
+import com.caizin.recruitment.entity.AtsFeatures;
 import com.caizin.recruitment.entity.JDRequirements;
 import com.caizin.recruitment.entity.ParsedResume;
-import com.caizin.recruitment.integration.MCPClient.MCPClient;
+import com.caizin.recruitment.entity.ResumeAnalysis;
 import com.caizin.recruitment.parser.JDParser;
 import com.caizin.recruitment.parser.ResumeParser;
+import com.caizin.recruitment.service.outbox.AnalysisOutboxService;
 import com.caizin.recruitment.util.JDTextExtractor;
 import com.caizin.recruitment.util.ResumeTextExtractor;
 
@@ -13,8 +15,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
-import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Deterministic part of resume ingestion: extraction, ATS scoring and caching.
+ * The AI analysis is queued in the analysis outbox and filled in later, so a
+ * slow or failing MCP never holds back or loses an ATS score.
+ */
 @Service
 public class ResumeProcessingService {
 
@@ -26,8 +33,10 @@ public class ResumeProcessingService {
     private final JDParser jdParser;
     private final JDTextExtractor jdExtractor;
     private final ATSScoringService atsScoringService;
-    private final MCPClient mcpClient;
     private final ResumeAnalysisService resumeAnalysisService;
+    private final ResumeFeaturesService resumeFeaturesService;
+    private final ReverseMatchService reverseMatchService;
+    private final AnalysisOutboxService analysisOutbox;
 
     public ResumeProcessingService(
             ResumeTextExtractor extractor,
@@ -35,8 +44,10 @@ public class ResumeProcessingService {
             JDParser jdParser,
             JDTextExtractor jdExtractor,
             ATSScoringService atsScoringService,
-            MCPClient mcpClient,
-            ResumeAnalysisService resumeAnalysisService
+            ResumeAnalysisService resumeAnalysisService,
+            ResumeFeaturesService resumeFeaturesService,
+            ReverseMatchService reverseMatchService,
+            AnalysisOutboxService analysisOutbox
     ) {
 
         this.extractor = extractor;
@@ -44,8 +55,10 @@ public class ResumeProcessingService {
         this.jdParser = jdParser;
         this.jdExtractor = jdExtractor;
         this.atsScoringService = atsScoringService;
-        this.mcpClient = mcpClient;
         this.resumeAnalysisService = resumeAnalysisService;
+        this.resumeFeaturesService = resumeFeaturesService;
+        this.reverseMatchService = reverseMatchService;
+        this.analysisOutbox = analysisOutbox;
     }
 
     public double process(
@@ -58,14 +71,43 @@ public class ResumeProcessingService {
 
         try {
 
-            log.info("Processing resume for jobId={}, candidateId={}",
-                    jobOpeningId, candidateId);
-
             String resumeText =
                     extractor.extractText(file);
 
-            ParsedResume parsedResume =
-                    resumeParser.parse(resumeText);
+            return process(
+                    resumeText,
+                    resumeParser.parse(resumeText),
+                    senderName,
+                    senderEmail,
+                    jobOpeningId,
+                    candidateId
+            );
+
+        } catch (Exception e) {
+
+            log.error("Resume processing failed", e);
+
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #process(File, String, String, String, String)} for a resume
+     * the caller has already extracted and parsed.
+     */
+    public double process(
+            String resumeText,
+            ParsedResume parsedResume,
+            String senderName,
+            String senderEmail,
+            String jobOpeningId,
+            String candidateId
+    ) {
+
+        try {
+
+            log.info("Processing resume for jobId={}, candidateId={}",
+                    jobOpeningId, candidateId);
 
             String email =
                     parsedResume.email() == null ||
@@ -81,35 +123,44 @@ public class ResumeProcessingService {
                             ? senderName
                             : parsedResume.fullName();
 
-            String jdText =
-                    jdExtractor.getJDText(jobOpeningId);
-
-            JDRequirements jdRequirements =
-                    jdParser.parse(jdText);
+            // A near-duplicate of a resume already analysed for this job reuses that analysis
+            Optional<ResumeAnalysis> previous =
+                    resumeFeaturesService.findDuplicateOf(candidateId, resumeText)
+                            .flatMap(original -> resumeAnalysisService.findLatest(original, jobOpeningId));
 
             double atsScore =
-                    atsScoringService.calculate(
+                    scoreAndStore(
                             resumeText,
-                            jdText,
                             parsedResume,
-                            jdRequirements
-                    );
-
-            Map<String, Object> aiAnalysis =
-                    mcpClient.analyzeResume(
-                            resumeText,
-                            jdText,
+                            jdExtractor.getJDText(jobOpeningId),
                             jobOpeningId,
                             candidateId
                     );
 
-            resumeAnalysisService.saveAnalysis(
+            if (previous.isPresent()) {
+
+                log.info("Candidate {} is a near-duplicate of {}; skipping AI analysis",
+                        candidateId, previous.get().getCandidateId());
+
+                resumeAnalysisService.copyAnalysis(
+                        previous.get(),
+                        candidateId,
+                        jobOpeningId,
+                        fullName,
+                        email,
+                        atsScore
+                );
+
+                return atsScore;
+            }
+
+            analysisOutbox.enqueue(
                     candidateId,
                     jobOpeningId,
                     fullName,
                     email,
                     atsScore,
-                    aiAnalysis
+                    null
             );
 
             return atsScore;
@@ -121,4 +172,108 @@ public class ResumeProcessingService {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Score a known candidate's new resume for another job. The candidate's cached
+     * features stay tied to their first application; the AI analysis is always
+     * queued, since callers only get here for a job the candidate has not applied to
+     * and an analysis of another job's description does not carry over.
+     */
+    public double scoreForJob(
+            String resumeText,
+            ParsedResume parsedResume,
+            String fullName,
+            String email,
+            String jobOpeningId,
+            String candidateId
+    ) {
+
+        try {
+
+            log.info("Scoring known candidate {} for additional job {}",
+                    candidateId, jobOpeningId);
+
+            String jdText =
+                    jdExtractor.getJDText(jobOpeningId);
+
+            double atsScore =
+                    atsScoringService.score(
+                            atsScoringService.extractFeatures(
+                                    resumeText,
+                                    jdText,
+                                    parsedResume,
+                                    jdParser.parse(jdText)
+                            ));
+
+            // this file's text, since the cached features hold the first application's
+            analysisOutbox.enqueue(
+                    candidateId,
+                    jobOpeningId,
+                    fullName,
+                    email,
+                    atsScore,
+                    resumeText
+            );
+
+            return atsScore;
+
+        } catch (Exception e) {
+
+            log.error("Scoring for additional job failed", e);
+
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * ATS features and score, cached features and reverse matches.
+     */
+    private double scoreAndStore(
+            String resumeText,
+            ParsedResume parsedResume,
+            String jdText,
+            String jobOpeningId,
+            String candidateId
+    ) {
+
+        JDRequirements jdRequirements =
+                jdParser.parse(jdText);
+
+        AtsFeatures atsFeatures =
+                atsScoringService.extractFeatures(
+                        resumeText,
+                        jdText,
+                        parsedResume,
+                        jdRequirements
+                );
+
+        double atsScore =
+                atsScoringService.score(atsFeatures);
+
+        // Cached so scores can be recomputed without re-extracting the resume
+        resumeFeaturesService.save(
+                candidateId,
+                jobOpeningId,
+                resumeText,
+                parsedResume,
+                atsFeatures,
+                atsScore
+        );
+
+        if (reverseMatchService.isEnabled()) {
+            try {
+                reverseMatchService.matchAndStore(
+                        candidateId,
+                        jobOpeningId,
+                        resumeText,
+                        atsFeatures
+                );
+            } catch (Exception e) {
+                log.warn("Reverse matching failed for candidateId={}: {}",
+                        candidateId, e.getMessage());
+            }
+        }
+
+        return atsScore;
+    }
+}
@@ -0,0 +1,109 @@
+package com.caizin.recruitment.service;
+
+import com.caizin.recruitment.config.ReverseMatchProperties;
+import com.caizin.recruitment.entity.AtsFeatures;
+import com.caizin.recruitment.entity.CandidateJobMatch;
+import com.caizin.recruitment.repository.CandidateJobMatchRepository;
+import com.caizin.recruitment.service.index.OpenJobMatchIndex;
+import com.caizin.recruitment.service.index.OpenJobMatchIndex.JobSimilarity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores a resume against every open job in one pass and keeps the best
+ * alternates to the job the candidate applied for.
+ */
+@Service
+public class ReverseMatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReverseMatchService.class);
+
+    private final OpenJobMatchIndex jobIndex;
+    private final ATSScoringService atsScoringService;
+    private final CandidateJobMatchRepository matchRepository;
+    private final ReverseMatchProperties properties;
+
+    public ReverseMatchService(
+            OpenJobMatchIndex jobIndex,
+            ATSScoringService atsScoringService,
+            CandidateJobMatchRepository matchRepository,
+            ReverseMatchProperties properties
+    ) {
+        this.jobIndex = jobIndex;
+        this.atsScoringService = atsScoringService;
+        this.matchRepository = matchRepository;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @param features ATS features computed against the applied job; the
+     *                 resume-only columns are reused for every other job
+     */
+    @Transactional
+    public List<CandidateJobMatch> matchAndStore(
+            String candidateId,
+            String appliedJobOpeningId,
+            String resumeText,
+            AtsFeatures features
+    ) {
+
+        long start = System.nanoTime();
+
+        Map<String, Double> resumeTf = jobIndex.termFrequencies(resumeText);
+        List<JobSimilarity> similarities = jobIndex.similarities(resumeTf);
+
+        List<CandidateJobMatch> matches = new ArrayList<>(similarities.size());
+        for (JobSimilarity s : similarities) {
+
+            if (s.job().jobOpeningId().equals(appliedJobOpeningId)) continue;
+
+            AtsFeatures forJob = new AtsFeatures(
+                    s.skillScore(),
+                    features.candidateYears(),
+                    s.job().requiredYears(),
+                    features.projectCount(),
+                    features.qualityLength(),
+                    features.qualitySkills(),
+                    features.qualityExperience(),
+                    features.qualityProject(),
+                    features.qualityKeyword()
+            );
+
+            CandidateJobMatch m = new CandidateJobMatch();
+            m.setCandidateId(candidateId);
+            m.setJobOpeningId(s.job().jobOpeningId());
+            m.setZohoJobId(s.job().zohoJobId());
+            m.setJobTitle(s.job().title());
+            m.setSkillScore(s.skillScore());
+            m.setAtsScore(atsScoringService.score(forJob));
+            matches.add(m);
+        }
+
+        matches.sort(Comparator.comparingDouble(CandidateJobMatch::getAtsScore).reversed());
+        List<CandidateJobMatch> top = matches.subList(0, Math.min(properties.getTopN(), matches.size()));
+        for (int i = 0; i < top.size(); i++) {
+            top.get(i).setRank(i + 1);
+        }
+
+        log.debug("Reverse-matched candidate {} against {} jobs in {} us",
+                candidateId, similarities.size(), (System.nanoTime() - start) / 1000);
+
+        matchRepository.deleteByCandidateId(candidateId);
+        return matchRepository.saveAll(top);
+    }
+
+    public List<CandidateJobMatch> findMatches(String candidateId) {
+        return matchRepository.findByCandidateIdOrderByRankAsc(candidateId);
+    }
+}
@@ -18,6 +18,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class SharePointService {
@@ -30,6 +31,7 @@ public class SharePointService {
     private final CandidateRepository candidateRepository;
     private final ResumeTextExtractor resumeTextExtractor;
     private final ResumeParser resumeParser;
+    private final CandidateIdentityService identityService;
 
     private final String driveId;
     private final String folderId;
@@ -42,6 +44,7 @@ public class SharePointService {
             CandidateRepository candidateRepository,
             ResumeTextExtractor resumeTextExtractor,
             ResumeParser resumeParser,
+            CandidateIdentityService identityService,
             @Value("${sharepoint.drive-id}") String driveId,
             @Value("${sharepoint.folder-id}") String folderId,
             @Value("${sharepoint.download-dir}") String downloadDir
@@ -52,6 +55,7 @@ public class SharePointService {
         this.candidateRepository = candidateRepository;
         this.resumeTextExtractor = resumeTextExtractor;
         this.resumeParser = resumeParser;
+        this.identityService = identityService;
         this.driveId = driveId;
         this.folderId = folderId;
         this.downloadDir = downloadDir;
@@ -146,7 +150,7 @@ public class SharePointService {
                         continue;
                     }
 
-                    if (candidateRepository.existsBySharepointItemId(itemId)) {
+                    if (identityService.isKnownFile(itemId)) {
 
                         log.info("Already processed: {}", fileName);
                         continue;
@@ -172,6 +176,28 @@ public class SharePointService {
                                     ? fallbackEmail(fileName)
                                     : parsedResume.email();
 
+                    Optional<Candidate> known =
+                            identityService.resolve(
+                                    email,
+                                    parsedResume.phone(),
+                                    fullName,
+                                    resumeText
+                            );
+
+                    if (known.isPresent()) {
+
+                        linkApplication(
+                                known.get(),
+                                item,
+                                jobOpeningId,
+                                resumeText,
+                                parsedResume
+                        );
+                        continue;
+                    }
+
+                    email = identityService.uniqueEmail(email);
+
                     Candidate candidate =
                             Candidate.create(
                                     fullName,
@@ -191,9 +217,12 @@ public class SharePointService {
 
                     log.info("Saved candidate for job {}", jobOpeningId);
 
+                    identityService.register(candidate, parsedResume.phone());
+
                     double atsScore =
                             resumeProcessingService.process(
-                                    file,
+                                    resumeText,
+                                    parsedResume,
                                     fullName,
                                     email,
                                     jobOpeningId,
@@ -205,6 +234,16 @@ public class SharePointService {
 
                     candidateRepository.save(candidate);
 
+                    identityService.recordApplication(
+                            candidate.getCandidateId(),
+                            jobOpeningId,
+                            itemId,
+                            fileName,
+                            "SHAREPOINT",
+                            "PROCESSED",
+                            atsScore
+                    );
+
                     log.info(
                             "ATS score {} saved for {} (job {})",
                             atsScore,
@@ -223,6 +262,60 @@ public class SharePointService {
     }
 
 
+    /**
+     * Attach a resume from an already known candidate instead of creating a new one.
+     * The same job again is only recorded; a new job is scored from the text in hand.
+     */
+    private void linkApplication(
+            Candidate candidate,
+            DriveItem item,
+            String jobOpeningId,
+            String resumeText,
+            ParsedResume parsedResume
+    ) {
+
+        if (identityService.hasApplied(candidate, jobOpeningId)) {
+
+            identityService.recordApplication(
+                    candidate.getCandidateId(),
+                    jobOpeningId,
+                    item.getId(),
+                    item.getName(),
+                    "SHAREPOINT",
+                    "REPEAT",
+                    null
+            );
+
+            log.info("{} re-applied to job {}; linked to candidate {}",
+                    item.getName(), jobOpeningId, candidate.getCandidateId());
+            return;
+        }
+
+        double atsScore =
+                resumeProcessingService.scoreForJob(
+                        resumeText,
+                        parsedResume,
+                        candidate.getFullName(),
+                        candidate.getEmail(),
+                        jobOpeningId,
+                        candidate.getCandidateId()
+                );
+
+        identityService.recordApplication(
+                candidate.getCandidateId(),
+                jobOpeningId,
+                item.getId(),
+                item.getName(),
+                "SHAREPOINT",
+                "LINKED",
+                atsScore
+        );
+
+        log.info("{} linked to known candidate {} for job {} (ATS {})",
+                item.getName(), candidate.getCandidateId(), jobOpeningId, atsScore);
+    }
+
+
     /**
      * Download file from SharePoint
      */
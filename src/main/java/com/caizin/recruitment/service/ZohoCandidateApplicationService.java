@@ -2,38 +2,61 @@ package com.caizin.recruitment.service;
 
 import com.caizin.recruitment.dto.ScreeningQuestionDto;
 import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.event.ScreeningQuestionsSavedEvent;
 import com.caizin.recruitment.integration.zoho.ZohoCandidateAtsAdapter;
 import com.caizin.recruitment.repository.CandidateRepository;
-import com.caizin.recruitment.service.pipeline.ScreeningQuestionsContext;
+import com.caizin.recruitment.service.questions.ScreeningQuestionStore;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.io.File;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class ZohoCandidateApplicationService {
     private static final Logger log = LoggerFactory.getLogger(ZohoCandidateApplicationService.class);
 
+    /**
+     * Question uploads waiting for Zoho; beyond this they are dropped with a warning.
+     */
+    private static final int UPLOAD_QUEUE_CAPACITY = 1000;
+
     private final CandidateRepository candidateRepository;
     private final ZohoCandidateAtsAdapter zohoAdapter;
     private final ZohoJobSyncService zohoJobSyncService;
-    private final ScreeningQuestionsContext screeningQuestionsContext; // ← add this
-
+    private final ScreeningQuestionStore questionStore;
+
+    // one thread, so uploads never compete with the callers that saved the questions
+    private final ExecutorService uploads = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(UPLOAD_QUEUE_CAPACITY),
+            r -> {
+                Thread t = new Thread(r, "zoho-question-upload");
+                t.setDaemon(true);
+                return t;
+            });
 
     @Value("${sharepoint.download-dir}")
     private String downloadDir;
 
     public ZohoCandidateApplicationService(
             CandidateRepository candidateRepository,
-            ZohoCandidateAtsAdapter zohoAdapter, ZohoJobSyncService zohoJobSyncService, ScreeningQuestionsContext screeningQuestionsContext
+            ZohoCandidateAtsAdapter zohoAdapter, ZohoJobSyncService zohoJobSyncService, ScreeningQuestionStore questionStore
     ) {
         this.candidateRepository = candidateRepository;
         this.zohoAdapter = zohoAdapter;
         this.zohoJobSyncService = zohoJobSyncService;
-        this.screeningQuestionsContext = screeningQuestionsContext;
+        this.questionStore = questionStore;
     }
 
     public int pushProcessedCandidatesToZoho() {
@@ -41,8 +64,6 @@ public class ZohoCandidateApplicationService {
         // 🔥 First sync job IDs
         zohoJobSyncService.syncZohoJobIdsToCandidates();
 
-        List<ScreeningQuestionDto> questions = screeningQuestionsContext.getQuestions();
-
         List<Candidate> candidates =
                 candidateRepository.findByStatusAndZohoCandidateIdIsNull("PROCESSED");
 
@@ -74,18 +95,23 @@ public class ZohoCandidateApplicationService {
                 );
 //
 
-                // 4️⃣ Upload screening questions to application custom field
-                if (screeningQuestionsContext.hasQuestions()) {
+                // 4️⃣ Upload this candidate's screening questions to application custom field
+                Optional<List<ScreeningQuestionDto>> questions =
+                        questionStore.find(candidate.getCandidateId(), candidate.getJobOpeningId());
+
+                if (questions.isPresent()) {
                     try {
                         zohoAdapter.uploadScreeningQuestionsToApplication(
                                 zohoCandidateId,
                                 candidate.getZohoJobId(),
-                                questions
+                                questions.get()
                         );
                     } catch (Exception e) {
                         log.warn("Failed to upload screening questions for {}: {}",
                                 candidate.getEmail(), e.getMessage());
                     }
+                } else {
+                    log.info("No screening questions stored yet for {}", candidate.getEmail());
                 }
 
                 // 4️⃣ Update DB
@@ -106,5 +132,50 @@ public class ZohoCandidateApplicationService {
         return successCount;
     }
 
+    /**
+     * Questions generated after the candidate was pushed go straight to their
+     * Zoho application; before the push they are picked up by
+     * {@link #pushProcessedCandidatesToZoho()}.
+     *
+     * <p>The event is published on whichever thread saved the questions (a
+     * bulk worker, an SSE stream, the batch poller), so the lookup and the
+     * upload are queued for a background thread and the save never waits on
+     * Zoho.</p>
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionsSaved(ScreeningQuestionsSavedEvent event) {
+        try {
+            uploads.execute(() -> upload(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Zoho question upload queue is full; questions for candidate {} were not uploaded",
+                    event.candidateId());
+        }
+    }
+
+    private void upload(ScreeningQuestionsSavedEvent event) {
+
+        Optional<Candidate> pushed = candidateRepository.findById(event.candidateId())
+                .filter(c -> c.getZohoCandidateId() != null)
+                // the Zoho job id is only known for the job the candidate was pushed with
+                .filter(c -> event.jobOpeningId().equals(c.getJobOpeningId()));
+
+        if (pushed.isEmpty()) return;
+
+        Candidate candidate = pushed.get();
+        try {
+            zohoAdapter.uploadScreeningQuestionsToApplication(
+                    candidate.getZohoCandidateId(),
+                    candidate.getZohoJobId(),
+                    event.questions()
+            );
+        } catch (Exception e) {
+            log.warn("Failed to upload screening questions for pushed candidate {}: {}",
+                    candidate.getEmail(), e.getMessage());
+        }
+    }
 
+    @PreDestroy
+    void shutdown() {
+        uploads.shutdownNow();
+    }
 }
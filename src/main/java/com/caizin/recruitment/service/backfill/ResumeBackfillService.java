@@ -0,0 +1,290 @@
+package com.caizin.recruitment.service.backfill;
+
+import com.caizin.recruitment.config.BackfillProperties;
+import com.caizin.recruitment.entity.AtsFeatures;
+import com.caizin.recruitment.entity.BackfillCheckpoint;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.entity.ParsedResume;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.parser.JDParser;
+import com.caizin.recruitment.parser.ResumeParser;
+import com.caizin.recruitment.repository.BackfillCheckpointRepository;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.service.ATSScoringService;
+import com.caizin.recruitment.service.AtsScoreWriter;
+import com.caizin.recruitment.service.AtsScoreWriter.ScoreUpdate;
+import com.caizin.recruitment.service.ResumeFeaturesService;
+import com.caizin.recruitment.util.JDTextExtractor;
+import com.caizin.recruitment.util.ResumeTextExtractor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-extracts and re-parses resumes whose stored features are missing or were
+ * produced by an older {@link ResumeParser#VERSION} / {@link ResumeTextExtractor#VERSION}.
+ *
+ * <p>Outdated candidates are found with keyset pagination on candidate ID. Each
+ * page is processed by a bounded worker pool (the CPU budget) behind a global
+ * rate limit so live ingestion keeps its share of the machine. The keyset
+ * position is checkpointed after every page, so a stopped or crashed run
+ * resumes from the last completed page.</p>
+ */
+@Service
+public class ResumeBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeBackfillService.class);
+    private static final String CHECKPOINT_NAME = "resume-features";
+
+    private final CandidateRepository candidateRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final ResumeTextExtractor extractor;
+    private final ResumeParser resumeParser;
+    private final JDTextExtractor jdExtractor;
+    private final JDParser jdParser;
+    private final ATSScoringService atsScoringService;
+    private final ResumeFeaturesService resumeFeaturesService;
+    private final AtsScoreWriter scoreWriter;
+    private final BackfillProperties properties;
+    private final String downloadDir;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            r -> daemon(r, "backfill-coordinator"));
+    private final ExecutorService workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean stopRequested = new AtomicBoolean();
+    private final AtomicLong nextPermitNanos = new AtomicLong(System.nanoTime());
+
+    public ResumeBackfillService(
+            CandidateRepository candidateRepository,
+            BackfillCheckpointRepository checkpointRepository,
+            ResumeTextExtractor extractor,
+            ResumeParser resumeParser,
+            JDTextExtractor jdExtractor,
+            JDParser jdParser,
+            ATSScoringService atsScoringService,
+            ResumeFeaturesService resumeFeaturesService,
+            AtsScoreWriter scoreWriter,
+            BackfillProperties properties,
+            @Value("${sharepoint.download-dir}") String downloadDir
+    ) {
+        this.candidateRepository = candidateRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.extractor = extractor;
+        this.resumeParser = resumeParser;
+        this.jdExtractor = jdExtractor;
+        this.jdParser = jdParser;
+        this.atsScoringService = atsScoringService;
+        this.resumeFeaturesService = resumeFeaturesService;
+        this.scoreWriter = scoreWriter;
+        this.properties = properties;
+        this.downloadDir = downloadDir;
+
+        AtomicInteger n = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(
+                Math.max(1, properties.getParallelism()),
+                r -> {
+                    Thread t = daemon(r, "backfill-worker-" + n.incrementAndGet());
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+    }
+
+    /**
+     * Start (or resume) the backfill in the background.
+     *
+     * @param restart ignore the stored checkpoint and scan from the beginning
+     * @return false if a run is already in progress
+     */
+    public boolean start(boolean restart) {
+
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        stopRequested.set(false);
+
+        coordinator.execute(() -> {
+            try {
+                run(restart);
+            } catch (Exception e) {
+                log.error("Resume backfill failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Ask the running backfill to stop after the current page.
+     */
+    public void stop() {
+        stopRequested.set(true);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public BackfillCheckpoint checkpoint() {
+        return checkpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+    }
+
+    private void run(boolean restart) throws InterruptedException {
+
+        BackfillCheckpoint checkpoint = loadCheckpoint(restart);
+        String after = checkpoint.getLastCandidateId() == null ? "" : checkpoint.getLastCandidateId();
+        int pageSize = Math.max(1, properties.getPageSize());
+
+        log.info("Resume backfill starting after '{}' (parser v{}, extractor v{})",
+                after, ResumeParser.VERSION, ResumeTextExtractor.VERSION);
+
+        while (!stopRequested.get()) {
+
+            List<Candidate> page = candidateRepository.findWithOutdatedFeatures(
+                    after,
+                    ResumeParser.VERSION,
+                    ResumeTextExtractor.VERSION,
+                    PageRequest.of(0, pageSize));
+
+            if (page.isEmpty()) {
+                checkpoint.setCompleted(true);
+                saveCheckpoint(checkpoint);
+                log.info("Resume backfill completed: {} processed, {} failed",
+                        checkpoint.getProcessed(), checkpoint.getFailed());
+                return;
+            }
+
+            List<Future<ScoreUpdate>> futures = new ArrayList<>(page.size());
+            for (Candidate candidate : page) {
+                futures.add(workers.submit(() -> backfill(candidate)));
+            }
+
+            List<ScoreUpdate> updates = new ArrayList<>(page.size());
+            int failed = 0;
+            for (Future<ScoreUpdate> future : futures) {
+                try {
+                    updates.add(future.get());
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.warn("Backfill failed for a candidate: {}", e.getCause().getMessage());
+                }
+            }
+
+            scoreWriter.writeCandidateScores(updates);
+
+            after = page.get(page.size() - 1).getCandidateId();
+            checkpoint.setLastCandidateId(after);
+            checkpoint.setProcessed(checkpoint.getProcessed() + updates.size());
+            checkpoint.setFailed(checkpoint.getFailed() + failed);
+            saveCheckpoint(checkpoint);
+
+            log.info("Backfill page done up to {}: {} ok, {} failed (total {} ok)",
+                    after, updates.size(), failed, checkpoint.getProcessed());
+        }
+
+        log.info("Resume backfill stopped at {}", after);
+    }
+
+    private ScoreUpdate backfill(Candidate candidate) {
+
+        throttle();
+
+        File file = new File(downloadDir, candidate.getFileName());
+        if (!file.exists()) {
+            throw new IllegalStateException("Resume file not found: " + file.getAbsolutePath());
+        }
+
+        String resumeText = extractor.extractText(file);
+        ParsedResume parsed = resumeParser.parse(resumeText);
+
+        String jdText = jdExtractor.getJDText(candidate.getJobOpeningId());
+        AtsFeatures features = atsScoringService.extractFeatures(
+                resumeText, jdText, parsed, jdParser.parse(jdText));
+        double atsScore = atsScoringService.score(features);
+
+        ResumeFeatures saved = resumeFeaturesService.save(
+                candidate.getCandidateId(),
+                candidate.getJobOpeningId(),
+                resumeText,
+                parsed,
+                features,
+                atsScore);
+
+        return new ScoreUpdate(
+                saved.getCandidateId(),
+                saved.getJobOpeningId(),
+                Objects.requireNonNullElse(saved.getVersion(), 0L),
+                features.skillScore(),
+                features.requiredYears(),
+                atsScore);
+    }
+
+    /**
+     * Spaces out permits so that all workers together stay under maxPerSecond.
+     */
+    private void throttle() {
+
+        double rate = properties.getMaxPerSecond();
+        if (rate <= 0) return;
+
+        long interval = (long) (1_000_000_000L / rate);
+        long now = System.nanoTime();
+        long slot = nextPermitNanos.getAndAccumulate(now,
+                (prev, n) -> Math.max(prev, n) + interval);
+        long wait = Math.max(slot, now) - now;
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private BackfillCheckpoint loadCheckpoint(boolean restart) {
+
+        BackfillCheckpoint cp = checkpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+
+        boolean versionsChanged = cp != null
+                && (cp.getParserVersion() != ResumeParser.VERSION
+                || cp.getExtractorVersion() != ResumeTextExtractor.VERSION);
+
+        if (cp == null || restart || versionsChanged || cp.isCompleted()) {
+            cp = new BackfillCheckpoint();
+            cp.setName(CHECKPOINT_NAME);
+            cp.setParserVersion(ResumeParser.VERSION);
+            cp.setExtractorVersion(ResumeTextExtractor.VERSION);
+        }
+        return cp;
+    }
+
+    private void saveCheckpoint(BackfillCheckpoint cp) {
+        cp.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(cp);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopRequested.set(true);
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
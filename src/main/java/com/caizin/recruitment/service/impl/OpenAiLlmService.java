@@ -1,6 +1,7 @@
 package com.caizin.recruitment.service.impl;
 
 import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.GeneratedQuestionsDto;
 import com.caizin.recruitment.dto.JobDto;
 import com.caizin.recruitment.dto.OpenAiRequestDto;
 import com.caizin.recruitment.dto.OpenAiResponseDto;
@@ -8,21 +9,32 @@ import com.caizin.recruitment.dto.ScreeningQuestionDto;
 import com.caizin.recruitment.entity.ParsedResume;
 import com.caizin.recruitment.exception.OpenAiException;
 import com.caizin.recruitment.integration.openai.OpenAiClient;
+import com.caizin.recruitment.integration.openai.OpenAiModelRouter;
+import com.caizin.recruitment.integration.openai.OpenAiResponseCache;
 import com.caizin.recruitment.service.LlmService;
-import com.caizin.recruitment.service.pipeline.ScreeningQuestionsContext;
+import com.caizin.recruitment.service.usage.LlmUsageTracker;
+import com.caizin.recruitment.util.prompt.ScreeningPromptBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Production LLM service: builds prompt, calls OpenAI, parses response into screening questions.
- * Not wired into orchestration yet; provided for future use.
+ *
+ * <p>Responses are cached under the requested model, not the one the router
+ * picked: routing only trades latency between models configured as
+ * interchangeable, so any of their answers serves the request, and keying on
+ * the routed model would turn every routing change into cache misses. Each
+ * entry and each stored question set records the model that actually
+ * answered.</p>
  */
 @Service
 public class OpenAiLlmService implements LlmService {
@@ -31,55 +43,159 @@ public class OpenAiLlmService implements LlmService {
     private final OpenAiClient openAiClient;
     private final OpenAiProperties properties;
     private final ObjectMapper objectMapper;
-    private final ScreeningQuestionsContext screeningQuestionsContext; // ← add this
+    private final ScreeningPromptBuilder promptBuilder;
+    private final OpenAiResponseCache responseCache;
+    private final OpenAiModelRouter modelRouter;
+    private final LlmUsageTracker usageTracker;
 
-    public OpenAiLlmService(OpenAiClient openAiClient, OpenAiProperties properties, ObjectMapper objectMapper, ScreeningQuestionsContext screeningQuestionsContext) {
+    public OpenAiLlmService(OpenAiClient openAiClient, OpenAiProperties properties, ObjectMapper objectMapper, ScreeningPromptBuilder promptBuilder, OpenAiResponseCache responseCache, OpenAiModelRouter modelRouter, LlmUsageTracker usageTracker) {
         this.openAiClient = Objects.requireNonNull(openAiClient, "openAiClient");
         this.properties = Objects.requireNonNull(properties, "properties");
         this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
-        this.screeningQuestionsContext = screeningQuestionsContext;
+        this.promptBuilder = Objects.requireNonNull(promptBuilder, "promptBuilder");
+        this.responseCache = Objects.requireNonNull(responseCache, "responseCache");
+        this.modelRouter = Objects.requireNonNull(modelRouter, "modelRouter");
+        this.usageTracker = Objects.requireNonNull(usageTracker, "usageTracker");
     }
 
     @Override
-    public List<ScreeningQuestionDto> generatePersonalizedQuestions(
+    public GeneratedQuestionsDto generatePersonalizedQuestions(
             JobDto job,
             ParsedResume resume
     ) {
+        OpenAiRequestDto request = buildRequest(job, resume);
+
+        // Identical job, resume, requested model and temperature produce an identical request
+        String cacheKey = responseCache.key(request);
+        OpenAiResponseDto cached = responseCache.get(cacheKey).orElse(null);
+
+        OpenAiResponseDto response = cached != null
+                ? cached
+                : modelRouter.createChatCompletion(request);
+        String model = modelOf(response, request.getModel());
+
+        // tokens are paid for whether or not the content validates
+        if (cached != null) {
+            usageTracker.recordCacheHit(LlmUsageTracker.QUESTIONS, model, job.getJobOpeningId());
+        } else {
+            usageTracker.record(LlmUsageTracker.QUESTIONS, model, job.getJobOpeningId(), response.getUsage());
+            logPromptCache(job, response);
+        }
+
+        String content = extractContent(response);
+        List<ScreeningQuestionDto> questions = parseQuestionsJson(content);
+
+        validateQuestions(questions);
+
+        if (cached == null) {
+            responseCache.put(cacheKey, job.getJobOpeningId(), model, response);
+        }
+
+        log.info("Generated {} personalized questions for candidate {} and jobId={}{}",
+                questions.size(),
+                resume.fullName(),
+                job.getJobOpeningId(),
+                cached != null ? " (cached)" : "");
+
+        return new GeneratedQuestionsDto(questions, model);
+    }
+
+
+    @Override
+    public GeneratedQuestionsDto streamPersonalizedQuestions(
+            JobDto job,
+            ParsedResume resume,
+            Consumer<ScreeningQuestionDto> onQuestion
+    ) {
+        OpenAiRequestDto request = buildRequest(job, resume);
+
+        // Keyed before stream is set and before routing, so streamed and non-streamed calls share entries
+        String cacheKey = responseCache.key(request);
+        OpenAiResponseDto cached = responseCache.get(cacheKey).orElse(null);
+
+        if (cached != null) {
+            String model = modelOf(cached, request.getModel());
+            usageTracker.recordCacheHit(LlmUsageTracker.QUESTIONS_STREAM, model, job.getJobOpeningId());
+            List<ScreeningQuestionDto> questions = parseQuestionsJson(extractContent(cached));
+            validateQuestions(questions);
+            questions.forEach(onQuestion);
+            log.info("Streamed {} cached questions for candidate {} and jobId={}",
+                    questions.size(), resume.fullName(), job.getJobOpeningId());
+            return new GeneratedQuestionsDto(questions, model);
+        }
+
+        // a stream cannot be hedged, but it is still routed and timed
+        String routed = modelRouter.route(request);
+        request.setModel(routed);
+
+        long start = System.nanoTime();
+        QuestionStreamParser parser = new QuestionStreamParser(objectMapper, onQuestion);
+        OpenAiResponseDto response = openAiClient.streamChatCompletion(request, parser::feed);
+        modelRouter.record(routed, Duration.ofNanos(System.nanoTime() - start));
+        String model = modelOf(response, routed);
+        usageTracker.record(LlmUsageTracker.QUESTIONS_STREAM, model, job.getJobOpeningId(), response.getUsage());
+        logPromptCache(job, response);
+        parser.finish();
+
+        // The incremental parse is for early delivery; the full parse is authoritative
+        List<ScreeningQuestionDto> questions = parseQuestionsJson(extractContent(response));
+        validateQuestions(questions);
+
+        responseCache.put(cacheKey, job.getJobOpeningId(), model, response);
+
+        log.info("Streamed {} personalized questions for candidate {} and jobId={}",
+                questions.size(), resume.fullName(), job.getJobOpeningId());
+
+        return new GeneratedQuestionsDto(questions, model);
+    }
+
+    /**
+     * The chat request {@link #generatePersonalizedQuestions} would send; also used
+     * to build Batch API lines.
+     */
+    public OpenAiRequestDto buildRequest(JobDto job, ParsedResume resume) {
         validateJob(job);
         validateResume(resume);
 
-        String prompt = buildPersonalizedPrompt(job, resume);
-
         String model = requireModel();
         Double temperature = properties.getTemperature() != null
                 ? properties.getTemperature()
                 : 0.2;
 
+        // job prefix first, candidate last, so OpenAI can cache the shared prefix
         OpenAiRequestDto request = new OpenAiRequestDto(
                 model,
-                List.of(new OpenAiRequestDto.Message("user", prompt)),
+                promptBuilder.messages(job, resume),
                 temperature,
                 new OpenAiRequestDto.ResponseFormat("json_object")
         );
+        request.setPromptCacheKey(promptBuilder.cacheKey(job));
+        return request;
+    }
 
-        OpenAiResponseDto response = openAiClient.createChatCompletion(request);
-        String content = extractContent(response);
-        List<ScreeningQuestionDto> questions = parseQuestionsJson(content);
-
+    /**
+     * Validated questions from a completion, e.g. one line of a Batch API output file.
+     */
+    public List<ScreeningQuestionDto> questionsFrom(OpenAiResponseDto response) {
+        List<ScreeningQuestionDto> questions = parseQuestionsJson(extractContent(response));
         validateQuestions(questions);
-
-        // ← store in context so next step in sequence can use without passing as param
-        screeningQuestionsContext.setQuestions(questions);
-
-
-        log.info("Generated {} personalized questions for candidate {} and jobId={}",
-                questions.size(),
-                resume.fullName(),
-                job.getJobOpeningId());
-
         return questions;
     }
 
+    private static void logPromptCache(JobDto job, OpenAiResponseDto response) {
+        OpenAiResponseDto.Usage usage = response.getUsage();
+        if (usage != null && log.isDebugEnabled()) {
+            log.debug("Prompt cache for jobId={}: {}/{} prompt tokens cached",
+                    job.getJobOpeningId(), usage.cachedPromptTokens(), usage.getPromptTokens());
+        }
+    }
+
+    /**
+     * The model that actually answered, e.g. {@code gpt-4o-mini-2024-07-18}.
+     */
+    private static String modelOf(OpenAiResponseDto response, String requested) {
+        return response.getModel() != null ? response.getModel() : requested;
+    }
 
     private static void validateJob(JobDto job) {
         if (job == null) {
@@ -98,74 +214,6 @@ public class OpenAiLlmService implements LlmService {
     }
 
 
-    private String buildPersonalizedPrompt(
-            JobDto job,
-            ParsedResume resume
-    ) {
-
-        return """
-        You are a senior technical interviewer.
-
-        Generate 10 highly personalized screening questions
-        for the candidate based on BOTH:
-
-        1) Job Description
-        2) Candidate Resume
-
-        ================================
-        JOB DETAILS
-        ================================
-        Job Title: %s
-        Department: %s
-        Required Experience: %s
-
-        Job Description:
-        %s
-
-        ================================
-        CANDIDATE PROFILE
-        ================================
-        Name: %s
-        Email: %s
-        Years of Experience: %.1f
-        Skills: %s
-        Projects: %s
-
-        ================================
-        RULES
-        ================================
-        - Questions must reference candidate's experience.
-        - Validate skills against job requirements.
-        - Ask about listed projects.
-        - Include architecture/design questions.
-        - Include experience-depth validation.
-        - No MCQs.
-        - No coding challenges.
-        - Avoid generic textbook questions.
-
-        Return JSON format:
-        {
-          "questions": [
-            {
-              "type": "...",
-              "question": "..."
-            }
-          ]
-        }
-        """.formatted(
-                safe(job.getTitle()),
-                safe(job.getDepartment()),
-                safe(job.getExperience()),
-                safe(job.getDescription()),
-                safe(resume.fullName()),
-                safe(resume.email()),
-                resume.yearsOfExperience(),
-                resume.skills(),
-                resume.projects()
-        );
-    }
-
-
     private String requireModel() {
         String model = properties.getModel();
         if (model == null || model.isBlank()) {
@@ -231,10 +279,6 @@ public class OpenAiLlmService implements LlmService {
         }
     }
 
-    private static String safe(String s) {
-        return (s == null || s.isBlank()) ? "N/A" : s;
-    }
-
     private static String text(JsonNode node, String field) {
         if (node == null) return null;
         JsonNode v = node.get(field);
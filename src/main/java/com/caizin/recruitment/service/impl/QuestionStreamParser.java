@@ -0,0 +1,124 @@
+package com.caizin.recruitment.service.impl;
+
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.exception.OpenAiException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Incremental parser for {@code {"questions": [{"type": ..., "question": ...}, ...]}}
+ * fed with content deltas as they stream in.
+ *
+ * <p>Uses Jackson's non-blocking parser, so partial tokens are simply held
+ * until the next delta completes them. Each element of the top-level
+ * {@code questions} array is handed to the consumer as soon as its closing
+ * brace arrives. Not thread-safe; one instance per completion.</p>
+ */
+class QuestionStreamParser {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Consumer<ScreeningQuestionDto> onQuestion;
+
+    private int depth;
+    private int arrayDepth = -1;
+    private boolean questionsFieldSeen;
+    private String field;
+    private String type;
+    private String question;
+    private int emitted;
+
+    QuestionStreamParser(ObjectMapper objectMapper, Consumer<ScreeningQuestionDto> onQuestion) {
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create streaming JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.onQuestion = onQuestion;
+    }
+
+    void feed(String delta) {
+        byte[] bytes = delta.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            drain();
+        } catch (IOException e) {
+            throw new OpenAiException("Streamed OpenAI content is not valid JSON", e);
+        }
+    }
+
+    /**
+     * @return number of questions emitted
+     */
+    int finish() {
+        feeder.endOfInput();
+        try {
+            drain();
+        } catch (IOException e) {
+            throw new OpenAiException("Streamed OpenAI content is not valid JSON", e);
+        }
+        return emitted;
+    }
+
+    private void drain() throws IOException {
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+
+            switch (token) {
+                case START_OBJECT -> {
+                    depth++;
+                    if (arrayDepth >= 0 && depth == arrayDepth + 1) {
+                        type = null;
+                        question = null;
+                    }
+                }
+                case END_OBJECT -> {
+                    if (arrayDepth >= 0 && depth == arrayDepth + 1) {
+                        emit();
+                    }
+                    depth--;
+                }
+                case START_ARRAY -> {
+                    depth++;
+                    if (questionsFieldSeen && depth == 2) {
+                        arrayDepth = depth;
+                    }
+                    questionsFieldSeen = false;
+                }
+                case END_ARRAY -> {
+                    if (depth == arrayDepth) {
+                        arrayDepth = -1;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    field = parser.currentName();
+                    questionsFieldSeen = depth == 1 && "questions".equals(field);
+                }
+                case VALUE_STRING -> {
+                    if (arrayDepth >= 0 && depth == arrayDepth + 1) {
+                        if ("type".equals(field)) type = parser.getText();
+                        else if ("question".equals(field)) question = parser.getText();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void emit() {
+        if (question == null || question.isBlank()) return;
+
+        emitted++;
+        onQuestion.accept(new ScreeningQuestionDto(type, question.trim()));
+    }
+}
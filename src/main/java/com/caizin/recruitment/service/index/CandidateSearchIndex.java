@@ -0,0 +1,409 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.config.SearchProperties;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.event.CandidateScoredEvent;
+import com.caizin.recruitment.event.ResumeFeaturesSavedEvent;
+import com.caizin.recruitment.exception.IntegrationException;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.NumericUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index over extracted resume text, ranked with BM25
+ * (Lucene's default similarity) and persisted under {@code search.index-dir}.
+ *
+ * <p>Documents are written incrementally from {@link ResumeFeaturesSavedEvent}.
+ * The ATS score is a numeric doc value so re-scoring can update it in place
+ * ({@link CandidateScoredEvent}) without re-indexing the text. Readers are
+ * refreshed near-real-time; commits happen in the background.</p>
+ *
+ * <p>A rebuild upserts every candidate in place and then deletes documents it
+ * did not touch, so searches keep seeing the old documents meanwhile. Each
+ * page is read and written under the same lock as the event listeners, so an
+ * update committed while a page is in flight is applied after that page and
+ * never overwritten by it.</p>
+ */
+@Component
+public class CandidateSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateSearchIndex.class);
+
+    static final String F_ID = "id";
+    static final String F_JOB = "job";
+    static final String F_NAME = "name";
+    static final String F_TEXT = "text";
+    static final String F_SKILLS = "skills";
+    static final String F_SCORE = "score";
+    static final String F_CREATED = "created";
+    static final String F_KEY = "key";
+    static final String F_INDEXED = "indexed";
+
+    private static final Map<String, Float> QUERY_FIELDS = Map.of(
+            F_TEXT, 1.0f,
+            F_SKILLS, 2.0f,
+            F_NAME, 1.5f
+    );
+
+    private static final long NO_SCORE = NumericUtils.doubleToSortableLong(-1.0);
+
+    private final ResumeFeaturesRepository featuresRepository;
+    private final CandidateRepository candidateRepository;
+    private final SearchProperties properties;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // held by event listeners and by rebuild() for one page at a time
+    private final Object writeLock = new Object();
+
+    // wall-clock millis, but strictly increasing per write; stamps F_INDEXED
+    private final AtomicLong indexClock = new AtomicLong();
+
+    public CandidateSearchIndex(
+            ResumeFeaturesRepository featuresRepository,
+            CandidateRepository candidateRepository,
+            SearchProperties properties
+    ) throws IOException {
+        this.featuresRepository = featuresRepository;
+        this.candidateRepository = candidateRepository;
+        this.properties = properties;
+
+        Path dir = Path.of(properties.getIndexDir());
+        Files.createDirectories(dir);
+
+        this.directory = FSDirectory.open(dir);
+        this.writer = new IndexWriter(directory,
+                new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        // indexes written before the (candidate, job) key existed need one rebuild
+        boolean outdated = writer.getDocStats().numDocs > 0 && !writer.getFieldNames().contains(F_KEY);
+
+        if (writer.getDocStats().numDocs == 0 || outdated || properties.isRebuildOnStartup()) {
+            Thread t = new Thread(this::rebuild, "search-index-rebuild");
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /**
+     * Re-index every candidate that has stored features.
+     */
+    public synchronized void rebuild() {
+
+        long start = System.currentTimeMillis();
+        long generation = tick();
+        int count = 0;
+        String after = "";
+
+        try {
+            while (true) {
+                int written;
+                synchronized (writeLock) {
+                    List<ResumeFeatures> page =
+                            featuresRepository.findByCandidateIdGreaterThanOrderByCandidateIdAsc(
+                                    after, PageRequest.of(0, 500));
+                    if (page.isEmpty()) break;
+
+                    Map<String, Candidate> candidates = candidateRepository
+                            .findAllById(page.stream().map(ResumeFeatures::getCandidateId).toList())
+                            .stream()
+                            .collect(Collectors.toMap(Candidate::getCandidateId, Function.identity()));
+
+                    for (ResumeFeatures f : page) {
+                        writer.updateDocument(new Term(F_ID, f.getCandidateId()),
+                                toDocument(f, candidates.get(f.getCandidateId()), tick()));
+                    }
+
+                    written = page.size();
+                    after = page.get(page.size() - 1).getCandidateId();
+                }
+                count += written;
+            }
+
+            // everything still in the database was written after the rebuild began
+            writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(LongPoint.newRangeQuery(F_INDEXED, generation, Long.MAX_VALUE), BooleanClause.Occur.MUST_NOT)
+                    .build());
+
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Search index rebuilt with {} candidates in {} ms",
+                    count, System.currentTimeMillis() - start);
+
+        } catch (IOException e) {
+            log.error("Search index rebuild failed after {} candidates", count, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeaturesSaved(ResumeFeaturesSavedEvent event) {
+
+        ResumeFeatures f = event.features();
+        Candidate candidate = candidateRepository.findById(f.getCandidateId()).orElse(null);
+
+        try {
+            synchronized (writeLock) {
+                writer.updateDocument(new Term(F_ID, f.getCandidateId()), toDocument(f, candidate, tick()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to index candidate {}: {}", f.getCandidateId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Update the indexed score in place, only if the candidate is indexed
+     * under the job the score was computed for.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScored(CandidateScoredEvent event) {
+
+        if (event.candidateId() == null || event.jobOpeningId() == null) return;
+
+        try {
+            synchronized (writeLock) {
+                writer.updateNumericDocValue(new Term(F_KEY, key(event.candidateId(), event.jobOpeningId())),
+                        F_SCORE, NumericUtils.doubleToSortableLong(event.atsScore()));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to update indexed score of {}: {}", event.candidateId(), e.getMessage());
+        }
+    }
+
+    /**
+     * BM25-ranked search with optional filters. A blank query lists everything that passes the filters.
+     */
+    public SearchResult search(SearchRequest request) {
+
+        long start = System.nanoTime();
+        IndexSearcher searcher = null;
+
+        try {
+            searcherManager.maybeRefresh();
+            searcher = searcherManager.acquire();
+
+            Query query = buildQuery(request);
+            int limit = Math.max(1, request.limit());
+            int offset = Math.max(0, request.offset());
+
+            TopDocs top = searcher.search(query, offset + limit);
+
+            List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+            StoredFields stored = searcher.storedFields();
+
+            List<SearchHit> hits = new ArrayList<>(limit);
+            ScoreDoc[] docs = top.scoreDocs;
+            for (int i = offset; i < docs.length; i++) {
+                Document doc = stored.document(docs[i].doc);
+                StoredField created = (StoredField) doc.getField(F_CREATED);
+                hits.add(new SearchHit(
+                        doc.get(F_ID),
+                        doc.get(F_NAME),
+                        doc.get(F_JOB),
+                        atsScore(leaves, docs[i].doc),
+                        created == null ? null : Instant.ofEpochMilli(created.numericValue().longValue()),
+                        docs[i].score
+                ));
+            }
+
+            long tookMicros = (System.nanoTime() - start) / 1000;
+            return new SearchResult(top.totalHits.value, hits, tookMicros);
+
+        } catch (IOException e) {
+            throw new IntegrationException("Candidate search failed", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release searcher: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.commit-interval:PT30S}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.warn("Search index commit failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query buildQuery(SearchRequest r) {
+
+        BooleanQuery.Builder b = new BooleanQuery.Builder();
+
+        if (r.query() != null && !r.query().isBlank()) {
+            b.add(new SimpleQueryParser(analyzer, QUERY_FIELDS).parse(r.query()), BooleanClause.Occur.MUST);
+        } else {
+            b.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+
+        if (r.jobOpeningId() != null && !r.jobOpeningId().isBlank()) {
+            b.add(new TermQuery(new Term(F_JOB, r.jobOpeningId())), BooleanClause.Occur.FILTER);
+        }
+
+        if (r.minScore() != null || r.maxScore() != null) {
+            long lo = r.minScore() == null ? Long.MIN_VALUE : NumericUtils.doubleToSortableLong(r.minScore());
+            long hi = r.maxScore() == null ? Long.MAX_VALUE : NumericUtils.doubleToSortableLong(r.maxScore());
+            b.add(NumericDocValuesField.newSlowRangeQuery(F_SCORE, lo, hi), BooleanClause.Occur.FILTER);
+        }
+
+        if (r.from() != null || r.to() != null) {
+            long lo = r.from() == null ? Long.MIN_VALUE : r.from().toEpochMilli();
+            long hi = r.to() == null ? Long.MAX_VALUE : r.to().toEpochMilli();
+            b.add(LongPoint.newRangeQuery(F_CREATED, lo, hi), BooleanClause.Occur.FILTER);
+        }
+
+        return b.build();
+    }
+
+    private long tick() {
+        return indexClock.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    }
+
+    private static Document toDocument(ResumeFeatures f, Candidate candidate, long indexed) {
+
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, f.getCandidateId(), Field.Store.YES));
+        doc.add(new StringField(F_KEY, key(f.getCandidateId(), f.getJobOpeningId()), Field.Store.NO));
+        doc.add(new LongPoint(F_INDEXED, indexed));
+
+        if (f.getJobOpeningId() != null) {
+            doc.add(new StringField(F_JOB, f.getJobOpeningId(), Field.Store.YES));
+        }
+        if (candidate != null && candidate.getFullName() != null) {
+            doc.add(new TextField(F_NAME, candidate.getFullName(), Field.Store.YES));
+        }
+
+        doc.add(new TextField(F_TEXT, f.getResumeText() == null ? "" : f.getResumeText(), Field.Store.NO));
+        doc.add(new TextField(F_SKILLS, f.getSkills() == null ? "" : f.getSkills().replace(',', ' '), Field.Store.YES));
+
+        doc.add(new NumericDocValuesField(F_SCORE,
+                f.getAtsScore() == null ? NO_SCORE : NumericUtils.doubleToSortableLong(f.getAtsScore())));
+
+        long created = createdAt(candidate, f);
+        doc.add(new LongPoint(F_CREATED, created));
+        doc.add(new StoredField(F_CREATED, created));
+
+        return doc;
+    }
+
+    private static String key(String candidateId, String jobOpeningId) {
+        return candidateId + '\u001f' + (jobOpeningId == null ? "" : jobOpeningId);
+    }
+
+    private static long createdAt(Candidate candidate, ResumeFeatures f) {
+        if (candidate != null && candidate.getCreatedAt() != null) {
+            try {
+                return Instant.parse(candidate.getCreatedAt()).toEpochMilli();
+            } catch (RuntimeException ignored) {
+                // fall through to the feature timestamp
+            }
+        }
+        return f.getUpdatedAt() == null
+                ? System.currentTimeMillis()
+                : f.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Double atsScore(List<LeafReaderContext> leaves, int docId) throws IOException {
+
+        LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(docId, leaves));
+        NumericDocValues values = leaf.reader().getNumericDocValues(F_SCORE);
+
+        if (values == null || !values.advanceExact(docId - leaf.docBase)) return null;
+
+        double score = NumericUtils.sortableLongToDouble(values.longValue());
+        return score < 0 ? null : score;
+    }
+
+    public record SearchRequest(
+            String query,
+            String jobOpeningId,
+            Double minScore,
+            Double maxScore,
+            Instant from,
+            Instant to,
+            int offset,
+            int limit
+    ) { }
+
+    public record SearchHit(
+            String candidateId,
+            String candidateName,
+            String jobOpeningId,
+            Double atsScore,
+            Instant createdAt,
+            float relevance
+    ) { }
+
+    public record SearchResult(long totalHits, List<SearchHit> hits, long tookMicros) { }
+}
@@ -0,0 +1,158 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.event.CandidateScoredEvent;
+import com.caizin.recruitment.repository.ResumeAnalysisRepository;
+import com.caizin.recruitment.repository.ResumeAnalysisRepository.AtsScoreView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory ranking of candidates per job, highest ATS score first.
+ *
+ * <p>Each job has a concurrent skip list ordered by (score desc, candidateId),
+ * so a page of k entries after a cursor costs O(log n + k) and score updates
+ * never block readers. Rebuilt from resume_analysis at startup and kept in
+ * sync through {@link CandidateScoredEvent}.</p>
+ */
+@Component
+public class JobLeaderboardIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLeaderboardIndex.class);
+
+    private static final Comparator<Entry> RANKING =
+            Comparator.comparingDouble(Entry::atsScore).reversed()
+                    .thenComparing(Entry::candidateId);
+
+    private final ResumeAnalysisRepository analysisRepository;
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    public JobLeaderboardIndex(ResumeAnalysisRepository analysisRepository) {
+        this.analysisRepository = analysisRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        boards.clear();
+
+        List<AtsScoreView> rows = analysisRepository.findByAtsScoreIsNotNullOrderByCreatedAtAsc();
+        for (AtsScoreView row : rows) {
+            update(row.getJobId(), row.getCandidateId(), row.getCandidateName(), row.getAtsScore());
+        }
+
+        log.info("Leaderboard index rebuilt: {} jobs, {} scores", boards.size(), rows.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScored(CandidateScoredEvent event) {
+        update(event.jobOpeningId(), event.candidateId(), event.candidateName(), event.atsScore());
+    }
+
+    public void update(String jobOpeningId, String candidateId, String candidateName, double atsScore) {
+
+        if (jobOpeningId == null || candidateId == null) return;
+
+        boards.computeIfAbsent(jobOpeningId, k -> new Board())
+                .put(candidateId, candidateName, atsScore);
+    }
+
+    public void remove(String jobOpeningId, String candidateId) {
+
+        Board board = boards.get(jobOpeningId);
+        if (board != null) {
+            board.remove(candidateId);
+        }
+    }
+
+    /**
+     * Up to {@code limit} entries ranked after {@code cursor} (null for the top).
+     */
+    public Page top(String jobOpeningId, int limit, String cursor) {
+
+        Board board = boards.get(jobOpeningId);
+        if (board == null) {
+            return new Page(List.of(), null, 0);
+        }
+
+        NavigableSet<Entry> view = cursor == null
+                ? board.ranked
+                : board.ranked.tailSet(decodeCursor(cursor), false);
+
+        List<Entry> entries = new ArrayList<>(Math.min(limit, 256));
+        Iterator<Entry> it = view.iterator();
+        while (entries.size() < limit && it.hasNext()) {
+            entries.add(it.next());
+        }
+
+        String next = it.hasNext() && !entries.isEmpty()
+                ? encodeCursor(entries.get(entries.size() - 1))
+                : null;
+
+        return new Page(entries, next, board.byCandidate.size());
+    }
+
+    static String encodeCursor(Entry e) {
+        String raw = e.atsScore() + "|" + e.candidateId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Entry decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new Entry(raw.substring(sep + 1), null, Double.parseDouble(raw.substring(0, sep)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid leaderboard cursor", e);
+        }
+    }
+
+    public record Entry(String candidateId, String candidateName, double atsScore) { }
+
+    public record Page(List<Entry> entries, String nextCursor, int total) { }
+
+    private static final class Board {
+
+        private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(RANKING);
+        private final ConcurrentHashMap<String, Entry> byCandidate = new ConcurrentHashMap<>();
+
+        void put(String candidateId, String candidateName, double atsScore) {
+            // compute() serialises writers of the same candidate so old/new entries never both linger
+            byCandidate.compute(candidateId, (id, old) -> {
+                String name = candidateName != null ? candidateName : (old != null ? old.candidateName() : null);
+                Entry entry = new Entry(id, name, atsScore);
+                if (old != null && RANKING.compare(old, entry) == 0) {
+                    ranked.remove(old);
+                    ranked.add(entry);
+                } else {
+                    // add before remove so readers never miss the candidate
+                    ranked.add(entry);
+                    if (old != null) ranked.remove(old);
+                }
+                return entry;
+            });
+        }
+
+        void remove(String candidateId) {
+            byCandidate.computeIfPresent(candidateId, (id, old) -> {
+                ranked.remove(old);
+                return null;
+            });
+        }
+    }
+}
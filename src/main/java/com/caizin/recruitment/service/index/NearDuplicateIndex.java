@@ -0,0 +1,199 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.config.DedupProperties;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.event.ResumeFeaturesSavedEvent;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository.SignatureView;
+import com.caizin.recruitment.util.dedup.MinHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locality-sensitive hash index over MinHash signatures.
+ *
+ * <p>A signature is cut into {@code bands} bands; two resumes that agree on
+ * every slot of any band share a bucket. A lookup only verifies the few
+ * candidates sharing a bucket, so finding near-duplicates of a new resume is
+ * O(bands) expected rather than a scan of the corpus.</p>
+ */
+@Component
+public class NearDuplicateIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NearDuplicateIndex.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final ResumeFeaturesRepository featuresRepository;
+    private final MinHasher minHasher;
+    private final DedupProperties properties;
+    private final int rowsPerBand;
+
+    private final Map<String, int[]> signatures = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+
+    public NearDuplicateIndex(
+            ResumeFeaturesRepository featuresRepository,
+            MinHasher minHasher,
+            DedupProperties properties
+    ) {
+        this.featuresRepository = featuresRepository;
+        this.minHasher = minHasher;
+        this.properties = properties;
+        this.rowsPerBand = properties.getNumHashes() / properties.getBands();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        if (!properties.isEnabled()) return;
+
+        long start = System.currentTimeMillis();
+        signatures.clear();
+        buckets.clear();
+
+        int signed = signMissing();
+
+        String after = "";
+        while (true) {
+            List<SignatureView> page = featuresRepository
+                    .findByMinhashSignatureIsNotNullAndCandidateIdGreaterThanOrderByCandidateIdAsc(
+                            after, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) break;
+
+            for (SignatureView row : page) {
+                put(row.getCandidateId(), MinHasher.fromBytes(row.getMinhashSignature()));
+            }
+            after = page.get(page.size() - 1).getCandidateId();
+        }
+
+        log.info("Near-duplicate index rebuilt: {} signatures ({} newly computed), {} buckets in {} ms",
+                signatures.size(), signed, buckets.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeaturesSaved(ResumeFeaturesSavedEvent event) {
+
+        ResumeFeatures f = event.features();
+        if (properties.isEnabled() && f.getMinhashSignature() != null) {
+            put(f.getCandidateId(), MinHasher.fromBytes(f.getMinhashSignature()));
+        }
+    }
+
+    /**
+     * Most similar other candidate at or above the configured threshold.
+     */
+    public Optional<Match> findDuplicate(String candidateId, int[] signature) {
+
+        List<Match> matches = findSimilar(candidateId, signature, properties.getThreshold());
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    /**
+     * Candidates sharing at least one LSH bucket with {@code signature} and
+     * reaching {@code minSimilarity}, most similar first.
+     */
+    public List<Match> findSimilar(String candidateId, int[] signature, double minSimilarity) {
+
+        if (signature == null || signature.length != minHasher.numHashes()) return List.of();
+
+        Set<String> seen = new HashSet<>();
+        List<Match> matches = new ArrayList<>();
+
+        for (int band = 0; band < properties.getBands(); band++) {
+            Set<String> bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) continue;
+
+            for (String other : bucket) {
+                if (other.equals(candidateId) || !seen.add(other)) continue;
+
+                double similarity = MinHasher.similarity(signature, signatures.get(other));
+                if (similarity >= minSimilarity) {
+                    matches.add(new Match(other, similarity));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparing(Match::candidateId));
+        return matches;
+    }
+
+    public int[] signatureOf(String candidateId) {
+        return signatures.get(candidateId);
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    private void put(String candidateId, int[] signature) {
+
+        if (candidateId == null || signature == null || signature.length != minHasher.numHashes()) return;
+
+        int[] old = signatures.put(candidateId, signature);
+        if (old != null) {
+            for (int band = 0; band < properties.getBands(); band++) {
+                Set<String> bucket = buckets.get(bandKey(old, band));
+                if (bucket != null) bucket.remove(candidateId);
+            }
+        }
+
+        for (int band = 0; band < properties.getBands(); band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), k -> ConcurrentHashMap.newKeySet())
+                    .add(candidateId);
+        }
+    }
+
+    /**
+     * Compute signatures for rows stored before they existed, from the cached text.
+     */
+    private int signMissing() {
+
+        int count = 0;
+        String after = "";
+
+        while (true) {
+            List<ResumeFeatures> page = featuresRepository
+                    .findByMinhashSignatureIsNullAndResumeTextIsNotNullAndCandidateIdGreaterThanOrderByCandidateIdAsc(
+                            after, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) break;
+
+            for (ResumeFeatures f : page) {
+                byte[] sig = MinHasher.toBytes(minHasher.signature(f.getResumeText()));
+                if (sig != null) {
+                    featuresRepository.updateMinhashSignature(f.getCandidateId(), sig);
+                    count++;
+                }
+            }
+            after = page.get(page.size() - 1).getCandidateId();
+        }
+        return count;
+    }
+
+    private long bandKey(int[] signature, int band) {
+
+        long h = band * 0x9E3779B97F4A7C15L;
+        int from = band * rowsPerBand;
+        for (int i = from; i < from + rowsPerBand; i++) {
+            h = (h ^ signature[i]) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    public record Match(String candidateId, double similarity) { }
+}
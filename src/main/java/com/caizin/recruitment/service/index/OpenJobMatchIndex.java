@@ -0,0 +1,186 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.config.ReverseMatchProperties;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.integration.ats.AtsPlatform;
+import com.caizin.recruitment.parser.JDParser;
+import com.caizin.recruitment.util.ats.CosineSimilarityCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over the JD terms of every open job.
+ *
+ * <p>JD term frequencies are computed once per refresh. Scoring a resume walks
+ * only the postings of the resume's own terms, accumulating per job the three
+ * sums that make up the two-document TF-IDF cosine used by
+ * {@link CosineSimilarityCalculator}. Jobs that share no term with the resume
+ * are never touched.</p>
+ */
+@Component
+public class OpenJobMatchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenJobMatchIndex.class);
+
+    private static final Set<String> CLOSED_STATUSES =
+            Set.of("filled", "cancelled", "declined", "inactive", "closed");
+
+    private final AtsPlatform atsPlatform;
+    private final CosineSimilarityCalculator cosine;
+    private final JDParser jdParser;
+    private final ReverseMatchProperties properties;
+
+    private volatile Snapshot snapshot;
+
+    public OpenJobMatchIndex(
+            AtsPlatform atsPlatform,
+            CosineSimilarityCalculator cosine,
+            JDParser jdParser,
+            ReverseMatchProperties properties
+    ) {
+        this.atsPlatform = atsPlatform;
+        this.cosine = cosine;
+        this.jdParser = jdParser;
+        this.properties = properties;
+    }
+
+    /**
+     * Skill similarity (0..100, same scale as SkillSimilarityScorer) of the
+     * resume against every open job that shares at least one term with it.
+     */
+    public List<JobSimilarity> similarities(Map<String, Double> resumeTf) {
+
+        Snapshot s = current();
+        int jobCount = s.jobs.size();
+
+        double[] dot = new double[jobCount];
+        double[] resumeNorm = new double[jobCount];
+        double[] jobNorm = new double[jobCount];
+        int[] touched = new int[jobCount];
+        int touchedCount = 0;
+
+        for (Map.Entry<String, Double> term : resumeTf.entrySet()) {
+
+            Posting posting = s.postings.get(term.getKey());
+            if (posting == null) continue;
+
+            double r = term.getValue();
+            for (int p = 0; p < posting.jobs.length; p++) {
+                int j = posting.jobs[p];
+                double t = posting.tf[p];
+                if (resumeNorm[j] == 0) {
+                    touched[touchedCount++] = j;
+                }
+                dot[j] += r * t;
+                resumeNorm[j] += r * r;
+                jobNorm[j] += t * t;
+            }
+        }
+
+        List<JobSimilarity> result = new ArrayList<>(touchedCount);
+        for (int i = 0; i < touchedCount; i++) {
+            int j = touched[i];
+            double similarity = dot[j] / (Math.sqrt(resumeNorm[j]) * Math.sqrt(jobNorm[j]));
+            result.add(new JobSimilarity(s.jobs.get(j), similarity * 100));
+        }
+        return result;
+    }
+
+    public Map<String, Double> termFrequencies(String text) {
+        return cosine.termFrequencies(text == null ? "" : text);
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+
+        Snapshot s = snapshot;
+        if (s != null && Instant.now().isBefore(s.builtAt.plus(properties.getRefreshInterval()))) {
+            return s;
+        }
+
+        synchronized (this) {
+            s = snapshot;
+            if (s != null && Instant.now().isBefore(s.builtAt.plus(properties.getRefreshInterval()))) {
+                return s;
+            }
+            try {
+                snapshot = build(atsPlatform.fetchJobs());
+            } catch (RuntimeException e) {
+                if (s == null) throw e;
+                log.warn("Open job index refresh failed, keeping previous snapshot: {}", e.getMessage());
+                snapshot = new Snapshot(s.jobs, s.postings, Instant.now());
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot build(List<JobDto> allJobs) {
+
+        List<OpenJob> jobs = new ArrayList<>();
+        Map<String, List<double[]>> raw = new HashMap<>();
+
+        for (JobDto job : allJobs) {
+
+            if (job.getJobOpeningId() == null || isClosed(job.getStatus())) continue;
+
+            String jdText = stripHtml(job.getDescription());
+            if (jdText.isBlank()) continue;
+
+            int idx = jobs.size();
+            double requiredYears = jdParser.parse(jdText + "\n" + nullToEmpty(job.getExperience()))
+                    .requiredExperienceYears();
+            jobs.add(new OpenJob(job.getJobOpeningId(), job.getZohoJobid(), job.getTitle(), requiredYears));
+
+            for (Map.Entry<String, Double> e : cosine.termFrequencies(jdText).entrySet()) {
+                raw.computeIfAbsent(e.getKey(), k -> new ArrayList<>())
+                        .add(new double[]{idx, e.getValue()});
+            }
+        }
+
+        Map<String, Posting> postings = new HashMap<>(raw.size() * 2);
+        raw.forEach((term, list) -> {
+            int[] ids = new int[list.size()];
+            double[] tf = new double[list.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = (int) list.get(i)[0];
+                tf[i] = list.get(i)[1];
+            }
+            postings.put(term, new Posting(ids, tf));
+        });
+
+        log.info("Open job index built: {} open jobs, {} distinct terms", jobs.size(), postings.size());
+        return new Snapshot(List.copyOf(jobs), postings, Instant.now());
+    }
+
+    private static boolean isClosed(String status) {
+        return status != null && CLOSED_STATUSES.contains(status.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String stripHtml(String s) {
+        return s == null ? "" : s.replaceAll("<[^>]+>", " ").replace("&nbsp;", " ");
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    public record OpenJob(String jobOpeningId, String zohoJobId, String title, double requiredYears) { }
+
+    public record JobSimilarity(OpenJob job, double skillScore) { }
+
+    private record Posting(int[] jobs, double[] tf) { }
+
+    private record Snapshot(List<OpenJob> jobs, Map<String, Posting> postings, Instant builtAt) { }
+}
@@ -0,0 +1,325 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.event.ResumeFeaturesSavedEvent;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository.SkillView;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmap index of candidates by skill, experience and job.
+ *
+ * <p>Every candidate gets a dense ordinal. Each canonical skill and job maps to
+ * a Roaring bitmap of ordinals, and experience is kept as cumulative
+ * "at least N years" bitmaps, so a filter like
+ * {@code java AND kubernetes AND NOT php, >= 5 years} is a handful of
+ * bitmap intersections. Rebuilt from resume_features at startup and updated
+ * on every {@link ResumeFeaturesSavedEvent}.</p>
+ *
+ * <p>A rebuild reads only the indexed columns and builds a fresh set of
+ * bitmaps without holding the lock, then swaps it in. Saves that arrive
+ * meanwhile go into the live bitmaps and are replayed onto the new ones
+ * before the swap.</p>
+ */
+@Component
+public class SkillBitmapIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillBitmapIndex.class);
+
+    /**
+     * One cumulative bucket per whole year; anything above lands in the last bucket.
+     */
+    static final int MAX_YEARS_BUCKET = 30;
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final ResumeFeaturesRepository featuresRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private Bitmaps bitmaps = new Bitmaps();
+    // saves seen while a rebuild is reading, null when none is; guarded by lock
+    private List<Entry> savedDuringRebuild;
+
+    public SkillBitmapIndex(ResumeFeaturesRepository featuresRepository) {
+        this.featuresRepository = featuresRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            savedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Bitmaps rebuilt = null;
+        try {
+            rebuilt = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    savedDuringRebuild.forEach(rebuilt::put);
+                    bitmaps = rebuilt;
+                    log.info("Skill bitmap index rebuilt: {} candidates, {} skills, {} jobs in {} ms",
+                            rebuilt.live.getCardinality(), rebuilt.bySkill.size(), rebuilt.byJob.size(),
+                            System.currentTimeMillis() - start);
+                }
+                savedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeaturesSaved(ResumeFeaturesSavedEvent event) {
+
+        ResumeFeatures f = event.features();
+        if (f.getCandidateId() == null) return;
+        Entry entry = entry(f.getCandidateId(), f.getJobOpeningId(), f.getSkills(), f.getCandidateYears());
+
+        lock.writeLock().lock();
+        try {
+            bitmaps.put(entry);
+            if (savedDuringRebuild != null) savedDuringRebuild.add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Candidates having every skill in {@code all}, at least one in {@code any} (if given),
+     * none in {@code none}, at least {@code minYears} of experience and, optionally,
+     * applied to {@code jobOpeningId}.
+     */
+    public Result query(Query q) {
+
+        long start = System.nanoTime();
+
+        lock.readLock().lock();
+        try {
+            Bitmaps b = bitmaps;
+            RoaringBitmap result = b.live.clone();
+
+            if (q.jobOpeningId() != null && !q.jobOpeningId().isBlank()) {
+                result.and(b.byJob.getOrDefault(q.jobOpeningId(), new RoaringBitmap()));
+            }
+
+            for (String skill : canonical(q.all())) {
+                if (result.isEmpty()) break;
+                result.and(b.bySkill.getOrDefault(skill, new RoaringBitmap()));
+            }
+
+            Set<String> any = canonical(q.any());
+            if (!any.isEmpty()) {
+                RoaringBitmap union = RoaringBitmap.or(
+                        any.stream().map(s -> b.bySkill.getOrDefault(s, new RoaringBitmap())).iterator());
+                result.and(union);
+            }
+
+            for (String skill : canonical(q.none())) {
+                RoaringBitmap excluded = b.bySkill.get(skill);
+                if (excluded != null) result.andNot(excluded);
+            }
+
+            if (q.minYears() != null && q.minYears() > 0) {
+                int bucket = (int) Math.min(Math.floor(q.minYears()), MAX_YEARS_BUCKET);
+                result.and(b.atLeastYears[bucket]);
+
+                // buckets are whole years; fractional or above-cap thresholds need the exact value
+                if (bucket != q.minYears()) {
+                    RoaringBitmap below = new RoaringBitmap();
+                    for (IntIterator it = result.getIntIterator(); it.hasNext(); ) {
+                        int ord = it.next();
+                        if (b.entries.get(ord).years() < q.minYears()) below.add(ord);
+                    }
+                    result.andNot(below);
+                }
+            }
+
+            int limit = Math.max(0, q.limit());
+            List<String> ids = new ArrayList<>(Math.min(limit, result.getCardinality()));
+            for (IntIterator it = result.getIntIterator(); it.hasNext() && ids.size() < limit; ) {
+                ids.add(b.entries.get(it.next()).candidateId());
+            }
+
+            return new Result(result.getCardinality(), ids, (System.nanoTime() - start) / 1000);
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed candidates per skill.
+     */
+    public Map<String, Integer> skillCounts() {
+
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> counts = new HashMap<>();
+            bitmaps.bySkill.forEach((skill, bitmap) -> counts.put(skill, bitmap.getCardinality()));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fresh bitmaps for every stored candidate; runs without the lock.
+     */
+    private Bitmaps load() {
+
+        Bitmaps loaded = new Bitmaps();
+
+        String after = "";
+        while (true) {
+            List<SkillView> page = featuresRepository
+                    .findSkillsByCandidateIdGreaterThanOrderByCandidateIdAsc(after, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) break;
+
+            for (SkillView row : page) {
+                if (row.getCandidateId() == null) continue;
+                loaded.put(entry(row.getCandidateId(), row.getJobOpeningId(), row.getSkills(), row.getCandidateYears()));
+            }
+            after = page.get(page.size() - 1).getCandidateId();
+        }
+
+        loaded.optimize();
+        return loaded;
+    }
+
+    private static Entry entry(String candidateId, String jobOpeningId, String skills, double years) {
+        return new Entry(
+                candidateId,
+                jobOpeningId,
+                canonical(skills == null ? List.of() : List.of(skills.split(","))),
+                years
+        );
+    }
+
+    private static int yearsBucket(double years) {
+        return (int) Math.max(0, Math.min(Math.floor(years), MAX_YEARS_BUCKET));
+    }
+
+    static Set<String> canonical(Collection<String> skills) {
+
+        if (skills == null) return Set.of();
+
+        Set<String> out = new LinkedHashSet<>();
+        for (String s : skills) {
+            if (s == null) continue;
+            String c = s.trim().toLowerCase(Locale.ROOT);
+            if (!c.isEmpty()) out.add(c);
+        }
+        return out;
+    }
+
+    private record Entry(String candidateId, String jobOpeningId, Set<String> skills, double years) { }
+
+    /**
+     * Ordinals and bitmaps for one generation of the index. Not thread-safe.
+     */
+    private static final class Bitmaps {
+
+        final Map<String, Integer> ordinals = new HashMap<>();
+        final List<Entry> entries = new ArrayList<>();
+        final RoaringBitmap live = new RoaringBitmap();
+        final Map<String, RoaringBitmap> bySkill = new HashMap<>();
+        final Map<String, RoaringBitmap> byJob = new HashMap<>();
+        final RoaringBitmap[] atLeastYears = new RoaringBitmap[MAX_YEARS_BUCKET + 1];
+
+        Bitmaps() {
+            for (int i = 0; i < atLeastYears.length; i++) {
+                atLeastYears[i] = new RoaringBitmap();
+            }
+        }
+
+        void put(Entry entry) {
+
+            Integer existing = ordinals.get(entry.candidateId());
+            int ord;
+            if (existing != null) {
+                ord = existing;
+                clear(ord, entries.get(ord));
+            } else {
+                ord = entries.size();
+                ordinals.put(entry.candidateId(), ord);
+                entries.add(null);
+            }
+            entries.set(ord, entry);
+
+            live.add(ord);
+            for (String skill : entry.skills()) {
+                bySkill.computeIfAbsent(skill, k -> new RoaringBitmap()).add(ord);
+            }
+            if (entry.jobOpeningId() != null) {
+                byJob.computeIfAbsent(entry.jobOpeningId(), k -> new RoaringBitmap()).add(ord);
+            }
+            int top = yearsBucket(entry.years());
+            for (int i = 0; i <= top; i++) {
+                atLeastYears[i].add(ord);
+            }
+        }
+
+        void optimize() {
+            live.runOptimize();
+            bySkill.values().forEach(RoaringBitmap::runOptimize);
+            byJob.values().forEach(RoaringBitmap::runOptimize);
+            for (RoaringBitmap b : atLeastYears) b.runOptimize();
+        }
+
+        private void clear(int ord, Entry old) {
+
+            for (String skill : old.skills()) {
+                RoaringBitmap b = bySkill.get(skill);
+                if (b != null) b.remove(ord);
+            }
+            if (old.jobOpeningId() != null) {
+                RoaringBitmap b = byJob.get(old.jobOpeningId());
+                if (b != null) b.remove(ord);
+            }
+            int top = yearsBucket(old.years());
+            for (int i = 0; i <= top; i++) {
+                atLeastYears[i].remove(ord);
+            }
+        }
+    }
+
+    public record Query(
+            List<String> all,
+            List<String> any,
+            List<String> none,
+            Double minYears,
+            String jobOpeningId,
+            int limit
+    ) { }
+
+    public record Result(int total, List<String> candidateIds, long tookMicros) { }
+}
@@ -0,0 +1,198 @@
+package com.caizin.recruitment.service.outbox;
+
+import com.caizin.recruitment.config.AnalysisOutboxProperties;
+import com.caizin.recruitment.entity.AnalysisOutboxItem;
+import com.caizin.recruitment.entity.ResumeAnalysis;
+import com.caizin.recruitment.repository.AnalysisOutboxRepository;
+import com.caizin.recruitment.service.ResumeAnalysisService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Postgres outbox of AI analyses still to run.
+ *
+ * <p>Ingestion writes the ATS-only resume_analysis row and its outbox item in
+ * one transaction, so the score is visible immediately and the analysis can
+ * never be lost. Workers claim due items with {@code FOR UPDATE SKIP LOCKED},
+ * so any number of instances can drain the table without double work.</p>
+ *
+ * <p>Every timestamp (due time, claim time, lease expiry) is taken from the
+ * database clock, so instances with skewed JVM clocks agree on what is due
+ * and which claims have expired.</p>
+ */
+@Service
+public class AnalysisOutboxService {
+
+    private static final String CLAIM =
+            "update analysis_outbox set status = 'IN_PROGRESS', locked_at = now(), attempts = attempts + 1 "
+                    + "where id in (select id from analysis_outbox "
+                    + "where status = 'PENDING' and next_attempt_at <= now() "
+                    + "order by next_attempt_at limit ? for update skip locked) "
+                    + "returning id, analysis_id, candidate_id, job_id, resume_text, attempts";
+
+    private static final String ENQUEUE =
+            "insert into analysis_outbox (id, analysis_id, candidate_id, job_id, resume_text, status, attempts, "
+                    + "next_attempt_at, created_at) values (?, ?, ?, ?, ?, 'PENDING', 0, now(), now())";
+
+    private static final String RELEASE =
+            "update analysis_outbox set status = 'PENDING', attempts = attempts - 1, "
+                    + "next_attempt_at = now() + ? * interval '1 millisecond', locked_at = null where id = ?";
+
+    private static final String RELEASE_EXPIRED =
+            "update analysis_outbox set status = 'PENDING', locked_at = null "
+                    + "where status = 'IN_PROGRESS' and locked_at < now() - ? * interval '1 millisecond'";
+
+    private static final String MARK_DONE =
+            "update analysis_outbox set status = 'DONE', resume_text = null, locked_at = null, "
+                    + "last_error = null where id = ?";
+
+    private static final String MARK_RETRY =
+            "update analysis_outbox set status = ?, next_attempt_at = now() + ? * interval '1 millisecond', "
+                    + "locked_at = null, "
+                    + "last_error = ? where id = ?";
+
+    private static final String REQUEUE_PENDING_ANALYSES =
+            "insert into analysis_outbox (id, analysis_id, candidate_id, job_id, status, attempts, "
+                    + "next_attempt_at, created_at) "
+                    + "select gen_random_uuid(), ra.id, ra.candidate_id, ra.job_id, 'PENDING', 0, now(), now() "
+                    + "from resume_analysis ra where ra.ai_status = 'PENDING' "
+                    + "and not exists (select 1 from analysis_outbox o where o.analysis_id = ra.id)";
+
+    private final AnalysisOutboxRepository repository;
+    private final ResumeAnalysisService analysisService;
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalysisOutboxProperties properties;
+
+    public AnalysisOutboxService(
+            AnalysisOutboxRepository repository,
+            ResumeAnalysisService analysisService,
+            JdbcTemplate jdbcTemplate,
+            AnalysisOutboxProperties properties
+    ) {
+        this.repository = repository;
+        this.analysisService = analysisService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Save the ATS-only analysis and queue its AI analysis atomically.
+     */
+    @Transactional
+    public ResumeAnalysis enqueue(
+            String candidateId,
+            String jobId,
+            String candidateName,
+            String candidateEmail,
+            double atsScore,
+            String resumeText
+    ) {
+
+        ResumeAnalysis analysis =
+                analysisService.savePending(candidateId, jobId, candidateName, candidateEmail, atsScore);
+
+        jdbcTemplate.update(ENQUEUE, UUID.randomUUID(), analysis.getId(), candidateId, jobId, resumeText);
+
+        return analysis;
+    }
+
+    /**
+     * Claim up to {@code limit} due items for this worker.
+     */
+    @Transactional
+    public List<Claimed> claim(int limit) {
+
+        if (limit <= 0) return List.of();
+
+        return jdbcTemplate.query(CLAIM, (rs, i) -> new Claimed(
+                rs.getObject("id", UUID.class),
+                rs.getObject("analysis_id", UUID.class),
+                rs.getString("candidate_id"),
+                rs.getString("job_id"),
+                rs.getString("resume_text"),
+                rs.getInt("attempts")
+        ), limit);
+    }
+
+    @Transactional
+    public void complete(Claimed item, Map<String, Object> aiAnalysis) {
+
+        ResumeAnalysis analysis = analysisService.findById(item.analysisId()).orElse(null);
+        if (analysis != null) {
+            analysisService.completeAnalysis(analysis, aiAnalysis);
+        }
+        jdbcTemplate.update(MARK_DONE, item.id());
+    }
+
+    /**
+     * Schedule another attempt with exponential backoff and jitter, or give up
+     * after {@code maxAttempts}.
+     */
+    public void fail(Claimed item, String error) {
+
+        boolean exhausted = item.attempts() >= properties.getMaxAttempts();
+
+        jdbcTemplate.update(MARK_RETRY,
+                exhausted ? AnalysisOutboxItem.FAILED : AnalysisOutboxItem.PENDING,
+                backoff(item.attempts()).toMillis(),
+                error,
+                item.id());
+    }
+
+    /**
+     * Return a claimed item untouched, e.g. because MCP shed the call.
+     */
+    public void release(Claimed item, Duration delay) {
+
+        jdbcTemplate.update(RELEASE, delay.toMillis(), item.id());
+    }
+
+    /**
+     * Put items orphaned by a crashed worker back in the queue.
+     */
+    public int releaseExpired() {
+        return jdbcTemplate.update(RELEASE_EXPIRED, properties.getLease().toMillis());
+    }
+
+    /**
+     * Queue analyses left PENDING before the outbox existed.
+     */
+    public int requeuePendingAnalyses() {
+        return jdbcTemplate.update(REQUEUE_PENDING_ANALYSES);
+    }
+
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        repository.countByStatus().forEach(c -> counts.put(c.getStatus(), c.getCount()));
+        return counts;
+    }
+
+    Duration backoff(int attempts) {
+
+        long base = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        long delay = base << Math.min(Math.max(attempts - 1, 0), 20);
+        delay = Math.min(delay, max);
+
+        // +-20% so items failed together do not retry in lockstep
+        long jitter = (long) (delay * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        return Duration.ofMillis(Math.max(0, delay + jitter));
+    }
+
+    public record Claimed(
+            UUID id,
+            UUID analysisId,
+            String candidateId,
+            String jobId,
+            String resumeText,
+            int attempts
+    ) { }
+}
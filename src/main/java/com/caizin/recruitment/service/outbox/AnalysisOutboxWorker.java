@@ -0,0 +1,135 @@
+package com.caizin.recruitment.service.outbox;
+
+import com.caizin.recruitment.config.AnalysisOutboxProperties;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.exception.McpUnavailableException;
+import com.caizin.recruitment.integration.MCPClient.MCPClient;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.util.JDTextExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the analysis outbox: claims due items, runs them through MCP with at
+ * most {@code analysis-outbox.parallelism} in flight, and records the result
+ * or schedules a retry.
+ */
+@Component
+public class AnalysisOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisOutboxWorker.class);
+
+    private final AnalysisOutboxService outbox;
+    private final MCPClient mcpClient;
+    private final JDTextExtractor jdExtractor;
+    private final ResumeFeaturesRepository featuresRepository;
+    private final AnalysisOutboxProperties properties;
+    private final Semaphore slots;
+
+    public AnalysisOutboxWorker(
+            AnalysisOutboxService outbox,
+            MCPClient mcpClient,
+            JDTextExtractor jdExtractor,
+            ResumeFeaturesRepository featuresRepository,
+            AnalysisOutboxProperties properties
+    ) {
+        this.outbox = outbox;
+        this.mcpClient = mcpClient;
+        this.jdExtractor = jdExtractor;
+        this.featuresRepository = featuresRepository;
+        this.properties = properties;
+        this.slots = new Semaphore(Math.max(1, properties.getParallelism()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int requeued = outbox.requeuePendingAnalyses();
+        int released = outbox.releaseExpired();
+        if (requeued + released > 0) {
+            log.info("Analysis outbox: queued {} pending analyses, released {} expired claims",
+                    requeued, released);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analysis-outbox.poll-interval:PT1S}")
+    public void poll() {
+
+        // nothing would get through; keep items PENDING instead of burning attempts
+        if (!mcpClient.isAvailable()) return;
+
+        int free = slots.availablePermits();
+        if (free == 0) return;
+
+        List<AnalysisOutboxService.Claimed> items = outbox.claim(free);
+        for (AnalysisOutboxService.Claimed item : items) {
+            slots.acquireUninterruptibly();
+            run(item);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analysis-outbox.reclaim-interval:PT1M}")
+    public void releaseExpired() {
+        int released = outbox.releaseExpired();
+        if (released > 0) {
+            log.warn("Released {} analysis outbox items whose worker disappeared", released);
+        }
+    }
+
+    public int inFlight() {
+        return Math.max(1, properties.getParallelism()) - slots.availablePermits();
+    }
+
+    private void run(AnalysisOutboxService.Claimed item) {
+
+        Mono.fromCallable(() -> new String[] { resumeText(item), jdExtractor.getJDText(item.jobId()) })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(texts -> mcpClient.analyzeResumeAsync(texts[0], texts[1], item.jobId(), item.candidateId()))
+                .publishOn(Schedulers.boundedElastic())
+                .doFinally(signal -> slots.release())
+                .subscribe(
+                        (Map<String, Object> result) -> complete(item, result),
+                        error -> failed(item, error));
+    }
+
+    private void complete(AnalysisOutboxService.Claimed item, Map<String, Object> result) {
+        try {
+            outbox.complete(item, result);
+        } catch (RuntimeException e) {
+            failed(item, e);
+        }
+    }
+
+    private void failed(AnalysisOutboxService.Claimed item, Throwable error) {
+
+        if (error instanceof McpUnavailableException) {
+            outbox.release(item, Duration.ofSeconds(5));
+            return;
+        }
+
+        log.warn("AI analysis attempt {} failed for candidate {} / job {}: {}",
+                item.attempts(), item.candidateId(), item.jobId(), error.getMessage());
+
+        outbox.fail(item, String.valueOf(error.getMessage()));
+    }
+
+    private String resumeText(AnalysisOutboxService.Claimed item) {
+
+        if (item.resumeText() != null) return item.resumeText();
+
+        return featuresRepository.findById(item.candidateId())
+                .map(ResumeFeatures::getResumeText)
+                .orElseThrow(() -> new IllegalStateException(
+                        "No resume text for candidate " + item.candidateId()));
+    }
+}
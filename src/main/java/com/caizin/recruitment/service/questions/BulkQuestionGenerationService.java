@@ -0,0 +1,202 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.service.CandidateQuestionGenerationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates screening questions for every eligible candidate ahead of time, so
+ * recruiters find them stored instead of waiting on OpenAI.
+ *
+ * <p>A coordinator pages through eligible candidates by keyset and hands each
+ * one to a fixed worker pool sized to {@code questions.parallelism}, the cap
+ * on concurrent OpenAI calls. A semaphore of the same size keeps the
+ * coordinator from reading further ahead than the workers can go. ATS jobs
+ * are fetched once per run and shared by all workers.</p>
+ *
+ * <p>Only the latest {@value #RUNS_KEPT} runs are kept for lookup; older
+ * finished ones are forgotten as new runs start.</p>
+ */
+@Service
+public class BulkQuestionGenerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkQuestionGenerationService.class);
+
+    static final int RUNS_KEPT = 20;
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateQuestionGenerationService questionService;
+    private final QuestionGenerationProperties properties;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            r -> daemon(r, "questions-coordinator"));
+    private final ExecutorService workers;
+    private final Semaphore slots;
+
+    private final Map<String, QuestionGenerationRun> runs = new ConcurrentHashMap<>();
+    private final AtomicReference<QuestionGenerationRun> active = new AtomicReference<>();
+
+    public BulkQuestionGenerationService(
+            CandidateRepository candidateRepository,
+            CandidateQuestionGenerationService questionService,
+            QuestionGenerationProperties properties
+    ) {
+        this.candidateRepository = candidateRepository;
+        this.questionService = questionService;
+        this.properties = properties;
+
+        int parallelism = Math.max(1, properties.getParallelism());
+        AtomicInteger n = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism,
+                r -> daemon(r, "questions-worker-" + n.incrementAndGet()));
+        this.slots = new Semaphore(parallelism);
+    }
+
+    /**
+     * Start a run in the background.
+     *
+     * @param minAtsScore only candidates at or above this score; null uses {@code questions.min-ats-score}
+     * @param regenerate  also replace questions that were already generated
+     */
+    public QuestionGenerationRun start(Double minAtsScore, boolean regenerate) {
+
+        Double threshold = minAtsScore != null ? minAtsScore : properties.getMinAtsScore();
+        QuestionGenerationRun run = new QuestionGenerationRun(threshold, regenerate);
+
+        if (!active.compareAndSet(null, run)) {
+            throw new IllegalStateException(
+                    "Question generation run " + active.get().getRunId() + " is still in progress");
+        }
+        runs.put(run.getRunId(), run);
+        forgetOldRuns();
+
+        coordinator.execute(() -> {
+            try {
+                execute(run);
+                run.complete();
+            } catch (Exception e) {
+                log.error("Question generation run {} failed", run.getRunId(), e);
+                run.fail(e);
+            } finally {
+                active.compareAndSet(run, null);
+                log.info("Question generation run {} finished: {} generated, {} failed, {} skipped",
+                        run.getRunId(), run.getGenerated(), run.getFailed(), run.getSkipped());
+            }
+        });
+
+        return run;
+    }
+
+    public Optional<QuestionGenerationRun> find(String runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    public Collection<QuestionGenerationRun> runs() {
+        return runs.values();
+    }
+
+    /**
+     * Pick up newly processed candidates when {@code questions.auto-generate} is on.
+     */
+    @Scheduled(fixedDelayString = "${questions.interval:PT15M}")
+    public void generateMissing() {
+
+        if (!properties.isAutoGenerate() || active.get() != null) return;
+
+        try {
+            start(null, false);
+        } catch (IllegalStateException e) {
+            // a manual run started in between
+        }
+    }
+
+    private void forgetOldRuns() {
+        int excess = runs.size() - RUNS_KEPT;
+        if (excess <= 0) return;
+
+        runs.values().stream()
+                .filter(r -> r.getState() != QuestionGenerationRun.State.RUNNING)
+                .sorted(Comparator.comparing(QuestionGenerationRun::getStartedAt))
+                .limit(excess)
+                .toList()
+                .forEach(r -> runs.remove(r.getRunId()));
+    }
+
+    private void execute(QuestionGenerationRun run) throws InterruptedException {
+
+        Map<String, JobDto> jobs = questionService.jobsById();
+        int pageSize = Math.max(1, properties.getPageSize());
+        int parallelism = Math.max(1, properties.getParallelism());
+        String after = "";
+
+        while (true) {
+
+            List<Candidate> page = candidateRepository.findEligibleForQuestions(
+                    after, run.getMinAtsScore(), run.isRegenerate(), PageRequest.of(0, pageSize));
+
+            if (page.isEmpty()) break;
+
+            for (Candidate candidate : page) {
+
+                JobDto job = jobs.get(candidate.getJobOpeningId());
+                if (job == null) {
+                    run.addSkipped();
+                    continue;
+                }
+
+                slots.acquire();
+                run.addSubmitted(1);
+                workers.execute(() -> {
+                    try {
+                        questionService.generate(candidate, job);
+                        run.addGenerated();
+                    } catch (Exception e) {
+                        run.addFailed();
+                        log.warn("Question generation failed for candidate {}: {}",
+                                candidate.getCandidateId(), e.getMessage());
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+
+            after = page.get(page.size() - 1).getCandidateId();
+        }
+
+        // wait for the last workers before reporting the run as complete
+        slots.acquire(parallelism);
+        slots.release(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
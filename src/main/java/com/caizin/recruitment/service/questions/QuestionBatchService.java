@@ -0,0 +1,476 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.dto.OpenAiBatchDto;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.entity.QuestionBatch;
+import com.caizin.recruitment.entity.QuestionBatchRequest;
+import com.caizin.recruitment.integration.openai.OpenAiBatchClient;
+import com.caizin.recruitment.integration.openai.OpenAiResponseCache;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.repository.QuestionBatchRepository;
+import com.caizin.recruitment.repository.QuestionBatchRequestRepository;
+import com.caizin.recruitment.service.CandidateQuestionGenerationService;
+import com.caizin.recruitment.service.impl.OpenAiLlmService;
+import com.caizin.recruitment.service.usage.LlmUsageTracker;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Overnight question generation through the OpenAI Batch API, at batch pricing
+ * and without per-request round trips.
+ *
+ * <p>{@link #submit} writes one chat-completion line per eligible candidate
+ * into a JSONL file, uploads it and creates a batch. The poller checks open
+ * batches and, once one is terminal, applies its output and error files.
+ * Every line carries a {@code custom_id} stored in question_batch_requests;
+ * a result is applied only while its request is still SUBMITTED, so polling
+ * the same batch again after a crash never stores anything twice. Requests
+ * already answered by the response cache are stored straight away instead of
+ * being batched.</p>
+ *
+ * <p>A batch that is still uploading after {@code openai.batch.upload-timeout}
+ * was cut off before its OpenAI ID was saved. The poller looks it up by the
+ * {@code local_batch_id} metadata among recent batches, or fails its requests
+ * so the candidates become eligible again.</p>
+ *
+ * <p>Scheduled submissions and polls only hand the work to a coordinator
+ * thread of their own: building and uploading thousands of lines, or
+ * downloading and applying an output file, must not hold a thread of the
+ * shared task scheduler.</p>
+ */
+@Service
+public class QuestionBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionBatchService.class);
+
+    /**
+     * Recent OpenAI batches searched for an interrupted upload.
+     */
+    private static final int RECOVERY_LOOKBACK = 100;
+
+    private final CandidateRepository candidateRepository;
+    private final QuestionBatchRepository batchRepository;
+    private final QuestionBatchRequestRepository requestRepository;
+    private final CandidateQuestionGenerationService questionService;
+    private final OpenAiLlmService llmService;
+    private final OpenAiBatchClient batchClient;
+    private final OpenAiResponseCache responseCache;
+    private final ScreeningQuestionStore questionStore;
+    private final ObjectMapper objectMapper;
+    private final OpenAiProperties openAiProperties;
+    private final QuestionGenerationProperties properties;
+    private final LlmUsageTracker usageTracker;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "question-batch");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean submitting = new AtomicBoolean();
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    public QuestionBatchService(
+            CandidateRepository candidateRepository,
+            QuestionBatchRepository batchRepository,
+            QuestionBatchRequestRepository requestRepository,
+            CandidateQuestionGenerationService questionService,
+            OpenAiLlmService llmService,
+            OpenAiBatchClient batchClient,
+            OpenAiResponseCache responseCache,
+            ScreeningQuestionStore questionStore,
+            ObjectMapper objectMapper,
+            OpenAiProperties openAiProperties,
+            QuestionGenerationProperties properties,
+            LlmUsageTracker usageTracker
+    ) {
+        this.candidateRepository = candidateRepository;
+        this.batchRepository = batchRepository;
+        this.requestRepository = requestRepository;
+        this.questionService = questionService;
+        this.llmService = llmService;
+        this.batchClient = batchClient;
+        this.responseCache = responseCache;
+        this.questionStore = questionStore;
+        this.objectMapper = objectMapper;
+        this.openAiProperties = openAiProperties;
+        this.properties = properties;
+        this.usageTracker = usageTracker;
+    }
+
+    /**
+     * Submit batches for every eligible candidate without questions (or all of
+     * them with {@code regenerate}), skipping candidates already in an open batch.
+     *
+     * @param minAtsScore only candidates at or above this score; null uses {@code questions.min-ats-score}
+     * @return the batches created
+     */
+    public List<QuestionBatch> submit(Double minAtsScore, boolean regenerate) {
+
+        if (!openAiProperties.getBatch().isEnabled()) {
+            throw new IllegalStateException("OpenAI batch mode is disabled (openai.batch.enabled)");
+        }
+
+        Double threshold = minAtsScore != null ? minAtsScore : properties.getMinAtsScore();
+        int maxRequests = Math.max(1, openAiProperties.getBatch().getMaxRequests());
+        int pageSize = Math.max(1, properties.getPageSize());
+
+        Map<String, JobDto> jobs = questionService.jobsById();
+        List<QuestionBatch> created = new ArrayList<>();
+        Pending pending = new Pending();
+        int fromCache = 0;
+        String after = "";
+
+        while (true) {
+
+            List<Candidate> page = candidateRepository.findEligibleForQuestions(
+                    after, threshold, regenerate, PageRequest.of(0, pageSize));
+
+            if (page.isEmpty()) break;
+
+            for (Candidate candidate : page) {
+
+                JobDto job = jobs.get(candidate.getJobOpeningId());
+                if (job == null || requestRepository.existsByCandidateIdAndJobOpeningIdAndStatus(
+                        candidate.getCandidateId(), candidate.getJobOpeningId(), QuestionBatchRequest.SUBMITTED)) {
+                    continue;
+                }
+
+                try {
+                    OpenAiRequestDto request = llmService.buildRequest(job, questionService.parsedResume(candidate));
+                    String cacheKey = responseCache.key(request);
+
+                    OpenAiResponseDto cached = regenerate ? null : responseCache.get(cacheKey).orElse(null);
+                    if (cached != null) {
+                        String model = cached.getModel() != null ? cached.getModel() : request.getModel();
+                        usageTracker.recordCacheHit(LlmUsageTracker.BATCH, model, candidate.getJobOpeningId());
+                        save(candidate, candidate.getJobOpeningId(), llmService.questionsFrom(cached), model);
+                        fromCache++;
+                        continue;
+                    }
+
+                    pending.add(candidate, request, cacheKey);
+                } catch (Exception e) {
+                    log.warn("Skipping candidate {} in question batch: {}", candidate.getCandidateId(), e.getMessage());
+                }
+
+                if (pending.size() >= maxRequests) {
+                    created.add(flush(pending));
+                    pending = new Pending();
+                }
+            }
+
+            after = page.get(page.size() - 1).getCandidateId();
+        }
+
+        if (pending.size() > 0) {
+            created.add(flush(pending));
+        }
+
+        log.info("Submitted {} question batches ({} requests); {} answered from cache",
+                created.size(), created.stream().mapToInt(QuestionBatch::getRequestCount).sum(), fromCache);
+
+        return created;
+    }
+
+    /**
+     * Nightly submission when {@code openai.batch.submit-cron} is set.
+     */
+    @Scheduled(cron = "${openai.batch.submit-cron:-}")
+    public void submitScheduled() {
+
+        if (!submitting.compareAndSet(false, true)) return;
+
+        coordinator.execute(() -> {
+            try {
+                submit(null, false);
+            } catch (Exception e) {
+                log.warn("Scheduled question batch submission failed: {}", e.getMessage());
+            } finally {
+                submitting.set(false);
+            }
+        });
+    }
+
+    public List<QuestionBatch> recent() {
+        return batchRepository.findTop50ByOrderByCreatedAtDesc();
+    }
+
+    @Scheduled(fixedDelayString = "${openai.batch.poll-interval:PT5M}")
+    public void pollScheduled() {
+        if (openAiProperties.getBatch().isEnabled() && !polling.get()) {
+            coordinator.execute(this::poll);
+        }
+    }
+
+    /**
+     * Refresh every open batch and apply the results of finished ones.
+     */
+    public void poll() {
+
+        if (!openAiProperties.getBatch().isEnabled() || !polling.compareAndSet(false, true)) return;
+
+        try {
+            for (QuestionBatch batch : batchRepository.findByResultsAppliedFalse()) {
+                try {
+                    refresh(batch);
+                } catch (Exception e) {
+                    log.warn("Polling question batch {} failed: {}", batch.getOpenaiBatchId(), e.getMessage());
+                }
+            }
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    /**
+     * Requests are recorded before anything is uploaded, so a failed upload leaves
+     * a FAILED trail instead of candidates that silently never get questions.
+     */
+    private QuestionBatch flush(Pending pending) {
+
+        QuestionBatch batch = new QuestionBatch();
+        batch.setStatus("uploading");
+        batch.setRequestCount(pending.size());
+        batch.setUpdatedAt(LocalDateTime.now());
+        batchRepository.save(batch);
+
+        StringBuilder jsonl = new StringBuilder();
+        List<QuestionBatchRequest> rows = new ArrayList<>(pending.size());
+
+        for (int i = 0; i < pending.size(); i++) {
+            Candidate candidate = pending.candidates.get(i);
+
+            QuestionBatchRequest row = new QuestionBatchRequest();
+            row.setCustomId(batch.getId() + ":" + candidate.getCandidateId());
+            row.setBatchId(batch.getId());
+            row.setCandidateId(candidate.getCandidateId());
+            row.setJobOpeningId(candidate.getJobOpeningId());
+            row.setCacheKey(pending.cacheKeys.get(i));
+            row.setStatus(QuestionBatchRequest.SUBMITTED);
+            row.setUpdatedAt(LocalDateTime.now());
+            rows.add(row);
+
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("custom_id", row.getCustomId());
+            line.put("method", "POST");
+            line.put("url", "/v1/chat/completions");
+            line.put("body", pending.requests.get(i));
+            try {
+                jsonl.append(objectMapper.writeValueAsString(line)).append('\n');
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot serialise batch line", e);
+            }
+        }
+        requestRepository.saveAll(rows);
+
+        try {
+            String fileId = batchClient.uploadBatchFile(
+                    "questions-" + batch.getId() + ".jsonl",
+                    jsonl.toString().getBytes(StandardCharsets.UTF_8));
+
+            OpenAiBatchDto created = batchClient.createBatch(
+                    fileId,
+                    openAiProperties.getBatch().getCompletionWindow(),
+                    Map.of("local_batch_id", batch.getId().toString(), "kind", "screening-questions"));
+
+            batch.setInputFileId(fileId);
+            batch.setOpenaiBatchId(created.getId());
+            batch.setStatus(created.getStatus());
+        } catch (RuntimeException e) {
+            log.error("Question batch {} could not be submitted", batch.getId(), e);
+            batch.setStatus("failed");
+            batch.setResultsApplied(true);
+            failRemaining(batch, "submission failed: " + e.getMessage());
+            updateCounts(batch);
+        }
+
+        batch.setUpdatedAt(LocalDateTime.now());
+        return batchRepository.save(batch);
+    }
+
+    private void refresh(QuestionBatch batch) {
+
+        if (batch.getOpenaiBatchId() == null) {
+            recoverUpload(batch);
+            return;
+        }
+
+        OpenAiBatchDto remote = batchClient.getBatch(batch.getOpenaiBatchId());
+        batch.setStatus(remote.getStatus());
+        batch.setOutputFileId(remote.getOutputFileId());
+        batch.setErrorFileId(remote.getErrorFileId());
+        batch.setUpdatedAt(LocalDateTime.now());
+
+        if (!remote.isTerminal()) {
+            batchRepository.save(batch);
+            return;
+        }
+
+        if (remote.getOutputFileId() != null) {
+            applyLines(batch, batchClient.fileContent(remote.getOutputFileId()));
+        }
+        if (remote.getErrorFileId() != null) {
+            applyLines(batch, batchClient.fileContent(remote.getErrorFileId()));
+        }
+        failRemaining(batch, "no result in batch (" + remote.getStatus() + ")");
+
+        updateCounts(batch);
+        batch.setResultsApplied(true);
+        batchRepository.save(batch);
+
+        log.info("Question batch {} {}: {} succeeded, {} failed",
+                batch.getOpenaiBatchId(), remote.getStatus(), batch.getSucceededCount(), batch.getFailedCount());
+    }
+
+    private void recoverUpload(QuestionBatch batch) {
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(openAiProperties.getBatch().getUploadTimeout());
+        if (batch.getUpdatedAt() != null && batch.getUpdatedAt().isAfter(cutoff)) return;
+
+        String localId = batch.getId().toString();
+        List<OpenAiBatchDto> recent = batchClient.listBatches(RECOVERY_LOOKBACK).getData();
+        Optional<OpenAiBatchDto> remote = recent == null ? Optional.empty() : recent.stream()
+                .filter(b -> b.getMetadata() != null && localId.equals(b.getMetadata().get("local_batch_id")))
+                .findFirst();
+
+        if (remote.isPresent()) {
+            log.info("Recovered interrupted question batch {} as {}", localId, remote.get().getId());
+            batch.setOpenaiBatchId(remote.get().getId());
+            batch.setInputFileId(remote.get().getInputFileId());
+            refresh(batch);
+            return;
+        }
+
+        log.warn("Question batch {} never reached OpenAI; failing its requests", localId);
+        batch.setStatus("failed");
+        batch.setResultsApplied(true);
+        failRemaining(batch, "upload interrupted");
+        updateCounts(batch);
+        batch.setUpdatedAt(LocalDateTime.now());
+        batchRepository.save(batch);
+    }
+
+    private void applyLines(QuestionBatch batch, String content) {
+
+        for (String line : content.split("\n")) {
+            if (line.isBlank()) continue;
+
+            try {
+                applyLine(batch, objectMapper.readTree(line));
+            } catch (IOException e) {
+                log.warn("Unreadable line in batch {} output: {}", batch.getOpenaiBatchId(), e.getMessage());
+            }
+        }
+    }
+
+    private void applyLine(QuestionBatch batch, JsonNode line) throws IOException {
+
+        QuestionBatchRequest row = requestRepository.findById(line.path("custom_id").asText("")).orElse(null);
+        if (row == null || !QuestionBatchRequest.SUBMITTED.equals(row.getStatus())) return;
+
+        JsonNode response = line.path("response");
+        int statusCode = response.path("status_code").asInt(0);
+
+        if (statusCode != 200) {
+            String error = line.hasNonNull("error") ? line.get("error").toString() : response.path("body").toString();
+            finish(row, QuestionBatchRequest.FAILED, error);
+            return;
+        }
+
+        try {
+            OpenAiResponseDto completion = objectMapper.treeToValue(response.path("body"), OpenAiResponseDto.class);
+            String model = completion.getModel() != null ? completion.getModel() : openAiProperties.getModel();
+            usageTracker.record(LlmUsageTracker.BATCH, model, row.getJobOpeningId(), completion.getUsage());
+            List<ScreeningQuestionDto> questions = llmService.questionsFrom(completion);
+
+            Candidate candidate = candidateRepository.findById(row.getCandidateId()).orElse(null);
+            if (candidate == null) {
+                finish(row, QuestionBatchRequest.FAILED, "candidate no longer exists");
+                return;
+            }
+
+            save(candidate, row.getJobOpeningId(), questions, model);
+            if (row.getCacheKey() != null) {
+                responseCache.put(row.getCacheKey(), row.getJobOpeningId(), model, completion);
+            }
+            finish(row, QuestionBatchRequest.DONE, null);
+        } catch (RuntimeException e) {
+            finish(row, QuestionBatchRequest.FAILED, e.getMessage());
+        }
+    }
+
+    private void failRemaining(QuestionBatch batch, String reason) {
+        for (QuestionBatchRequest row : requestRepository.findByBatchIdAndStatus(batch.getId(), QuestionBatchRequest.SUBMITTED)) {
+            finish(row, QuestionBatchRequest.FAILED, reason);
+        }
+    }
+
+    private void finish(QuestionBatchRequest row, String status, String error) {
+        row.setStatus(status);
+        row.setError(error);
+        row.setUpdatedAt(LocalDateTime.now());
+        requestRepository.save(row);
+    }
+
+    private void updateCounts(QuestionBatch batch) {
+        batch.setSucceededCount((int) requestRepository.countByBatchIdAndStatus(batch.getId(), QuestionBatchRequest.DONE));
+        batch.setFailedCount((int) requestRepository.countByBatchIdAndStatus(batch.getId(), QuestionBatchRequest.FAILED));
+    }
+
+    /**
+     * @param model the model that answered, as reported in the completion
+     */
+    private void save(Candidate candidate, String jobOpeningId, List<ScreeningQuestionDto> questions, String model) {
+        questionStore.save(
+                candidate.getCandidateId(),
+                jobOpeningId,
+                questions,
+                model,
+                candidate.getAtsScore());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private static final class Pending {
+        final List<Candidate> candidates = new ArrayList<>();
+        final List<OpenAiRequestDto> requests = new ArrayList<>();
+        final List<String> cacheKeys = new ArrayList<>();
+
+        void add(Candidate candidate, OpenAiRequestDto request, String cacheKey) {
+            candidates.add(candidate);
+            requests.add(request);
+            cacheKeys.add(cacheKey);
+        }
+
+        int size() {
+            return candidates.size();
+        }
+    }
+}
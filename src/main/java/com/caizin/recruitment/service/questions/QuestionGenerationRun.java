@@ -0,0 +1,61 @@
+package com.caizin.recruitment.service.questions;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk question-generation run. Counters are updated by worker
+ * threads and read by the status endpoint.
+ */
+public class QuestionGenerationRun {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String runId = UUID.randomUUID().toString();
+    private final Double minAtsScore;
+    private final boolean regenerate;
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger generated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private volatile State state = State.RUNNING;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    QuestionGenerationRun(Double minAtsScore, boolean regenerate) {
+        this.minAtsScore = minAtsScore;
+        this.regenerate = regenerate;
+    }
+
+    void addSubmitted(int n) { submitted.addAndGet(n); }
+    void addGenerated() { generated.incrementAndGet(); }
+    void addFailed() { failed.incrementAndGet(); }
+    void addSkipped() { skipped.incrementAndGet(); }
+
+    void complete() {
+        this.state = State.COMPLETED;
+        this.finishedAt = Instant.now();
+    }
+
+    void fail(Throwable t) {
+        this.error = t.getMessage();
+        this.state = State.FAILED;
+        this.finishedAt = Instant.now();
+    }
+
+    public String getRunId() { return runId; }
+    public Double getMinAtsScore() { return minAtsScore; }
+    public boolean isRegenerate() { return regenerate; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public State getState() { return state; }
+    public String getError() { return error; }
+    public int getSubmitted() { return submitted.get(); }
+    public int getGenerated() { return generated.get(); }
+    public int getFailed() { return failed.get(); }
+    public int getSkipped() { return skipped.get(); }
+}
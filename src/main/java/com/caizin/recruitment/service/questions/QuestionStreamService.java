@@ -0,0 +1,156 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.service.CandidateQuestionGenerationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers a candidate's screening questions over server-sent events.
+ *
+ * <p>Stored questions are replayed immediately. Otherwise the completion is
+ * streamed from OpenAI and each question is sent as a {@code question} event
+ * the moment its JSON object closes, followed by a {@code done} event with the
+ * count. If the client goes away or the emitter times out, the next send
+ * fails, which aborts the OpenAI stream instead of paying for the rest of it.</p>
+ */
+@Service
+public class QuestionStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionStreamService.class);
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateQuestionGenerationService questionService;
+    private final ScreeningQuestionStore questionStore;
+    private final QuestionGenerationProperties properties;
+    private final ExecutorService streams;
+
+    public QuestionStreamService(
+            CandidateRepository candidateRepository,
+            CandidateQuestionGenerationService questionService,
+            ScreeningQuestionStore questionStore,
+            QuestionGenerationProperties properties
+    ) {
+        this.candidateRepository = candidateRepository;
+        this.questionService = questionService;
+        this.questionStore = questionStore;
+        this.properties = properties;
+
+        AtomicInteger n = new AtomicInteger();
+        this.streams = Executors.newFixedThreadPool(
+                Math.max(1, properties.getParallelism()),
+                r -> {
+                    Thread t = new Thread(r, "questions-stream-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * @return an emitter that is being fed in the background, or empty if the
+     *         candidate does not exist or has no job opening
+     */
+    public Optional<SseEmitter> open(String candidateId, boolean regenerate) {
+
+        Candidate candidate = candidateRepository.findById(candidateId).orElse(null);
+        if (candidate == null || candidate.getJobOpeningId() == null) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        emitter.onCompletion(() -> closed.set(true));
+
+        streams.execute(() -> feed(new Stream(emitter, closed), candidate, regenerate));
+        return Optional.of(emitter);
+    }
+
+    void feed(Stream stream, Candidate candidate, boolean regenerate) {
+        try {
+            List<ScreeningQuestionDto> questions = regenerate
+                    ? null
+                    : questionStore.find(candidate.getCandidateId(), candidate.getJobOpeningId()).orElse(null);
+
+            if (questions != null) {
+                questions.forEach(q -> stream.send("question", q));
+            } else {
+                JobDto job = questionService.jobsById().get(candidate.getJobOpeningId());
+                if (job == null) {
+                    throw new IllegalStateException(
+                            "Job " + candidate.getJobOpeningId() + " not found in ATS");
+                }
+                questions = questionService.stream(candidate, job, q -> stream.send("question", q));
+            }
+
+            stream.send("done", Map.of("count", questions.size()));
+            stream.emitter().complete();
+
+        } catch (StreamClosedException e) {
+            log.info("Question stream for {} closed by client or timed out", candidate.getCandidateId());
+            stream.fail(e);
+        } catch (Exception e) {
+            log.warn("Question stream for {} failed: {}", candidate.getCandidateId(), e.getMessage());
+            try {
+                stream.send("error", Map.of("message", String.valueOf(e.getMessage())));
+                stream.emitter().complete();
+            } catch (StreamClosedException closed) {
+                stream.fail(closed);
+            }
+        }
+    }
+
+    /**
+     * An emitter and whether it has already completed, timed out or errored;
+     * sending on a completed emitter throws, so it is checked first.
+     */
+    record Stream(SseEmitter emitter, AtomicBoolean closed) {
+
+        void send(String name, Object data) {
+            if (closed.get()) throw new StreamClosedException(null);
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // IllegalStateException: completed by a timeout after the check above
+                throw new StreamClosedException(e);
+            }
+        }
+
+        /**
+         * Completes the emitter after a failed write; one that is already closed is left alone.
+         */
+        void fail(StreamClosedException e) {
+            if (!closed.get() && e.getCause() instanceof IOException io) {
+                emitter.completeWithError(io);
+            }
+        }
+    }
+
+    static final class StreamClosedException extends RuntimeException {
+        StreamClosedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streams.shutdownNow();
+    }
+}
@@ -0,0 +1,131 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.ScreeningQuestionSet;
+import com.caizin.recruitment.event.ScreeningQuestionsSavedEvent;
+import com.caizin.recruitment.repository.ScreeningQuestionSetRepository;
+import com.caizin.recruitment.util.cache.LruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stored screening questions per candidate and job.
+ *
+ * <p>Postgres is the source of truth; an LRU map in front of it serves repeat
+ * reads (Zoho push, recruiter views) without a query. Writes go to the table
+ * first and then replace the cached entry, so generation and push can run on
+ * different threads for different candidates without sharing any state.</p>
+ */
+@Service
+public class ScreeningQuestionStore {
+
+    private static final TypeReference<List<ScreeningQuestionDto>> QUESTIONS = new TypeReference<>() {};
+
+    private final ScreeningQuestionSetRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LruCache<String, List<ScreeningQuestionDto>> memory;
+
+    public ScreeningQuestionStore(
+            ScreeningQuestionSetRepository repository,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            QuestionGenerationProperties properties
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.memory = new LruCache<>(properties.getCacheMaxEntries());
+    }
+
+    public void save(
+            String candidateId,
+            String jobOpeningId,
+            List<ScreeningQuestionDto> questions,
+            String model,
+            Double atsScore
+    ) {
+
+        String json = toJson(questions);
+
+        try {
+            upsert(candidateId, jobOpeningId, json, model, atsScore);
+        } catch (DataIntegrityViolationException e) {
+            // another thread inserted the same pair first; update its row instead
+            upsert(candidateId, jobOpeningId, json, model, atsScore);
+        }
+
+        List<ScreeningQuestionDto> stored = List.copyOf(questions);
+        memory.put(key(candidateId, jobOpeningId), stored);
+
+        eventPublisher.publishEvent(new ScreeningQuestionsSavedEvent(candidateId, jobOpeningId, stored));
+    }
+
+    /**
+     * Questions for the pair, from memory when possible, else from the table.
+     */
+    public Optional<List<ScreeningQuestionDto>> find(String candidateId, String jobOpeningId) {
+
+        if (candidateId == null || jobOpeningId == null) return Optional.empty();
+
+        String key = key(candidateId, jobOpeningId);
+        List<ScreeningQuestionDto> cached = memory.get(key);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<List<ScreeningQuestionDto>> stored = repository
+                .findByCandidateIdAndJobOpeningId(candidateId, jobOpeningId)
+                .map(set -> List.copyOf(fromJson(set.getQuestionsJson())));
+
+        stored.ifPresent(questions -> memory.put(key, questions));
+        return stored;
+    }
+
+    public void evict(String candidateId, String jobOpeningId) {
+        memory.remove(key(candidateId, jobOpeningId));
+    }
+
+    private void upsert(String candidateId, String jobOpeningId, String json, String model, Double atsScore) {
+
+        ScreeningQuestionSet set = repository
+                .findByCandidateIdAndJobOpeningId(candidateId, jobOpeningId)
+                .orElseGet(ScreeningQuestionSet::new);
+
+        set.setCandidateId(candidateId);
+        set.setJobOpeningId(jobOpeningId);
+        set.setQuestionsJson(json);
+        set.setModel(model);
+        set.setAtsScore(atsScore);
+        set.setGeneratedAt(LocalDateTime.now());
+
+        repository.save(set);
+    }
+
+    private static String key(String candidateId, String jobOpeningId) {
+        return candidateId + '|' + jobOpeningId;
+    }
+
+    private String toJson(List<ScreeningQuestionDto> questions) {
+        try {
+            return objectMapper.writeValueAsString(questions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise screening questions", e);
+        }
+    }
+
+    private List<ScreeningQuestionDto> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, QUESTIONS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored screening questions are not valid JSON", e);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.caizin.recruitment.service.rescoring;
+
+import com.caizin.recruitment.config.ScoringProperties;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.parser.JDParser;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.service.ATSScoringService;
+import com.caizin.recruitment.service.AtsScoreWriter;
+import com.caizin.recruitment.service.AtsScoreWriter.ScoreUpdate;
+import com.caizin.recruitment.util.JDTextExtractor;
+import com.caizin.recruitment.util.ats.AtsFeatureBlock;
+import com.caizin.recruitment.util.ats.AtsScoringWeights;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Recomputes ATS scores from {@link ResumeFeatures} after a JD or weight change.
+ *
+ * <p>Resumes are never re-downloaded or re-extracted. With {@code refreshJd}
+ * the JD is re-read once per job and the skill similarity is recomputed from
+ * the cached resume text on a dedicated fork-join pool; otherwise only the
+ * weighted formula is re-applied via the batch kernel. Results are written in
+ * JDBC batches through {@link AtsScoreWriter}.</p>
+ *
+ * <p>Each run scores with one snapshot of the weights, taken when it starts:
+ * the weights passed to {@link #start}, or the configured ones. Changing the
+ * configuration mid-run never mixes two formulas within a run.</p>
+ *
+ * <p>Only the latest {@value #RUNS_KEPT} runs are kept for lookup; older
+ * finished ones are forgotten as new runs start.</p>
+ */
+@Service
+public class AtsRescoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(AtsRescoringService.class);
+
+    static final int RUNS_KEPT = 20;
+
+    private final ResumeFeaturesRepository featuresRepository;
+    private final ATSScoringService atsScoringService;
+    private final AtsScoreWriter scoreWriter;
+    private final JDTextExtractor jdExtractor;
+    private final JDParser jdParser;
+    private final ScoringProperties properties;
+
+    private final ForkJoinPool pool;
+    private final Map<String, RescoringRun> runs = new ConcurrentHashMap<>();
+    private final AtomicReference<RescoringRun> active = new AtomicReference<>();
+
+    public AtsRescoringService(
+            ResumeFeaturesRepository featuresRepository,
+            ATSScoringService atsScoringService,
+            AtsScoreWriter scoreWriter,
+            JDTextExtractor jdExtractor,
+            JDParser jdParser,
+            ScoringProperties properties
+    ) {
+        this.featuresRepository = featuresRepository;
+        this.atsScoringService = atsScoringService;
+        this.scoreWriter = scoreWriter;
+        this.jdExtractor = jdExtractor;
+        this.jdParser = jdParser;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(Math.max(1, properties.getRescoring().getParallelism()));
+    }
+
+    /**
+     * Start a run in the background.
+     *
+     * @param jobOpeningId job to re-score, or null for every job with cached features
+     * @param refreshJd    re-read the JD and recompute skill similarity
+     * @param weights      weights to score with, or null for {@code scoring.weights}
+     */
+    public RescoringRun start(String jobOpeningId, boolean refreshJd, AtsScoringWeights weights) {
+
+        AtsScoringWeights snapshot = weights != null ? weights : atsScoringService.weights();
+        validate(snapshot);
+
+        RescoringRun run = new RescoringRun(jobOpeningId, refreshJd, snapshot);
+
+        if (!active.compareAndSet(null, run)) {
+            throw new IllegalStateException(
+                    "Re-scoring run " + active.get().getRunId() + " is still in progress");
+        }
+        runs.put(run.getRunId(), run);
+        forgetOldRuns();
+
+        CompletableFuture.runAsync(() -> execute(run), pool)
+                .whenComplete((v, e) -> {
+                    if (e != null) {
+                        log.error("Re-scoring run {} failed", run.getRunId(), e);
+                        run.fail(e);
+                    } else {
+                        run.complete();
+                    }
+                    active.compareAndSet(run, null);
+                    log.info("Re-scoring run {} finished: {} processed, {} updated, {} skipped",
+                            run.getRunId(), run.getProcessed(), run.getUpdated(), run.getSkipped());
+                });
+
+        return run;
+    }
+
+    public Optional<RescoringRun> find(String runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    public Collection<RescoringRun> runs() {
+        return runs.values();
+    }
+
+    private void forgetOldRuns() {
+        int excess = runs.size() - RUNS_KEPT;
+        if (excess <= 0) return;
+
+        runs.values().stream()
+                .filter(r -> r.getState() != RescoringRun.State.RUNNING)
+                .sorted(Comparator.comparing(RescoringRun::getStartedAt))
+                .limit(excess)
+                .toList()
+                .forEach(r -> runs.remove(r.getRunId()));
+    }
+
+    private void execute(RescoringRun run) {
+
+        List<String> jobIds = run.getJobOpeningId() != null
+                ? List.of(run.getJobOpeningId())
+                : featuresRepository.findDistinctJobOpeningIds();
+
+        for (String jobId : jobIds) {
+            run.addTotal((int) featuresRepository.countByJobOpeningId(jobId));
+        }
+
+        for (String jobId : jobIds) {
+            run.setCurrentJob(jobId);
+            rescoreJob(run, jobId);
+        }
+    }
+
+    private void rescoreJob(RescoringRun run, String jobId) {
+
+        String jdText = null;
+        double requiredYears = 0;
+
+        if (run.isRefreshJd()) {
+            jdExtractor.reloadJD(jobId);
+            jdText = jdExtractor.getJDText(jobId);
+            requiredYears = jdParser.parse(jdText).requiredExperienceYears();
+        }
+
+        int batchSize = Math.max(1, properties.getRescoring().getBatchSize());
+        String after = "";
+
+        while (true) {
+
+            List<ResumeFeatures> page =
+                    featuresRepository.findByJobOpeningIdAndCandidateIdGreaterThanOrderByCandidateIdAsc(
+                            jobId, after, PageRequest.of(0, batchSize));
+
+            if (page.isEmpty()) break;
+
+            AtsFeatureBlock block = new AtsFeatureBlock(page.size());
+            for (ResumeFeatures f : page) {
+                block.add(f.getCandidateId(), f.toAtsFeatures());
+            }
+
+            if (jdText != null) {
+                block.setRequiredYears(requiredYears);
+                String jd = jdText;
+                // Already running inside the pool, so this parallel stream uses it too.
+                IntStream.range(0, page.size()).parallel().forEach(i ->
+                        block.setSkillScore(i, atsScoringService.skillScore(
+                                nullToEmpty(page.get(i).getResumeText()), jd)));
+            }
+
+            double[] scores = atsScoringService.scoreBatch(block, run.getWeights());
+
+            List<ScoreUpdate> updates = new ArrayList<>(page.size());
+            for (int i = 0; i < page.size(); i++) {
+                ResumeFeatures f = page.get(i);
+                updates.add(new ScoreUpdate(
+                        f.getCandidateId(),
+                        jobId,
+                        f.getVersion() == null ? 0 : f.getVersion(),
+                        block.skillScoreAt(i),
+                        block.requiredYearsAt(i),
+                        scores[i]
+                ));
+            }
+
+            int applied = scoreWriter.write(updates).size();
+
+            run.addProcessed(page.size());
+            run.addUpdated(applied);
+            run.addSkipped(page.size() - applied);
+
+            after = page.get(page.size() - 1).getCandidateId();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    static void validate(AtsScoringWeights w) {
+
+        double[] parts = { w.skill(), w.experience(), w.project(), w.quality() };
+        double sum = 0;
+        for (double part : parts) {
+            if (!(part >= 0)) {
+                throw new IllegalArgumentException("Weights must be non-negative: " + w);
+            }
+            sum += part;
+        }
+        if (Math.abs(sum - 1.0) > 1e-6) {
+            throw new IllegalArgumentException("Weights must sum to 1, got " + sum);
+        }
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
@@ -0,0 +1,74 @@
+package com.caizin.recruitment.service.rescoring;
+
+import com.caizin.recruitment.util.ats.AtsScoringWeights;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk re-scoring run. Counters are updated by worker threads
+ * and read by the status endpoint.
+ */
+public class RescoringRun {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String runId = UUID.randomUUID().toString();
+    private final String jobOpeningId;
+    private final boolean refreshJd;
+    private final AtsScoringWeights weights;
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger updated = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private volatile State state = State.RUNNING;
+    private volatile String currentJob;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    RescoringRun(String jobOpeningId, boolean refreshJd, AtsScoringWeights weights) {
+        this.jobOpeningId = jobOpeningId;
+        this.refreshJd = refreshJd;
+        this.weights = weights;
+    }
+
+    void addTotal(int n) { total.addAndGet(n); }
+    void addProcessed(int n) { processed.addAndGet(n); }
+    void addUpdated(int n) { updated.addAndGet(n); }
+    void addSkipped(int n) { skipped.addAndGet(n); }
+    void setCurrentJob(String jobId) { this.currentJob = jobId; }
+
+    void complete() {
+        this.state = State.COMPLETED;
+        this.finishedAt = Instant.now();
+    }
+
+    void fail(Throwable t) {
+        this.error = t.getMessage();
+        this.state = State.FAILED;
+        this.finishedAt = Instant.now();
+    }
+
+    public String getRunId() { return runId; }
+    public String getJobOpeningId() { return jobOpeningId; }
+    public boolean isRefreshJd() { return refreshJd; }
+    public AtsScoringWeights getWeights() { return weights; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public State getState() { return state; }
+    public String getCurrentJob() { return currentJob; }
+    public String getError() { return error; }
+    public int getTotal() { return total.get(); }
+    public int getProcessed() { return processed.get(); }
+    public int getUpdated() { return updated.get(); }
+    public int getSkipped() { return skipped.get(); }
+
+    public double getProgress() {
+        int t = total.get();
+        return t == 0 ? (state == State.RUNNING ? 0.0 : 1.0) : (double) processed.get() / t;
+    }
+}
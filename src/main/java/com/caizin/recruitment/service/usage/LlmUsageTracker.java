@@ -0,0 +1,252 @@
+package com.caizin.recruitment.service.usage;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.entity.LlmUsage;
+import com.caizin.recruitment.repository.LlmUsageRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Token and cost accounting for OpenAI calls.
+ *
+ * <p>Callers record each completion's {@code usage} against the job opening
+ * and operation it was made for. Counts accumulate in memory in
+ * {@link LongAdder}s per (day, model, job, operation), so recording never
+ * blocks a request thread, and are periodically added to the llm_usage table
+ * with one batched upsert. Cost is priced at flush time from
+ * {@code openai.usage.pricing}.</p>
+ */
+@Service
+public class LlmUsageTracker {
+
+    public static final String QUESTIONS = "questions";
+    public static final String QUESTIONS_STREAM = "questions-stream";
+    public static final String BATCH = "batch";
+
+    private static final Logger log = LoggerFactory.getLogger(LlmUsageTracker.class);
+
+    private static final String UPSERT =
+            "insert into llm_usage (usage_day, model, job_opening_id, operation, calls, cache_hits, "
+                    + "prompt_tokens, cached_prompt_tokens, completion_tokens, cost_usd, updated_at) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "on conflict (usage_day, model, job_opening_id, operation) do update set "
+                    + "calls = llm_usage.calls + excluded.calls, "
+                    + "cache_hits = llm_usage.cache_hits + excluded.cache_hits, "
+                    + "prompt_tokens = llm_usage.prompt_tokens + excluded.prompt_tokens, "
+                    + "cached_prompt_tokens = coalesce(llm_usage.cached_prompt_tokens, 0) + excluded.cached_prompt_tokens, "
+                    + "completion_tokens = llm_usage.completion_tokens + excluded.completion_tokens, "
+                    + "cost_usd = llm_usage.cost_usd + excluded.cost_usd, "
+                    + "updated_at = excluded.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LlmUsageRepository repository;
+    private final OpenAiProperties.Usage config;
+
+    private final Map<Key, Counters> pending = new ConcurrentHashMap<>();
+
+    public LlmUsageTracker(
+            JdbcTemplate jdbcTemplate,
+            LlmUsageRepository repository,
+            OpenAiProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repository = repository;
+        this.config = properties.getUsage();
+    }
+
+    public void record(String operation, String model, String jobOpeningId, OpenAiResponseDto.Usage usage) {
+        Counters c = counters(operation, model, jobOpeningId);
+        c.calls.increment();
+        if (usage != null) {
+            c.promptTokens.add(usage.getPromptTokens());
+            c.cachedPromptTokens.add(usage.cachedPromptTokens());
+            c.completionTokens.add(usage.getCompletionTokens());
+        }
+    }
+
+    public void recordCacheHit(String operation, String model, String jobOpeningId) {
+        counters(operation, model, jobOpeningId).cacheHits.increment();
+    }
+
+    /**
+     * Add everything recorded since the last flush to llm_usage.
+     */
+    @Scheduled(fixedDelayString = "${openai.usage.flush-interval:PT1M}")
+    public synchronized void flush() {
+
+        LocalDate today = LocalDate.now();
+        List<Row> rows = new ArrayList<>();
+
+        for (Key key : pending.keySet()) {
+            // past days receive no more calls; keep the map bounded to today.
+            // Removed before draining, so recording can no longer find an entry once it is drained
+            Counters counters = key.day().isBefore(today) ? pending.remove(key) : pending.get(key);
+            if (counters == null) continue;
+
+            Row row = counters.drain(key);
+            if (!row.isEmpty()) rows.add(row);
+        }
+        if (rows.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, r) -> {
+                ps.setDate(1, Date.valueOf(r.key().day()));
+                ps.setString(2, r.key().model());
+                ps.setString(3, r.key().jobOpeningId());
+                ps.setString(4, r.key().operation());
+                ps.setLong(5, r.calls());
+                ps.setLong(6, r.cacheHits());
+                ps.setLong(7, r.promptTokens());
+                ps.setLong(8, r.cachedPromptTokens());
+                ps.setLong(9, r.completionTokens());
+                ps.setDouble(10, cost(r));
+                ps.setTimestamp(11, now);
+            });
+            log.debug("Flushed {} LLM usage rows", rows.size());
+        } catch (RuntimeException e) {
+            // put the counts back so the next flush retries them
+            rows.forEach(r -> pending.computeIfAbsent(r.key(), k -> new Counters()).restore(r));
+            log.warn("Could not flush LLM usage ({} rows): {}", rows.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Totals between two days, inclusive, grouped by {@code job}, {@code day},
+     * {@code model} or {@code operation}. Pending counts are flushed first.
+     */
+    public List<Map<String, Object>> totals(LocalDate from, LocalDate to, String groupBy, String jobOpeningId) {
+
+        flush();
+
+        List<LlmUsage> rows = jobOpeningId == null
+                ? repository.findByUsageDayBetween(from, to)
+                : repository.findByUsageDayBetweenAndJobOpeningId(from, to, jobOpeningId);
+
+        Function<LlmUsage, String> dimension = switch (groupBy) {
+            case "job" -> LlmUsage::getJobOpeningId;
+            case "model" -> LlmUsage::getModel;
+            case "operation" -> LlmUsage::getOperation;
+            case "day" -> u -> u.getUsageDay().toString();
+            default -> throw new IllegalArgumentException("groupBy must be job, day, model or operation");
+        };
+
+        Map<String, long[]> tokens = new TreeMap<>();
+        Map<String, Double> costs = new TreeMap<>();
+        for (LlmUsage u : rows) {
+            String k = dimension.apply(u);
+            long[] t = tokens.computeIfAbsent(k, x -> new long[5]);
+            t[0] += u.getCalls();
+            t[1] += u.getCacheHits();
+            t[2] += u.getPromptTokens();
+            t[3] += u.getCachedPromptTokens() == null ? 0 : u.getCachedPromptTokens();
+            t[4] += u.getCompletionTokens();
+            costs.merge(k, u.getCostUsd(), Double::sum);
+        }
+
+        List<Map<String, Object>> out = new ArrayList<>();
+        tokens.forEach((k, t) -> {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put(groupBy, k);
+            m.put("calls", t[0]);
+            m.put("cacheHits", t[1]);
+            m.put("promptTokens", t[2]);
+            m.put("cachedPromptTokens", t[3]);
+            m.put("promptCacheRatio", t[2] == 0 ? 0.0 : Math.round(1000.0 * t[3] / t[2]) / 1000.0);
+            m.put("completionTokens", t[4]);
+            m.put("costUsd", Math.round(costs.get(k) * 10_000) / 10_000.0);
+            out.add(m);
+        });
+        return out;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private Counters counters(String operation, String model, String jobOpeningId) {
+        Key key = new Key(
+                LocalDate.now(),
+                model == null || model.isBlank() ? "unknown" : model,
+                jobOpeningId == null ? "" : jobOpeningId,
+                operation);
+        return pending.computeIfAbsent(key, k -> new Counters());
+    }
+
+    private double cost(Row r) {
+
+        OpenAiProperties.Price price = price(r.key().model());
+        if (price == null) return 0;
+
+        double cachedPrice = price.getCachedInputPerMillion() != null
+                ? price.getCachedInputPerMillion()
+                : price.getInputPerMillion();
+
+        double usd = ((r.promptTokens() - r.cachedPromptTokens()) * price.getInputPerMillion()
+                + r.cachedPromptTokens() * cachedPrice
+                + r.completionTokens() * price.getOutputPerMillion()) / 1_000_000d;
+
+        return BATCH.equals(r.key().operation()) ? usd * config.getBatchDiscount() : usd;
+    }
+
+    private OpenAiProperties.Price price(String model) {
+        return config.getPricing().entrySet().stream()
+                .filter(e -> model.startsWith(e.getKey()))
+                .max(Comparator.comparingInt(e -> e.getKey().length()))
+                .map(Map.Entry::getValue)
+                .orElse(null);
+    }
+
+    private record Key(LocalDate day, String model, String jobOpeningId, String operation) { }
+
+    private record Row(Key key, long calls, long cacheHits, long promptTokens, long cachedPromptTokens, long completionTokens) {
+        boolean isEmpty() {
+            return calls == 0 && cacheHits == 0 && promptTokens == 0 && completionTokens == 0;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder cacheHits = new LongAdder();
+        final LongAdder promptTokens = new LongAdder();
+        final LongAdder cachedPromptTokens = new LongAdder();
+        final LongAdder completionTokens = new LongAdder();
+
+        Row drain(Key key) {
+            return new Row(key,
+                    calls.sumThenReset(),
+                    cacheHits.sumThenReset(),
+                    promptTokens.sumThenReset(),
+                    cachedPromptTokens.sumThenReset(),
+                    completionTokens.sumThenReset());
+        }
+
+        void restore(Row r) {
+            calls.add(r.calls());
+            cacheHits.add(r.cacheHits());
+            promptTokens.add(r.promptTokens());
+            cachedPromptTokens.add(r.cachedPromptTokens());
+            completionTokens.add(r.completionTokens());
+        }
+    }
+}
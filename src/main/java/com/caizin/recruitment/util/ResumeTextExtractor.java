@@ -8,6 +8,11 @@ import java.io.File;
 @Service
 public class ResumeTextExtractor {
 
+    /**
+     * Bump whenever extraction output changes so stored features get backfilled.
+     */
+    public static final int VERSION = 1;
+
     private final Tika tika = new Tika();
 
     public String extractText(File file) {
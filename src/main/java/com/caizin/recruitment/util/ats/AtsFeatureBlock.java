@@ -0,0 +1,139 @@
+package com.caizin.recruitment.util.ats;
+
+import com.caizin.recruitment.entity.AtsFeatures;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Columnar (structure-of-arrays) block of ATS features, one row per candidate.
+ *
+ * <p>Each feature lives in its own primitive array so the batch kernels can
+ * stream over contiguous memory. Arrays may be longer than {@link #size()};
+ * only the first {@code size} entries are meaningful.</p>
+ */
+public class AtsFeatureBlock {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private String[] ids;
+    private double[] skillScore;
+    private double[] candidateYears;
+    private double[] requiredYears;
+    private double[] projectCount;
+    private double[] qualityLength;
+    private double[] qualitySkills;
+    private double[] qualityExperience;
+    private double[] qualityProject;
+    private double[] qualityKeyword;
+
+    private int size;
+
+    public AtsFeatureBlock() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AtsFeatureBlock(int capacity) {
+        int c = Math.max(capacity, 1);
+        ids = new String[c];
+        skillScore = new double[c];
+        candidateYears = new double[c];
+        requiredYears = new double[c];
+        projectCount = new double[c];
+        qualityLength = new double[c];
+        qualitySkills = new double[c];
+        qualityExperience = new double[c];
+        qualityProject = new double[c];
+        qualityKeyword = new double[c];
+    }
+
+    public static AtsFeatureBlock of(Collection<? extends Row> rows) {
+        AtsFeatureBlock block = new AtsFeatureBlock(rows.size());
+        for (Row row : rows) {
+            block.add(row.id(), row.features());
+        }
+        return block;
+    }
+
+    public int add(String id, AtsFeatures f) {
+        ensureCapacity(size + 1);
+
+        int i = size++;
+        ids[i] = id;
+        skillScore[i] = f.skillScore();
+        candidateYears[i] = f.candidateYears();
+        requiredYears[i] = f.requiredYears();
+        projectCount[i] = f.projectCount();
+        qualityLength[i] = f.qualityLength();
+        qualitySkills[i] = f.qualitySkills();
+        qualityExperience[i] = f.qualityExperience();
+        qualityProject[i] = f.qualityProject();
+        qualityKeyword[i] = f.qualityKeyword();
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String id(int row) {
+        return ids[row];
+    }
+
+    public double skillScoreAt(int row) {
+        return skillScore[row];
+    }
+
+    public double requiredYearsAt(int row) {
+        return requiredYears[row];
+    }
+
+    /**
+     * Replace the skill column for one row, e.g. after the JD changed.
+     */
+    public void setSkillScore(int row, double value) {
+        skillScore[row] = value;
+    }
+
+    /**
+     * Replace the required-years column for every row, e.g. after the JD changed.
+     */
+    public void setRequiredYears(double value) {
+        Arrays.fill(requiredYears, 0, size, value);
+    }
+
+    double[] skillScore() { return skillScore; }
+    double[] candidateYears() { return candidateYears; }
+    double[] requiredYears() { return requiredYears; }
+    double[] projectCount() { return projectCount; }
+    double[] qualityLength() { return qualityLength; }
+    double[] qualitySkills() { return qualitySkills; }
+    double[] qualityExperience() { return qualityExperience; }
+    double[] qualityProject() { return qualityProject; }
+    double[] qualityKeyword() { return qualityKeyword; }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) return;
+
+        int c = Math.max(needed, ids.length * 2);
+        ids = Arrays.copyOf(ids, c);
+        skillScore = Arrays.copyOf(skillScore, c);
+        candidateYears = Arrays.copyOf(candidateYears, c);
+        requiredYears = Arrays.copyOf(requiredYears, c);
+        projectCount = Arrays.copyOf(projectCount, c);
+        qualityLength = Arrays.copyOf(qualityLength, c);
+        qualitySkills = Arrays.copyOf(qualitySkills, c);
+        qualityExperience = Arrays.copyOf(qualityExperience, c);
+        qualityProject = Arrays.copyOf(qualityProject, c);
+        qualityKeyword = Arrays.copyOf(qualityKeyword, c);
+    }
+
+    /**
+     * Anything that can contribute one row to a block.
+     */
+    public interface Row {
+        String id();
+
+        AtsFeatures features();
+    }
+}
@@ -0,0 +1,9 @@
+package com.caizin.recruitment.util.ats;
+
+/**
+ * Computes final ATS scores for every row of a feature block.
+ */
+interface AtsScoreKernel {
+
+    void score(AtsFeatureBlock block, AtsScoringWeights weights, double[] out);
+}
@@ -0,0 +1,17 @@
+package com.caizin.recruitment.util.ats;
+
+/**
+ * Weights of the four ATS components. Must sum to 1 for scores to stay in 0..100.
+ */
+public record AtsScoringWeights(
+
+        double skill,
+        double experience,
+        double project,
+        double quality
+
+) {
+
+    public static final AtsScoringWeights DEFAULT =
+            new AtsScoringWeights(0.45, 0.25, 0.20, 0.10);
+}
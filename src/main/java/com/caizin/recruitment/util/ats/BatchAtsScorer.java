@@ -0,0 +1,57 @@
+package com.caizin.recruitment.util.ats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scores whole {@link AtsFeatureBlock}s at once.
+ *
+ * <p>Uses the SIMD kernel when it was compiled in (build with
+ * {@code -PvectorAts}) and the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, otherwise the scalar loop.
+ * Both produce identical results. The SIMD kernel lives in its own source
+ * directory, so it is looked up by name rather than referenced.</p>
+ */
+@Component
+public class BatchAtsScorer {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchAtsScorer.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.caizin.recruitment.util.ats.VectorAtsScoreKernel";
+
+    private final AtsScoreKernel kernel;
+
+    public BatchAtsScorer() {
+        this.kernel = selectKernel();
+    }
+
+    public double[] score(AtsFeatureBlock block, AtsScoringWeights weights) {
+        double[] out = new double[block.size()];
+        kernel.score(block, weights, out);
+        return out;
+    }
+
+    public boolean isVectorized() {
+        return !(kernel instanceof ScalarAtsScoreKernel);
+    }
+
+    private static AtsScoreKernel selectKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                AtsScoreKernel vector = (AtsScoreKernel) Class.forName(VECTOR_KERNEL)
+                        .getDeclaredConstructor()
+                        .newInstance();
+                log.info("ATS batch scoring uses the Vector API kernel");
+                return vector;
+            } catch (ClassNotFoundException e) {
+                log.info("ATS batch scoring uses the scalar kernel (built without -PvectorAts)");
+                return new ScalarAtsScoreKernel();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector API present but unusable, falling back to scalar ATS kernel: {}", e.toString());
+            }
+        }
+        log.info("ATS batch scoring uses the scalar kernel ({} not enabled)", VECTOR_MODULE);
+        return new ScalarAtsScoreKernel();
+    }
+}
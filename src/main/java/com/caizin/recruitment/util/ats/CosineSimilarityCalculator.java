@@ -15,6 +15,19 @@ public class CosineSimilarityCalculator {
         return cosine(v1, v2);
     }
 
+    /**
+     * Term frequencies with the same tokenization as {@link #calculate}.
+     *
+     * <p>With only two documents, IDF is zero for terms found in one of them,
+     * so the cosine reduces to a sum over shared terms:
+     * dot(tf1, tf2) / (|tf1 on shared| * |tf2 on shared|). This lets callers
+     * compute the same score from precomputed frequencies.</p>
+     */
+    public Map<String, Double> termFrequencies(String text){
+
+        return computeTF(tokenize(text));
+    }
+
     private Map<String, Double> tfidf(
             String doc,
             String doc1,
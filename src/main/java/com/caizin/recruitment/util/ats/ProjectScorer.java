@@ -9,10 +9,15 @@ public class ProjectScorer {
 
     public double score(List<String> projects){
 
-        if(projects.isEmpty())
+        return score(projects.size());
+    }
+
+    public double score(int projectCount){
+
+        if(projectCount == 0)
             return 40;
 
         return Math.min(
-                projects.size()*20,100);
+                projectCount*20,100);
     }
 }
\ No newline at end of file
@@ -23,6 +23,21 @@ public class ResumeQualityScorer {
 
         double keywordScore = keywordScore(resumeText);
 
+        return combine(
+                lengthScore,
+                skillsScore,
+                experienceScore,
+                projectScore,
+                keywordScore);
+    }
+
+    public double combine(
+            double lengthScore,
+            double skillsScore,
+            double experienceScore,
+            double projectScore,
+            double keywordScore) {
+
         double finalScore =
                 0.30 * lengthScore +
                         0.25 * skillsScore +
@@ -33,7 +48,7 @@ public class ResumeQualityScorer {
         return Math.min(finalScore, 100);
     }
 
-    private double lengthScore(String text) {
+    public double lengthScore(String text) {
 
         int words = text.split("\\s+").length;
 
@@ -45,7 +60,7 @@ public class ResumeQualityScorer {
         return 30;
     }
 
-    private double skillsScore(List<String> skills) {
+    public double skillsScore(List<String> skills) {
 
         if (skills.size() >= 8) return 100;
         if (skills.size() >= 5) return 80;
@@ -54,7 +69,7 @@ public class ResumeQualityScorer {
         return 40;
     }
 
-    private double experienceScore(double years) {
+    public double experienceScore(double years) {
 
         if (years >= 5) return 100;
         if (years >= 3) return 80;
@@ -63,16 +78,21 @@ public class ResumeQualityScorer {
         return 40;
     }
 
-    private double projectScore(List<String> projects) {
+    public double projectScore(List<String> projects) {
+
+        return projectScore(projects.size());
+    }
+
+    public double projectScore(int projectCount) {
 
-        if (projects.size() >= 4) return 100;
-        if (projects.size() >= 2) return 80;
-        if (projects.size() >= 1) return 60;
+        if (projectCount >= 4) return 100;
+        if (projectCount >= 2) return 80;
+        if (projectCount >= 1) return 60;
 
         return 40;
     }
 
-    private double keywordScore(String text) {
+    public double keywordScore(String text) {
 
         String lower = text.toLowerCase();
 
@@ -0,0 +1,47 @@
+package com.caizin.recruitment.util.ats;
+
+/**
+ * Plain loop over the feature columns.
+ *
+ * <p>The arithmetic mirrors {@link ExperienceScorer}, {@link ProjectScorer},
+ * {@link ResumeQualityScorer} and {@code ATSScoringService} operation for
+ * operation, so results are bit-for-bit identical to the per-candidate path.</p>
+ */
+final class ScalarAtsScoreKernel implements AtsScoreKernel {
+
+    @Override
+    public void score(AtsFeatureBlock block, AtsScoringWeights weights, double[] out) {
+        for (int i = 0; i < block.size(); i++) {
+            out[i] = row(block, weights, i);
+        }
+    }
+
+    static double row(AtsFeatureBlock b, AtsScoringWeights w, int i) {
+
+        double required = b.requiredYears()[i];
+        double experienceScore = required <= 0
+                ? 70
+                : Math.min((b.candidateYears()[i] / required) * 100, 100);
+
+        double projects = b.projectCount()[i];
+        double projectScore = projects == 0
+                ? 40
+                : Math.min(projects * 20, 100);
+
+        double qualityScore = Math.min(
+                0.30 * b.qualityLength()[i] +
+                        0.25 * b.qualitySkills()[i] +
+                        0.20 * b.qualityExperience()[i] +
+                        0.15 * b.qualityProject()[i] +
+                        0.10 * b.qualityKeyword()[i],
+                100);
+
+        double finalScore =
+                w.skill() * b.skillScore()[i] +
+                        w.experience() * experienceScore +
+                        w.project() * projectScore +
+                        w.quality() * qualityScore;
+
+        return Math.round(finalScore * 100.0) / 100.0;
+    }
+}
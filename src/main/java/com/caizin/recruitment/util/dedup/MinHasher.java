@@ -0,0 +1,142 @@
+package com.caizin.recruitment.util.dedup;
+
+import com.caizin.recruitment.config.DedupProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles of resume text.
+ *
+ * <p>Text is lower-cased and reduced to alphanumeric words, each run of
+ * {@code shingleSize} words is hashed to 64 bits, and slot {@code i} of the
+ * signature keeps the minimum of the i-th hash permutation. The fraction of
+ * equal slots between two signatures estimates the Jaccard similarity of
+ * their shingle sets.</p>
+ */
+@Component
+public class MinHasher {
+
+    // fixed so signatures stored in the database stay comparable across restarts
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int numHashes;
+    private final int shingleSize;
+    private final long[] multipliers;
+    private final long[] offsets;
+
+    public MinHasher(DedupProperties properties) {
+
+        if (properties.getNumHashes() <= 0
+                || properties.getBands() <= 0
+                || properties.getNumHashes() % properties.getBands() != 0) {
+            throw new IllegalStateException(
+                    "dedup.num-hashes must be a positive multiple of dedup.bands");
+        }
+
+        this.numHashes = properties.getNumHashes();
+        this.shingleSize = Math.max(1, properties.getShingleSize());
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        this.multipliers = new long[numHashes];
+        this.offsets = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            offsets[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    /**
+     * Signature of the text, or null when it has no words.
+     */
+    public int[] signature(String text) {
+
+        if (text == null || text.isBlank()) return null;
+
+        String[] words = text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{Alnum}]+", " ")
+                .trim()
+                .split(" ");
+        if (words.length == 0 || words[0].isEmpty()) return null;
+
+        long[] min = new long[numHashes];
+        Arrays.fill(min, Long.MAX_VALUE);
+
+        int shingles = Math.max(1, words.length - shingleSize + 1);
+        for (int s = 0; s < shingles; s++) {
+            long h = shingleHash(words, s, Math.min(shingleSize, words.length));
+            for (int i = 0; i < numHashes; i++) {
+                long v = mix(h * multipliers[i] + offsets[i]) >>> 32;
+                if (v < min[i]) min[i] = v;
+            }
+        }
+
+        int[] sig = new int[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            sig[i] = (int) min[i];
+        }
+        return sig;
+    }
+
+    /**
+     * Fraction of equal slots; 0 if the signatures are not comparable.
+     */
+    public static double similarity(int[] a, int[] b) {
+
+        if (a == null || b == null || a.length != b.length || a.length == 0) return 0;
+
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / a.length;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+
+        if (signature == null) return null;
+
+        ByteBuffer buf = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buf.asIntBuffer().put(signature);
+        return buf.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+
+        if (bytes == null || bytes.length % Integer.BYTES != 0) return null;
+
+        int[] sig = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(sig);
+        return sig;
+    }
+
+    private static long shingleHash(String[] words, int from, int length) {
+
+        // FNV-1a over the UTF-8 bytes, with a separator between words
+        long h = 0xcbf29ce484222325L;
+        for (int w = from; w < from + length; w++) {
+            for (byte b : words[w].getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            h ^= ' ';
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
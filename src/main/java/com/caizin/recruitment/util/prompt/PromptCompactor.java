@@ -0,0 +1,295 @@
+package com.caizin.recruitment.util.prompt;
+
+import com.caizin.recruitment.config.PromptCompactionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks resume and job-description text before it is sent to the LLM or MCP.
+ *
+ * <p>Text is normalised (whitespace, bullets, control characters), split into
+ * sections on heading lines, and stripped of lines that repeat or carry no
+ * signal (page footers, "references available on request", EEO boilerplate).
+ * If the result is still over the field's token budget, low-value sections
+ * are dropped first and the rest are cut at line boundaries, keeping each
+ * section's opening lines.</p>
+ */
+@Component
+public class PromptCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptCompactor.class);
+
+    private static final Pattern CONTROL = Pattern.compile("[\\p{Cntrl}&&[^\n\t]]");
+    private static final Pattern BULLET = Pattern.compile("^[\\s•·▪●◦■□➢➤►\\-*–—]+");
+    private static final Pattern SPACES = Pattern.compile("[\\t \\u00A0\\u2000-\\u200B]+");
+    private static final Pattern RULE = Pattern.compile("^[\\p{Punct}=_~\\s]{3,}$");
+    private static final Pattern SENTENCE = Pattern.compile("(?<=[.!?])\\s+");
+    private static final Pattern HEADING = Pattern.compile("^[A-Za-z][A-Za-z &/,'()-]{1,40}:?$");
+
+    private static final List<Pattern> BOILERPLATE = List.of(
+            Pattern.compile("^page \\d+( of \\d+)?$"),
+            Pattern.compile("^\\d+\\s*/\\s*\\d+$"),
+            Pattern.compile("^(curriculum vitae|resume|résumé|cv)$"),
+            Pattern.compile("references (are )?(available )?(up)?on request"),
+            Pattern.compile("^i hereby declare"),
+            Pattern.compile("best of my knowledge"),
+            Pattern.compile("equal (employment )?opportunity employer"),
+            Pattern.compile("without regard to (race|age|gender|religion)"),
+            Pattern.compile("^(confidential|private and confidential)$")
+    );
+
+    /**
+     * Sections dropped first when over budget; matched against the heading.
+     */
+    private static final List<String> RESUME_LOW_VALUE = List.of(
+            "reference", "hobbies", "hobby", "interests", "declaration",
+            "personal details", "personal information", "personal profile", "languages known");
+
+    private static final List<String> JD_LOW_VALUE = List.of(
+            "about us", "about the company", "who we are", "benefits", "perks",
+            "what we offer", "equal opportunity", "how to apply", "compensation");
+
+    public enum Field { RESUME, JOB_DESCRIPTION }
+
+    private final PromptCompactionProperties properties;
+
+    public PromptCompactor(PromptCompactionProperties properties) {
+        this.properties = properties;
+    }
+
+    public String compactResume(String text) {
+        return compact(Field.RESUME, text);
+    }
+
+    public String compactJobDescription(String text) {
+        return compact(Field.JOB_DESCRIPTION, text);
+    }
+
+    public String compact(Field field, String text) {
+
+        if (text == null || text.isBlank() || !properties.isEnabled()) return text;
+
+        int budget = field == Field.RESUME
+                ? properties.getResumeMaxTokens()
+                : properties.getJdMaxTokens();
+
+        int before = TokenEstimator.estimate(text);
+
+        List<Section> sections = sections(clean(text));
+        int tokens = tokens(sections);
+
+        if (budget > 0 && tokens > budget) {
+            tokens = dropLowValue(sections, field, tokens, budget);
+        }
+        if (budget > 0 && tokens > budget) {
+            truncate(sections, budget);
+        }
+
+        String compacted = render(sections);
+        int after = TokenEstimator.estimate(compacted);
+
+        log.info("Compacted {} from ~{} to ~{} tokens (budget {})", field, before, after, budget);
+
+        return compacted;
+    }
+
+    /**
+     * Normalised, non-empty, de-duplicated lines with boilerplate removed.
+     */
+    private static List<String> clean(String text) {
+
+        String normalised = CONTROL.matcher(text.replace("\r\n", "\n").replace('\r', '\n'))
+                .replaceAll("");
+
+        List<String> lines = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (String raw : normalised.split("\n")) {
+
+            String line = SPACES.matcher(BULLET.matcher(raw).replaceFirst("")).replaceAll(" ").strip();
+            if (line.isEmpty() || RULE.matcher(line).matches()) continue;
+
+            line = dropBoilerplate(line);
+            if (line.isEmpty() || !seen.add(line.toLowerCase(Locale.ROOT))) continue;
+
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * The line without boilerplate sentences; empty if nothing else is left.
+     */
+    private static String dropBoilerplate(String line) {
+
+        if (!isBoilerplate(line.toLowerCase(Locale.ROOT))) return line;
+
+        StringBuilder kept = new StringBuilder();
+        for (String sentence : SENTENCE.split(line)) {
+            if (isBoilerplate(sentence.toLowerCase(Locale.ROOT))) continue;
+            if (!kept.isEmpty()) kept.append(' ');
+            kept.append(sentence);
+        }
+        return kept.toString();
+    }
+
+    private static boolean isBoilerplate(String lower) {
+        for (Pattern p : BOILERPLATE) {
+            if (p.matcher(lower).find()) return true;
+        }
+        return false;
+    }
+
+    private static List<Section> sections(List<String> lines) {
+
+        List<Section> sections = new ArrayList<>();
+        Section current = new Section(null);
+        sections.add(current);
+
+        for (String line : lines) {
+            if (isHeading(line)) {
+                current = new Section(line);
+                sections.add(current);
+            } else {
+                current.add(line);
+            }
+        }
+        sections.removeIf(s -> s.lines.isEmpty() && s.heading == null);
+        return sections;
+    }
+
+    private static boolean isHeading(String line) {
+        if (!HEADING.matcher(line).matches()) return false;
+        if (line.endsWith(":")) return true;
+        // short all-caps lines such as "WORK EXPERIENCE"
+        return line.length() <= 30 && line.equals(line.toUpperCase(Locale.ROOT));
+    }
+
+    private static int dropLowValue(List<Section> sections, Field field, int tokens, int budget) {
+
+        List<String> lowValue = field == Field.RESUME ? RESUME_LOW_VALUE : JD_LOW_VALUE;
+
+        for (Section s : sections) {
+            if (tokens <= budget) break;
+            if (s.heading == null || s.dropped) continue;
+
+            String heading = s.heading.toLowerCase(Locale.ROOT);
+            if (lowValue.stream().anyMatch(heading::contains)) {
+                s.dropped = true;
+                tokens -= s.tokens();
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Share the budget across the remaining sections in proportion to their size
+     * and keep each one's leading lines up to its share.
+     */
+    private static void truncate(List<Section> sections, int budget) {
+
+        int total = tokens(sections);
+        if (total == 0) return;
+
+        for (Section s : sections) {
+            if (s.dropped) continue;
+
+            int share = (int) ((long) budget * s.tokens() / total);
+            int used = s.heading == null ? 0 : TokenEstimator.estimate(s.heading);
+            int keep = 0;
+
+            while (keep < s.lines.size()) {
+                int cost = s.lineTokens.get(keep);
+                if (used + cost > share) {
+                    // a single long paragraph still gets its opening words
+                    if (keep == 0) s.replace(0, cut(s.lines.get(0), Math.max(share - used, 1)));
+                    keep = Math.max(keep, 1);
+                    break;
+                }
+                used += cost;
+                keep++;
+            }
+            s.keep(keep);
+        }
+    }
+
+    /**
+     * Leading words of {@code line} that fit in {@code maxTokens}.
+     */
+    private static String cut(String line, int maxTokens) {
+
+        int used = 0;
+        int end = 0;
+        for (String word : line.split(" ")) {
+            int cost = TokenEstimator.estimate(word);
+            if (used + cost > maxTokens && end > 0) break;
+            used += cost;
+            end += (end == 0 ? 0 : 1) + word.length();
+        }
+        return end >= line.length() ? line : line.substring(0, end) + " ...";
+    }
+
+    private static int tokens(List<Section> sections) {
+        int sum = 0;
+        for (Section s : sections) {
+            if (!s.dropped) sum += s.tokens();
+        }
+        return sum;
+    }
+
+    private static String render(List<Section> sections) {
+
+        StringBuilder out = new StringBuilder();
+        for (Section s : sections) {
+            if (s.dropped || (s.heading == null && s.lines.isEmpty())) continue;
+
+            if (!out.isEmpty()) out.append('\n');
+            if (s.heading != null) out.append(s.heading).append('\n');
+            for (String line : s.lines) {
+                out.append(line).append('\n');
+            }
+        }
+        return out.toString().strip();
+    }
+
+    private static final class Section {
+
+        final String heading;
+        final List<String> lines = new ArrayList<>();
+        final List<Integer> lineTokens = new ArrayList<>();
+        boolean dropped;
+
+        Section(String heading) {
+            this.heading = heading;
+        }
+
+        void add(String line) {
+            lines.add(line);
+            lineTokens.add(TokenEstimator.estimate(line));
+        }
+
+        void replace(int index, String line) {
+            lines.set(index, line);
+            lineTokens.set(index, TokenEstimator.estimate(line));
+        }
+
+        void keep(int count) {
+            lines.subList(count, lines.size()).clear();
+            lineTokens.subList(count, lineTokens.size()).clear();
+        }
+
+        int tokens() {
+            int sum = heading == null ? 0 : TokenEstimator.estimate(heading);
+            for (int t : lineTokens) sum += t;
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.caizin.recruitment.util.prompt;
+
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.entity.ParsedResume;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the screening-question prompt as two messages: a system message
+ * holding the instructions, rules, output format and job details, and a user
+ * message holding only the candidate profile.
+ *
+ * <p>The system message depends on nothing but the job, so every candidate of
+ * the same job sends a byte-identical prefix and OpenAI's prompt cache can
+ * serve it. Anything that varies per candidate must stay in
+ * {@link #candidateMessage}; putting it in the prefix, or making the prefix
+ * depend on time, locale or ordering, silently turns cache hits into misses.</p>
+ */
+@Component
+public class ScreeningPromptBuilder {
+
+    private static final String INSTRUCTIONS = """
+            You are a senior technical interviewer.
+
+            Generate 10 highly personalized screening questions
+            for the candidate based on BOTH:
+
+            1) The job description below
+            2) The candidate profile in the user message
+
+            ================================
+            RULES
+            ================================
+            - Questions must reference candidate's experience.
+            - Validate skills against job requirements.
+            - Ask about listed projects.
+            - Include architecture/design questions.
+            - Include experience-depth validation.
+            - No MCQs.
+            - No coding challenges.
+            - Avoid generic textbook questions.
+
+            Return JSON format:
+            {
+              "questions": [
+                {
+                  "type": "...",
+                  "question": "..."
+                }
+              ]
+            }
+            """;
+
+    private final PromptCompactor promptCompactor;
+
+    public ScreeningPromptBuilder(PromptCompactor promptCompactor) {
+        this.promptCompactor = promptCompactor;
+    }
+
+    public List<OpenAiRequestDto.Message> messages(JobDto job, ParsedResume resume) {
+        return List.of(
+                new OpenAiRequestDto.Message("system", jobPrefix(job)),
+                new OpenAiRequestDto.Message("user", candidateMessage(resume)));
+    }
+
+    /**
+     * Identical for every candidate of {@code job}.
+     */
+    public String jobPrefix(JobDto job) {
+        return INSTRUCTIONS + """
+
+                ================================
+                JOB DETAILS
+                ================================
+                Job Title: %s
+                Department: %s
+                Required Experience: %s
+
+                Job Description:
+                %s
+                """.formatted(
+                safe(job.getTitle()),
+                safe(job.getDepartment()),
+                safe(job.getExperience()),
+                safe(promptCompactor.compactJobDescription(job.getDescription())));
+    }
+
+    public String candidateMessage(ParsedResume resume) {
+        return """
+                ================================
+                CANDIDATE PROFILE
+                ================================
+                Name: %s
+                Email: %s
+                Years of Experience: %s
+                Skills: %s
+                Projects: %s
+                """.formatted(
+                safe(resume.fullName()),
+                safe(resume.email()),
+                String.format(Locale.ROOT, "%.1f", resume.yearsOfExperience()),
+                resume.skills(),
+                resume.projects());
+    }
+
+    /**
+     * Routes all of a job's requests to the same cache shard, as OpenAI's
+     * {@code prompt_cache_key} suggests for requests sharing a long prefix.
+     */
+    public String cacheKey(JobDto job) {
+        return job.getJobOpeningId() == null ? null : "screening-" + job.getJobOpeningId();
+    }
+
+    private static String safe(String s) {
+        return (s == null || s.isBlank()) ? "N/A" : s;
+    }
+}
@@ -0,0 +1,42 @@
+package com.caizin.recruitment.util.prompt;
+
+/**
+ * Cheap local estimate of BPE token counts (cl100k/o200k style) without a vocabulary.
+ *
+ * <p>Each run of letters counts as one token per started four characters, each
+ * run of digits one token per three, and every other non-space character one
+ * token. For English prose and resumes this lands within about 10% of the real
+ * tokenizer, which is enough for budgeting.</p>
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+
+        if (text == null) return 0;
+
+        int tokens = 0;
+        int i = 0;
+        int n = text.length();
+
+        while (i < n) {
+            char c = text.charAt(i);
+
+            if (Character.isLetter(c)) {
+                int start = i;
+                while (i < n && Character.isLetter(text.charAt(i))) i++;
+                tokens += (i - start + 3) / 4;
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < n && Character.isDigit(text.charAt(i))) i++;
+                tokens += (i - start + 2) / 3;
+            } else {
+                if (!Character.isWhitespace(c)) tokens++;
+                i++;
+            }
+        }
+        return tokens;
+    }
+}
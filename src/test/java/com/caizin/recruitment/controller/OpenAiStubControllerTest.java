@@ -0,0 +1,192 @@
+package com.caizin.recruitment.controller;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.OpenAiBatchDto;
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.entity.QuestionBatch;
+import com.caizin.recruitment.entity.QuestionBatchRequest;
+import com.caizin.recruitment.integration.openai.OpenAiBatchClient;
+import com.caizin.recruitment.integration.openai.OpenAiResponseCache;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.repository.QuestionBatchRepository;
+import com.caizin.recruitment.repository.QuestionBatchRequestRepository;
+import com.caizin.recruitment.service.CandidateQuestionGenerationService;
+import com.caizin.recruitment.service.impl.OpenAiLlmService;
+import com.caizin.recruitment.service.questions.QuestionBatchService;
+import com.caizin.recruitment.service.questions.ScreeningQuestionStore;
+import com.caizin.recruitment.service.usage.LlmUsageTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the stub through the real {@link OpenAiBatchClient}; requests are
+ * handed to the controller in-process instead of over a socket.
+ */
+class OpenAiStubControllerTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private OpenAiStubController stub;
+    private OpenAiProperties properties;
+    private OpenAiBatchClient batchClient;
+
+    @BeforeEach
+    void setUp() {
+        stub = new OpenAiStubController(JSON);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(stub).build();
+
+        properties = new OpenAiProperties();
+        properties.setBaseUrl("http://stub/openai-stub/v1");
+        properties.setApiKey("test");
+        properties.setModel("gpt-4o-mini");
+        properties.getBatch().setEnabled(true);
+
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(forwardTo(mvc)).build();
+        batchClient = new OpenAiBatchClient(httpClient, JSON, properties);
+    }
+
+    @Test
+    void batchesAreListedNewestFirst() throws IOException {
+        String fileId = upload("");
+        String first = batchClient.createBatch(fileId, "24h", Map.of("local_batch_id", "a")).getId();
+        String second = batchClient.createBatch(fileId, "24h", Map.of("local_batch_id", "b")).getId();
+        String third = batchClient.createBatch(fileId, "24h", Map.of("local_batch_id", "c")).getId();
+
+        assertThat(batchClient.listBatches(100).getData())
+                .extracting(OpenAiBatchDto::getId)
+                .containsExactly(third, second, first);
+        assertThat(batchClient.listBatches(2).getData())
+                .extracting(b -> b.getMetadata().get("local_batch_id"))
+                .containsExactly("c", "b");
+    }
+
+    @Test
+    void interruptedUploadIsRecoveredFromTheListing() throws IOException {
+        QuestionBatchRepository batchRepository = mock(QuestionBatchRepository.class);
+        QuestionBatchRequestRepository requestRepository = mock(QuestionBatchRequestRepository.class);
+        CandidateRepository candidateRepository = mock(CandidateRepository.class);
+        OpenAiLlmService llmService = mock(OpenAiLlmService.class);
+        ScreeningQuestionStore questionStore = mock(ScreeningQuestionStore.class);
+        QuestionBatchService service = new QuestionBatchService(
+                candidateRepository,
+                batchRepository,
+                requestRepository,
+                mock(CandidateQuestionGenerationService.class),
+                llmService,
+                batchClient,
+                mock(OpenAiResponseCache.class),
+                questionStore,
+                JSON,
+                properties,
+                new QuestionGenerationProperties(),
+                mock(LlmUsageTracker.class));
+
+        // the batch reached OpenAI, but the process died before its id was saved
+        QuestionBatch batch = new QuestionBatch();
+        batch.setId(UUID.randomUUID());
+        batch.setStatus("uploading");
+        batch.setUpdatedAt(LocalDateTime.now().minusHours(2));
+
+        QuestionBatchRequest row = new QuestionBatchRequest();
+        row.setCustomId(batch.getId() + ":c1");
+        row.setBatchId(batch.getId());
+        row.setCandidateId("c1");
+        row.setJobOpeningId("job-1");
+        row.setStatus(QuestionBatchRequest.SUBMITTED);
+
+        String fileId = upload("{\"custom_id\":\"" + row.getCustomId() + "\",\"method\":\"POST\","
+                + "\"url\":\"/v1/chat/completions\",\"body\":{\"messages\":[{\"role\":\"user\",\"content\":\"Skills: java\"}]}}\n");
+        String remoteId = batchClient.createBatch(fileId, "24h", Map.of("local_batch_id", batch.getId().toString())).getId();
+        batchClient.createBatch(fileId, "24h", Map.of("local_batch_id", UUID.randomUUID().toString()));
+
+        when(batchRepository.findByResultsAppliedFalse()).thenReturn(List.of(batch));
+        when(requestRepository.findById(row.getCustomId())).thenReturn(Optional.of(row));
+        Candidate candidate = new Candidate();
+        candidate.setCandidateId("c1");
+        when(candidateRepository.findById("c1")).thenReturn(Optional.of(candidate));
+        List<ScreeningQuestionDto> questions = List.of(new ScreeningQuestionDto("experience", "Why Java?"));
+        when(llmService.questionsFrom(any())).thenReturn(questions);
+
+        service.poll();
+
+        assertThat(batch.getOpenaiBatchId()).isEqualTo(remoteId);
+        assertThat(batch.getInputFileId()).isEqualTo(fileId);
+        assertThat(batch.getStatus()).isEqualTo("completed");
+        assertThat(batch.isResultsApplied()).isTrue();
+        assertThat(row.getStatus()).isEqualTo(QuestionBatchRequest.DONE);
+        verify(questionStore).save(eq("c1"), eq("job-1"), eq(questions), eq("stub"), any());
+    }
+
+    private String upload(String jsonl) throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "batch.jsonl", "application/jsonl",
+                jsonl.getBytes(StandardCharsets.UTF_8));
+        return String.valueOf(stub.uploadFile("batch", file).get("id"));
+    }
+
+    private static Interceptor forwardTo(MockMvc mvc) {
+        return chain -> {
+            Request request = chain.request();
+            MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.request(
+                    HttpMethod.valueOf(request.method()), URI.create(request.url().toString()));
+            request.headers().forEach(h -> builder.header(h.getFirst(), h.getSecond()));
+            if (request.body() != null) {
+                Buffer buffer = new Buffer();
+                request.body().writeTo(buffer);
+                builder.content(buffer.readByteArray());
+                if (request.body().contentType() != null) {
+                    builder.contentType(request.body().contentType().toString());
+                }
+            }
+
+            MockHttpServletResponse response;
+            try {
+                response = mvc.perform(builder).andReturn().getResponse();
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            String contentType = response.getContentType();
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(response.getStatus())
+                    .message("")
+                    .body(ResponseBody.create(response.getContentAsByteArray(),
+                            MediaType.parse(contentType == null ? "application/json" : contentType)))
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.caizin.recruitment.integration.MCPClient;
+
+import com.caizin.recruitment.config.McpProperties;
+import com.caizin.recruitment.config.PromptCompactionProperties;
+import com.caizin.recruitment.exception.McpUnavailableException;
+import com.caizin.recruitment.repository.McpAnalysisCacheRepository;
+import com.caizin.recruitment.util.prompt.PromptCompactor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class MCPClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Map<String, Object>> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private volatile long delayMillis;
+    private MCPClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/tools/analyze_resume", this::analyze);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) client.close();
+        server.stop(0);
+    }
+
+    @Test
+    void postsTheResumeAndJobAndReturnsTheAnalysis() {
+        client = client(properties());
+
+        Map<String, Object> result = client.analyzeResume("Java developer", "Senior Java role", "job-1", "c1");
+
+        assertThat(result).containsEntry("score", 81);
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0))
+                .containsEntry("resumeText", "Java developer")
+                .containsEntry("jobDescription", "Senior Java role")
+                .containsEntry("jobId", "job-1")
+                .containsEntry("candidateId", "c1");
+    }
+
+    @Test
+    void asyncCallFailsAfterTheResponseTimeout() {
+        McpProperties properties = properties();
+        properties.setResponseTimeout(Duration.ofMillis(200));
+        client = client(properties);
+        delayMillis = 3_000;
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.analyzeResumeAsync("Java developer", "Senior Java role", "job-1", "c1")
+                .block(Duration.ofSeconds(5)))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void failsOverToTheNextEndpointWhenTheConnectionIsRefused() throws IOException {
+        McpProperties properties = properties();
+        properties.setEndpoints(List.of(deadUrl(), url()));
+        client = client(properties);
+
+        assertThat(client.analyzeResume("Java developer", "Senior Java role", "job-1", "c1"))
+                .containsEntry("score", 81);
+        assertThat(client.circuitState()).isEqualTo(McpCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void bulkheadRejectsInsteadOfQueueing() throws InterruptedException {
+        McpProperties properties = properties();
+        properties.getBulkhead().setMaxConcurrent(1);
+        client = client(properties);
+        delayMillis = 1_000;
+
+        Mono<Map<String, Object>> first = client.analyzeResumeAsync("a", "jd", "job-1", "c1");
+        first.subscribe(r -> {}, e -> {});
+        while (requests.isEmpty()) Thread.sleep(5);
+
+        assertThat(client.inFlight()).isEqualTo(1);
+        assertThatThrownBy(() -> client.analyzeResume("b", "jd", "job-1", "c2"))
+                .isInstanceOf(McpUnavailableException.class);
+    }
+
+    private McpProperties properties() {
+        McpProperties properties = new McpProperties();
+        properties.setBaseUrl(url());
+        properties.getCache().setEnabled(false);
+        return properties;
+    }
+
+    private MCPClient client(McpProperties properties) {
+        McpAnalysisCache cache = new McpAnalysisCache(mock(McpAnalysisCacheRepository.class), objectMapper, properties);
+        PromptCompactionProperties compaction = new PromptCompactionProperties();
+        compaction.setEnabled(false);
+        return new MCPClient(properties, cache, new PromptCompactor(compaction));
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static String deadUrl() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return "http://127.0.0.1:" + socket.getLocalPort();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void analyze(HttpExchange exchange) throws IOException {
+        requests.add(objectMapper.readValue(exchange.getRequestBody(), Map.class));
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "{\"score\":81}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
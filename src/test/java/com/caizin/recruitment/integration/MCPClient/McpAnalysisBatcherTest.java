@@ -0,0 +1,109 @@
+package com.caizin.recruitment.integration.MCPClient;
+
+import com.caizin.recruitment.exception.IntegrationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class McpAnalysisBatcherTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final List<Map<String, Object>> sent = new CopyOnWriteArrayList<>();
+    private McpAnalysisBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void fullBatchIsSentOnceAndFannedOut() {
+        batcher = new McpAnalysisBatcher(3, Duration.ofMinutes(1), echo());
+
+        List<Mono<Map<String, Object>>> results = new ArrayList<>();
+        for (String id : List.of("c1", "c2", "c3")) {
+            Mono<Map<String, Object>> result = batcher.submit("resume of " + id, "JD", "job-1", id).cache();
+            result.subscribe(r -> {}, e -> {});
+            results.add(result);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(results.get(i).block(WAIT)).containsEntry("resume", "resume of c" + (i + 1));
+        }
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).containsEntry("jobId", "job-1").containsEntry("jobDescription", "JD");
+        assertThat((List<?>) sent.get(0).get("items")).hasSize(3);
+    }
+
+    @Test
+    void partialBatchIsSentAfterMaxWaitAndJobsAreNotMixed() {
+        batcher = new McpAnalysisBatcher(10, Duration.ofMillis(50), echo());
+
+        Mono<Map<String, Object>> a = batcher.submit("ra", "JD one", "job-1", "c1").cache();
+        Mono<Map<String, Object>> b = batcher.submit("rb", "JD two", "job-2", "c2").cache();
+        a.subscribe(r -> {}, e -> {});
+        b.subscribe(r -> {}, e -> {});
+
+        assertThat(a.block(WAIT)).containsEntry("resume", "ra");
+        assertThat(b.block(WAIT)).containsEntry("resume", "rb");
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void itemErrorsAndSenderErrorsReachTheirCallers() {
+        batcher = new McpAnalysisBatcher(2, Duration.ofMinutes(1), body -> {
+            sent.add(body);
+            return Mono.just(Map.of("results", List.of(
+                    Map.of("id", "0", "analysis", Map.of("ok", true)),
+                    Map.of("id", "1", "error", "resume unreadable"))));
+        });
+
+        Mono<Map<String, Object>> ok = batcher.submit("r1", "JD", "job-1", "c1").cache();
+        ok.subscribe(r -> {}, e -> {});
+        Mono<Map<String, Object>> failed = batcher.submit("r2", "JD", "job-1", "c2");
+
+        assertThatThrownBy(() -> failed.block(WAIT))
+                .isInstanceOf(IntegrationException.class)
+                .hasMessageContaining("resume unreadable");
+        assertThat(ok.block(WAIT)).containsEntry("ok", true);
+
+        McpAnalysisBatcher down = new McpAnalysisBatcher(1, Duration.ofMinutes(1),
+                body -> Mono.error(new IllegalStateException("connection reset")));
+        try {
+            assertThatThrownBy(() -> down.submit("r", "JD", "job-1", "c1").block(WAIT))
+                    .hasMessageContaining("connection reset");
+        } finally {
+            down.shutdown();
+        }
+    }
+
+    /**
+     * Answers every item with an analysis naming its resume.
+     */
+    @SuppressWarnings("unchecked")
+    private Function<Map<String, Object>, Mono<Map<String, Object>>> echo() {
+        return body -> {
+            sent.add(body);
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Map<String, Object> item : (List<Map<String, Object>>) body.get("items")) {
+                Map<String, Object> result = new HashMap<>();
+                result.put("id", item.get("id"));
+                result.put("analysis", Map.of("resume", item.get("resumeText")));
+                results.add(result);
+            }
+            return Mono.just(Map.of("results", results));
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.caizin.recruitment.integration.MCPClient;
+
+import com.caizin.recruitment.config.McpProperties;
+import com.caizin.recruitment.entity.McpAnalysisCacheEntry;
+import com.caizin.recruitment.repository.McpAnalysisCacheRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class McpAnalysisCacheTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private McpAnalysisCacheRepository repository;
+    private McpAnalysisCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(McpAnalysisCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        cache = new McpAnalysisCache(repository, new ObjectMapper(), new McpProperties());
+    }
+
+    @Test
+    void missCallsTheLoaderOnceThenServesFromMemory() {
+        assertThat(cache.get("resume", "jd", this::loader).block(WAIT)).containsEntry("score", 1);
+        assertThat(cache.get("resume", "jd", this::loader).block(WAIT)).containsEntry("score", 1);
+
+        assertThat(loads).hasValue(1);
+        verify(repository, timeout(1_000)).save(any());
+        assertThat(cache.stats()).containsEntry("misses", 1L).containsEntry("memoryHits", 1L);
+    }
+
+    @Test
+    void storedAnalysisIsReadBack() {
+        McpAnalysisCacheEntry entry = new McpAnalysisCacheEntry();
+        entry.setResultJson("{\"score\":7}");
+        when(repository.findById(cache.key("resume", "jd"))).thenReturn(Optional.of(entry));
+
+        assertThat(cache.get("resume", "jd", this::loader).block(WAIT)).containsEntry("score", 7);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void failingStoreIsTreatedAsAMiss() {
+        when(repository.findById(anyString())).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThat(cache.get("resume", "jd", this::loader).block(WAIT)).containsEntry("score", 1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void concurrentRequestsShareOneLoad() {
+        Sinks.One<Map<String, Object>> pending = Sinks.one();
+
+        Mono<Map<String, Object>> first = cache.get("resume", "jd", () -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        });
+        Mono<Map<String, Object>> second = cache.get("resume", "jd", this::loader);
+
+        first.subscribe();
+        second.subscribe();
+        pending.tryEmitValue(Map.of("score", 3));
+
+        assertThat(second.block(WAIT)).containsEntry("score", 3);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void keyDependsOnAnalyzerVersionAndBothTexts() {
+        McpProperties bumped = new McpProperties();
+        bumped.getCache().setAnalyzerVersion("2");
+        McpAnalysisCache other = new McpAnalysisCache(repository, new ObjectMapper(), bumped);
+
+        assertThat(cache.key("a", "b")).isNotEqualTo(other.key("a", "b"));
+        assertThat(cache.key("a", "b")).isNotEqualTo(cache.key("b", "a"));
+        assertThat(cache.key("ab", "")).isNotEqualTo(cache.key("a", "b"));
+    }
+
+    private Mono<Map<String, Object>> loader() {
+        loads.incrementAndGet();
+        return Mono.just(Map.of("score", 1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.caizin.recruitment.integration.MCPClient;
+
+import com.caizin.recruitment.config.McpProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpCircuitBreakerTest {
+
+    @Test
+    void staysClosedUntilTheMinimumCallsAreSeen() {
+        McpCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.CLOSED);
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.isOpen()).isTrue();
+    }
+
+    @Test
+    void oldOutcomesSlideOutOfTheWindow() {
+        McpCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        // only the last 4 calls count, so the first failure has slid out by the time the second arrives
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.CLOSED);
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopenTheCircuit() throws InterruptedException {
+        McpCircuitBreaker breaker = breaker(Duration.ofMillis(50));
+        trip(breaker);
+
+        Thread.sleep(80);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).as("only two trial calls").isFalse();
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.OPEN);
+
+        Thread.sleep(80);
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.CLOSED);
+
+        // the window starts empty again after closing
+        for (int i = 0; i < 3; i++) breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.CLOSED);
+    }
+
+    private static void trip(McpCircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(McpCircuitBreaker.State.OPEN);
+    }
+
+    private static McpCircuitBreaker breaker(Duration openDuration) {
+        McpProperties.CircuitBreaker config = new McpProperties.CircuitBreaker();
+        config.setWindowSize(4);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(0.5);
+        config.setOpenDuration(openDuration);
+        config.setHalfOpenCalls(2);
+        return new McpCircuitBreaker(config);
+    }
+}
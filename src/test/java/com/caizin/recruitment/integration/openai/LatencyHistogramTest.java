@@ -0,0 +1,52 @@
+package com.caizin.recruitment.integration.openai;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramHasNoPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1));
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentile(0.95)).isNull();
+    }
+
+    @Test
+    void percentilesAreWithinOneBucketOfTheSamples() {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1));
+        for (int i = 0; i < 95; i++) histogram.record(Duration.ofMillis(50));
+        for (int i = 0; i < 5; i++) histogram.record(Duration.ofSeconds(2));
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.percentile(0.50).toMillis()).isBetween(50L, 60L);
+        assertThat(histogram.percentile(0.95).toMillis()).isBetween(50L, 60L);
+        assertThat(histogram.percentile(0.99).toMillis()).isBetween(2_000L, 2_400L);
+    }
+
+    @Test
+    void verySlowCallsLandInTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1));
+        histogram.record(Duration.ofMinutes(10));
+        histogram.record(Duration.ZERO);
+
+        assertThat(histogram.percentile(0.50)).isEqualTo(Duration.ofMillis(10));
+        assertThat(histogram.percentile(1.0)).isBetween(Duration.ofMinutes(5), Duration.ofMinutes(6));
+    }
+
+    @Test
+    void samplesExpireAfterTwoIdleWindows() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMillis(200));
+        histogram.record(Duration.ofMillis(100));
+
+        Thread.sleep(250);
+        assertThat(histogram.count()).as("kept as the previous window").isEqualTo(1);
+
+        Thread.sleep(450);
+        assertThat(histogram.count()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAiClientTest {
+
+    private static final String SSE = String.join("\n",
+            "data: {\"model\":\"gpt-4o-mini-2024-07-18\",\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}",
+            "",
+            "data: {\"choices\":[{\"delta\":{\"content\":\"{\\\"questions\\\":\"}}]}",
+            "",
+            ": keep-alive",
+            "data: {\"choices\":[{\"delta\":{\"content\":\" []}\"}}]}",
+            "",
+            "data: {\"choices\":[],\"usage\":{\"prompt_tokens\":120,\"completion_tokens\":8,\"total_tokens\":128}}",
+            "",
+            "data: [DONE]",
+            "");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private OpenAiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", this::completions);
+        server.start();
+
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+        properties.setApiKey("test-key");
+        client = new OpenAiClient(new OkHttpClient(), objectMapper, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void streamsDeltasAndLeavesTheCallersRequestUntouched() {
+        OpenAiRequestDto request = new OpenAiRequestDto("gpt-4o-mini",
+                List.of(new OpenAiRequestDto.Message("user", "Write questions")), 0.2,
+                new OpenAiRequestDto.ResponseFormat("json_object"));
+        request.setPromptCacheKey("job-1");
+        List<String> deltas = new ArrayList<>();
+
+        OpenAiResponseDto response = client.streamChatCompletion(request, deltas::add);
+
+        assertThat(deltas).containsExactly("{\"questions\":", " []}");
+        assertThat(response.getChoices().get(0).getMessage().getContent()).isEqualTo("{\"questions\": []}");
+        assertThat(response.getModel()).isEqualTo("gpt-4o-mini-2024-07-18");
+        assertThat(response.getUsage().getTotalTokens()).isEqualTo(128);
+
+        JsonNode sent = requests.get(0);
+        assertThat(sent.path("stream").asBoolean()).isTrue();
+        assertThat(sent.path("stream_options").path("include_usage").asBoolean()).isTrue();
+        assertThat(sent.path("prompt_cache_key").asText()).isEqualTo("job-1");
+
+        assertThat(request.getStream()).isNull();
+        assertThat(request.getStreamOptions()).isNull();
+    }
+
+    private void completions(HttpExchange exchange) throws IOException {
+        requests.add(objectMapper.readTree(exchange.getRequestBody()));
+        byte[] body = SSE.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.exception.OpenAiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OpenAiModelRouterTest {
+
+    private static final String SLOW = "gpt-4o";
+    private static final String FAST = "gpt-4o-mini";
+
+    private OpenAiClient openAiClient;
+    private OpenAiProperties properties;
+    private OpenAiModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        openAiClient = mock(OpenAiClient.class);
+        properties = new OpenAiProperties();
+        properties.setModel(SLOW);
+
+        OpenAiProperties.Routing routing = properties.getRouting();
+        routing.setEnabled(true);
+        routing.setMinSamples(1);
+        routing.setMinHedgeDelay(Duration.ofMillis(10));
+        routing.setModels(List.of(model(SLOW), model(FAST)));
+
+        router = new OpenAiModelRouter(openAiClient, properties);
+        // SLOW is within the default budget, so it stays primary; FAST is the hedge
+        router.record(SLOW, Duration.ofMillis(50));
+        router.record(FAST, Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndTheFasterAnswerWins() throws InterruptedException {
+        CompletableFuture<OpenAiResponseDto> primary = new CompletableFuture<>();
+        OpenAiResponseDto fast = response(FAST);
+        when(openAiClient.createChatCompletionAsync(argThat(r -> r != null && SLOW.equals(r.getModel()))))
+                .thenReturn(primary);
+        when(openAiClient.createChatCompletionAsync(argThat(r -> r != null && FAST.equals(r.getModel()))))
+                .thenReturn(CompletableFuture.completedFuture(fast));
+
+        OpenAiResponseDto result = router.createChatCompletion(request());
+
+        assertThat(result).isSameAs(fast);
+        // the loser is cancelled just after the result is handed over
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!primary.isCancelled() && System.nanoTime() < deadline) TimeUnit.MILLISECONDS.sleep(5);
+        assertThat(primary).isCancelled();
+        assertThat(stats(SLOW)).containsEntry("hedged", 1L).containsEntry("hedgeWins", 1L);
+    }
+
+    @Test
+    void cancelledLoserCountsTowardsItsModelsLatency() throws InterruptedException {
+        when(openAiClient.createChatCompletionAsync(argThat(r -> r != null && SLOW.equals(r.getModel()))))
+                .thenReturn(new CompletableFuture<>());
+        when(openAiClient.createChatCompletionAsync(argThat(r -> r != null && FAST.equals(r.getModel()))))
+                .thenReturn(CompletableFuture.completedFuture(response(FAST)));
+
+        router.createChatCompletion(request());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!stats(SLOW).get("censored").equals(1L) && System.nanoTime() < deadline) TimeUnit.MILLISECONDS.sleep(5);
+        assertThat(stats(SLOW))
+                .containsEntry("censored", 1L)
+                .containsEntry("completed", 1L)
+                .containsEntry("failures", 0L)
+                .containsEntry("windowSamples", 2L);
+    }
+
+    @Test
+    void fastPrimaryIsNeverHedged() {
+        OpenAiResponseDto slow = response(SLOW);
+        when(openAiClient.createChatCompletionAsync(any())).thenReturn(CompletableFuture.completedFuture(slow));
+
+        assertThat(router.createChatCompletion(request())).isSameAs(slow);
+
+        verify(openAiClient, after(200).times(1)).createChatCompletionAsync(any());
+        assertThat(stats(SLOW)).containsEntry("hedged", 0L);
+    }
+
+    @Test
+    void raceFailsOnlyOnceBothCallsHaveFailed() throws Exception {
+        CompletableFuture<OpenAiResponseDto> primary = new CompletableFuture<>();
+        when(openAiClient.createChatCompletionAsync(argThat(r -> r != null && SLOW.equals(r.getModel()))))
+                .thenReturn(primary);
+        when(openAiClient.createChatCompletionAsync(argThat(r -> r != null && FAST.equals(r.getModel()))))
+                .thenReturn(CompletableFuture.failedFuture(new OpenAiException("hedge failed")));
+
+        CompletableFuture<OpenAiResponseDto> result = router.createChatCompletionAsync(request());
+
+        verify(openAiClient, timeout(1_000).times(2)).createChatCompletionAsync(any());
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(result).isNotDone();
+
+        primary.completeExceptionally(new OpenAiException("primary failed"));
+        assertThatThrownBy(result::join).hasCauseInstanceOf(OpenAiException.class);
+        assertThat(stats(SLOW)).containsEntry("failures", 1L);
+        assertThat(stats(FAST)).containsEntry("failures", 1L);
+    }
+
+    @Test
+    void routedCopyKeepsEveryRequestField() {
+        OpenAiRequestDto request = request();
+        request.setPromptCacheKey("screening-job-1");
+        when(openAiClient.createChatCompletionAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(response(SLOW)));
+
+        router.createChatCompletion(request);
+
+        verify(openAiClient).createChatCompletionAsync(argThat(r -> r != request
+                && SLOW.equals(r.getModel())
+                && "screening-job-1".equals(r.getPromptCacheKey())
+                && r.getMessages().equals(request.getMessages())
+                && r.getTemperature().equals(0.2)));
+    }
+
+    @Test
+    void disabledRoutingSendsTheRequestedModel() {
+        properties.getRouting().setEnabled(false);
+        OpenAiResponseDto response = response(SLOW);
+        when(openAiClient.createChatCompletionAsync(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(router.createChatCompletion(request())).isSameAs(response);
+        assertThat(router.route(request())).isEqualTo(SLOW);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> stats(String model) {
+        return (Map<String, Object>) router.stats().get(model);
+    }
+
+    private static OpenAiRequestDto request() {
+        return new OpenAiRequestDto(SLOW, List.of(new OpenAiRequestDto.Message("user", "hi")), 0.2, null);
+    }
+
+    private static OpenAiResponseDto response(String model) {
+        OpenAiResponseDto response = new OpenAiResponseDto();
+        response.setModel(model);
+        return response;
+    }
+
+    private static OpenAiProperties.Model model(String name) {
+        OpenAiProperties.Model model = new OpenAiProperties.Model();
+        model.setName(name);
+        return model;
+    }
+}
@@ -0,0 +1,90 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAiRateLimiterTest {
+
+    @Test
+    void parsesOpenAiResetDurations() {
+        assertThat(OpenAiRateLimiter.parseDuration("20ms")).isEqualTo(Duration.ofMillis(20));
+        assertThat(OpenAiRateLimiter.parseDuration("1s")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(OpenAiRateLimiter.parseDuration("6m0s")).isEqualTo(Duration.ofMinutes(6));
+        assertThat(OpenAiRateLimiter.parseDuration("1h2m3.5s")).isEqualTo(Duration.ofMillis(3_723_500));
+        assertThat(OpenAiRateLimiter.parseDuration("0.25s")).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void unparseableDurationsAreNull() {
+        assertThat(OpenAiRateLimiter.parseDuration(null)).isNull();
+        assertThat(OpenAiRateLimiter.parseDuration(" ")).isNull();
+        assertThat(OpenAiRateLimiter.parseDuration("soon")).isNull();
+    }
+
+    @Test
+    void reservationsWaitOnceTheRequestBucketIsEmpty() {
+        OpenAiRateLimiter limiter = limiter(2, 100_000);
+
+        assertThat(limiter.reserve(10)).isZero();
+        assertThat(limiter.reserve(10)).isZero();
+        // one request per 30 s at 2 RPM
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(limiter.reserve(10))).isBetween(28L, 30L);
+    }
+
+    @Test
+    void headersCorrectTheLimitsAndOnlyLowerTheLevel() {
+        OpenAiRateLimiter limiter = limiter(500, 200_000);
+
+        limiter.onHeaders(Headers.of(
+                "x-ratelimit-limit-requests", "10000",
+                "x-ratelimit-remaining-requests", "9000",
+                "x-ratelimit-limit-tokens", "1000000",
+                "x-ratelimit-remaining-tokens", "150000"));
+
+        Map<String, Object> snapshot = limiter.snapshot();
+        assertThat(snapshot)
+                .containsEntry("requestLimit", 10_000L)
+                .containsEntry("tokenLimit", 1_000_000L);
+        // the levels keep refilling at the new rates after the headers are applied
+        assertThat((Long) snapshot.get("requestsAvailable")).isBetween(500L, 600L);
+        assertThat((Long) snapshot.get("tokensAvailable")).isBetween(150_000L, 160_000L);
+    }
+
+    @Test
+    void exhaustedLimitPausesUntilTheReset() {
+        OpenAiRateLimiter limiter = limiter(500, 200_000);
+
+        limiter.onHeaders(Headers.of(
+                "x-ratelimit-remaining-tokens", "0",
+                "x-ratelimit-reset-tokens", "6m0s"));
+
+        assertThat((Long) limiter.snapshot().get("pausedForMs")).isBetween(359_000L, 360_000L);
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(limiter.reserve(1))).isBetween(359L, 360L);
+    }
+
+    @Test
+    void missingOrMalformedHeadersChangeNothing() {
+        OpenAiRateLimiter limiter = limiter(500, 200_000);
+
+        limiter.onHeaders(Headers.of("x-ratelimit-remaining-requests", "n/a"));
+
+        assertThat(limiter.snapshot())
+                .containsEntry("requestLimit", 500L)
+                .containsEntry("requestsAvailable", 500L)
+                .containsEntry("pausedForMs", 0L);
+    }
+
+    private static OpenAiRateLimiter limiter(int requestsPerMinute, int tokensPerMinute) {
+        OpenAiProperties.RateLimit config = new OpenAiProperties.RateLimit();
+        config.setRequestsPerMinute(requestsPerMinute);
+        config.setTokensPerMinute(tokensPerMinute);
+        return new OpenAiRateLimiter(config);
+    }
+}
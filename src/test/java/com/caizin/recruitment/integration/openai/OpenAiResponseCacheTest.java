@@ -0,0 +1,168 @@
+package com.caizin.recruitment.integration.openai;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.entity.LlmResponseCacheEntry;
+import com.caizin.recruitment.repository.LlmResponseCacheRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OpenAiResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LlmResponseCacheRepository repository;
+    private OpenAiProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LlmResponseCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        properties = new OpenAiProperties();
+    }
+
+    @Test
+    void keyIsStableAndCoversEveryRequestField() {
+        OpenAiResponseCache cache = cache();
+
+        assertThat(cache.key(request("gpt-4o-mini", 0.2, "Ask about Kafka")))
+                .isEqualTo(cache.key(request("gpt-4o-mini", 0.2, "Ask about Kafka")))
+                .isNotEqualTo(cache.key(request("gpt-4o", 0.2, "Ask about Kafka")))
+                .isNotEqualTo(cache.key(request("gpt-4o-mini", 0.7, "Ask about Kafka")))
+                .isNotEqualTo(cache.key(request("gpt-4o-mini", 0.2, "Ask about Spark")));
+
+        String before = cache.key(request("gpt-4o-mini", 0.2, "Ask about Kafka"));
+        properties.getCache().setVersion("2");
+        assertThat(cache().key(request("gpt-4o-mini", 0.2, "Ask about Kafka"))).isNotEqualTo(before);
+    }
+
+    @Test
+    void putIsServedFromMemoryAndWrittenThrough() {
+        OpenAiResponseCache cache = cache();
+
+        cache.put("k1", "job-1", "gpt-4o-mini", response("questions"));
+
+        assertThat(cache.get("k1")).hasValueSatisfying(r -> assertThat(content(r)).isEqualTo("questions"));
+        verify(repository, never()).findById("k1");
+
+        ArgumentCaptor<LlmResponseCacheEntry> entry = ArgumentCaptor.forClass(LlmResponseCacheEntry.class);
+        verify(repository).save(entry.capture());
+        assertThat(entry.getValue().getTag()).isEqualTo("job-1");
+        assertThat(entry.getValue().getModel()).isEqualTo("gpt-4o-mini");
+        assertThat(cache.stats()).containsEntry("memoryHits", 1L);
+    }
+
+    @Test
+    void storedResponseIsReadBackUntilItExpires() throws Exception {
+        LlmResponseCacheEntry live = entry(response("stored"), LocalDateTime.now().plusHours(1));
+        LlmResponseCacheEntry stale = entry(response("old"), LocalDateTime.now().minusMinutes(1));
+        when(repository.findById("live")).thenReturn(Optional.of(live));
+        when(repository.findById("stale")).thenReturn(Optional.of(stale));
+
+        OpenAiResponseCache cache = cache();
+
+        assertThat(cache.get("live")).hasValueSatisfying(r -> assertThat(content(r)).isEqualTo("stored"));
+        assertThat(cache.get("stale")).isEmpty();
+        assertThat(cache.get("missing")).isEmpty();
+        assertThat(cache.stats())
+                .containsEntry("storeHits", 1L)
+                .containsEntry("expired", 1L)
+                .containsEntry("misses", 2L);
+    }
+
+    @Test
+    void memoryEntriesExpireWithTheTtl() throws Exception {
+        properties.getCache().setTtl(Duration.ofMillis(20));
+        OpenAiResponseCache cache = cache();
+
+        cache.put("k1", null, "gpt-4o-mini", response("questions"));
+        Thread.sleep(50);
+
+        assertThat(cache.get("k1")).isEmpty();
+        assertThat(cache.stats()).containsEntry("expired", 1L);
+    }
+
+    @Test
+    void failedWriteStillServesFromMemory() {
+        doThrow(new IllegalStateException("db down")).when(repository).save(any());
+        OpenAiResponseCache cache = cache();
+
+        cache.put("k1", null, "gpt-4o-mini", response("questions"));
+
+        assertThat(cache.get("k1")).isPresent();
+    }
+
+    @Test
+    void disabledCacheNeitherReadsNorWrites() {
+        properties.getCache().setEnabled(false);
+        OpenAiResponseCache cache = cache();
+
+        cache.put("k1", null, "gpt-4o-mini", response("questions"));
+
+        assertThat(cache.get("k1")).isEmpty();
+        verify(repository, never()).save(any());
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void invalidatingATagClearsMemoryToo() {
+        OpenAiResponseCache cache = cache();
+        cache.put("k1", "job-1", "gpt-4o-mini", response("questions"));
+
+        cache.invalidateTag("job-1");
+
+        verify(repository).deleteByTag("job-1");
+        assertThat(cache.get("k1")).isEmpty();
+    }
+
+    private OpenAiResponseCache cache() {
+        return new OpenAiResponseCache(repository, objectMapper, properties);
+    }
+
+    private LlmResponseCacheEntry entry(OpenAiResponseDto response, LocalDateTime expiresAt) throws Exception {
+        LlmResponseCacheEntry entry = new LlmResponseCacheEntry();
+        entry.setResponseJson(objectMapper.writeValueAsString(response));
+        entry.setExpiresAt(expiresAt);
+        return entry;
+    }
+
+    private static OpenAiRequestDto request(String model, double temperature, String prompt) {
+        return new OpenAiRequestDto(model,
+                List.of(new OpenAiRequestDto.Message("system", "You write screening questions."),
+                        new OpenAiRequestDto.Message("user", prompt)),
+                temperature,
+                new OpenAiRequestDto.ResponseFormat("json_object"));
+    }
+
+    private static OpenAiResponseDto response(String content) {
+        OpenAiResponseDto.Message message = new OpenAiResponseDto.Message();
+        message.setRole("assistant");
+        message.setContent(content);
+        OpenAiResponseDto.Choice choice = new OpenAiResponseDto.Choice();
+        choice.setMessage(message);
+        OpenAiResponseDto response = new OpenAiResponseDto();
+        response.setModel("gpt-4o-mini");
+        response.setChoices(List.of(choice));
+        return response;
+    }
+
+    private static String content(OpenAiResponseDto response) {
+        return response.getChoices().get(0).getMessage().getContent();
+    }
+}
@@ -0,0 +1,189 @@
+package com.caizin.recruitment.integration.zoho;
+
+import com.caizin.recruitment.config.ZohoProperties;
+import com.caizin.recruitment.entity.ZohoApplicationIndexEntry;
+import com.caizin.recruitment.exception.IntegrationException;
+import com.caizin.recruitment.repository.ZohoApplicationIndexRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ZohoApplicationIndexTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final Map<String, ZohoApplicationIndexEntry> rows = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private volatile String searchResponse = "";
+    private volatile long listDelayMillis;
+    private ZohoApplicationIndexRepository repository;
+    private ZohoApplicationIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/recruit/v2/Applications", this::applications);
+        server.start();
+
+        repository = mock(ZohoApplicationIndexRepository.class);
+        when(repository.findById(anyString())).thenAnswer(inv -> Optional.ofNullable(rows.get(inv.<String>getArgument(0))));
+        when(repository.findByZohoCandidateIdAndZohoJobId(anyString(), anyString())).thenAnswer(inv -> rows.values().stream()
+                .filter(e -> e.getZohoCandidateId().equals(inv.getArgument(0)) && e.getZohoJobId().equals(inv.getArgument(1)))
+                .findFirst());
+        when(repository.save(any(ZohoApplicationIndexEntry.class))).thenAnswer(inv -> {
+            ZohoApplicationIndexEntry entry = inv.getArgument(0);
+            rows.put(entry.getApplicationId(), entry);
+            return entry;
+        });
+
+        ZohoProperties properties = new ZohoProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        index = new ZohoApplicationIndex(new OkHttpClient(), JSON, properties, () -> "token", repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void idOfReadsPlainAndLookupIds() throws IOException {
+        assertThat(ZohoApplicationIndex.idOf(NODES.textNode("123"))).isEqualTo("123");
+        assertThat(ZohoApplicationIndex.idOf(NODES.numberNode(456L))).isEqualTo("456");
+        assertThat(ZohoApplicationIndex.idOf(JSON.readTree("{\"id\":\"789\",\"name\":\"Ann Lee\"}"))).isEqualTo("789");
+
+        assertThat(ZohoApplicationIndex.idOf(NullNode.getInstance())).isNull();
+        assertThat(ZohoApplicationIndex.idOf(NODES.textNode(" "))).isNull();
+        assertThat(ZohoApplicationIndex.idOf(NODES.textNode("null"))).isNull();
+        assertThat(ZohoApplicationIndex.idOf(JSON.readTree("{\"name\":\"Ann Lee\"}"))).isNull();
+        assertThat(ZohoApplicationIndex.idOf(JSON.readTree("[\"123\"]"))).isNull();
+        assertThat(ZohoApplicationIndex.idOf(JSON.readTree("{}").path("missing"))).isNull();
+    }
+
+    @Test
+    void upsertUpdatesAnEntryAndKeepsItsModifiedTime() {
+        OffsetDateTime modified = OffsetDateTime.parse("2024-05-01T10:00:00+05:30");
+        index.upsert("app-1", "cand-1", "job-1", modified);
+        index.upsert("app-1", "cand-1", "job-1", null);
+
+        assertThat(rows).containsOnlyKeys("app-1");
+        assertThat(rows.get("app-1").getModifiedTime()).isEqualTo(modified);
+        assertThat(rows.get("app-1").getIndexedAt()).isNotNull();
+        assertThat(index.find("cand-1", "job-1")).contains("app-1");
+    }
+
+    @Test
+    void upsertReplacesAPairRecreatedUnderANewId() {
+        index.upsert("app-1", "cand-1", "job-1", null);
+        ZohoApplicationIndexEntry old = rows.get("app-1");
+        doAnswer(inv -> rows.remove(inv.<ZohoApplicationIndexEntry>getArgument(0).getApplicationId()))
+                .when(repository).delete(any(ZohoApplicationIndexEntry.class));
+
+        index.upsert("app-2", "cand-1", "job-1", null);
+
+        verify(repository).delete(old);
+        verify(repository).flush();
+        assertThat(rows).containsOnlyKeys("app-2");
+        assertThat(index.find("cand-1", "job-1")).contains("app-2");
+    }
+
+    @Test
+    void upsertIgnoresAConcurrentInsert() {
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(repository).save(any(ZohoApplicationIndexEntry.class));
+
+        index.upsert("app-1", "cand-1", "job-1", null);
+
+        verify(repository).save(any(ZohoApplicationIndexEntry.class));
+    }
+
+    @Test
+    void missIsResolvedBySearchingTheCandidate() {
+        searchResponse = """
+                {"data":[
+                  {"id":"app-9","$Candidate_Id":{"id":"cand-1"},"$Job_Opening_Id":{"id":"job-2"},
+                   "Modified_Time":"2024-05-01T10:00:00+05:30"},
+                  {"id":"app-8","$Candidate_Id":"cand-1","$Job_Opening_Id":null}
+                ],"info":{"more_records":false}}
+                """;
+
+        assertThat(index.applicationId("cand-1", "job-2")).isEqualTo("app-9");
+        assertThat(rows).containsOnlyKeys("app-9");
+        assertThat(requests).singleElement().asString().contains("/search");
+    }
+
+    @Test
+    void missNotFoundBySearchFailsWithoutASync() {
+        assertThatThrownBy(() -> index.applicationId("cand-1", "job-2"))
+                .isInstanceOf(IntegrationException.class)
+                .hasMessageContaining("cand-1");
+
+        assertThat(requests).as("only the candidate search, never a module sync")
+                .singleElement().asString().contains("/search");
+    }
+
+    @Test
+    void scheduledSyncRunsInTheBackground() throws InterruptedException {
+        listDelayMillis = 500;
+
+        long start = System.nanoTime();
+        index.syncScheduled();
+        index.syncScheduled();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(400));
+        Thread.sleep(800);
+        assertThat(requests).as("an overlapping run is skipped").singleElement().asString().contains("sort_by=Modified_Time");
+    }
+
+    private void applications(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().endsWith("/search")) {
+            try {
+                Thread.sleep(listDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        requests.add(exchange.getRequestURI().toString());
+        byte[] body = (exchange.getRequestURI().getPath().endsWith("/search") ? searchResponse : "")
+                .getBytes(StandardCharsets.UTF_8);
+        if (body.length == 0) {
+            exchange.sendResponseHeaders(204, -1);
+        } else {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+}
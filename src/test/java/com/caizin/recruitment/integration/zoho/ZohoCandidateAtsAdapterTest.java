@@ -0,0 +1,71 @@
+package com.caizin.recruitment.integration.zoho;
+
+import com.caizin.recruitment.config.ZohoProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ZohoCandidateAtsAdapterTest {
+
+    private HttpServer server;
+    private volatile String associateResponse;
+    private ZohoApplicationIndex applicationIndex;
+    private ZohoCandidateAtsAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/recruit/v2/Candidates/actions/associate", exchange -> {
+            byte[] body = associateResponse.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        ZohoProperties properties = new ZohoProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        applicationIndex = mock(ZohoApplicationIndex.class);
+        adapter = new ZohoCandidateAtsAdapter(new OkHttpClient(), new ObjectMapper(), properties, () -> "token", applicationIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void associationIndexesTheReturnedApplicationId() {
+        associateResponse = """
+                {"data":[{"code":"SUCCESS","details":{"id":"cand-1","application_id":"app-1"}}]}
+                """;
+
+        adapter.associateWithJob("cand-1", "job-1");
+
+        verify(applicationIndex).record("app-1", "cand-1", "job-1");
+    }
+
+    @Test
+    void detailsIdAloneIsNeverIndexed() {
+        associateResponse = """
+                {"data":[{"code":"SUCCESS","details":{"id":"987654"}}]}
+                """;
+
+        adapter.associateWithJob("cand-1", "job-1");
+
+        verify(applicationIndex, never()).record(anyString(), anyString(), anyString());
+    }
+}
@@ -0,0 +1,92 @@
+package com.caizin.recruitment.service;
+
+import com.caizin.recruitment.entity.AtsFeatures;
+import com.caizin.recruitment.entity.ParsedResume;
+import com.caizin.recruitment.entity.ResumeAnalysis;
+import com.caizin.recruitment.parser.JDParser;
+import com.caizin.recruitment.parser.ResumeParser;
+import com.caizin.recruitment.service.outbox.AnalysisOutboxService;
+import com.caizin.recruitment.util.JDTextExtractor;
+import com.caizin.recruitment.util.ResumeTextExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeProcessingServiceTest {
+
+    private static final ParsedResume PARSED =
+            new ParsedResume("Ann Lee", "ann@example.com", null, List.of("java"), 5, List.of(), 300);
+
+    private ATSScoringService atsScoringService;
+    private ResumeAnalysisService resumeAnalysisService;
+    private ResumeFeaturesService resumeFeaturesService;
+    private AnalysisOutboxService analysisOutbox;
+    private ResumeProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        atsScoringService = mock(ATSScoringService.class);
+        resumeAnalysisService = mock(ResumeAnalysisService.class);
+        resumeFeaturesService = mock(ResumeFeaturesService.class);
+        analysisOutbox = mock(AnalysisOutboxService.class);
+
+        JDTextExtractor jdExtractor = mock(JDTextExtractor.class);
+        when(jdExtractor.getJDText(anyString())).thenReturn("Java developer");
+        when(atsScoringService.extractFeatures(any(), any(), any(), any())).thenReturn(new AtsFeatures(0.8, 5, 3, 2, 1, 1, 1, 1, 1));
+        when(atsScoringService.score(any(AtsFeatures.class))).thenReturn(72.5);
+
+        service = new ResumeProcessingService(
+                mock(ResumeTextExtractor.class),
+                mock(ResumeParser.class),
+                new JDParser(),
+                jdExtractor,
+                atsScoringService,
+                resumeAnalysisService,
+                resumeFeaturesService,
+                mock(ReverseMatchService.class),
+                analysisOutbox);
+    }
+
+    @Test
+    void additionalJobQueuesAnalysisOfThisFile() {
+        double score = service.scoreForJob("new resume text", PARSED, "Ann Lee", "ann@example.com", "job-2", "c1");
+
+        assertThat(score).isEqualTo(72.5);
+        verify(analysisOutbox).enqueue("c1", "job-2", "Ann Lee", "ann@example.com", 72.5, "new resume text");
+        verify(resumeAnalysisService, never()).copyAnalysis(any(), any(), any(), any(), any(), any());
+        verify(resumeFeaturesService, never()).save(any(), any(), any(), any(), any(), anyDouble());
+    }
+
+    @Test
+    void nearDuplicateForTheSameJobReusesItsAnalysis() {
+        ResumeAnalysis original = new ResumeAnalysis();
+        original.setCandidateId("c0");
+        when(resumeFeaturesService.findDuplicateOf("c1", "resume text")).thenReturn(Optional.of("c0"));
+        when(resumeAnalysisService.findLatest("c0", "job-1")).thenReturn(Optional.of(original));
+
+        service.process("resume text", PARSED, "sender", "sender@example.com", "job-1", "c1");
+
+        verify(resumeAnalysisService).copyAnalysis(original, "c1", "job-1", "Ann Lee", "ann@example.com", 72.5);
+        verify(analysisOutbox, never()).enqueue(any(), any(), any(), any(), anyDouble(), any());
+    }
+
+    @Test
+    void newResumeQueuesAnalysis() {
+        when(resumeFeaturesService.findDuplicateOf("c1", "resume text")).thenReturn(Optional.empty());
+
+        service.process("resume text", PARSED, "sender", "sender@example.com", "job-1", "c1");
+
+        verify(analysisOutbox).enqueue("c1", "job-1", "Ann Lee", "ann@example.com", 72.5, null);
+    }
+}
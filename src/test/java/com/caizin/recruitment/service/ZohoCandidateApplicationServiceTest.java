@@ -0,0 +1,113 @@
+package com.caizin.recruitment.service;
+
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.event.ScreeningQuestionsSavedEvent;
+import com.caizin.recruitment.integration.zoho.ZohoCandidateAtsAdapter;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.service.questions.ScreeningQuestionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ZohoCandidateApplicationServiceTest {
+
+    private static final List<ScreeningQuestionDto> QUESTIONS =
+            List.of(new ScreeningQuestionDto("technical", "How do you size a Kafka cluster?"));
+
+    private CandidateRepository candidates;
+    private ZohoCandidateAtsAdapter zoho;
+    private ZohoCandidateApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        candidates = mock(CandidateRepository.class);
+        zoho = mock(ZohoCandidateAtsAdapter.class);
+        service = new ZohoCandidateApplicationService(
+                candidates, zoho, mock(ZohoJobSyncService.class), mock(ScreeningQuestionStore.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void questionsSavedAfterThePushAreUploaded() {
+        when(candidates.findById("c1")).thenReturn(Optional.of(candidate("c1", "job-1", "zc-1")));
+
+        service.onQuestionsSaved(new ScreeningQuestionsSavedEvent("c1", "job-1", QUESTIONS));
+
+        verify(zoho, timeout(1_000)).uploadScreeningQuestionsToApplication("zc-1", "zj-job-1", QUESTIONS);
+    }
+
+    @Test
+    void saveDoesNotWaitForTheUpload() throws InterruptedException {
+        when(candidates.findById("c1")).thenReturn(Optional.of(candidate("c1", "job-1", "zc-1")));
+        CountDownLatch zohoResponds = new CountDownLatch(1);
+        doAnswer(inv -> zohoResponds.await(5, TimeUnit.SECONDS))
+                .when(zoho).uploadScreeningQuestionsToApplication(any(), any(), any());
+
+        long start = System.nanoTime();
+        service.onQuestionsSaved(new ScreeningQuestionsSavedEvent("c1", "job-1", QUESTIONS));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        verify(zoho, timeout(1_000)).uploadScreeningQuestionsToApplication("zc-1", "zj-job-1", QUESTIONS);
+        zohoResponds.countDown();
+    }
+
+    @Test
+    void questionsSavedBeforeThePushWaitForIt() {
+        when(candidates.findById("c1")).thenReturn(Optional.of(candidate("c1", "job-1", null)));
+
+        service.onQuestionsSaved(new ScreeningQuestionsSavedEvent("c1", "job-1", QUESTIONS));
+
+        verify(zoho, after(200).never()).uploadScreeningQuestionsToApplication(any(), any(), any());
+    }
+
+    @Test
+    void questionsForAnotherJobAreNotSentToThePushedApplication() {
+        when(candidates.findById("c1")).thenReturn(Optional.of(candidate("c1", "job-1", "zc-1")));
+
+        service.onQuestionsSaved(new ScreeningQuestionsSavedEvent("c1", "job-2", QUESTIONS));
+        service.onQuestionsSaved(new ScreeningQuestionsSavedEvent("unknown", "job-1", QUESTIONS));
+
+        verify(zoho, after(200).never()).uploadScreeningQuestionsToApplication(any(), any(), any());
+    }
+
+    @Test
+    void uploadFailureDoesNotFailTheSave() {
+        when(candidates.findById("c1")).thenReturn(Optional.of(candidate("c1", "job-1", "zc-1")));
+        doThrow(new RuntimeException("Zoho 503"))
+                .when(zoho).uploadScreeningQuestionsToApplication(any(), any(), any());
+
+        service.onQuestionsSaved(new ScreeningQuestionsSavedEvent("c1", "job-1", QUESTIONS));
+
+        verify(zoho, timeout(1_000)).uploadScreeningQuestionsToApplication(any(), any(), any());
+    }
+
+    private static Candidate candidate(String id, String job, String zohoCandidateId) {
+        Candidate c = new Candidate();
+        c.setCandidateId(id);
+        c.setJobOpeningId(job);
+        c.setZohoJobId("zj-" + job);
+        c.setZohoCandidateId(zohoCandidateId);
+        return c;
+    }
+}
@@ -0,0 +1,144 @@
+package com.caizin.recruitment.service.backfill;
+
+import com.caizin.recruitment.config.BackfillProperties;
+import com.caizin.recruitment.entity.BackfillCheckpoint;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.parser.JDParser;
+import com.caizin.recruitment.parser.ResumeParser;
+import com.caizin.recruitment.repository.BackfillCheckpointRepository;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.service.ATSScoringService;
+import com.caizin.recruitment.service.AtsScoreWriter;
+import com.caizin.recruitment.service.ResumeFeaturesService;
+import com.caizin.recruitment.util.JDTextExtractor;
+import com.caizin.recruitment.util.ResumeTextExtractor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeBackfillServiceTest {
+
+    @TempDir
+    Path downloadDir;
+
+    private CandidateRepository candidates;
+    private BackfillCheckpointRepository checkpoints;
+    private AtsScoreWriter writer;
+    private ResumeBackfillService service;
+
+    @BeforeEach
+    void setUp() {
+        candidates = mock(CandidateRepository.class);
+        checkpoints = mock(BackfillCheckpointRepository.class);
+        writer = mock(AtsScoreWriter.class);
+
+        BackfillProperties properties = new BackfillProperties();
+        properties.setParallelism(2);
+        properties.setMaxPerSecond(0);
+
+        service = new ResumeBackfillService(
+                candidates,
+                checkpoints,
+                mock(ResumeTextExtractor.class),
+                mock(ResumeParser.class),
+                mock(JDTextExtractor.class),
+                mock(JDParser.class),
+                mock(ATSScoringService.class),
+                mock(ResumeFeaturesService.class),
+                writer,
+                properties,
+                downloadDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void resumesAfterTheStoredCheckpoint() throws Exception {
+        when(checkpoints.findById("resume-features"))
+                .thenReturn(Optional.of(checkpoint("c5", ResumeParser.VERSION, ResumeTextExtractor.VERSION)));
+        when(candidates.findWithOutdatedFeatures(any(), anyInt(), anyInt(), any()))
+                .thenReturn(List.of());
+
+        runToCompletion();
+
+        verify(candidates).findWithOutdatedFeatures(
+                eq("c5"), eq(ResumeParser.VERSION), eq(ResumeTextExtractor.VERSION), any());
+    }
+
+    @Test
+    void startsOverWhenVersionsChanged() throws Exception {
+        when(checkpoints.findById("resume-features"))
+                .thenReturn(Optional.of(checkpoint("c5", ResumeParser.VERSION - 1, ResumeTextExtractor.VERSION)));
+        when(candidates.findWithOutdatedFeatures(any(), anyInt(), anyInt(), any()))
+                .thenReturn(List.of());
+
+        runToCompletion();
+
+        verify(candidates).findWithOutdatedFeatures(
+                eq(""), eq(ResumeParser.VERSION), eq(ResumeTextExtractor.VERSION), any());
+    }
+
+    @Test
+    void checkpointsEachPageAndCountsFailures() throws Exception {
+        BackfillCheckpoint stored = checkpoint(null, ResumeParser.VERSION, ResumeTextExtractor.VERSION);
+        when(checkpoints.findById("resume-features")).thenReturn(Optional.of(stored));
+        // the resume file is missing, so the candidate fails without stopping the page
+        when(candidates.findWithOutdatedFeatures(eq(""), anyInt(), anyInt(), any()))
+                .thenReturn(List.of(candidate("c1")));
+        when(candidates.findWithOutdatedFeatures(eq("c1"), anyInt(), anyInt(), any()))
+                .thenReturn(List.of());
+
+        runToCompletion();
+
+        verify(writer).writeCandidateScores(anyList());
+        assertThat(stored.getLastCandidateId()).isEqualTo("c1");
+        assertThat(stored.getProcessed()).isZero();
+        assertThat(stored.getFailed()).isEqualTo(1);
+        assertThat(stored.isCompleted()).isTrue();
+    }
+
+    private void runToCompletion() throws InterruptedException {
+        assertThat(service.start(false)).isTrue();
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (service.isRunning() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+        assertThat(service.isRunning()).isFalse();
+    }
+
+    private static BackfillCheckpoint checkpoint(String last, int parserVersion, int extractorVersion) {
+        BackfillCheckpoint cp = new BackfillCheckpoint();
+        cp.setName("resume-features");
+        cp.setLastCandidateId(last);
+        cp.setParserVersion(parserVersion);
+        cp.setExtractorVersion(extractorVersion);
+        return cp;
+    }
+
+    private static Candidate candidate(String id) {
+        Candidate c = new Candidate();
+        c.setCandidateId(id);
+        c.setJobOpeningId("job-1");
+        c.setFileName(id + ".pdf");
+        return c;
+    }
+}
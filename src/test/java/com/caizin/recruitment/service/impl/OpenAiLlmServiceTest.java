@@ -0,0 +1,119 @@
+package com.caizin.recruitment.service.impl;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.GeneratedQuestionsDto;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.entity.ParsedResume;
+import com.caizin.recruitment.integration.openai.OpenAiClient;
+import com.caizin.recruitment.integration.openai.OpenAiModelRouter;
+import com.caizin.recruitment.integration.openai.OpenAiResponseCache;
+import com.caizin.recruitment.service.usage.LlmUsageTracker;
+import com.caizin.recruitment.util.prompt.ScreeningPromptBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OpenAiLlmServiceTest {
+
+    private static final String CONTENT =
+            "{\"questions\":[{\"type\":\"technical\",\"question\":\"How did you scale the Kafka consumers?\"}]}";
+
+    private static final ParsedResume RESUME =
+            new ParsedResume("Ann Lee", "ann@example.com", null, List.of("java"), 5, List.of(), 300);
+
+    private OpenAiClient openAiClient;
+    private OpenAiResponseCache responseCache;
+    private OpenAiModelRouter modelRouter;
+    private LlmUsageTracker usageTracker;
+    private OpenAiLlmService service;
+    private JobDto job;
+
+    @BeforeEach
+    void setUp() {
+        openAiClient = mock(OpenAiClient.class);
+        responseCache = mock(OpenAiResponseCache.class);
+        modelRouter = mock(OpenAiModelRouter.class);
+        usageTracker = mock(LlmUsageTracker.class);
+
+        ScreeningPromptBuilder promptBuilder = mock(ScreeningPromptBuilder.class);
+        when(promptBuilder.messages(any(), any())).thenReturn(List.of());
+        when(responseCache.key(any())).thenReturn("key-1");
+        when(responseCache.get("key-1")).thenReturn(Optional.empty());
+
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setModel("gpt-4o-mini");
+
+        service = new OpenAiLlmService(openAiClient, properties, new ObjectMapper(), promptBuilder,
+                responseCache, modelRouter, usageTracker);
+
+        job = new JobDto();
+        job.setJobOpeningId("job-1");
+        job.setTitle("Java developer");
+    }
+
+    @Test
+    void generatedQuestionsRecordTheModelThatAnswered() {
+        OpenAiResponseDto response = response("gpt-4o-2024-08-06");
+        when(modelRouter.createChatCompletion(any())).thenReturn(response);
+
+        GeneratedQuestionsDto generated = service.generatePersonalizedQuestions(job, RESUME);
+
+        assertThat(generated.model()).isEqualTo("gpt-4o-2024-08-06");
+        assertThat(generated.questions()).hasSize(1);
+        verify(responseCache).put("key-1", "job-1", "gpt-4o-2024-08-06", response);
+    }
+
+    @Test
+    void cachedAnswerKeepsTheModelItWasStoredUnder() {
+        when(responseCache.get("key-1")).thenReturn(Optional.of(response("gpt-4o-mini-2024-07-18")));
+
+        GeneratedQuestionsDto generated = service.generatePersonalizedQuestions(job, RESUME);
+
+        assertThat(generated.model()).isEqualTo("gpt-4o-mini-2024-07-18");
+        verify(usageTracker).recordCacheHit(LlmUsageTracker.QUESTIONS, "gpt-4o-mini-2024-07-18", "job-1");
+        verify(modelRouter, never()).createChatCompletion(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamFallsBackToTheRoutedModel() {
+        when(modelRouter.route(any())).thenReturn("gpt-4o");
+        OpenAiResponseDto response = response(null);
+        when(openAiClient.streamChatCompletion(any(), any())).thenAnswer(inv -> {
+            inv.getArgument(1, Consumer.class).accept(CONTENT);
+            return response;
+        });
+
+        List<Object> delivered = new ArrayList<>();
+        GeneratedQuestionsDto generated = service.streamPersonalizedQuestions(job, RESUME, delivered::add);
+
+        assertThat(generated.model()).isEqualTo("gpt-4o");
+        assertThat(delivered).hasSize(1);
+        verify(responseCache).put("key-1", "job-1", "gpt-4o", response);
+    }
+
+    private static OpenAiResponseDto response(String model) {
+        OpenAiResponseDto.Message message = new OpenAiResponseDto.Message();
+        message.setContent(CONTENT);
+        OpenAiResponseDto.Choice choice = new OpenAiResponseDto.Choice();
+        choice.setMessage(message);
+
+        OpenAiResponseDto response = new OpenAiResponseDto();
+        response.setModel(model);
+        response.setChoices(List.of(choice));
+        return response;
+    }
+}
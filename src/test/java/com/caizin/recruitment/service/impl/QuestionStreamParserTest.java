@@ -0,0 +1,90 @@
+package com.caizin.recruitment.service.impl;
+
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.exception.OpenAiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuestionStreamParserTest {
+
+    private static final String JSON = """
+            {"intro": {"questions": [{"question": "not this one"}]},
+             "questions": [
+               {"type": "technical", "question": "How does Kafka keep \\"exactly once\\"?", "meta": {"question": "ignored"}},
+               {"type": "behavioural", "question": "  Tell us about a rollback – what went wrong?  "},
+               {"type": "technical", "question": "   "},
+               {"type": "culture", "question": "Why this team? 🚀"}
+             ],
+             "notes": [{"question": "nor this"}]}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void emitsEachQuestionOfTheTopLevelArray() {
+        List<String> seen = new ArrayList<>();
+
+        QuestionStreamParser parser = new QuestionStreamParser(objectMapper, q -> seen.add(q.getType() + ": " + q.getQuestion()));
+        parser.feed(JSON);
+
+        assertThat(parser.finish()).isEqualTo(3);
+        assertThat(seen).containsExactly(
+                "technical: How does Kafka keep \"exactly once\"?",
+                "behavioural: Tell us about a rollback – what went wrong?",
+                "culture: Why this team? 🚀");
+    }
+
+    @Test
+    void anySplitOfTheContentGivesTheSameQuestions() {
+        List<String> expected = questions(List.of(JSON));
+
+        for (int cut = 1; cut < JSON.length(); cut++) {
+            // never split a surrogate pair; deltas always hold whole characters
+            if (Character.isLowSurrogate(JSON.charAt(cut))) continue;
+            assertThat(questions(List.of(JSON.substring(0, cut), JSON.substring(cut))))
+                    .as("split at %d", cut)
+                    .isEqualTo(expected);
+        }
+
+        List<String> single = new ArrayList<>();
+        for (int i = 0; i < JSON.length(); i++) {
+            int end = Character.isHighSurrogate(JSON.charAt(i)) ? i + 2 : i + 1;
+            single.add(JSON.substring(i, end));
+            i = end - 1;
+        }
+        assertThat(questions(single)).isEqualTo(expected);
+    }
+
+    @Test
+    void questionIsEmittedAsSoonAsItsObjectCloses() {
+        List<ScreeningQuestionDto> seen = new ArrayList<>();
+        QuestionStreamParser parser = new QuestionStreamParser(objectMapper, seen::add);
+
+        parser.feed("{\"questions\": [{\"type\": \"technical\", \"question\": \"First?\"");
+        assertThat(seen).isEmpty();
+        parser.feed("}, {\"type\": \"tech");
+        assertThat(seen).extracting(ScreeningQuestionDto::getQuestion).containsExactly("First?");
+    }
+
+    @Test
+    void malformedContentFails() {
+        QuestionStreamParser parser = new QuestionStreamParser(objectMapper, q -> { });
+
+        assertThatThrownBy(() -> parser.feed("{\"questions\": [}"))
+                .isInstanceOf(OpenAiException.class);
+    }
+
+    private List<String> questions(List<String> deltas) {
+        List<String> seen = new ArrayList<>();
+        QuestionStreamParser parser = new QuestionStreamParser(objectMapper, q -> seen.add(q.getQuestion()));
+        deltas.forEach(parser::feed);
+        parser.finish();
+        return seen;
+    }
+}
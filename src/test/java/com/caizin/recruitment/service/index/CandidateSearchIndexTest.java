@@ -0,0 +1,139 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.config.SearchProperties;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.event.CandidateScoredEvent;
+import com.caizin.recruitment.event.ResumeFeaturesSavedEvent;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CandidateSearchIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private ResumeFeaturesRepository featuresRepository;
+    private CandidateSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        featuresRepository = mock(ResumeFeaturesRepository.class);
+        SearchProperties properties = new SearchProperties();
+        properties.setIndexDir(dir.toString());
+        index = new CandidateSearchIndex(featuresRepository, mock(CandidateRepository.class), properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void ranksByRelevanceAndFiltersByJob() {
+        save(features("c1", "job-1", "Java Spring Boot Kafka microservices", 70.0));
+        save(features("c2", "job-1", "Kafka Kafka Kafka streaming platform engineer", 60.0));
+        save(features("c3", "job-2", "Kafka operations", 90.0));
+
+        assertThat(ids(search("kafka", null))).hasSize(3).first().isEqualTo("c2");
+        assertThat(ids(search("kafka", "job-1"))).containsExactlyInAnyOrder("c1", "c2");
+        assertThat(ids(search("figma", null))).isEmpty();
+    }
+
+    @Test
+    void scoreUpdateOnlyAppliesToTheIndexedJob() {
+        save(features("c1", "job-1", "Java developer", 50.0));
+
+        index.onScored(new CandidateScoredEvent("job-2", "c1", null, 95.0));
+        assertThat(scores()).containsEntry("c1", 50.0);
+
+        index.onScored(new CandidateScoredEvent("job-1", "c1", null, 80.0));
+        assertThat(scores()).containsEntry("c1", 80.0);
+    }
+
+    @Test
+    void rebuildDropsCandidatesNoLongerStored() {
+        save(features("gone", "job-1", "Java developer", 40.0));
+        ResumeFeatures kept = features("kept", "job-1", "Python developer", 55.0);
+        pages(List.of(kept));
+
+        index.rebuild();
+
+        assertThat(scores()).containsOnlyKeys("kept");
+    }
+
+    @Test
+    void scoreCommittedDuringARebuildPageIsNotOverwritten() throws Exception {
+        ResumeFeatures stale = features("c1", "job-1", "Java developer", 40.0);
+        Thread[] updater = new Thread[1];
+
+        when(featuresRepository.findByCandidateIdGreaterThanOrderByCandidateIdAsc(eq(""), any()))
+                .thenAnswer(inv -> {
+                    // the new score is committed after the page was read but before it is indexed
+                    updater[0] = new Thread(() -> index.onScored(new CandidateScoredEvent("job-1", "c1", null, 88.0)));
+                    updater[0].start();
+                    awaitBlockedOrDone(updater[0]);
+                    return List.of(stale);
+                });
+        when(featuresRepository.findByCandidateIdGreaterThanOrderByCandidateIdAsc(eq("c1"), any()))
+                .thenReturn(List.of());
+
+        index.rebuild();
+        updater[0].join(5_000);
+
+        assertThat(scores()).containsEntry("c1", 88.0);
+    }
+
+    private void pages(List<ResumeFeatures> rows) {
+        when(featuresRepository.findByCandidateIdGreaterThanOrderByCandidateIdAsc(eq(""), any())).thenReturn(rows);
+        when(featuresRepository.findByCandidateIdGreaterThanOrderByCandidateIdAsc(eq(rows.get(rows.size() - 1).getCandidateId()), any()))
+                .thenReturn(List.of());
+    }
+
+    private void save(ResumeFeatures f) {
+        index.onFeaturesSaved(new ResumeFeaturesSavedEvent(f));
+    }
+
+    private CandidateSearchIndex.SearchResult search(String query, String job) {
+        return index.search(new CandidateSearchIndex.SearchRequest(query, job, null, null, null, null, 0, 10));
+    }
+
+    private Map<String, Double> scores() {
+        return search(null, null).hits().stream()
+                .collect(Collectors.toMap(CandidateSearchIndex.SearchHit::candidateId, CandidateSearchIndex.SearchHit::atsScore));
+    }
+
+    private static List<String> ids(CandidateSearchIndex.SearchResult result) {
+        return result.hits().stream().map(CandidateSearchIndex.SearchHit::candidateId).toList();
+    }
+
+    private static void awaitBlockedOrDone(Thread t) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (t.getState() != Thread.State.BLOCKED && t.isAlive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static ResumeFeatures features(String candidateId, String job, String text, double atsScore) {
+        ResumeFeatures f = new ResumeFeatures();
+        f.setCandidateId(candidateId);
+        f.setJobOpeningId(job);
+        f.setResumeText(text);
+        f.setAtsScore(atsScore);
+        return f;
+    }
+}
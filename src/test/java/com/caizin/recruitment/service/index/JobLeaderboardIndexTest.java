@@ -0,0 +1,123 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.repository.ResumeAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JobLeaderboardIndexTest {
+
+    private JobLeaderboardIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new JobLeaderboardIndex(mock(ResumeAnalysisRepository.class));
+    }
+
+    @Test
+    void pagesThroughEveryCandidateInRankOrder() {
+        index.update("job-1", "c1", "Ann", 70.0);
+        index.update("job-1", "c2", "Bob", 91.5);
+        index.update("job-1", "c3", "Cid", 55.25);
+        index.update("job-1", "c4", "Dee", 88.0);
+        index.update("job-1", "c5", "Eve", 12.0);
+        index.update("job-2", "c6", "Fay", 99.0);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JobLeaderboardIndex.Page page = index.top("job-1", 2, cursor);
+            assertThat(page.total()).isEqualTo(5);
+            page.entries().forEach(e -> seen.add(e.candidateId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly("c2", "c4", "c1", "c3", "c5");
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void lastFullPageHasNoCursor() {
+        index.update("job-1", "c1", null, 10);
+        index.update("job-1", "c2", null, 20);
+
+        JobLeaderboardIndex.Page page = index.top("job-1", 2, null);
+
+        assertThat(page.entries()).hasSize(2);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void tiesAreOrderedByCandidateIdAndNeverSkipped() {
+        for (String id : List.of("c3", "c1", "c4", "c2")) {
+            index.update("job-1", id, null, 50.0);
+        }
+
+        JobLeaderboardIndex.Page first = index.top("job-1", 2, null);
+        JobLeaderboardIndex.Page second = index.top("job-1", 2, first.nextCursor());
+
+        assertThat(first.entries()).extracting(JobLeaderboardIndex.Entry::candidateId).containsExactly("c1", "c2");
+        assertThat(second.entries()).extracting(JobLeaderboardIndex.Entry::candidateId).containsExactly("c3", "c4");
+    }
+
+    @Test
+    void rescoringMovesTheCandidateAndKeepsTheName() {
+        index.update("job-1", "c1", "Ann", 40.0);
+        index.update("job-1", "c2", "Bob", 60.0);
+
+        index.update("job-1", "c1", null, 80.0);
+
+        JobLeaderboardIndex.Page page = index.top("job-1", 10, null);
+        assertThat(page.entries()).containsExactly(
+                new JobLeaderboardIndex.Entry("c1", "Ann", 80.0),
+                new JobLeaderboardIndex.Entry("c2", "Bob", 60.0));
+        assertThat(page.total()).isEqualTo(2);
+    }
+
+    @Test
+    void cursorStaysValidWhenEarlierEntriesChange() {
+        index.update("job-1", "c1", null, 90.0);
+        index.update("job-1", "c2", null, 80.0);
+        index.update("job-1", "c3", null, 70.0);
+
+        String cursor = index.top("job-1", 1, null).nextCursor();
+        index.remove("job-1", "c1");
+        index.update("job-1", "c0", null, 95.0);
+
+        assertThat(index.top("job-1", 5, cursor).entries())
+                .extracting(JobLeaderboardIndex.Entry::candidateId)
+                .containsExactly("c2", "c3");
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        JobLeaderboardIndex.Entry entry = new JobLeaderboardIndex.Entry("id|with|bars", null, 73.125);
+
+        JobLeaderboardIndex.Entry decoded = JobLeaderboardIndex.decodeCursor(JobLeaderboardIndex.encodeCursor(entry));
+
+        assertThat(decoded.candidateId()).isEqualTo("id|with|bars");
+        assertThat(decoded.atsScore()).isEqualTo(73.125);
+    }
+
+    @Test
+    void rejectsGarbageCursorsAndUnknownJobs() {
+        index.update("job-1", "c1", null, 1);
+
+        assertThatThrownBy(() -> index.top("job-1", 5, "not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.top("job-1", 5, "bm9wZQ"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        JobLeaderboardIndex.Page empty = index.top("job-9", 5, null);
+        assertThat(empty.entries()).isEmpty();
+        assertThat(empty.nextCursor()).isNull();
+    }
+}
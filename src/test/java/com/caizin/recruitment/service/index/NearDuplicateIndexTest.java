@@ -0,0 +1,102 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.config.DedupProperties;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.event.ResumeFeaturesSavedEvent;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.util.dedup.MinHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class NearDuplicateIndexTest {
+
+    private MinHasher hasher;
+    private NearDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DedupProperties properties = new DedupProperties();
+        hasher = new MinHasher(properties);
+        index = new NearDuplicateIndex(mock(ResumeFeaturesRepository.class), hasher, properties);
+    }
+
+    @Test
+    void findsLightlyEditedCopiesAndNothingElse() {
+        Random random = new Random(11);
+        List<String> originals = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            String text = text(random, 300);
+            originals.add(text);
+            save("orig-" + i, text);
+        }
+
+        int found = 0;
+        int copies = 100;
+        for (int i = 0; i < copies; i++) {
+            // two changed words in 300 leave ~0.93 shingle Jaccard
+            String copy = edit(random, originals.get(i), 2);
+            Optional<NearDuplicateIndex.Match> match = index.findDuplicate("copy-" + i, hasher.signature(copy));
+            if (match.isPresent() && match.get().candidateId().equals("orig-" + i)) found++;
+        }
+        assertThat(found).as("recall").isGreaterThanOrEqualTo(98);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(index.findDuplicate("new-" + i, hasher.signature(text(random, 300)))).isEmpty();
+        }
+    }
+
+    @Test
+    void resavedCandidateLeavesItsOldBuckets() {
+        Random random = new Random(3);
+        String before = text(random, 200);
+        String after = text(random, 200);
+
+        save("c1", before);
+        save("c1", after);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findSimilar("probe", hasher.signature(before), 0.0)).isEmpty();
+        assertThat(index.findDuplicate("probe", hasher.signature(after)))
+                .contains(new NearDuplicateIndex.Match("c1", 1.0));
+    }
+
+    @Test
+    void neverReportsTheCandidateItself() {
+        String text = text(new Random(5), 200);
+        save("c1", text);
+
+        assertThat(index.findDuplicate("c1", hasher.signature(text))).isEmpty();
+        assertThat(index.findDuplicate("c2", hasher.signature(text))).isPresent();
+    }
+
+    private void save(String candidateId, String text) {
+        ResumeFeatures f = new ResumeFeatures();
+        f.setCandidateId(candidateId);
+        f.setMinhashSignature(MinHasher.toBytes(hasher.signature(text)));
+        index.onFeaturesSaved(new ResumeFeaturesSavedEvent(f));
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append("w").append(random.nextInt(5_000)).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static String edit(Random random, String text, int edits) {
+        String[] words = text.trim().split(" ");
+        for (int e = 0; e < edits; e++) {
+            words[random.nextInt(words.length)] = "edit" + random.nextInt(1_000_000);
+        }
+        return String.join(" ", words);
+    }
+}
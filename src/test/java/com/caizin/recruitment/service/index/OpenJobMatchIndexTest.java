@@ -0,0 +1,92 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.config.ReverseMatchProperties;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.integration.ats.AtsPlatform;
+import com.caizin.recruitment.parser.JDParser;
+import com.caizin.recruitment.util.ats.CosineSimilarityCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OpenJobMatchIndexTest {
+
+    private static final String JAVA_JD =
+            "<p>Senior Java developer with Spring Boot, Kafka and PostgreSQL.</p> 5+ years of Java microservices.";
+    private static final String DATA_JD =
+            "Data engineer: Python, Spark, Airflow and PostgreSQL pipelines; 3 years building data platforms.";
+    private static final String DESIGN_JD =
+            "Graphic designer fluent in Figma, Illustrator, typography.";
+
+    private static final String RESUME =
+            "Java engineer, six years of Spring Boot microservices on PostgreSQL and Kafka. "
+                    + "Some Python scripting for data pipelines.";
+
+    private final CosineSimilarityCalculator cosine = new CosineSimilarityCalculator();
+    private AtsPlatform ats;
+    private OpenJobMatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ats = mock(AtsPlatform.class);
+        when(ats.fetchJobs()).thenReturn(List.of(
+                job("J1", JAVA_JD, "In-progress"),
+                job("J2", DATA_JD, null),
+                job("J3", DESIGN_JD, "In-progress"),
+                job("J4", JAVA_JD, "Filled"),
+                job("J5", "  ", "In-progress")));
+        index = new OpenJobMatchIndex(ats, cosine, new JDParser(), new ReverseMatchProperties());
+    }
+
+    @Test
+    void matchesPairwiseCosineForEveryOpenJob() {
+        Map<String, Double> scores = scores(RESUME);
+
+        assertThat(scores).containsOnlyKeys("J1", "J2");
+        assertThat(scores.get("J1")).isCloseTo(100 * cosine.calculate(RESUME, JAVA_JD.replaceAll("<[^>]+>", " ")), within(1e-9));
+        assertThat(scores.get("J2")).isCloseTo(100 * cosine.calculate(RESUME, DATA_JD), within(1e-9));
+        assertThat(scores.get("J1")).isGreaterThan(scores.get("J2"));
+    }
+
+    @Test
+    void jobsSharingNoTermAreSkippedAndScoreZeroPairwise() {
+        assertThat(cosine.calculate(RESUME, DESIGN_JD)).isZero();
+        assertThat(scores("Figma typography")).containsOnlyKeys("J3");
+        assertThat(scores("nothing here overlaps")).isEmpty();
+    }
+
+    @Test
+    void readsRequiredYearsAndCachesTheSnapshot() {
+        List<OpenJobMatchIndex.JobSimilarity> result = index.similarities(index.termFrequencies(RESUME));
+        index.similarities(index.termFrequencies("python spark"));
+
+        assertThat(result).extracting(s -> s.job().jobOpeningId() + "=" + s.job().requiredYears())
+                .containsExactlyInAnyOrder("J1=5.0", "J2=3.0");
+        verify(ats, times(1)).fetchJobs();
+
+        index.invalidate();
+        index.similarities(index.termFrequencies(RESUME));
+        verify(ats, times(2)).fetchJobs();
+    }
+
+    private Map<String, Double> scores(String resume) {
+        return index.similarities(index.termFrequencies(resume)).stream()
+                .collect(Collectors.toMap(s -> s.job().jobOpeningId(), OpenJobMatchIndex.JobSimilarity::skillScore));
+    }
+
+    private static JobDto job(String id, String description, String status) {
+        JobDto job = new JobDto("z-" + id, id, "Title " + id, description, null, "Engineering");
+        job.setStatus(status);
+        return job;
+    }
+}
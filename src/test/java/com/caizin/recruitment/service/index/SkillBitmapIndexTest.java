@@ -0,0 +1,187 @@
+package com.caizin.recruitment.service.index;
+
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.event.ResumeFeaturesSavedEvent;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository.SkillView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SkillBitmapIndexTest {
+
+    private static final List<String> SKILLS =
+            List.of("Java", "Kubernetes", "PHP", "Python", "React", "SQL", "Go", "AWS");
+
+    private ResumeFeaturesRepository repository;
+    private SkillBitmapIndex index;
+    private final Map<String, ResumeFeatures> stored = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ResumeFeaturesRepository.class);
+        index = new SkillBitmapIndex(repository);
+    }
+
+    @Test
+    void filtersMatchABruteForceScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            save(randomCandidate(random, String.format("c%04d", i)));
+        }
+        // re-saved candidates must lose their old skills, job and years
+        for (int i = 0; i < 200; i++) {
+            save(randomCandidate(random, String.format("c%04d", random.nextInt(2_000))));
+        }
+
+        for (int q = 0; q < 300; q++) {
+            SkillBitmapIndex.Query query = new SkillBitmapIndex.Query(
+                    pick(random, random.nextInt(3)),
+                    pick(random, random.nextInt(3)),
+                    pick(random, random.nextInt(2)),
+                    random.nextBoolean() ? null : random.nextInt(3) == 0 ? 35.0 : random.nextInt(120) / 10.0,
+                    random.nextBoolean() ? null : "job-" + random.nextInt(3),
+                    Integer.MAX_VALUE);
+
+            SkillBitmapIndex.Result result = index.query(query);
+            Set<String> expected = bruteForce(query);
+
+            assertThat(result.total()).as("%s", query).isEqualTo(expected.size());
+            assertThat(result.candidateIds()).as("%s", query).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void skillsAreCaseAndWhitespaceInsensitive() {
+        save(candidate("c1", "job-1", " Java , kubernetes", 6));
+        save(candidate("c2", "job-1", "JAVA,PHP", 8));
+
+        SkillBitmapIndex.Result result = index.query(new SkillBitmapIndex.Query(
+                List.of("java", "KUBERNETES "), null, List.of("php"), 5.0, null, 10));
+
+        assertThat(result.candidateIds()).containsExactly("c1");
+        assertThat(index.skillCounts()).containsEntry("java", 2).containsEntry("php", 1);
+    }
+
+    @Test
+    void limitCapsIdsButNotTotal() {
+        for (int i = 0; i < 10; i++) {
+            save(candidate("c" + i, "job-1", "java", i));
+        }
+
+        SkillBitmapIndex.Result result = index.query(new SkillBitmapIndex.Query(
+                List.of("java"), null, null, null, null, 3));
+
+        assertThat(result.total()).isEqualTo(10);
+        assertThat(result.candidateIds()).hasSize(3);
+    }
+
+    @Test
+    void rebuildReadsOnlyTheIndexedColumnsAndReplacesTheIndex() {
+        save(candidate("gone", "job-1", "java", 3));
+        when(repository.findSkillsByCandidateIdGreaterThanOrderByCandidateIdAsc(eq(""), any()))
+                .thenReturn(List.of(view("c1", "job-1", "Java,SQL", 4), view("c2", "job-2", "php", 9)));
+        when(repository.findSkillsByCandidateIdGreaterThanOrderByCandidateIdAsc(eq("c2"), any()))
+                .thenReturn(List.of());
+
+        index.rebuild();
+
+        assertThat(index.query(new SkillBitmapIndex.Query(null, null, null, null, null, 10)).candidateIds())
+                .containsExactly("c1", "c2");
+        assertThat(index.skillCounts()).containsOnlyKeys("java", "sql", "php");
+        verify(repository, never()).findByCandidateIdGreaterThanOrderByCandidateIdAsc(any(), any());
+    }
+
+    @Test
+    void saveDuringRebuildIsKept() {
+        when(repository.findSkillsByCandidateIdGreaterThanOrderByCandidateIdAsc(eq(""), any())).thenAnswer(inv -> {
+            // committed after this page was read
+            save(candidate("c1", "job-1", "go", 7));
+            save(candidate("c3", "job-1", "react", 2));
+            return List.of(view("c1", "job-1", "java", 4), view("c2", "job-1", "java", 5));
+        });
+        when(repository.findSkillsByCandidateIdGreaterThanOrderByCandidateIdAsc(eq("c2"), any()))
+                .thenReturn(List.of());
+
+        index.rebuild();
+
+        assertThat(index.query(new SkillBitmapIndex.Query(List.of("go"), null, null, 6.0, null, 10)).candidateIds())
+                .containsExactly("c1");
+        assertThat(index.query(new SkillBitmapIndex.Query(List.of("java"), null, null, null, null, 10)).candidateIds())
+                .containsExactly("c2");
+        assertThat(index.skillCounts()).containsEntry("react", 1);
+    }
+
+    private Set<String> bruteForce(SkillBitmapIndex.Query q) {
+        Set<String> out = new TreeSet<>();
+        for (ResumeFeatures f : stored.values()) {
+            Set<String> skills = SkillBitmapIndex.canonical(List.of(f.getSkills().split(",")));
+            Set<String> all = SkillBitmapIndex.canonical(q.all());
+            Set<String> any = SkillBitmapIndex.canonical(q.any());
+            Set<String> none = SkillBitmapIndex.canonical(q.none());
+
+            if (q.jobOpeningId() != null && !q.jobOpeningId().equals(f.getJobOpeningId())) continue;
+            if (!skills.containsAll(all)) continue;
+            if (!any.isEmpty() && any.stream().noneMatch(skills::contains)) continue;
+            if (none.stream().anyMatch(skills::contains)) continue;
+            if (q.minYears() != null && q.minYears() > 0 && f.getCandidateYears() < q.minYears()) continue;
+            out.add(f.getCandidateId());
+        }
+        return out;
+    }
+
+    private void save(ResumeFeatures f) {
+        stored.put(f.getCandidateId(), f);
+        index.onFeaturesSaved(new ResumeFeaturesSavedEvent(f));
+    }
+
+    private static ResumeFeatures randomCandidate(Random random, String id) {
+        List<String> skills = new ArrayList<>();
+        for (String skill : SKILLS) {
+            if (random.nextInt(3) == 0) skills.add(random.nextBoolean() ? skill : skill.toUpperCase());
+        }
+        double years = random.nextInt(10) == 0 ? 40 : random.nextInt(150) / 10.0;
+        return candidate(id, "job-" + random.nextInt(3), String.join(",", skills), years);
+    }
+
+    private static ResumeFeatures candidate(String id, String job, String skills, double years) {
+        ResumeFeatures f = new ResumeFeatures();
+        f.setCandidateId(id);
+        f.setJobOpeningId(job);
+        f.setSkills(skills);
+        f.setCandidateYears(years);
+        return f;
+    }
+
+    private static SkillView view(String id, String job, String skills, double years) {
+        return new SkillView() {
+            public String getCandidateId() { return id; }
+            public String getJobOpeningId() { return job; }
+            public String getSkills() { return skills; }
+            public double getCandidateYears() { return years; }
+        };
+    }
+
+    private static List<String> pick(Random random, int n) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            out.add(SKILLS.get(random.nextInt(SKILLS.size())).toLowerCase());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,108 @@
+package com.caizin.recruitment.service.outbox;
+
+import com.caizin.recruitment.config.AnalysisOutboxProperties;
+import com.caizin.recruitment.entity.AnalysisOutboxItem;
+import com.caizin.recruitment.repository.AnalysisOutboxRepository;
+import com.caizin.recruitment.service.ResumeAnalysisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class AnalysisOutboxServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AnalysisOutboxProperties properties;
+    private AnalysisOutboxService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new AnalysisOutboxProperties();
+        properties.setInitialBackoff(Duration.ofSeconds(10));
+        properties.setMaxBackoff(Duration.ofMinutes(30));
+        properties.setMaxAttempts(3);
+        service = new AnalysisOutboxService(
+                mock(AnalysisOutboxRepository.class),
+                mock(ResumeAnalysisService.class),
+                jdbcTemplate,
+                properties);
+    }
+
+    @Test
+    void backoffDoublesPerAttemptWithinJitter() {
+        for (int attempts = 1; attempts <= 5; attempts++) {
+            long expected = 10_000L << (attempts - 1);
+            for (int i = 0; i < 200; i++) {
+                long millis = service.backoff(attempts).toMillis();
+                assertThat(millis).isBetween((long) (expected * 0.8), (long) (expected * 1.2));
+            }
+        }
+    }
+
+    @Test
+    void backoffIsCappedAtMaxBackoff() {
+        long max = Duration.ofMinutes(30).toMillis();
+        for (int attempts : new int[] { 9, 20, 50, Integer.MAX_VALUE }) {
+            assertThat(service.backoff(attempts).toMillis()).isBetween((long) (max * 0.8), (long) (max * 1.2));
+        }
+    }
+
+    @Test
+    void backoffBeforeFirstAttemptUsesInitialBackoff() {
+        assertThat(service.backoff(0).toMillis()).isBetween(8_000L, 12_000L);
+    }
+
+    @Test
+    void failSchedulesRetryUntilAttemptsRunOut() {
+        UUID id = UUID.randomUUID();
+
+        service.fail(claimed(id, 2), "boom");
+        verify(jdbcTemplate).update(anyString(), eq(AnalysisOutboxItem.PENDING), longBetween(16_000, 24_000), eq("boom"), eq(id));
+
+        service.fail(claimed(id, 3), "boom again");
+        verify(jdbcTemplate).update(anyString(), eq(AnalysisOutboxItem.FAILED), longBetween(32_000, 48_000), eq("boom again"), eq(id));
+    }
+
+    @Test
+    void releasePassesDelayToTheDatabaseClock() {
+        UUID id = UUID.randomUUID();
+
+        service.release(claimed(id, 1), Duration.ofSeconds(5));
+
+        verify(jdbcTemplate).update(anyString(), eq(5_000L), eq(id));
+    }
+
+    @Test
+    void releaseExpiredUsesTheLease() {
+        properties.setLease(Duration.ofMinutes(10));
+
+        service.releaseExpired();
+
+        verify(jdbcTemplate).update(anyString(), eq(600_000L));
+    }
+
+    @Test
+    void claimNothingWithoutFreeSlots() {
+        assertThat(service.claim(0)).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static AnalysisOutboxService.Claimed claimed(UUID id, int attempts) {
+        return new AnalysisOutboxService.Claimed(id, UUID.randomUUID(), "cand-1", "job-1", "resume", attempts);
+    }
+
+    private static Long longBetween(long min, long max) {
+        return argThat(l -> l != null && l >= min && l <= max);
+    }
+}
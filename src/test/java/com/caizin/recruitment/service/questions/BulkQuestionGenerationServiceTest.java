@@ -0,0 +1,171 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.service.CandidateQuestionGenerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkQuestionGenerationServiceTest {
+
+    private CandidateRepository candidates;
+    private CandidateQuestionGenerationService questions;
+    private BulkQuestionGenerationService service;
+
+    @BeforeEach
+    void setUp() {
+        candidates = mock(CandidateRepository.class);
+        questions = mock(CandidateQuestionGenerationService.class);
+        when(questions.jobsById()).thenReturn(Map.of("job-1", job("job-1")));
+
+        QuestionGenerationProperties properties = new QuestionGenerationProperties();
+        properties.setParallelism(2);
+        properties.setPageSize(3);
+        properties.setMinAtsScore(60.0);
+
+        service = new BulkQuestionGenerationService(candidates, questions, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void pagesThroughCandidatesAndCountsEachOutcome() throws Exception {
+        when(candidates.findEligibleForQuestions(eq(""), any(), anyBoolean(), any()))
+                .thenReturn(List.of(candidate("c1", "job-1"), candidate("c2", "job-1"), candidate("c3", "job-gone")));
+        when(candidates.findEligibleForQuestions(eq("c3"), any(), anyBoolean(), any()))
+                .thenReturn(List.of(candidate("c4", "job-1")));
+        when(candidates.findEligibleForQuestions(eq("c4"), any(), anyBoolean(), any()))
+                .thenReturn(List.of());
+        when(questions.generate(any(), any())).thenAnswer(inv -> {
+            if ("c2".equals(inv.<Candidate>getArgument(0).getCandidateId())) {
+                throw new IllegalStateException("OpenAI 500");
+            }
+            return List.of();
+        });
+
+        QuestionGenerationRun run = await(service.start(null, false));
+
+        assertThat(run.getState()).isEqualTo(QuestionGenerationRun.State.COMPLETED);
+        assertThat(run.getSubmitted()).isEqualTo(3);
+        assertThat(run.getGenerated()).isEqualTo(2);
+        assertThat(run.getFailed()).isEqualTo(1);
+        assertThat(run.getSkipped()).isEqualTo(1);
+        verify(candidates).findEligibleForQuestions(eq(""), eq(60.0), eq(false), any());
+        verify(questions, never()).generate(argThat(c -> "c3".equals(c.getCandidateId())), any());
+    }
+
+    @Test
+    void neverRunsMoreGenerationsThanTheParallelism() throws Exception {
+        List<Candidate> page = List.of(
+                candidate("c1", "job-1"), candidate("c2", "job-1"), candidate("c3", "job-1"));
+        when(candidates.findEligibleForQuestions(anyString(), any(), anyBoolean(), any()))
+                .thenReturn(page, page, List.of());
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(questions.generate(any(), any())).thenAnswer(inv -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return List.of();
+        });
+
+        QuestionGenerationRun run = await(service.start(75.0, true));
+
+        assertThat(run.getGenerated()).isEqualTo(6);
+        assertThat(peak.get()).isBetween(1, 2);
+        verify(candidates).findEligibleForQuestions(eq(""), eq(75.0), eq(true), any());
+    }
+
+    @Test
+    void onlyOneRunAtATime() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(candidates.findEligibleForQuestions(anyString(), any(), anyBoolean(), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        QuestionGenerationRun first = service.start(null, false);
+
+        assertThatThrownBy(() -> service.start(null, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(first.getRunId());
+
+        release.countDown();
+        await(first);
+        assertThat(service.find(first.getRunId())).containsSame(first);
+        assertThat(await(startWhenIdle()).getState()).isEqualTo(QuestionGenerationRun.State.COMPLETED);
+    }
+
+    @Test
+    void keepsOnlyTheLatestRuns() throws Exception {
+        QuestionGenerationRun oldest = await(service.start(null, false));
+        QuestionGenerationRun latest = oldest;
+        for (int i = 0; i < BulkQuestionGenerationService.RUNS_KEPT; i++) {
+            latest = await(startWhenIdle());
+        }
+
+        assertThat(service.runs()).hasSize(BulkQuestionGenerationService.RUNS_KEPT).contains(latest);
+        assertThat(service.find(oldest.getRunId())).isEmpty();
+    }
+
+    private static QuestionGenerationRun await(QuestionGenerationRun run) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (run.getState() == QuestionGenerationRun.State.RUNNING && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+        return run;
+    }
+
+    /**
+     * The active run is cleared just after its state changes, so a new start may briefly still be refused.
+     */
+    private QuestionGenerationRun startWhenIdle() throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        while (true) {
+            try {
+                return service.start(null, true);
+            } catch (IllegalStateException e) {
+                if (Instant.now().isAfter(deadline)) throw e;
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static Candidate candidate(String id, String job) {
+        Candidate c = new Candidate();
+        c.setCandidateId(id);
+        c.setJobOpeningId(job);
+        return c;
+    }
+
+    private static JobDto job(String id) {
+        return new JobDto("z-" + id, id, "Title " + id, "Java developer", null, "Engineering");
+    }
+}
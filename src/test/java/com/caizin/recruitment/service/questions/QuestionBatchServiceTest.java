@@ -0,0 +1,224 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.OpenAiBatchDto;
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.entity.QuestionBatch;
+import com.caizin.recruitment.entity.QuestionBatchRequest;
+import com.caizin.recruitment.integration.openai.OpenAiBatchClient;
+import com.caizin.recruitment.integration.openai.OpenAiResponseCache;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.repository.QuestionBatchRepository;
+import com.caizin.recruitment.repository.QuestionBatchRequestRepository;
+import com.caizin.recruitment.service.CandidateQuestionGenerationService;
+import com.caizin.recruitment.service.impl.OpenAiLlmService;
+import com.caizin.recruitment.service.usage.LlmUsageTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionBatchServiceTest {
+
+    private static final String ANSWERING_MODEL = "gpt-4o-mini-2024-07-18";
+
+    private CandidateRepository candidateRepository;
+    private QuestionBatchRepository batchRepository;
+    private QuestionBatchRequestRepository requestRepository;
+    private OpenAiLlmService llmService;
+    private OpenAiBatchClient batchClient;
+    private OpenAiResponseCache responseCache;
+    private ScreeningQuestionStore questionStore;
+    private CandidateQuestionGenerationService questionService;
+    private QuestionBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        candidateRepository = mock(CandidateRepository.class);
+        batchRepository = mock(QuestionBatchRepository.class);
+        requestRepository = mock(QuestionBatchRequestRepository.class);
+        llmService = mock(OpenAiLlmService.class);
+        batchClient = mock(OpenAiBatchClient.class);
+        responseCache = mock(OpenAiResponseCache.class);
+        questionStore = mock(ScreeningQuestionStore.class);
+        questionService = mock(CandidateQuestionGenerationService.class);
+
+        OpenAiProperties openAiProperties = new OpenAiProperties();
+        openAiProperties.setModel("gpt-4o-mini");
+        openAiProperties.getBatch().setEnabled(true);
+
+        service = new QuestionBatchService(
+                candidateRepository,
+                batchRepository,
+                requestRepository,
+                questionService,
+                llmService,
+                batchClient,
+                responseCache,
+                questionStore,
+                new ObjectMapper(),
+                openAiProperties,
+                new QuestionGenerationProperties(),
+                mock(LlmUsageTracker.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void scheduledSubmissionRunsOffTheSchedulerThread() throws InterruptedException {
+        CountDownLatch jobsFetched = new CountDownLatch(1);
+        when(questionService.jobsById()).thenAnswer(inv -> {
+            jobsFetched.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+
+        long start = System.nanoTime();
+        service.submitScheduled();
+        service.submitScheduled();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        verify(questionService, timeout(1_000)).jobsById();
+        jobsFetched.countDown();
+        verify(questionService, after(200).times(1)).jobsById();
+    }
+
+    @Test
+    void recentUploadIsLeftToFinish() {
+        QuestionBatch batch = uploading(LocalDateTime.now().minusMinutes(1));
+        when(batchRepository.findByResultsAppliedFalse()).thenReturn(List.of(batch));
+
+        service.poll();
+
+        verify(batchClient, never()).listBatches(anyInt());
+        assertThat(batch.getStatus()).isEqualTo("uploading");
+    }
+
+    @Test
+    void interruptedUploadIsFoundByItsLocalId() {
+        QuestionBatch batch = uploading(LocalDateTime.now().minusHours(2));
+        when(batchRepository.findByResultsAppliedFalse()).thenReturn(List.of(batch));
+
+        OpenAiBatchDto remote = new OpenAiBatchDto();
+        remote.setId("batch_abc");
+        remote.setInputFileId("file_in");
+        remote.setStatus("in_progress");
+        remote.setMetadata(Map.of("local_batch_id", batch.getId().toString()));
+        when(batchClient.listBatches(anyInt())).thenReturn(page(remote));
+        when(batchClient.getBatch("batch_abc")).thenReturn(remote);
+
+        service.poll();
+
+        assertThat(batch.getOpenaiBatchId()).isEqualTo("batch_abc");
+        assertThat(batch.getInputFileId()).isEqualTo("file_in");
+        assertThat(batch.getStatus()).isEqualTo("in_progress");
+        assertThat(batch.isResultsApplied()).isFalse();
+    }
+
+    @Test
+    void interruptedUploadMissingFromOpenAiFailsItsRequests() {
+        QuestionBatch batch = uploading(LocalDateTime.now().minusHours(2));
+        when(batchRepository.findByResultsAppliedFalse()).thenReturn(List.of(batch));
+
+        OpenAiBatchDto unrelated = new OpenAiBatchDto();
+        unrelated.setId("batch_other");
+        unrelated.setMetadata(Map.of("local_batch_id", UUID.randomUUID().toString()));
+        when(batchClient.listBatches(anyInt())).thenReturn(page(unrelated));
+
+        QuestionBatchRequest row = row(batch, "c1");
+        when(requestRepository.findByBatchIdAndStatus(batch.getId(), QuestionBatchRequest.SUBMITTED))
+                .thenReturn(List.of(row));
+
+        service.poll();
+
+        assertThat(batch.getStatus()).isEqualTo("failed");
+        assertThat(batch.isResultsApplied()).isTrue();
+        assertThat(row.getStatus()).isEqualTo(QuestionBatchRequest.FAILED);
+        assertThat(row.getError()).isEqualTo("upload interrupted");
+        verify(batchRepository).save(batch);
+    }
+
+    @Test
+    void resultsAreStoredUnderTheModelThatAnswered() {
+        QuestionBatch batch = uploading(LocalDateTime.now());
+        batch.setOpenaiBatchId("batch_abc");
+        when(batchRepository.findByResultsAppliedFalse()).thenReturn(List.of(batch));
+
+        OpenAiBatchDto remote = new OpenAiBatchDto();
+        remote.setId("batch_abc");
+        remote.setStatus("completed");
+        remote.setOutputFileId("file_out");
+        when(batchClient.getBatch("batch_abc")).thenReturn(remote);
+
+        QuestionBatchRequest row = row(batch, "c1");
+        row.setCacheKey("key-1");
+        when(requestRepository.findById(row.getCustomId())).thenReturn(Optional.of(row));
+        when(batchClient.fileContent("file_out")).thenReturn(
+                "{\"custom_id\":\"" + row.getCustomId() + "\",\"response\":{\"status_code\":200,"
+                        + "\"body\":{\"model\":\"" + ANSWERING_MODEL + "\",\"choices\":[]}}}\n");
+
+        Candidate candidate = new Candidate();
+        candidate.setCandidateId("c1");
+        candidate.setAtsScore(80.0);
+        when(candidateRepository.findById("c1")).thenReturn(Optional.of(candidate));
+        List<ScreeningQuestionDto> questions = List.of(new ScreeningQuestionDto("technical", "Why Java?"));
+        when(llmService.questionsFrom(any())).thenReturn(questions);
+
+        service.poll();
+
+        verify(questionStore).save("c1", "job-1", questions, ANSWERING_MODEL, 80.0);
+        verify(responseCache).put(eq("key-1"), eq("job-1"), eq(ANSWERING_MODEL), any());
+        assertThat(row.getStatus()).isEqualTo(QuestionBatchRequest.DONE);
+        verify(questionStore, never()).save(anyString(), anyString(), any(), eq("gpt-4o-mini"), any());
+    }
+
+    private static QuestionBatch uploading(LocalDateTime updatedAt) {
+        QuestionBatch batch = new QuestionBatch();
+        batch.setId(UUID.randomUUID());
+        batch.setStatus("uploading");
+        batch.setUpdatedAt(updatedAt);
+        return batch;
+    }
+
+    private static QuestionBatchRequest row(QuestionBatch batch, String candidateId) {
+        QuestionBatchRequest row = new QuestionBatchRequest();
+        row.setCustomId(batch.getId() + ":" + candidateId);
+        row.setBatchId(batch.getId());
+        row.setCandidateId(candidateId);
+        row.setJobOpeningId("job-1");
+        row.setStatus(QuestionBatchRequest.SUBMITTED);
+        return row;
+    }
+
+    private static OpenAiBatchDto.Page page(OpenAiBatchDto... batches) {
+        OpenAiBatchDto.Page page = new OpenAiBatchDto.Page();
+        page.setData(List.of(batches));
+        return page;
+    }
+}
@@ -0,0 +1,108 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.Candidate;
+import com.caizin.recruitment.repository.CandidateRepository;
+import com.caizin.recruitment.service.CandidateQuestionGenerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionStreamServiceTest {
+
+    private static final List<ScreeningQuestionDto> STORED = List.of(
+            new ScreeningQuestionDto("technical", "Explain MVCC."),
+            new ScreeningQuestionDto("behavioural", "Describe a hard review."));
+
+    private ScreeningQuestionStore store;
+    private QuestionStreamService service;
+    private SseEmitter emitter;
+    private final Candidate candidate = new Candidate();
+
+    @BeforeEach
+    void setUp() {
+        store = mock(ScreeningQuestionStore.class);
+        service = new QuestionStreamService(mock(CandidateRepository.class),
+                mock(CandidateQuestionGenerationService.class), store, new QuestionGenerationProperties());
+        emitter = mock(SseEmitter.class);
+
+        candidate.setCandidateId("c1");
+        candidate.setJobOpeningId("job-1");
+        when(store.find("c1", "job-1")).thenReturn(Optional.of(STORED));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void storedQuestionsAreReplayedThenDone() throws IOException {
+        service.feed(stream(false), candidate, false);
+
+        verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+    }
+
+    @Test
+    void timedOutEmitterIsNeverWrittenTo() throws IOException {
+        service.feed(stream(true), candidate, false);
+
+        verify(emitter, never()).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+        verify(emitter, never()).completeWithError(any());
+    }
+
+    @Test
+    void emitterCompletedMidStreamStopsWithoutASecondSend() throws IOException {
+        doThrow(new IllegalStateException("ResponseBodyEmitter has already completed"))
+                .when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        service.feed(stream(false), candidate, false);
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+        verify(emitter, never()).completeWithError(any());
+    }
+
+    @Test
+    void clientDisconnectCompletesWithTheIoError() throws IOException {
+        IOException broken = new IOException("Broken pipe");
+        doNothing().doThrow(broken).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        service.feed(stream(false), candidate, false);
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).completeWithError(broken);
+    }
+
+    @Test
+    void generationFailureIsReportedAsAnErrorEvent() throws IOException {
+        when(store.find("c1", "job-1")).thenThrow(new IllegalStateException("db down"));
+
+        service.feed(stream(false), candidate, false);
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+    }
+
+    private QuestionStreamService.Stream stream(boolean closed) {
+        return new QuestionStreamService.Stream(emitter, new AtomicBoolean(closed));
+    }
+}
@@ -0,0 +1,68 @@
+package com.caizin.recruitment.service.questions;
+
+import com.caizin.recruitment.config.QuestionGenerationProperties;
+import com.caizin.recruitment.dto.ScreeningQuestionDto;
+import com.caizin.recruitment.entity.ScreeningQuestionSet;
+import com.caizin.recruitment.event.ScreeningQuestionsSavedEvent;
+import com.caizin.recruitment.repository.ScreeningQuestionSetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScreeningQuestionStoreTest {
+
+    private ScreeningQuestionSetRepository repository;
+    private ApplicationEventPublisher events;
+    private ScreeningQuestionStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ScreeningQuestionSetRepository.class);
+        events = mock(ApplicationEventPublisher.class);
+        when(repository.findByCandidateIdAndJobOpeningId("c1", "job-1")).thenReturn(Optional.empty());
+        store = new ScreeningQuestionStore(repository, new ObjectMapper(), events, new QuestionGenerationProperties());
+    }
+
+    @Test
+    void saveStoresTheRowAndAnnouncesTheQuestions() {
+        List<ScreeningQuestionDto> questions = List.of(new ScreeningQuestionDto("technical", "Explain MVCC."));
+
+        store.save("c1", "job-1", questions, "gpt-4o-mini", 82.0);
+
+        ArgumentCaptor<ScreeningQuestionSet> row = ArgumentCaptor.forClass(ScreeningQuestionSet.class);
+        verify(repository).save(row.capture());
+        assertThat(row.getValue().getModel()).isEqualTo("gpt-4o-mini");
+        assertThat(row.getValue().getQuestionsJson()).contains("Explain MVCC.");
+
+        ArgumentCaptor<ScreeningQuestionsSavedEvent> event = ArgumentCaptor.forClass(ScreeningQuestionsSavedEvent.class);
+        verify(events).publishEvent(event.capture());
+        assertThat(event.getValue().candidateId()).isEqualTo("c1");
+        assertThat(event.getValue().jobOpeningId()).isEqualTo("job-1");
+        assertThat(event.getValue().questions()).extracting(ScreeningQuestionDto::getQuestion)
+                .containsExactly("Explain MVCC.");
+    }
+
+    @Test
+    void findReadsTheTableOnceThenServesFromMemory() {
+        ScreeningQuestionSet set = new ScreeningQuestionSet();
+        set.setQuestionsJson("[{\"type\":\"behavioural\",\"question\":\"Tell us about a failure.\"}]");
+        when(repository.findByCandidateIdAndJobOpeningId("c2", "job-1")).thenReturn(Optional.of(set));
+
+        assertThat(store.find("c2", "job-1")).hasValueSatisfying(q -> assertThat(q).hasSize(1));
+        assertThat(store.find("c2", "job-1")).isPresent();
+        assertThat(store.find(null, "job-1")).isEmpty();
+
+        verify(repository, times(1)).findByCandidateIdAndJobOpeningId("c2", "job-1");
+    }
+}
@@ -0,0 +1,172 @@
+package com.caizin.recruitment.service.rescoring;
+
+import com.caizin.recruitment.config.ScoringProperties;
+import com.caizin.recruitment.entity.ResumeFeatures;
+import com.caizin.recruitment.parser.JDParser;
+import com.caizin.recruitment.repository.ResumeFeaturesRepository;
+import com.caizin.recruitment.service.ATSScoringService;
+import com.caizin.recruitment.service.AtsScoreWriter;
+import com.caizin.recruitment.service.AtsScoreWriter.ScoreUpdate;
+import com.caizin.recruitment.util.JDTextExtractor;
+import com.caizin.recruitment.util.ats.AtsScoringWeights;
+import com.caizin.recruitment.util.ats.BatchAtsScorer;
+import com.caizin.recruitment.util.ats.CosineSimilarityCalculator;
+import com.caizin.recruitment.util.ats.ExperienceScorer;
+import com.caizin.recruitment.util.ats.ProjectScorer;
+import com.caizin.recruitment.util.ats.ResumeQualityScorer;
+import com.caizin.recruitment.util.ats.SkillSimilarityScorer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AtsRescoringServiceTest {
+
+    private ResumeFeaturesRepository repository;
+    private AtsScoreWriter writer;
+    private ScoringProperties properties;
+    private ATSScoringService scoring;
+    private AtsRescoringService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ResumeFeaturesRepository.class);
+        writer = mock(AtsScoreWriter.class);
+        properties = new ScoringProperties();
+        scoring = new ATSScoringService(
+                new SkillSimilarityScorer(new CosineSimilarityCalculator()),
+                new ExperienceScorer(),
+                new ProjectScorer(),
+                new ResumeQualityScorer(),
+                new BatchAtsScorer(),
+                properties);
+        service = new AtsRescoringService(
+                repository, scoring, writer, mock(JDTextExtractor.class), mock(JDParser.class), properties);
+
+        List<ResumeFeatures> page = List.of(features("a", 80, 4), features("b", 40, 0));
+        when(repository.countByJobOpeningId("job-1")).thenReturn(2L);
+        when(repository.findByJobOpeningIdAndCandidateIdGreaterThanOrderByCandidateIdAsc(eq("job-1"), eq(""), any()))
+                .thenReturn(page);
+        when(repository.findByJobOpeningIdAndCandidateIdGreaterThanOrderByCandidateIdAsc(eq("job-1"), eq("b"), any()))
+                .thenReturn(List.of());
+        when(writer.write(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void requestWeightsAreUsedForTheWholeRun() throws Exception {
+        AtsScoringWeights weights = new AtsScoringWeights(0.7, 0.1, 0.1, 0.1);
+
+        RescoringRun run = awaitDone(service.start("job-1", false, weights));
+
+        assertThat(run.getState()).isEqualTo(RescoringRun.State.COMPLETED);
+        assertThat(run.getWeights()).isEqualTo(weights);
+        assertThat(writtenScores()).containsExactly(
+                scoring.score(features("a", 80, 4).toAtsFeatures(), weights),
+                scoring.score(features("b", 40, 0).toAtsFeatures(), weights));
+    }
+
+    @Test
+    void configuredWeightsAreReadWhenTheRunStarts() throws Exception {
+        // changed after the services were built
+        properties.getWeights().setSkill(0.25);
+        properties.getWeights().setExperience(0.25);
+        properties.getWeights().setProject(0.25);
+        properties.getWeights().setQuality(0.25);
+        AtsScoringWeights expected = new AtsScoringWeights(0.25, 0.25, 0.25, 0.25);
+
+        RescoringRun run = awaitDone(service.start("job-1", false, null));
+
+        assertThat(run.getWeights()).isEqualTo(expected);
+        assertThat(writtenScores()).first()
+                .isEqualTo(scoring.score(features("a", 80, 4).toAtsFeatures(), expected));
+    }
+
+    @Test
+    void invalidWeightsAreRejectedWithoutStartingARun() throws Exception {
+        assertThatThrownBy(() -> service.start("job-1", false, new AtsScoringWeights(0.5, 0.5, 0.5, 0.5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start("job-1", false, new AtsScoringWeights(1.2, -0.2, 0, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(service.runs()).isEmpty();
+        assertThat(awaitDone(service.start("job-1", false, null)).getState())
+                .isEqualTo(RescoringRun.State.COMPLETED);
+    }
+
+    @Test
+    void keepsOnlyTheLatestRuns() throws Exception {
+        RescoringRun oldest = awaitDone(service.start("job-1", false, null));
+        RescoringRun latest = oldest;
+        for (int i = 0; i < AtsRescoringService.RUNS_KEPT; i++) {
+            latest = awaitDone(startWhenIdle());
+        }
+
+        assertThat(service.runs()).hasSize(AtsRescoringService.RUNS_KEPT).contains(latest);
+        assertThat(service.find(oldest.getRunId())).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Double> writtenScores() {
+        ArgumentCaptor<List<ScoreUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer).write(captor.capture());
+        return captor.getValue().stream().map(ScoreUpdate::atsScore).toList();
+    }
+
+    private static RescoringRun awaitDone(RescoringRun run) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (run.getState() == RescoringRun.State.RUNNING && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+        return run;
+    }
+
+    /**
+     * The active run is cleared just after its state changes, so a new start may briefly still be refused.
+     */
+    private RescoringRun startWhenIdle() throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        while (true) {
+            try {
+                return service.start("job-1", false, null);
+            } catch (IllegalStateException e) {
+                if (Instant.now().isAfter(deadline)) throw e;
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static ResumeFeatures features(String candidateId, double skillScore, int projects) {
+        ResumeFeatures f = new ResumeFeatures();
+        f.setCandidateId(candidateId);
+        f.setJobOpeningId("job-1");
+        f.setSkillScore(skillScore);
+        f.setCandidateYears(3);
+        f.setRequiredYears(5);
+        f.setProjectCount(projects);
+        f.setQualityLength(60);
+        f.setQualitySkills(70);
+        f.setQualityExperience(50);
+        f.setQualityProject(40);
+        f.setQualityKeyword(30);
+        f.setVersion(1L);
+        return f;
+    }
+}
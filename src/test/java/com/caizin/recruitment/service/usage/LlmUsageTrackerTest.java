@@ -0,0 +1,149 @@
+package com.caizin.recruitment.service.usage;
+
+import com.caizin.recruitment.config.OpenAiProperties;
+import com.caizin.recruitment.dto.OpenAiResponseDto;
+import com.caizin.recruitment.repository.LlmUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LlmUsageTrackerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LlmUsageTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+
+        OpenAiProperties properties = new OpenAiProperties();
+        OpenAiProperties.Price price = new OpenAiProperties.Price();
+        price.setInputPerMillion(2.0);
+        price.setCachedInputPerMillion(1.0);
+        price.setOutputPerMillion(8.0);
+        properties.getUsage().getPricing().put("gpt-4o", price);
+
+        tracker = new LlmUsageTracker(jdbcTemplate, mock(LlmUsageRepository.class), properties);
+    }
+
+    @Test
+    void flushWritesOneRowPerKeyWithItsCost() throws SQLException {
+        tracker.record(LlmUsageTracker.QUESTIONS, "gpt-4o-2024-08-06", "job-1", usage(1_000_000, 400_000, 100_000));
+        tracker.record(LlmUsageTracker.QUESTIONS, "gpt-4o-2024-08-06", "job-1", usage(0, 0, 0));
+        tracker.recordCacheHit(LlmUsageTracker.QUESTIONS, "gpt-4o-2024-08-06", "job-1");
+
+        PreparedStatement ps = flushOneRow();
+
+        verify(ps).setString(2, "gpt-4o-2024-08-06");
+        verify(ps).setString(3, "job-1");
+        verify(ps).setLong(5, 2);
+        verify(ps).setLong(6, 1);
+        verify(ps).setLong(7, 1_000_000);
+        verify(ps).setLong(8, 400_000);
+        verify(ps).setLong(9, 100_000);
+        // 600k uncached at $2, 400k cached at $1, 100k out at $8
+        ArgumentCaptor<Double> cost = ArgumentCaptor.forClass(Double.class);
+        verify(ps).setDouble(eq(10), cost.capture());
+        assertThat(cost.getValue()).isCloseTo(1.2 + 0.4 + 0.8, within(1e-9));
+    }
+
+    @Test
+    void batchCallsGetTheBatchDiscount() throws SQLException {
+        tracker.record(LlmUsageTracker.BATCH, "gpt-4o", "job-1", usage(1_000_000, 0, 0));
+
+        PreparedStatement ps = flushOneRow();
+
+        ArgumentCaptor<Double> cost = ArgumentCaptor.forClass(Double.class);
+        verify(ps).setDouble(eq(10), cost.capture());
+        assertThat(cost.getValue()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainedCountsAreNotWrittenTwice() {
+        tracker.record(LlmUsageTracker.QUESTIONS, "gpt-4o", "job-1", usage(10, 0, 5));
+        tracker.flush();
+        tracker.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlushIsRetriedWithTheSameCounts() throws SQLException {
+        doThrow(new DataAccessResourceFailureException("db down")).when(jdbcTemplate)
+                .batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        tracker.record(LlmUsageTracker.QUESTIONS, "gpt-4o", "job-1", usage(10, 0, 5));
+        tracker.flush();
+
+        reset(jdbcTemplate);
+        tracker.record(LlmUsageTracker.QUESTIONS, "gpt-4o", "job-1", usage(20, 0, 5));
+        PreparedStatement ps = flushOneRow();
+
+        verify(ps).setLong(5, 2);
+        verify(ps).setLong(7, 30);
+        verify(ps).setLong(9, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void nothingRecordedWritesNothing() {
+        tracker.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    /**
+     * Flushes, expects a single row and replays it into a mock statement.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private PreparedStatement flushOneRow() throws SQLException {
+        tracker.flush();
+
+        ArgumentCaptor<Collection> rows = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(), setter.capture());
+
+        List<Object> captured = new ArrayList<>(rows.getValue());
+        assertThat(captured).hasSize(1);
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, captured.get(0));
+        return ps;
+    }
+
+    private static OpenAiResponseDto.Usage usage(int prompt, int cached, int completion) {
+        OpenAiResponseDto.Usage usage = new OpenAiResponseDto.Usage();
+        usage.setPromptTokens(prompt);
+        usage.setCompletionTokens(completion);
+        OpenAiResponseDto.PromptTokensDetails details = new OpenAiResponseDto.PromptTokensDetails();
+        details.setCachedTokens(cached);
+        usage.setPromptTokensDetails(details);
+        return usage;
+    }
+}
@@ -0,0 +1,117 @@
+package com.caizin.recruitment.util.ats;
+
+import com.caizin.recruitment.config.ScoringProperties;
+import com.caizin.recruitment.entity.AtsFeatures;
+import com.caizin.recruitment.service.ATSScoringService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The batch kernels must reproduce {@link ATSScoringService#score} bit for bit.
+ * Run with {@code -PvectorAts} to cover the SIMD kernel through {@link BatchAtsScorer}.
+ */
+class AtsScoreKernelTest {
+
+    private static final AtsScoringWeights CUSTOM = new AtsScoringWeights(0.6, 0.2, 0.1, 0.1);
+
+    private ATSScoringService scoring;
+
+    @BeforeEach
+    void setUp() {
+        scoring = new ATSScoringService(
+                new SkillSimilarityScorer(new CosineSimilarityCalculator()),
+                new ExperienceScorer(),
+                new ProjectScorer(),
+                new ResumeQualityScorer(),
+                new BatchAtsScorer(),
+                new ScoringProperties());
+    }
+
+    @Test
+    void scalarKernelMatchesPerCandidateFormula() {
+        for (int size : new int[] { 0, 1, 3, 8, 1_027 }) {
+            List<AtsFeatures> rows = randomFeatures(size, size);
+            AtsFeatureBlock block = block(rows);
+
+            for (AtsScoringWeights weights : List.of(AtsScoringWeights.DEFAULT, CUSTOM)) {
+                double[] out = new double[size];
+                new ScalarAtsScoreKernel().score(block, weights, out);
+                assertBitExact(rows, weights, out);
+            }
+        }
+    }
+
+    @Test
+    void batchScorerMatchesPerCandidateFormula() {
+        // odd sizes leave a scalar tail after the last full vector
+        for (int size : new int[] { 1, 5, 64, 10_001 }) {
+            List<AtsFeatures> rows = randomFeatures(size, 31L * size);
+            AtsFeatureBlock block = block(rows);
+
+            assertBitExact(rows, AtsScoringWeights.DEFAULT, scoring.scoreBatch(block));
+            assertBitExact(rows, CUSTOM, scoring.scoreBatch(block, CUSTOM));
+        }
+    }
+
+    @Test
+    void edgeCasesMatch() {
+        List<AtsFeatures> rows = List.of(
+                new AtsFeatures(0, 0, 0, 0, 0, 0, 0, 0, 0),
+                new AtsFeatures(100, 12, -1, 0, 100, 100, 100, 100, 100),
+                new AtsFeatures(55.5, 3, 3, 5, 100, 100, 100, 100, 100),
+                new AtsFeatures(33.333, 1.5, 7, 12, 10, 20, 30, 40, 50),
+                new AtsFeatures(99.995, 40, 2, 1, 0, 0, 0, 0, 0));
+
+        assertBitExact(rows, AtsScoringWeights.DEFAULT, scoring.scoreBatch(block(rows)));
+
+        double[] scalar = new double[rows.size()];
+        new ScalarAtsScoreKernel().score(block(rows), AtsScoringWeights.DEFAULT, scalar);
+        assertBitExact(rows, AtsScoringWeights.DEFAULT, scalar);
+    }
+
+    private void assertBitExact(List<AtsFeatures> rows, AtsScoringWeights weights, double[] out) {
+        assertThat(out).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            double expected = scoring.score(rows.get(i), weights);
+            assertThat(Double.doubleToRawLongBits(out[i]))
+                    .as("row %d: %s", i, rows.get(i))
+                    .isEqualTo(Double.doubleToRawLongBits(expected));
+        }
+    }
+
+    private static AtsFeatureBlock block(List<AtsFeatures> rows) {
+        AtsFeatureBlock block = new AtsFeatureBlock(4);
+        for (int i = 0; i < rows.size(); i++) {
+            block.add("c" + i, rows.get(i));
+        }
+        return block;
+    }
+
+    private static List<AtsFeatures> randomFeatures(int n, long seed) {
+        Random random = new Random(seed);
+        List<AtsFeatures> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            rows.add(new AtsFeatures(
+                    random.nextDouble() * 100,
+                    random.nextInt(4) == 0 ? 0 : random.nextDouble() * 20,
+                    random.nextInt(5) == 0 ? 0 : random.nextInt(12),
+                    random.nextInt(4) == 0 ? 0 : random.nextInt(10),
+                    quality(random),
+                    quality(random),
+                    quality(random),
+                    quality(random),
+                    quality(random)));
+        }
+        return rows;
+    }
+
+    private static double quality(Random random) {
+        return random.nextInt(3) * 10 + random.nextDouble() * 80;
+    }
+}
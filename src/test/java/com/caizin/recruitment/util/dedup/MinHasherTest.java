@@ -0,0 +1,98 @@
+package com.caizin.recruitment.util.dedup;
+
+import com.caizin.recruitment.config.DedupProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHasherTest {
+
+    private final MinHasher hasher = new MinHasher(new DedupProperties());
+
+    @Test
+    void similarityEstimatesShingleJaccard() {
+        Random random = new Random(7);
+        for (int edits : new int[] { 0, 2, 8, 20, 60 }) {
+            List<String> a = words(random, 250);
+            List<String> b = new ArrayList<>(a);
+            for (int e = 0; e < edits; e++) {
+                b.set(random.nextInt(b.size()), "edit" + random.nextInt(1_000_000));
+            }
+
+            double estimate = MinHasher.similarity(
+                    hasher.signature(String.join(" ", a)), hasher.signature(String.join(" ", b)));
+
+            // 128 slots: standard error is at most ~0.045
+            assertThat(estimate).as("%d edits", edits).isCloseTo(jaccard(a, b, 5), within(0.15));
+        }
+    }
+
+    @Test
+    void ignoresCaseAndPunctuation() {
+        int[] a = hasher.signature("Senior Java developer; Spring Boot, Kafka & AWS (8 years).");
+        int[] b = hasher.signature("senior java developer spring boot kafka aws 8 years");
+
+        assertThat(MinHasher.similarity(a, b)).isEqualTo(1.0);
+    }
+
+    @Test
+    void signaturesAreStableAcrossInstancesAndRoundTripThroughBytes() {
+        String text = "Backend engineer building payment systems in Go and PostgreSQL";
+        int[] sig = hasher.signature(text);
+
+        assertThat(new MinHasher(new DedupProperties()).signature(text)).isEqualTo(sig);
+        assertThat(MinHasher.fromBytes(MinHasher.toBytes(sig))).isEqualTo(sig);
+        assertThat(sig).hasSize(hasher.numHashes());
+    }
+
+    @Test
+    void emptyTextHasNoSignatureAndShortTextStillHasOne() {
+        assertThat(hasher.signature(null)).isNull();
+        assertThat(hasher.signature("  ")).isNull();
+        assertThat(hasher.signature("!!! ---")).isNull();
+        assertThat(hasher.signature("java")).isNotNull();
+        assertThat(MinHasher.similarity(null, hasher.signature("java"))).isZero();
+    }
+
+    @Test
+    void rejectsHashesNotDivisibleByBands() {
+        DedupProperties properties = new DedupProperties();
+        properties.setNumHashes(100);
+        properties.setBands(16);
+
+        assertThatThrownBy(() -> new MinHasher(properties)).isInstanceOf(IllegalStateException.class);
+    }
+
+    static List<String> words(Random random, int n) {
+        List<String> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add("w" + random.nextInt(2_000));
+        }
+        return out;
+    }
+
+    private static double jaccard(List<String> a, List<String> b, int k) {
+        Set<String> sa = shingles(a, k);
+        Set<String> sb = shingles(b, k);
+        Set<String> union = new HashSet<>(sa);
+        union.addAll(sb);
+        sa.retainAll(sb);
+        return (double) sa.size() / union.size();
+    }
+
+    private static Set<String> shingles(List<String> words, int k) {
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + k <= words.size(); i++) {
+            out.add(String.join(" ", words.subList(i, i + k)));
+        }
+        return out;
+    }
+}
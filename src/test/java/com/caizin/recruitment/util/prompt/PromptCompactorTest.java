@@ -0,0 +1,99 @@
+package com.caizin.recruitment.util.prompt;
+
+import com.caizin.recruitment.config.PromptCompactionProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptCompactorTest {
+
+    private static final String RESUME = String.join("\n",
+            "CURRICULUM VITAE",
+            "Ann Lee",
+            "",
+            "EXPERIENCE",
+            "• Built payment microservices in Java and Spring Boot.",
+            "• Built payment microservices in Java and Spring Boot.",
+            "-----------------",
+            "* Led a team of five engineers. References available on request.",
+            "Page 1 of 2",
+            "HOBBIES",
+            "Chess, hiking and long distance running on weekends and holidays.",
+            "SKILLS",
+            "Java, Kafka, PostgreSQL, Kubernetes");
+
+    @Test
+    void removesNoiseAndDuplicatesWithinBudget() {
+        String compacted = compactor(2500, 1200).compactResume(RESUME);
+
+        assertThat(compacted).isEqualTo(String.join("\n",
+                "Ann Lee",
+                "",
+                "EXPERIENCE",
+                "Built payment microservices in Java and Spring Boot.",
+                "Led a team of five engineers.",
+                "",
+                "HOBBIES",
+                "Chess, hiking and long distance running on weekends and holidays.",
+                "",
+                "SKILLS",
+                "Java, Kafka, PostgreSQL, Kubernetes"));
+    }
+
+    @Test
+    void dropsLowValueSectionsFirstWhenOverBudget() {
+        PromptCompactor compactor = compactor(40, 1200);
+
+        String compacted = compactor.compactResume(RESUME);
+
+        assertThat(compacted).doesNotContain("HOBBIES", "Chess");
+        assertThat(compacted).contains("EXPERIENCE", "SKILLS", "Kafka");
+        assertThat(TokenEstimator.estimate(compacted)).isLessThanOrEqualTo(40);
+    }
+
+    @Test
+    void truncatesEverySectionToItsShareOfTheBudget() {
+        StringBuilder jd = new StringBuilder("Responsibilities:\n");
+        for (int i = 0; i < 50; i++) {
+            jd.append("Own service number ").append(i).append(" end to end in production.\n");
+        }
+        jd.append("Requirements:\n");
+        for (int i = 0; i < 50; i++) {
+            jd.append("Experience with tool number ").append(i).append(" at scale.\n");
+        }
+
+        String compacted = compactor(2500, 100).compactJobDescription(jd.toString());
+
+        assertThat(TokenEstimator.estimate(compacted)).isLessThanOrEqualTo(100);
+        assertThat(compacted).contains("Responsibilities:", "Own service number 0 ",
+                "Requirements:", "Experience with tool number 0 ");
+        assertThat(compacted).doesNotContain("number 49");
+    }
+
+    @Test
+    void longSingleParagraphKeepsItsOpeningWords() {
+        String paragraph = "word ".repeat(500).strip();
+
+        String compacted = compactor(20, 1200).compactResume(paragraph);
+
+        assertThat(compacted).startsWith("word word").endsWith(" ...");
+        assertThat(TokenEstimator.estimate(compacted)).isLessThanOrEqualTo(20 + 3);
+    }
+
+    @Test
+    void disabledOrBlankTextIsReturnedAsIs() {
+        PromptCompactionProperties properties = new PromptCompactionProperties();
+        properties.setEnabled(false);
+
+        assertThat(new PromptCompactor(properties).compactResume(RESUME)).isSameAs(RESUME);
+        assertThat(compactor(10, 10).compactResume("  ")).isEqualTo("  ");
+        assertThat(compactor(10, 10).compactJobDescription(null)).isNull();
+    }
+
+    private static PromptCompactor compactor(int resumeMaxTokens, int jdMaxTokens) {
+        PromptCompactionProperties properties = new PromptCompactionProperties();
+        properties.setResumeMaxTokens(resumeMaxTokens);
+        properties.setJdMaxTokens(jdMaxTokens);
+        return new PromptCompactor(properties);
+    }
+}
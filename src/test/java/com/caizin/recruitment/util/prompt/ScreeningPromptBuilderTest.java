@@ -0,0 +1,75 @@
+package com.caizin.recruitment.util.prompt;
+
+import com.caizin.recruitment.config.PromptCompactionProperties;
+import com.caizin.recruitment.dto.JobDto;
+import com.caizin.recruitment.dto.OpenAiRequestDto;
+import com.caizin.recruitment.entity.ParsedResume;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScreeningPromptBuilderTest {
+
+    private final ScreeningPromptBuilder builder = new ScreeningPromptBuilder(new PromptCompactor(new PromptCompactionProperties()));
+
+    @Test
+    void systemMessageIsTheJobPrefixAndUserMessageTheCandidate() {
+        JobDto job = job("job-1");
+        ParsedResume resume = resume("Ann Lee", List.of("java", "kafka"));
+
+        List<OpenAiRequestDto.Message> messages = builder.messages(job, resume);
+
+        assertThat(messages).extracting(OpenAiRequestDto.Message::getRole).containsExactly("system", "user");
+        assertThat(messages.get(0).getContent())
+                .isEqualTo(builder.jobPrefix(job))
+                .contains("Job Title: Java developer")
+                .doesNotContain("Ann Lee");
+        assertThat(messages.get(1).getContent())
+                .contains("Name: Ann Lee")
+                .contains("Years of Experience: 5.5")
+                .contains("[java, kafka]");
+    }
+
+    @Test
+    void prefixIsIdenticalForEveryCandidateOfAJob() {
+        JobDto job = job("job-1");
+
+        String first = builder.messages(job, resume("Ann Lee", List.of("java"))).get(0).getContent();
+        String second = builder.messages(job, resume("Bo Chen", List.of("go"))).get(0).getContent();
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void blankJobFieldsAreShownAsNotAvailable() {
+        JobDto job = new JobDto();
+        job.setTitle("Java developer");
+
+        assertThat(builder.jobPrefix(job))
+                .contains("Department: N/A")
+                .contains("Required Experience: N/A");
+    }
+
+    @Test
+    void cacheKeyFollowsTheJob() {
+        assertThat(builder.cacheKey(job("job-1"))).isEqualTo("screening-job-1");
+        assertThat(builder.cacheKey(job("job-2"))).isNotEqualTo(builder.cacheKey(job("job-1")));
+        assertThat(builder.cacheKey(new JobDto())).isNull();
+    }
+
+    private static JobDto job(String id) {
+        JobDto job = new JobDto();
+        job.setJobOpeningId(id);
+        job.setTitle("Java developer");
+        job.setDepartment("Engineering");
+        job.setExperience("5+ years");
+        job.setDescription("Build payment services in Java.");
+        return job;
+    }
+
+    private static ParsedResume resume(String name, List<String> skills) {
+        return new ParsedResume(name, "candidate@example.com", null, skills, 5.5, List.of("Payments"), 300);
+    }
+}
@@ -0,0 +1,28 @@
+package com.caizin.recruitment.util.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenEstimatorTest {
+
+    @Test
+    void countsLetterDigitAndSymbolRuns() {
+        assertThat(TokenEstimator.estimate(null)).isZero();
+        assertThat(TokenEstimator.estimate("   \n\t")).isZero();
+        assertThat(TokenEstimator.estimate("Java")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("Kubernetes")).isEqualTo(3);
+        assertThat(TokenEstimator.estimate("2024")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("C++, Go")).isEqualTo(5);
+    }
+
+    @Test
+    void staysCloseToOneTokenPerFourCharactersOfProse() {
+        String prose = "Built event driven microservices in Java and Kotlin, migrated the billing "
+                + "platform to Kubernetes and cut infrastructure cost by a third.";
+
+        int estimate = TokenEstimator.estimate(prose);
+
+        assertThat(estimate).isBetween(prose.length() / 6, prose.length() / 3);
+    }
+}
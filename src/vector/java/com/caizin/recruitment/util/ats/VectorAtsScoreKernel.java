@@ -0,0 +1,70 @@
+package com.caizin.recruitment.util.ats;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel built on the incubating Vector API.
+ *
+ * <p>Lane-wise MUL/ADD/DIV/MIN are IEEE 754 per lane and are never fused, and
+ * the additions are performed in the same left-to-right order as the scalar
+ * formula, so every lane produces exactly the scalar result. Rounding to two
+ * decimals is done with {@link Math#round(double)} afterwards for the same
+ * reason. Only instantiated when {@code jdk.incubator.vector} is resolved.</p>
+ */
+final class VectorAtsScoreKernel implements AtsScoreKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void score(AtsFeatureBlock b, AtsScoringWeights w, double[] out) {
+
+        int n = b.size();
+        int upper = SPECIES.loopBound(n);
+
+        DoubleVector seventy = DoubleVector.broadcast(SPECIES, 70.0);
+        DoubleVector forty = DoubleVector.broadcast(SPECIES, 40.0);
+
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+
+            DoubleVector required = DoubleVector.fromArray(SPECIES, b.requiredYears(), i);
+            VectorMask<Double> noRequirement = required.compare(VectorOperators.LE, 0.0);
+            DoubleVector experienceScore = DoubleVector.fromArray(SPECIES, b.candidateYears(), i)
+                    .div(required)
+                    .mul(100.0)
+                    .min(100.0)
+                    .blend(seventy, noRequirement);
+
+            DoubleVector projects = DoubleVector.fromArray(SPECIES, b.projectCount(), i);
+            VectorMask<Double> noProjects = projects.compare(VectorOperators.EQ, 0.0);
+            DoubleVector projectScore = projects
+                    .mul(20.0)
+                    .min(100.0)
+                    .blend(forty, noProjects);
+
+            DoubleVector qualityScore = DoubleVector.fromArray(SPECIES, b.qualityLength(), i).mul(0.30)
+                    .add(DoubleVector.fromArray(SPECIES, b.qualitySkills(), i).mul(0.25))
+                    .add(DoubleVector.fromArray(SPECIES, b.qualityExperience(), i).mul(0.20))
+                    .add(DoubleVector.fromArray(SPECIES, b.qualityProject(), i).mul(0.15))
+                    .add(DoubleVector.fromArray(SPECIES, b.qualityKeyword(), i).mul(0.10))
+                    .min(100.0);
+
+            DoubleVector.fromArray(SPECIES, b.skillScore(), i).mul(w.skill())
+                    .add(experienceScore.mul(w.experience()))
+                    .add(projectScore.mul(w.project()))
+                    .add(qualityScore.mul(w.quality()))
+                    .intoArray(out, i);
+        }
+
+        for (int j = 0; j < upper; j++) {
+            out[j] = Math.round(out[j] * 100.0) / 100.0;
+        }
+
+        for (; i < n; i++) {
+            out[i] = ScalarAtsScoreKernel.row(b, w, i);
+        }
+    }
+}